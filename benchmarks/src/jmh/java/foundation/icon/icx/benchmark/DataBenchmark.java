@@ -0,0 +1,102 @@
+/*
+ * Copyright 2026 ICON Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package foundation.icon.icx.benchmark;
+
+import foundation.icon.icx.data.Address;
+import foundation.icon.icx.data.Bytes;
+import foundation.icon.icx.transport.jsonrpc.AnnotatedConverterFactory;
+import foundation.icon.icx.transport.jsonrpc.AnnotationConverter;
+import foundation.icon.icx.transport.jsonrpc.ConverterName;
+import foundation.icon.icx.transport.jsonrpc.RpcConverter;
+import foundation.icon.icx.transport.jsonrpc.RpcObject;
+import foundation.icon.icx.transport.jsonrpc.RpcValue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigInteger;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures parsing the hex strings of the data types, and converting an item with annotations.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(3)
+@State(Scope.Benchmark)
+public class DataBenchmark {
+    private static final String HASH = "0x2600770376fbf291d3d445054d45ed15280dd33c2038931aace3f7ea2ab59dbc";
+    private static final String ADDRESS = "hx4873b94352c8c1f3b2f09aaeccea31ce9e90bd31";
+
+    private RpcConverter<Transfer> converter;
+    private RpcObject transfer;
+
+    @Setup
+    public void setUp() {
+        converter = new AnnotatedConverterFactory().create(Transfer.class);
+        transfer = new RpcObject.Builder()
+                .put("from", new RpcValue(new Address(ADDRESS)))
+                .put("to", new RpcValue(new Address("cx0000000000000000000000000000000000000001")))
+                .put("value", new RpcValue(new BigInteger("1000000000000000000")))
+                .put("txHash", new RpcValue(new Bytes(HASH)))
+                .put("memo", new RpcValue("transfer"))
+                .build();
+    }
+
+    @Benchmark
+    public Bytes parseBytes() {
+        return new Bytes(HASH);
+    }
+
+    @Benchmark
+    public String bytesToHex() {
+        return new Bytes(HASH).toHexString(true);
+    }
+
+    @Benchmark
+    public Address parseAddress() {
+        return new Address(ADDRESS);
+    }
+
+    @Benchmark
+    public Transfer convertAnnotated() {
+        return converter.convertTo(transfer);
+    }
+
+    @AnnotationConverter
+    public static class Transfer {
+        @ConverterName("from")
+        Address from;
+        @ConverterName("to")
+        Address to;
+        @ConverterName("value")
+        BigInteger value;
+        @ConverterName("txHash")
+        Bytes txHash;
+        @ConverterName("memo")
+        String memo;
+    }
+}
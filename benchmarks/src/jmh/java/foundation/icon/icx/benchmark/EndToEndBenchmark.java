@@ -0,0 +1,139 @@
+/*
+ * Copyright 2026 ICON Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package foundation.icon.icx.benchmark;
+
+import foundation.icon.icx.Call;
+import foundation.icon.icx.IconService;
+import foundation.icon.icx.KeyWallet;
+import foundation.icon.icx.SignedTransaction;
+import foundation.icon.icx.Transaction;
+import foundation.icon.icx.TransactionBuilder;
+import foundation.icon.icx.data.Address;
+import foundation.icon.icx.data.Block;
+import foundation.icon.icx.data.Bytes;
+import foundation.icon.icx.data.TransactionResult;
+import foundation.icon.icx.simulator.NodeSimulator;
+import foundation.icon.icx.transport.http.HttpProvider;
+import okhttp3.ConnectionPool;
+import okhttp3.OkHttpClient;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the whole client stack, from {@code IconService} through {@code HttpProvider} to
+ * an in-process {@link NodeSimulator}, with concurrent callers.
+ * <p>
+ * The throughput mode reports the requests per second, and the sample time mode reports
+ * the percentiles of the latency, such as p50 and p99.
+ * <pre>
+ * ./gradlew :benchmarks:jmh -Pjmh.include=EndToEndBenchmark
+ * </pre>
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class EndToEndBenchmark {
+    private static final Address SCORE = new Address("cx0000000000000000000000000000000000000001");
+
+    /**
+     * The latency of the simulated node in milliseconds
+     */
+    @Param({"0", "5"})
+    public int latency;
+
+    private NodeSimulator node;
+    private IconService iconService;
+    private KeyWallet wallet;
+    private long lastHeight;
+    private List<Bytes> txHashes;
+    private Call<BigInteger> call;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        node = new NodeSimulator.Builder()
+                .latency(latency, TimeUnit.MILLISECONDS)
+                .transactionsPerBlock(100)
+                .build();
+        OkHttpClient httpClient = new OkHttpClient.Builder()
+                .connectionPool(new ConnectionPool(16, 5, TimeUnit.MINUTES))
+                .build();
+        iconService = new IconService(new HttpProvider(httpClient, node.getUrl()));
+        wallet = KeyWallet.load(new Bytes(Fixtures.PRIVATE_KEY));
+        lastHeight = node.getLastHeight();
+        Block block = iconService.getBlock(BigInteger.valueOf(lastHeight)).execute();
+        txHashes = new ArrayList<>();
+        block.getTransactions().forEach(tx -> txHashes.add(tx.getTxHash()));
+        call = new Call.Builder().to(SCORE).method("balanceOf").buildWith(BigInteger.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        node.close();
+    }
+
+    @Benchmark
+    public Block getBlock() throws IOException {
+        long height = ThreadLocalRandom.current().nextLong(1, lastHeight + 1);
+        return iconService.getBlock(BigInteger.valueOf(height)).execute();
+    }
+
+    @Benchmark
+    public TransactionResult getTransactionResult() throws IOException {
+        Bytes txHash = txHashes.get(ThreadLocalRandom.current().nextInt(txHashes.size()));
+        return iconService.getTransactionResult(txHash).execute();
+    }
+
+    @Benchmark
+    public BigInteger call() throws IOException {
+        return iconService.call(call).execute();
+    }
+
+    @Benchmark
+    public Bytes sendTransaction() throws IOException {
+        Transaction transaction = TransactionBuilder.newBuilder()
+                .nid(BigInteger.ONE)
+                .from(wallet.getAddress())
+                .to(SCORE)
+                .stepLimit(BigInteger.valueOf(1_000_000))
+                .nonce(BigInteger.valueOf(ThreadLocalRandom.current().nextLong(Long.MAX_VALUE)))
+                .call("transfer")
+                .build();
+        return iconService.sendTransaction(new SignedTransaction(transaction, wallet)).execute();
+    }
+}
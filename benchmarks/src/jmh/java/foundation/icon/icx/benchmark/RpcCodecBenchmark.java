@@ -0,0 +1,93 @@
+/*
+ * Copyright 2026 ICON Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package foundation.icon.icx.benchmark;
+
+import foundation.icon.icx.data.Block;
+import foundation.icon.icx.data.Converters;
+import foundation.icon.icx.data.TransactionResult;
+import foundation.icon.icx.transport.jsonrpc.Response;
+import foundation.icon.icx.transport.jsonrpc.RpcCodec;
+import foundation.icon.icx.transport.jsonrpc.RpcItem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures encoding and decoding the JSON-RPC messages with {@code RpcItemSerializer}
+ * and {@code RpcItemDeserializer}, and converting the decoded items.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(3)
+@State(Scope.Benchmark)
+public class RpcCodecBenchmark {
+    private RpcCodec codec;
+    private RpcItem block;
+    private RpcItem transactionResult;
+
+    @Setup
+    public void setUp() throws IOException {
+        codec = new RpcCodec();
+        block = codec.readResponse(Fixtures.BLOCK).getResult();
+        transactionResult = codec.readResponse(Fixtures.TRANSACTION_RESULT).getResult();
+    }
+
+    @Benchmark
+    public Response readBlock() throws IOException {
+        return codec.readResponse(Fixtures.BLOCK);
+    }
+
+    @Benchmark
+    public Response readTransactionResult() throws IOException {
+        return codec.readResponse(Fixtures.TRANSACTION_RESULT);
+    }
+
+    @Benchmark
+    public String writeBlock() throws IOException {
+        return codec.writeItemAsString(block);
+    }
+
+    @Benchmark
+    public String writeTransactionResult() throws IOException {
+        return codec.writeItemAsString(transactionResult);
+    }
+
+    @Benchmark
+    public int convertBlock() {
+        Block converted = Converters.BLOCK.convertTo(block);
+        return converted.getTransactions().size();
+    }
+
+    @Benchmark
+    public TransactionResult convertTransactionResult() {
+        TransactionResult converted = Converters.TRANSACTION_RESULT.convertTo(transactionResult);
+        converted.getEventLogs();
+        return converted;
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2026 ICON Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package foundation.icon.icx.benchmark;
+
+import foundation.icon.icx.KeyWallet;
+import foundation.icon.icx.SignedTransaction;
+import foundation.icon.icx.Transaction;
+import foundation.icon.icx.TransactionBuilder;
+import foundation.icon.icx.crypto.IconKeys;
+import foundation.icon.icx.data.Address;
+import foundation.icon.icx.data.Bytes;
+import foundation.icon.icx.transport.jsonrpc.RpcObject;
+import foundation.icon.icx.transport.jsonrpc.RpcValue;
+import org.bouncycastle.jcajce.provider.digest.SHA3;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures serializing and signing a transaction, and deriving the keys and the address.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(3)
+@State(Scope.Benchmark)
+public class SigningBenchmark {
+    private KeyWallet wallet;
+    private Transaction transaction;
+    private RpcObject properties;
+    private byte[] hash;
+    private Bytes privateKey;
+    private Bytes publicKey;
+
+    @Setup
+    public void setUp() {
+        privateKey = new Bytes(Fixtures.PRIVATE_KEY);
+        wallet = KeyWallet.load(privateKey);
+        publicKey = wallet.getPublicKey();
+        RpcObject params = new RpcObject.Builder()
+                .put("_to", new RpcValue(new Address("hx4873b94352c8c1f3b2f09aaeccea31ce9e90bd31")))
+                .put("_value", new RpcValue(new BigInteger("1000000000000000000")))
+                .build();
+        transaction = TransactionBuilder.newBuilder()
+                .nid(BigInteger.ONE)
+                .from(wallet.getAddress())
+                .to(new Address("cx0000000000000000000000000000000000000001"))
+                .stepLimit(new BigInteger("2000000"))
+                .timestamp(new BigInteger("1700000000000000"))
+                .nonce(BigInteger.ONE)
+                .call("transfer")
+                .params(params)
+                .build();
+        properties = transaction.getProperties();
+        String serialized = SignedTransaction.TransactionSerializer.serialize(properties);
+        hash = new SHA3.Digest256().digest(serialized.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Benchmark
+    public String serializeTransaction() {
+        return SignedTransaction.TransactionSerializer.serialize(properties);
+    }
+
+    @Benchmark
+    public byte[] sign() {
+        return wallet.sign(hash);
+    }
+
+    @Benchmark
+    public RpcObject signTransaction() {
+        return new SignedTransaction(transaction, wallet).getProperties();
+    }
+
+    @Benchmark
+    public Bytes getPublicKey() {
+        return IconKeys.getPublicKey(privateKey);
+    }
+
+    @Benchmark
+    public Address getAddress() {
+        return IconKeys.getAddress(publicKey);
+    }
+}
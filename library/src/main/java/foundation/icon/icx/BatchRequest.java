@@ -0,0 +1,376 @@
+/*
+ * Copyright 2026 ICON Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package foundation.icon.icx;
+
+import foundation.icon.icx.transport.jsonrpc.Response;
+import foundation.icon.icx.transport.jsonrpc.RpcConverter;
+import foundation.icon.icx.transport.jsonrpc.RpcError;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * BatchRequest sends several requests to the node in a single JSON-RPC batch.
+ * <p>
+ * Requests are queued with {@link #add(Function)}, which is given an {@code IconService} bound to this batch.
+ * The responses are matched to the requests by their ids, and each request gets its own result or error.
+ * A batch larger than the maximum size is split into several batches.
+ * <pre>{@code
+ * BatchRequest batch = iconService.newBatch();
+ * BatchRequest.Item<BigInteger> balance = batch.add(s -> s.getBalance(address));
+ * BatchRequest.Item<Block> block = batch.add(s -> s.getBlock(height));
+ * batch.execute();
+ * BigInteger value = balance.execute();
+ * }</pre>
+ */
+public final class BatchRequest implements Request<Void> {
+
+    /**
+     * The default maximum number of requests in a single batch
+     */
+    public static final int DEFAULT_MAX_SIZE = 10;
+
+    private final IconService service;
+    private final Provider provider;
+    private final int maxSize;
+    private final List<Item<?>> pending = new ArrayList<>();
+    private long lastId;
+
+    BatchRequest(IconService service, Provider provider, int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Invalid batch size");
+        }
+        this.service = new IconService(service, new Recorder());
+        this.provider = provider;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Adds a request to the batch
+     *
+     * @param query a function that makes one request with the given {@code IconService}
+     * @param <T> the return type
+     * @return an {@code Item} object that returns the result of the request
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Item<T> add(Function<IconService, Request<T>> query) {
+        Request<T> request = query.apply(service);
+        if (!(request instanceof Item) || ((Item<T>) request).batch != this) {
+            throw new IllegalArgumentException("The request was not made with the given IconService");
+        }
+        return (Item<T>) request;
+    }
+
+    /**
+     * Returns the number of requests which are not sent yet
+     *
+     * @return the number of pending requests
+     */
+    public synchronized int size() {
+        return pending.size();
+    }
+
+    /**
+     * Sends all pending requests synchronously.
+     * The results and per-request errors are delivered through the items.
+     *
+     * All batches are sent even if one of them fails, and the first failure is thrown at the end.
+     *
+     * @return {@code null}
+     * @throws IOException the first transport error if any of the batches could not be sent
+     */
+    @Override
+    public Void execute() throws IOException {
+        Exception failure = null;
+        for (List<Item<?>> chunk : takePending()) {
+            List<Response> responses;
+            try {
+                responses = provider.batch(toRequests(chunk)).execute();
+            } catch (IOException | RuntimeException e) {
+                fail(chunk, e);
+                if (failure == null) {
+                    failure = e;
+                }
+                continue;
+            }
+            complete(chunk, responses);
+        }
+        if (failure instanceof IOException) {
+            throw (IOException) failure;
+        } else if (failure != null) {
+            throw (RuntimeException) failure;
+        }
+        return null;
+    }
+
+    /**
+     * Sends all pending requests asynchronously.
+     * The batches are sent concurrently, and the callback is invoked when all of them are completed.
+     *
+     * @param callback the callback which gets the first transport error if any of the batches could not be sent
+     */
+    @Override
+    public void execute(final Callback<Void> callback) {
+        List<List<Item<?>>> chunks = takePending();
+        if (chunks.isEmpty()) {
+            callback.onSuccess(null);
+            return;
+        }
+        final AtomicInteger remaining = new AtomicInteger(chunks.size());
+        final AtomicReference<Exception> failure = new AtomicReference<>();
+        for (final List<Item<?>> chunk : chunks) {
+            Callback<List<Response>> chunkCallback = new Callback<List<Response>>() {
+                @Override
+                public void onSuccess(List<Response> result) {
+                    complete(chunk, result);
+                    done();
+                }
+
+                @Override
+                public void onFailure(Exception exception) {
+                    fail(chunk, exception);
+                    failure.compareAndSet(null, exception);
+                    done();
+                }
+
+                private void done() {
+                    if (remaining.decrementAndGet() == 0) {
+                        if (failure.get() == null) {
+                            callback.onSuccess(null);
+                        } else {
+                            callback.onFailure(failure.get());
+                        }
+                    }
+                }
+            };
+            try {
+                provider.batch(toRequests(chunk)).execute(chunkCallback);
+            } catch (RuntimeException e) {
+                chunkCallback.onFailure(e);
+            }
+        }
+    }
+
+    // Takes the pending items as chunks, which are grouped by the namespace of the method
+    private synchronized List<List<Item<?>>> takePending() {
+        Map<String, List<Item<?>>> groups = new LinkedHashMap<>();
+        for (Item<?> item : pending) {
+            String method = item.request.getMethod();
+            int separator = method.indexOf('_');
+            // a method without a namespace is a group of its own
+            String namespace = separator < 0 ? method : method.substring(0, separator);
+            List<Item<?>> group = groups.get(namespace);
+            if (group == null) {
+                group = new ArrayList<>();
+                groups.put(namespace, group);
+            }
+            group.add(item);
+            item.sent = true;
+        }
+        pending.clear();
+
+        List<List<Item<?>>> chunks = new ArrayList<>();
+        for (List<Item<?>> group : groups.values()) {
+            for (int i = 0; i < group.size(); i += maxSize) {
+                chunks.add(group.subList(i, Math.min(i + maxSize, group.size())));
+            }
+        }
+        return chunks;
+    }
+
+    private synchronized boolean isPending(Item<?> item) {
+        return !item.sent;
+    }
+
+    private static List<foundation.icon.icx.transport.jsonrpc.Request> toRequests(List<Item<?>> chunk) {
+        List<foundation.icon.icx.transport.jsonrpc.Request> requests = new ArrayList<>(chunk.size());
+        for (Item<?> item : chunk) {
+            requests.add(item.request);
+        }
+        return requests;
+    }
+
+    private static void complete(List<Item<?>> chunk, List<Response> responses) {
+        Set<Long> ids = new HashSet<>();
+        for (Item<?> item : chunk) {
+            ids.add(item.request.getId());
+        }
+        Map<Long, Response> responseMap = new HashMap<>();
+        RpcError batchError = null;
+        for (Response response : responses) {
+            if (ids.contains(response.getId())) {
+                responseMap.put(response.getId(), response);
+            } else if (response.getError() != null) {
+                // the node rejected the batch as a whole
+                batchError = response.getError();
+            }
+        }
+        for (Item<?> item : chunk) {
+            Response response = responseMap.get(item.request.getId());
+            if (response != null) {
+                item.complete(response);
+            } else if (batchError != null) {
+                item.fail(batchError);
+            } else {
+                item.fail(new IOException("No response for the request id " + item.request.getId()));
+            }
+        }
+    }
+
+    private static void fail(List<Item<?>> chunk, Exception exception) {
+        for (Item<?> item : chunk) {
+            item.fail(exception);
+        }
+    }
+
+    // Queues the requests made by the IconService bound to this batch
+    private class Recorder implements Provider {
+        @Override
+        public <T> Request<T> request(foundation.icon.icx.transport.jsonrpc.Request request, RpcConverter<T> converter) {
+            synchronized (BatchRequest.this) {
+                foundation.icon.icx.transport.jsonrpc.Request batchRequest =
+                        new foundation.icon.icx.transport.jsonrpc.Request(
+                                ++lastId, request.getMethod(), request.getParams());
+                Item<T> item = new Item<>(BatchRequest.this, batchRequest, converter);
+                pending.add(item);
+                return item;
+            }
+        }
+    }
+
+    /**
+     * A request in the batch.
+     * Executing an item sends the whole batch if it has not been sent yet.
+     *
+     * @param <T> the data type of the response
+     */
+    public static final class Item<T> implements Request<T> {
+        private final BatchRequest batch;
+        private final foundation.icon.icx.transport.jsonrpc.Request request;
+        private final RpcConverter<T> converter;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+        private volatile Throwable failure;
+        private boolean sent;
+
+        private Item(BatchRequest batch,
+                     foundation.icon.icx.transport.jsonrpc.Request request, RpcConverter<T> converter) {
+            this.batch = batch;
+            this.request = request;
+            this.converter = converter;
+        }
+
+        /**
+         * Returns whether the result or the error of the request is available
+         *
+         * @return {@code true} if the request is completed
+         */
+        public boolean isDone() {
+            return future.isDone();
+        }
+
+        /**
+         * Returns the error which the node returned for the request
+         *
+         * @return the error, or {@code null} if the request has no error or is not completed yet
+         */
+        public RpcError getError() {
+            Throwable t = failure;
+            return t instanceof RpcError ? (RpcError) t : null;
+        }
+
+        @Override
+        public T execute() throws IOException {
+            if (batch.isPending(this)) {
+                try {
+                    batch.execute();
+                } catch (IOException | RuntimeException ignored) {
+                    // the failure is also delivered to the item
+                }
+            }
+            try {
+                return future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException();
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof IOException) {
+                    throw (IOException) cause;
+                } else if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                } else if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw new IOException(cause);
+            }
+        }
+
+        @Override
+        public void execute(final Callback<T> callback) {
+            if (batch.isPending(this)) {
+                batch.execute(new Callback<Void>() {
+                    @Override
+                    public void onSuccess(Void result) {
+                    }
+
+                    @Override
+                    public void onFailure(Exception exception) {
+                        // the failure is also delivered to the item
+                    }
+                });
+            }
+            future.whenComplete((result, t) -> {
+                if (t == null) {
+                    callback.onSuccess(result);
+                } else {
+                    callback.onFailure(t instanceof Exception ? (Exception) t : new IOException(t));
+                }
+            });
+        }
+
+        private void complete(Response response) {
+            if (response.getError() != null) {
+                fail(response.getError());
+                return;
+            }
+            try {
+                future.complete(converter.convertTo(response.getResult()));
+            } catch (RuntimeException e) {
+                fail(e);
+            }
+        }
+
+        private void fail(Throwable t) {
+            if (!future.isDone()) {
+                failure = t;
+                future.completeExceptionally(t);
+            }
+        }
+    }
+}
@@ -52,6 +52,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * IconService which provides APIs of ICON network.
@@ -59,9 +60,17 @@ import java.util.Map;
 @SuppressWarnings("WeakerAccess")
 public class IconService {
 
+    /**
+     * The default maximum number of batches in flight in {@link #getTransactionResults(List)}
+     */
+    public static final int DEFAULT_RESULT_PARALLELISM = 4;
+
+    // The ids are unique in the process, so that concurrent requests over a connection do not collide
+    private static final AtomicLong REQUEST_ID = new AtomicLong();
+
     private Provider provider;
-    private final List<RpcConverter.RpcConverterFactory> converterFactories = new ArrayList<>();
-    private final Map<Class<?>, RpcConverter<?>> converterMap = new HashMap<>();
+    private final List<RpcConverter.RpcConverterFactory> converterFactories;
+    private final Map<Class<?>, RpcConverter<?>> converterMap;
 
     /**
      * Creates an IconService instance
@@ -71,6 +80,8 @@ public class IconService {
     @SuppressWarnings("unchecked")
     public IconService(Provider provider) {
         this.provider = provider;
+        this.converterFactories = new ArrayList<>();
+        this.converterMap = new HashMap<>();
         addConverterFactory(Converters.newFactory(BigInteger.class, Converters.BIG_INTEGER));
         addConverterFactory(Converters.newFactory(Boolean.class, Converters.BOOLEAN));
         addConverterFactory(Converters.newFactory(String.class, Converters.STRING));
@@ -100,10 +111,37 @@ public class IconService {
         addConverterFactory(Converters.newFactory(NetworkInfo.class, Converters.NETWORK_INFO));
     }
 
+    // Creates a view of the given service that sends requests through another provider
+    IconService(IconService service, Provider provider) {
+        this.provider = provider;
+        this.converterFactories = service.converterFactories;
+        this.converterMap = service.converterMap;
+    }
+
     public void setProvider(Provider provider) {
         this.provider = provider;
     }
 
+    /**
+     * Creates a new batch to send several requests in a single JSON-RPC batch
+     *
+     * @return a {@code BatchRequest} object to which the requests are added
+     */
+    public BatchRequest newBatch() {
+        return new BatchRequest(this, provider, BatchRequest.DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * Creates a new batch to send several requests in a single JSON-RPC batch
+     *
+     * @param maxSize the maximum number of requests in a single batch,
+     *                a larger batch is split into several batches of this size
+     * @return a {@code BatchRequest} object to which the requests are added
+     */
+    public BatchRequest newBatch(int maxSize) {
+        return new BatchRequest(this, provider, maxSize);
+    }
+
     /**
      * Gets the total number of issued coins
      *
@@ -120,7 +158,7 @@ public class IconService {
      * @return a BigInteger object of the total number of coins in loop
      */
     public Request<BigInteger> getTotalSupply(BigInteger height) {
-        long requestId = System.currentTimeMillis();
+        long requestId = nextRequestId();
         RpcObject params = null;
         if (height != null) {
             params = new RpcObject.Builder()
@@ -150,7 +188,7 @@ public class IconService {
      * @return a BigInteger object of the current balance for the given address in loop
      */
     public Request<BigInteger> getBalance(Address address, BigInteger height) {
-        long requestId = System.currentTimeMillis();
+        long requestId = nextRequestId();
         RpcObject.Builder builder = new RpcObject.Builder()
                 .put("address", new RpcValue(address));
         if (height != null) {
@@ -168,7 +206,7 @@ public class IconService {
      * @return a {@code Block} object
      */
     public Request<Block> getBlock(BigInteger height) {
-        long requestId = System.currentTimeMillis();
+        long requestId = nextRequestId();
         RpcObject params = new RpcObject.Builder()
                 .put("height", new RpcValue(height))
                 .build();
@@ -184,7 +222,7 @@ public class IconService {
      * @return a {@code Block} object
      */
     public Request<Block> getBlock(Bytes hash) {
-        long requestId = System.currentTimeMillis();
+        long requestId = nextRequestId();
         RpcObject params = new RpcObject.Builder()
                 .put("hash", new RpcValue(hash))
                 .build();
@@ -199,7 +237,7 @@ public class IconService {
      * @return a {@code Block} object
      */
     public Request<Block> getLastBlock() {
-        long requestId = System.currentTimeMillis();
+        long requestId = nextRequestId();
         foundation.icon.icx.transport.jsonrpc.Request request = new foundation.icon.icx.transport.jsonrpc.Request(
                 requestId, "icx_getLastBlock", null);
         return provider.request(request, findConverter(Block.class));
@@ -226,7 +264,7 @@ public class IconService {
     public Request<List<ScoreApi>> getScoreApi(Address scoreAddress, BigInteger height) {
         if (!IconKeys.isContractAddress(scoreAddress))
             throw new IllegalArgumentException("Only the contract address can be called.");
-        long requestId = System.currentTimeMillis();
+        long requestId = nextRequestId();
         RpcObject.Builder builder = new RpcObject.Builder()
                 .put("address", new RpcValue(scoreAddress));
         if (height != null) {
@@ -245,7 +283,7 @@ public class IconService {
      * @return a {@code ConfirmedTransaction} object
      */
     public Request<ConfirmedTransaction> getTransaction(Bytes hash) {
-        long requestId = System.currentTimeMillis();
+        long requestId = nextRequestId();
         RpcObject params = new RpcObject.Builder()
                 .put("txHash", new RpcValue(hash))
                 .build();
@@ -261,7 +299,7 @@ public class IconService {
      * @return a {@code TransactionResult} object
      */
     public Request<TransactionResult> getTransactionResult(Bytes hash) {
-        long requestId = System.currentTimeMillis();
+        long requestId = nextRequestId();
         RpcObject params = new RpcObject.Builder()
                 .put("txHash", new RpcValue(hash))
                 .build();
@@ -270,6 +308,50 @@ public class IconService {
         return provider.request(request, findConverter(TransactionResult.class));
     }
 
+    /**
+     * Gets the results of all transactions of a block, in the order of the transactions
+     *
+     * @param block a block
+     * @return a list of {@code TransactionResult} objects
+     * @see #getTransactionResults(List, int, int)
+     */
+    public Request<List<TransactionResult>> getTransactionResults(Block block) {
+        List<Bytes> hashes = new ArrayList<>();
+        for (ConfirmedTransaction transaction : block.getTransactions()) {
+            hashes.add(transaction.getTxHash());
+        }
+        return getTransactionResults(hashes);
+    }
+
+    /**
+     * Gets the results of the transactions specified by the transaction hashes, in the order of the hashes.
+     * The requests are sent in batches of {@link BatchRequest#DEFAULT_MAX_SIZE}, and up to
+     * {@link #DEFAULT_RESULT_PARALLELISM} batches are in flight at once.
+     *
+     * @param hashes the transaction hashes
+     * @return a list of {@code TransactionResult} objects
+     * @see #getTransactionResults(List, int, int)
+     */
+    public Request<List<TransactionResult>> getTransactionResults(List<Bytes> hashes) {
+        return getTransactionResults(hashes, BatchRequest.DEFAULT_MAX_SIZE, DEFAULT_RESULT_PARALLELISM);
+    }
+
+    /**
+     * Gets the results of the transactions specified by the transaction hashes, in the order of the hashes.
+     * <p>
+     * The requests are sent in JSON-RPC batches, and a new batch is sent when one in flight is completed.
+     * If the provider does not support batches, the requests are sent one by one, concurrently within a batch.
+     * The request fails with the first error, such as the error of a transaction which is not found.
+     *
+     * @param hashes the transaction hashes
+     * @param batchSize the maximum number of requests in a batch
+     * @param parallelism the maximum number of batches in flight
+     * @return a list of {@code TransactionResult} objects
+     */
+    public Request<List<TransactionResult>> getTransactionResults(List<Bytes> hashes, int batchSize, int parallelism) {
+        return new TransactionResultsRequest(this, hashes, batchSize, parallelism);
+    }
+
     /**
      * Calls a SCORE read-only API
      *
@@ -278,7 +360,7 @@ public class IconService {
      * @return a {@code Request} object that can execute the request
      */
     public <T> Request<T> call(Call<T> call) {
-        long requestId = System.currentTimeMillis();
+        long requestId = nextRequestId();
         foundation.icon.icx.transport.jsonrpc.Request request = new foundation.icon.icx.transport.jsonrpc.Request(
                 requestId, "icx_call", call.getProperties());
         return provider.request(request, findConverter(call.responseType()));
@@ -291,7 +373,7 @@ public class IconService {
      * @return a {@code Request} object that can execute the request (return type is txHash)
      */
     public Request<Bytes> sendTransaction(SignedTransaction signedTransaction) {
-        long requestId = System.currentTimeMillis();
+        long requestId = nextRequestId();
         foundation.icon.icx.transport.jsonrpc.Request request = new foundation.icon.icx.transport.jsonrpc.Request(
                 requestId, "icx_sendTransaction", signedTransaction.getProperties());
         return provider.request(request, findConverter(Bytes.class));
@@ -306,7 +388,7 @@ public class IconService {
      * @since 0.9.12
      */
     public Request<BigInteger> estimateStep(Transaction transaction) {
-        long requestId = System.currentTimeMillis();
+        long requestId = nextRequestId();
         foundation.icon.icx.transport.jsonrpc.Request request = new foundation.icon.icx.transport.jsonrpc.Request(
                 requestId, "debug_estimateStep", transaction.getProperties());
         return provider.request(request, findConverter(BigInteger.class));
@@ -323,7 +405,7 @@ public class IconService {
      * @return a {@code TransactionResult} object
      */
     public Request<TransactionResult> sendTransactionAndWait(SignedTransaction signedTransaction) {
-        long requestId = System.currentTimeMillis();
+        long requestId = nextRequestId();
         foundation.icon.icx.transport.jsonrpc.Request request = new foundation.icon.icx.transport.jsonrpc.Request(
                 requestId, "icx_sendTransactionAndWait", signedTransaction.getProperties());
         return provider.request(request, findConverter(TransactionResult.class));
@@ -340,7 +422,7 @@ public class IconService {
      * @return a {@code TransactionResult} object
      */
     public Request<TransactionResult> waitTransactionResult(Bytes hash) {
-        long requestId = System.currentTimeMillis();
+        long requestId = nextRequestId();
         RpcObject params = new RpcObject.Builder()
                 .put("txHash", new RpcValue(hash))
                 .build();
@@ -358,7 +440,7 @@ public class IconService {
      * @return a {@code Request} object that can execute the request
      */
     public Request<Base64> getDataByHash(Bytes hash) {
-        long requestId = System.currentTimeMillis();
+        long requestId = nextRequestId();
         RpcObject params = new RpcObject.Builder()
                 .put("hash", new RpcValue(hash))
                 .build();
@@ -375,7 +457,7 @@ public class IconService {
      * @return a {@code Request} object that can execute the request
      */
     public Request<Base64> getBlockHeaderByHeight(BigInteger height) {
-        long requestId = System.currentTimeMillis();
+        long requestId = nextRequestId();
         RpcObject params = new RpcObject.Builder()
                 .put("height", new RpcValue(height))
                 .build();
@@ -391,7 +473,7 @@ public class IconService {
      * @return a {@code Request} object that can execute the request
      */
     public Request<Base64> getVotesByHeight(BigInteger height) {
-        long requestId = System.currentTimeMillis();
+        long requestId = nextRequestId();
         RpcObject params = new RpcObject.Builder()
                 .put("height", new RpcValue(height))
                 .build();
@@ -408,7 +490,7 @@ public class IconService {
      * @return a {@code Request} object that can execute the request
      */
     public Request<Base64[]> getProofForResult(Bytes hash, BigInteger index) {
-        long requestId = System.currentTimeMillis();
+        long requestId = nextRequestId();
         RpcObject params = new RpcObject.Builder()
                 .put("hash", new RpcValue(hash))
                 .put("index", new RpcValue(index))
@@ -427,7 +509,7 @@ public class IconService {
      * @return a {@code Request} object that can execute the request
      */
     public Request<Base64[][]> getProofForEvents(Bytes hash, BigInteger index, BigInteger[] events) {
-        long requestId = System.currentTimeMillis();
+        long requestId = nextRequestId();
         RpcArray.Builder arrayBuilder = new RpcArray.Builder();
         for(BigInteger d : events) {
             arrayBuilder.add(new RpcValue(d));
@@ -449,7 +531,7 @@ public class IconService {
      * @return a {@code Request} object that can execute the request
      */
     public Request<ScoreStatus> getScoreStatus(Address contract) {
-        long requestId = System.currentTimeMillis();
+        long requestId = nextRequestId();
         RpcObject params = new RpcObject.Builder()
                 .put("address", new RpcValue(contract))
                 .build();
@@ -464,7 +546,7 @@ public class IconService {
      * @return a {@code Request} object that can execute the request
      */
     public Request<NetworkInfo> getNetworkInfo() {
-        long requestId = System.currentTimeMillis();
+        long requestId = nextRequestId();
         foundation.icon.icx.transport.jsonrpc.Request request = new foundation.icon.icx.transport.jsonrpc.Request(
                 requestId, "icx_getNetworkInfo", null);
         return provider.request(request, findConverter(NetworkInfo.class));
@@ -548,7 +630,7 @@ public class IconService {
      * @return a {@code Request} object that can execute the request
      */
     public Request<BTPNetworkInfo> getBTPNetworkInfo(BigInteger id, BigInteger height) {
-        long requestId = System.currentTimeMillis();
+        long requestId = nextRequestId();
         RpcObject.Builder params = new RpcObject.Builder()
                 .put("id", new RpcValue(id));
         if (height != null) {
@@ -577,7 +659,7 @@ public class IconService {
      * @return a {@code Request} object that can execute the request
      */
     public Request<BTPNetworkTypeInfo> getBTPNetworkTypeInfo(BigInteger id, BigInteger height) {
-        long requestId = System.currentTimeMillis();
+        long requestId = nextRequestId();
         RpcObject.Builder params = new RpcObject.Builder()
                 .put("id", new RpcValue(id));
         if (height != null) {
@@ -596,7 +678,7 @@ public class IconService {
      * @return a {@code Request} object that can execute the request
      */
     public Request<Base64[]> getBTPMessages(BigInteger networkID, BigInteger height) {
-        long requestId = System.currentTimeMillis();
+        long requestId = nextRequestId();
         RpcObject params = new RpcObject.Builder()
                 .put("height", new RpcValue(height))
                 .put("networkID", new RpcValue(networkID))
@@ -614,7 +696,7 @@ public class IconService {
      * @return a {@code Request} object that can execute the request
      */
     public Request<Base64> getBTPHeader(BigInteger networkID, BigInteger height) {
-        long requestId = System.currentTimeMillis();
+        long requestId = nextRequestId();
         RpcObject params = new RpcObject.Builder()
                 .put("height", new RpcValue(height))
                 .put("networkID", new RpcValue(networkID))
@@ -632,7 +714,7 @@ public class IconService {
      * @return a {@code Request} object that can execute the request
      */
     public Request<Base64> getBTPProof(BigInteger networkID, BigInteger height) {
-        long requestId = System.currentTimeMillis();
+        long requestId = nextRequestId();
         RpcObject params = new RpcObject.Builder()
                 .put("height", new RpcValue(height))
                 .put("networkID", new RpcValue(networkID))
@@ -648,12 +730,16 @@ public class IconService {
      * @return a {@code Request} object that can execute the request
      */
     public Request<BTPSourceInfo> getBTPSourceInformation() {
-        long requestId = System.currentTimeMillis();
+        long requestId = nextRequestId();
         foundation.icon.icx.transport.jsonrpc.Request request = new foundation.icon.icx.transport.jsonrpc.Request(
                 requestId, "btp_getSourceInformation", null);
         return provider.request(request, findConverter(BTPSourceInfo.class));
     }
 
+    private static long nextRequestId() {
+        return REQUEST_ID.incrementAndGet();
+    }
+
     @SuppressWarnings("unchecked")
     private <T> RpcConverter<T> findConverter(Class<T> type) {
         RpcConverter<T> converter = (RpcConverter<T>) converterMap.get(type);
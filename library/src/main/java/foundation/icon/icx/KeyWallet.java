@@ -24,6 +24,7 @@ import foundation.icon.icx.crypto.KeystoreException;
 import foundation.icon.icx.crypto.KeystoreFile;
 import foundation.icon.icx.data.Address;
 import foundation.icon.icx.data.Bytes;
+import foundation.icon.icx.metrics.ClientMetrics;
 
 import java.io.File;
 import java.io.IOException;
@@ -112,9 +113,15 @@ public class KeyWallet implements Wallet {
     @Override
     public byte[] sign(byte[] data) {
         checkArgument(data, "hash not found");
+        ClientMetrics metrics = ClientMetrics.installed();
+        long start = metrics != ClientMetrics.NOOP ? System.nanoTime() : 0;
         ECDSASignature signature = new ECDSASignature(privateKey);
         BigInteger[] sig = signature.generateSignature(data);
-        return signature.recoverableSerialize(sig, data);
+        byte[] result = signature.recoverableSerialize(sig, data);
+        if (metrics != ClientMetrics.NOOP) {
+            metrics.onSign(System.nanoTime() - start);
+        }
+        return result;
     }
 
     /**
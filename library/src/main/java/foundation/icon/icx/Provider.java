@@ -16,10 +16,13 @@
 
 package foundation.icon.icx;
 
+import foundation.icon.icx.transport.jsonrpc.Response;
 import foundation.icon.icx.transport.jsonrpc.RpcConverter;
 import foundation.icon.icx.transport.monitor.Monitor;
 import foundation.icon.icx.transport.monitor.MonitorSpec;
 
+import java.util.List;
+
 /**
  * The {@code Provider} class transports the request and receives the response.
  */
@@ -35,6 +38,19 @@ public interface Provider {
      */
     <T> Request<T> request(foundation.icon.icx.transport.jsonrpc.Request request, RpcConverter<T> converter);
 
+    /**
+     * Prepares to execute the requests as a single JSON-RPC batch.
+     * The responses are not converted and may come in any order, so they should be matched
+     * to the requests by their ids.
+     *
+     * @param requests the requests to send, which must have unique ids
+     * @return a {@code Request} object to be executed
+     * @see BatchRequest
+     */
+    default Request<List<Response>> batch(List<foundation.icon.icx.transport.jsonrpc.Request> requests) {
+        throw new UnsupportedOperationException();
+    }
+
     /**
      * Prepares a Websocket monitor to get notification
      *
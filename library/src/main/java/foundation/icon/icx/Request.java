@@ -17,6 +17,8 @@
 package foundation.icon.icx;
 
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * Request class executes the request that has been prepared
@@ -37,4 +39,50 @@ public interface Request<T> {
      * @param callback the callback is invoked when the execution is completed
      */
     void execute(Callback<T> callback);
+
+    /**
+     * Executes asynchronously and returns the future of the result.
+     * Canceling the future cancels the request.
+     *
+     * @return the future which is completed when the execution is completed
+     */
+    default CompletableFuture<T> executeAsync() {
+        return executeAsync(null);
+    }
+
+    /**
+     * Executes asynchronously and returns the future of the result, which is completed by the executor.
+     * Canceling the future cancels the request.
+     *
+     * @param executor the executor which completes the future,
+     *                 or {@code null} to complete it on the thread which completes the request
+     * @return the future which is completed when the execution is completed
+     */
+    default CompletableFuture<T> executeAsync(Executor executor) {
+        RequestFuture<T> future = new RequestFuture<>(this);
+        try {
+            execute(new Callback<T>() {
+                @Override
+                public void onSuccess(T result) {
+                    future.complete(result, null, executor);
+                }
+
+                @Override
+                public void onFailure(Exception exception) {
+                    future.complete(null, exception, executor);
+                }
+            });
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * Cancels the request if it is in flight.
+     * A canceled request fails with an {@code IOException}.
+     * The default implementation does nothing.
+     */
+    default void cancel() {
+    }
 }
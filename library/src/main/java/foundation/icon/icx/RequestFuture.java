@@ -0,0 +1,63 @@
+/*
+ * Copyright 2026 ICON Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package foundation.icon.icx;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * The future of a request, which cancels the request when it is canceled
+ *
+ * @param <T> the data type of the response
+ */
+class RequestFuture<T> extends CompletableFuture<T> {
+    private final Request<T> request;
+
+    RequestFuture(Request<T> request) {
+        this.request = request;
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        boolean canceled = super.cancel(mayInterruptIfRunning);
+        if (canceled) {
+            request.cancel();
+        }
+        return canceled;
+    }
+
+    void complete(T result, Throwable error, Executor executor) {
+        if (executor == null) {
+            complete(result, error);
+            return;
+        }
+        try {
+            executor.execute(() -> complete(result, error));
+        } catch (RejectedExecutionException e) {
+            completeExceptionally(e);
+        }
+    }
+
+    private void complete(T result, Throwable error) {
+        if (error == null) {
+            complete(result);
+        } else {
+            completeExceptionally(error);
+        }
+    }
+}
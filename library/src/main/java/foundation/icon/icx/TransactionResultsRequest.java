@@ -0,0 +1,217 @@
+/*
+ * Copyright 2026 ICON Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package foundation.icon.icx;
+
+import foundation.icon.icx.data.Bytes;
+import foundation.icon.icx.data.TransactionResult;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * TransactionResultsRequest gets the results of several transactions in JSON-RPC batches,
+ * keeping a bounded number of batches in flight.
+ * <p>
+ * The results are in the order of the hashes. The request fails with the first error, either of a batch
+ * or of a transaction. A provider without batches gets the requests of a batch one by one, concurrently.
+ */
+final class TransactionResultsRequest implements Request<List<TransactionResult>> {
+    private final IconService service;
+    private final List<Bytes> hashes;
+    private final int batchSize;
+    private final int parallelism;
+    private volatile Execution current;
+
+    TransactionResultsRequest(IconService service, List<Bytes> hashes, int batchSize, int parallelism) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Invalid batch size");
+        }
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Invalid parallelism");
+        }
+        this.service = service;
+        this.hashes = new ArrayList<>(hashes);
+        this.batchSize = batchSize;
+        this.parallelism = parallelism;
+    }
+
+    @Override
+    public List<TransactionResult> execute() throws IOException {
+        CompletableFuture<List<TransactionResult>> future = new CompletableFuture<>();
+        Execution execution = new Execution(future);
+        current = execution;
+        execution.start();
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            execution.cancel();
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    @Override
+    public void execute(final Callback<List<TransactionResult>> callback) {
+        CompletableFuture<List<TransactionResult>> future = new CompletableFuture<>();
+        future.whenComplete((results, t) -> {
+            if (t == null) {
+                callback.onSuccess(results);
+            } else {
+                callback.onFailure(t instanceof Exception ? (Exception) t : new IOException(t));
+            }
+        });
+        Execution execution = new Execution(future);
+        current = execution;
+        execution.start();
+    }
+
+    /**
+     * Stops sending the batches, and fails the request with an {@code IOException}
+     */
+    @Override
+    public void cancel() {
+        Execution execution = current;
+        if (execution != null) {
+            execution.cancel();
+        }
+    }
+
+    // The state of an execution
+    private class Execution {
+        private final CompletableFuture<List<TransactionResult>> future;
+        private final TransactionResult[] results = new TransactionResult[hashes.size()];
+        private int nextChunk;
+        private int remaining = (hashes.size() + batchSize - 1) / batchSize;
+        private volatile boolean batchUnsupported;
+
+        Execution(CompletableFuture<List<TransactionResult>> future) {
+            this.future = future;
+        }
+
+        void start() {
+            if (remaining == 0) {
+                future.complete(new ArrayList<>());
+                return;
+            }
+            for (int i = 0; i < parallelism; i++) {
+                sendNext();
+            }
+        }
+
+        void cancel() {
+            future.completeExceptionally(new IOException("Canceled"));
+        }
+
+        private void sendNext() {
+            int from;
+            synchronized (this) {
+                from = nextChunk * batchSize;
+                if (future.isDone() || from >= hashes.size()) {
+                    return;
+                }
+                nextChunk++;
+            }
+            int to = Math.min(from + batchSize, hashes.size());
+            if (batchUnsupported) {
+                sendEach(from, to);
+            } else {
+                sendBatch(from, to);
+            }
+        }
+
+        private void sendBatch(int from, int to) {
+            BatchRequest batch = service.newBatch(batchSize);
+            List<BatchRequest.Item<TransactionResult>> items = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                Bytes hash = hashes.get(i);
+                items.add(batch.add(s -> s.getTransactionResult(hash)));
+            }
+            batch.execute(new Callback<Void>() {
+                @Override
+                public void onSuccess(Void result) {
+                    for (int i = 0; i < items.size(); i++) {
+                        try {
+                            results[from + i] = items.get(i).execute();
+                        } catch (IOException | RuntimeException e) {
+                            fail(e);
+                            return;
+                        }
+                    }
+                    done();
+                }
+
+                @Override
+                public void onFailure(Exception exception) {
+                    if (exception instanceof UnsupportedOperationException) {
+                        // the provider has no batches
+                        batchUnsupported = true;
+                        sendEach(from, to);
+                        return;
+                    }
+                    fail(exception);
+                }
+            });
+        }
+
+        private void sendEach(int from, int to) {
+            CompletableFuture<?>[] futures = new CompletableFuture<?>[to - from];
+            for (int i = from; i < to; i++) {
+                int index = i;
+                futures[i - from] = service.getTransactionResult(hashes.get(i)).executeAsync()
+                        .thenAccept(result -> results[index] = result);
+            }
+            CompletableFuture.allOf(futures).whenComplete((v, t) -> {
+                if (t == null) {
+                    done();
+                } else {
+                    fail(t.getCause() instanceof Exception ? (Exception) t.getCause() : new IOException(t));
+                }
+            });
+        }
+
+        private void done() {
+            boolean last;
+            synchronized (this) {
+                last = --remaining == 0;
+            }
+            if (last) {
+                future.complete(Arrays.asList(results));
+            } else {
+                sendNext();
+            }
+        }
+
+        private void fail(Exception e) {
+            future.completeExceptionally(e);
+        }
+    }
+}
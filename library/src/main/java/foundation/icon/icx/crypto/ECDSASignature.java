@@ -1,6 +1,7 @@
 package foundation.icon.icx.crypto;
 
 import foundation.icon.icx.data.Bytes;
+import foundation.icon.icx.metrics.FlightEvents;
 import org.bouncycastle.asn1.x9.X9ECParameters;
 import org.bouncycastle.asn1.x9.X9IntegerConverter;
 import org.bouncycastle.crypto.digests.SHA256Digest;
@@ -62,17 +63,22 @@ public class ECDSASignature {
      * @return the R and S components of the signature, wrapped.
      */
     public BigInteger[] generateSignature(byte[] message) {
-        BigInteger p = new BigInteger(1, privateKey.toByteArray());
-        ECDSASigner signer = new ECDSASigner(new HMacDSAKCalculator(new SHA256Digest()));
-        ECPrivateKeyParameters param = new ECPrivateKeyParameters(p, curve);
-        signer.init(true, param);
-        BigInteger[] sig = signer.generateSignature(message);
-        BigInteger r = sig[0];
-        BigInteger s = sig[1];
-        if (s.compareTo(curveParams.getN().shiftRight(1)) > 0) {
-            s = curve.getN().subtract(s);
+        Object event = FlightEvents.beginSign();
+        try {
+            BigInteger p = new BigInteger(1, privateKey.toByteArray());
+            ECDSASigner signer = new ECDSASigner(new HMacDSAKCalculator(new SHA256Digest()));
+            ECPrivateKeyParameters param = new ECPrivateKeyParameters(p, curve);
+            signer.init(true, param);
+            BigInteger[] sig = signer.generateSignature(message);
+            BigInteger r = sig[0];
+            BigInteger s = sig[1];
+            if (s.compareTo(curveParams.getN().shiftRight(1)) > 0) {
+                s = curve.getN().subtract(s);
+            }
+            return new BigInteger[]{r, s};
+        } finally {
+            FlightEvents.endSign(event);
         }
-        return new BigInteger[]{r, s};
     }
 
     /**
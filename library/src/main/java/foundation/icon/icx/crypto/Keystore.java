@@ -1,6 +1,7 @@
 package foundation.icon.icx.crypto;
 
 import foundation.icon.icx.data.Bytes;
+import foundation.icon.icx.metrics.FlightEvents;
 import org.bouncycastle.crypto.digests.SHA256Digest;
 import org.bouncycastle.crypto.generators.PKCS5S2ParametersGenerator;
 import org.bouncycastle.crypto.generators.SCrypt;
@@ -170,6 +171,18 @@ public class Keystore {
 
     public static Bytes decrypt(String password, KeystoreFile keystoreFile)
             throws KeystoreException {
+        Object event = FlightEvents.beginDecrypt();
+        try {
+            return decryptKey(password, keystoreFile);
+        } finally {
+            if (event != null && keystoreFile.getCrypto() != null) {
+                FlightEvents.endDecrypt(event, keystoreFile.getCrypto().getKdf());
+            }
+        }
+    }
+
+    private static Bytes decryptKey(String password, KeystoreFile keystoreFile)
+            throws KeystoreException {
 
         validate(keystoreFile);
 
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2026 ICON Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package foundation.icon.icx.metrics;
+
+import java.io.IOException;
+
+/**
+ * The {@code ClientMetrics} interface receives the measurements of the SDK.
+ * <p>
+ * The HTTP transport reports each JSON-RPC request with its latency split into the time waiting for
+ * a connection, the time on the network and the time decoding the response. The monitors report
+ * their notifications, and the key wallets report the time of signing. All the methods do nothing
+ * by default, and nothing is measured while {@link #NOOP} is installed.
+ * <p>
+ * The methods are called on the threads of the SDK and of OkHttp, so they must be thread-safe and fast.
+ * <pre>{@code
+ * RecordingMetrics metrics = new RecordingMetrics();
+ * ClientMetrics.install(metrics);
+ * ...
+ * long p99 = metrics.getMethod("icx_call").getNetworkLatency().getPercentile(0.99, TimeUnit.MILLISECONDS);
+ * }</pre>
+ */
+public interface ClientMetrics {
+
+    /**
+     * The metrics which ignore everything, installed by default
+     */
+    ClientMetrics NOOP = new ClientMetrics() {
+    };
+
+    /**
+     * Installs the metrics for the whole process
+     *
+     * @param metrics the metrics, or {@code null} to stop measuring
+     */
+    static void install(ClientMetrics metrics) {
+        MetricsHolder.installed = metrics != null ? metrics : NOOP;
+    }
+
+    /**
+     * Returns the installed metrics
+     *
+     * @return the metrics, or {@link #NOOP} if nothing is installed
+     */
+    static ClientMetrics installed() {
+        return MetricsHolder.installed;
+    }
+
+    /**
+     * Called when the response of a request is decoded, whether it has a result or an error
+     *
+     * @param method the JSON-RPC method, or {@code batch} for a JSON-RPC batch
+     * @param queueNanos the time from the execution until the request started to be sent,
+     *                   which includes waiting for a connection
+     * @param networkNanos the time from sending the request until the response arrived
+     * @param decodeNanos the time reading and decoding the response body
+     * @param requestBytes the size of the request body
+     * @param responseBytes the size of the response body
+     */
+    default void onRequest(String method, long queueNanos, long networkNanos, long decodeNanos,
+                           long requestBytes, long responseBytes) {
+    }
+
+    /**
+     * Called when the node answers a request with an error, after {@link #onRequest}
+     *
+     * @param method the JSON-RPC method
+     * @param code the code of the {@code RpcError}
+     */
+    default void onError(String method, long code) {
+    }
+
+    /**
+     * Called when a request fails without a response, ex) a connection failure or a timeout
+     *
+     * @param method the JSON-RPC method
+     * @param error the error
+     */
+    default void onFailure(String method, IOException error) {
+    }
+
+    /**
+     * Called when a monitor receives a notification
+     *
+     * @param path the path of the monitor, ex) {@code block}
+     */
+    default void onMonitorEvent(String path) {
+    }
+
+    /**
+     * Called when a monitor fails
+     *
+     * @param path the path of the monitor, ex) {@code block}
+     * @param code the error code given to the listener
+     */
+    default void onMonitorError(String path, long code) {
+    }
+
+    /**
+     * Called when a monitor queues a notification to be delivered to its listener
+     *
+     * @param path the path of the monitor, ex) {@code block}
+     * @param depth the number of the notifications in the queue, including this one
+     */
+    default void onMonitorQueued(String path, int depth) {
+    }
+
+    /**
+     * Called when a monitor drops the oldest notification in its queue because the queue is full
+     *
+     * @param path the path of the monitor, ex) {@code block}
+     */
+    default void onMonitorDropped(String path) {
+    }
+
+    /**
+     * Called when a wallet signs a message
+     *
+     * @param nanos the time of signing
+     */
+    default void onSign(long nanos) {
+    }
+}
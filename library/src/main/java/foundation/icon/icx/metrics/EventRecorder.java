@@ -0,0 +1,46 @@
+/*
+ * Copyright 2026 ICON Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package foundation.icon.icx.metrics;
+
+/**
+ * Creates and commits the JDK Flight Recorder events of the SDK.
+ * It is implemented by {@code JfrEventRecorder}, which is compiled for Java 11 and loaded only if
+ * the runtime has {@code jdk.jfr}.
+ */
+interface EventRecorder {
+
+    boolean isRequestEnabled();
+
+    Object beginRequest();
+
+    void endRequest(Object event, String method, long requestBytes, long responseBytes,
+                    long errorCode, String failure);
+
+    Object beginDecode();
+
+    void endDecode(Object event, long size);
+
+    Object beginSign();
+
+    void endSign(Object event);
+
+    void monitorEvent(String path, long size);
+
+    Object beginDecrypt();
+
+    void endDecrypt(Object event, String kdf);
+}
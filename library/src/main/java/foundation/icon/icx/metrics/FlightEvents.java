@@ -0,0 +1,126 @@
+/*
+ * Copyright 2026 ICON Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package foundation.icon.icx.metrics;
+
+/**
+ * The {@code FlightEvents} class emits the JDK Flight Recorder events of the SDK.
+ * <p>
+ * The following events are recorded under the {@code ICON SDK} category.
+ * <ul>
+ * <li>{@code foundation.icon.icx.RpcRequest}: a JSON-RPC request over HTTP with its method,
+ * payload sizes and error</li>
+ * <li>{@code foundation.icon.icx.RpcDecode}: decoding a JSON-RPC response with its size</li>
+ * <li>{@code foundation.icon.icx.Sign}: signing a message</li>
+ * <li>{@code foundation.icon.icx.MonitorEvent}: a notification of a monitor with its path and size</li>
+ * <li>{@code foundation.icon.icx.KeystoreDecrypt}: decrypting a keystore with its key derivation function</li>
+ * </ul>
+ * The event classes are in the Java 11 part of the multi-release jar, and are loaded only if the runtime
+ * has {@code jdk.jfr}. Otherwise, or while no recording enables them, the methods do nothing.
+ * <pre>
+ * java -XX:StartFlightRecording:filename=app.jfr ...
+ * jfr print --categories "ICON SDK" app.jfr
+ * </pre>
+ * The methods are called by the SDK. An event returned by a {@code begin} method is passed to
+ * the matching {@code end} method, which accepts {@code null} for a disabled event.
+ */
+public final class FlightEvents {
+    private static final EventRecorder RECORDER = load();
+
+    private FlightEvents() {
+    }
+
+    private static EventRecorder load() {
+        try {
+            Class.forName("jdk.jfr.Event", false, FlightEvents.class.getClassLoader());
+            return (EventRecorder) Class.forName("foundation.icon.icx.metrics.JfrEventRecorder")
+                    .getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError | RuntimeException e) {
+            // no jdk.jfr, or a jar without the Java 11 classes
+            return null;
+        }
+    }
+
+    /**
+     * Returns whether the events can be recorded in this runtime
+     *
+     * @return {@code true} if the runtime has {@code jdk.jfr}
+     */
+    public static boolean isAvailable() {
+        return RECORDER != null;
+    }
+
+    public static boolean isRequestEnabled() {
+        return RECORDER != null && RECORDER.isRequestEnabled();
+    }
+
+    public static Object beginRequest() {
+        return RECORDER != null ? RECORDER.beginRequest() : null;
+    }
+
+    /**
+     * Commits the request event
+     *
+     * @param event the event from {@link #beginRequest()}
+     * @param method the JSON-RPC method, or {@code batch} for a JSON-RPC batch
+     * @param requestBytes the size of the request body
+     * @param responseBytes the size of the response body
+     * @param errorCode the code of the JSON-RPC error, or {@code 0}
+     * @param failure the failure of the call, or {@code null} if the node answered
+     */
+    public static void endRequest(Object event, String method, long requestBytes, long responseBytes,
+                                  long errorCode, String failure) {
+        if (event != null) {
+            RECORDER.endRequest(event, method, requestBytes, responseBytes, errorCode, failure);
+        }
+    }
+
+    public static Object beginDecode() {
+        return RECORDER != null ? RECORDER.beginDecode() : null;
+    }
+
+    public static void endDecode(Object event, long size) {
+        if (event != null) {
+            RECORDER.endDecode(event, size);
+        }
+    }
+
+    public static Object beginSign() {
+        return RECORDER != null ? RECORDER.beginSign() : null;
+    }
+
+    public static void endSign(Object event) {
+        if (event != null) {
+            RECORDER.endSign(event);
+        }
+    }
+
+    public static void monitorEvent(String path, long size) {
+        if (RECORDER != null) {
+            RECORDER.monitorEvent(path, size);
+        }
+    }
+
+    public static Object beginDecrypt() {
+        return RECORDER != null ? RECORDER.beginDecrypt() : null;
+    }
+
+    public static void endDecrypt(Object event, String kdf) {
+        if (event != null) {
+            RECORDER.endDecrypt(event, kdf);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2026 ICON Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package foundation.icon.icx.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * LatencyHistogram counts the latencies in logarithmic buckets.
+ * <p>
+ * Each power of two is split into four buckets, so a percentile is within 25% of the exact value.
+ * Recording is lock-free and does not allocate.
+ */
+public final class LatencyHistogram {
+    private static final int SUB_BUCKETS = 4;
+    private static final int BUCKETS = SUB_BUCKETS * 62;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Records a latency
+     *
+     * @param nanos the latency in nanoseconds
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts.incrementAndGet(indexOf(value));
+        count.incrementAndGet();
+        sum.addAndGet(value);
+        max.accumulateAndGet(value, Math::max);
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+
+    /**
+     * Returns the mean of the latencies
+     *
+     * @param unit the unit of the result
+     * @return the mean, or 0 if nothing was recorded
+     */
+    public double getMean(TimeUnit unit) {
+        long n = count.get();
+        return n == 0 ? 0 : (double) sum.get() / n / unit.toNanos(1);
+    }
+
+    /**
+     * Returns the highest latency
+     *
+     * @param unit the unit of the result
+     * @return the highest latency
+     */
+    public long getMax(TimeUnit unit) {
+        return unit.convert(max.get(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Returns the latency which the given ratio of the latencies do not exceed
+     *
+     * @param percentile the ratio between 0 and 1, ex) 0.99
+     * @param unit the unit of the result
+     * @return the upper bound of the bucket holding the percentile, or 0 if nothing was recorded
+     */
+    public long getPercentile(double percentile, TimeUnit unit) {
+        if (percentile < 0 || percentile > 1) {
+            throw new IllegalArgumentException("Invalid percentile");
+        }
+        long total = 0;
+        long[] snapshot = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return unit.convert(Math.min(upperBoundOf(i), max.get()), TimeUnit.NANOSECONDS);
+            }
+        }
+        return unit.convert(max.get(), TimeUnit.NANOSECONDS);
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) ((value >>> (exponent - 2)) & (SUB_BUCKETS - 1));
+        return SUB_BUCKETS * (exponent - 1) + sub;
+    }
+
+    static long upperBoundOf(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int exponent = index / SUB_BUCKETS + 1;
+        long width = 1L << (exponent - 2);
+        return (SUB_BUCKETS + index % SUB_BUCKETS) * width + width - 1;
+    }
+}
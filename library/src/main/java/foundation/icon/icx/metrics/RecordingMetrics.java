@@ -0,0 +1,243 @@
+/*
+ * Copyright 2026 ICON Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package foundation.icon.icx.metrics;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * RecordingMetrics keeps the measurements in memory, to be read by the application or exported
+ * to a monitoring system.
+ */
+public class RecordingMetrics implements ClientMetrics {
+    private final ConcurrentMap<String, MethodMetrics> methods = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, AtomicLong> errors = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, MonitorMetrics> monitors = new ConcurrentHashMap<>();
+    private final LatencyHistogram signing = new LatencyHistogram();
+
+    @Override
+    public void onRequest(String method, long queueNanos, long networkNanos, long decodeNanos,
+                          long requestBytes, long responseBytes) {
+        MethodMetrics metrics = getMethod(method);
+        metrics.queue.record(queueNanos);
+        metrics.network.record(networkNanos);
+        metrics.decode.record(decodeNanos);
+        metrics.requestBytes.addAndGet(requestBytes);
+        metrics.responseBytes.addAndGet(responseBytes);
+    }
+
+    @Override
+    public void onError(String method, long code) {
+        getMethod(method).errors.incrementAndGet();
+        errors.computeIfAbsent(code, k -> new AtomicLong()).incrementAndGet();
+    }
+
+    @Override
+    public void onFailure(String method, IOException error) {
+        getMethod(method).failures.incrementAndGet();
+    }
+
+    @Override
+    public void onMonitorEvent(String path) {
+        getMonitor(path).onEvent(System.nanoTime());
+    }
+
+    @Override
+    public void onMonitorError(String path, long code) {
+        getMonitor(path).errors.incrementAndGet();
+    }
+
+    @Override
+    public void onMonitorQueued(String path, int depth) {
+        getMonitor(path).onQueued(depth);
+    }
+
+    @Override
+    public void onMonitorDropped(String path) {
+        getMonitor(path).drops.incrementAndGet();
+    }
+
+    @Override
+    public void onSign(long nanos) {
+        signing.record(nanos);
+    }
+
+    /**
+     * Returns the measurements of the method
+     *
+     * @param method the JSON-RPC method
+     * @return the measurements, which are empty if the method was not requested
+     */
+    public MethodMetrics getMethod(String method) {
+        return methods.computeIfAbsent(method, k -> new MethodMetrics());
+    }
+
+    /**
+     * Returns the number of the errors by their codes
+     *
+     * @return the map from the error codes to the numbers
+     */
+    public Map<Long, Long> getErrorCounts() {
+        Map<Long, Long> counts = new HashMap<>();
+        errors.forEach((code, count) -> counts.put(code, count.get()));
+        return Collections.unmodifiableMap(counts);
+    }
+
+    /**
+     * Returns the measurements of the monitors of the path
+     *
+     * @param path the path of the monitor, ex) {@code block}
+     * @return the measurements
+     */
+    public MonitorMetrics getMonitor(String path) {
+        return monitors.computeIfAbsent(path, k -> new MonitorMetrics());
+    }
+
+    /**
+     * Returns the latencies of signing
+     *
+     * @return the histogram
+     */
+    public LatencyHistogram getSigning() {
+        return signing;
+    }
+
+    /**
+     * The measurements of a JSON-RPC method
+     */
+    public static class MethodMetrics {
+        private final LatencyHistogram queue = new LatencyHistogram();
+        private final LatencyHistogram network = new LatencyHistogram();
+        private final LatencyHistogram decode = new LatencyHistogram();
+        private final AtomicLong requestBytes = new AtomicLong();
+        private final AtomicLong responseBytes = new AtomicLong();
+        private final AtomicLong errors = new AtomicLong();
+        private final AtomicLong failures = new AtomicLong();
+
+        public LatencyHistogram getQueueLatency() {
+            return queue;
+        }
+
+        public LatencyHistogram getNetworkLatency() {
+            return network;
+        }
+
+        public LatencyHistogram getDecodeLatency() {
+            return decode;
+        }
+
+        /**
+         * Returns the number of the requests answered, with a result or an error
+         *
+         * @return the number of requests
+         */
+        public long getCount() {
+            return network.getCount();
+        }
+
+        public long getRequestBytes() {
+            return requestBytes.get();
+        }
+
+        public long getResponseBytes() {
+            return responseBytes.get();
+        }
+
+        /**
+         * Returns the number of the requests answered with an error
+         *
+         * @return the number of requests
+         */
+        public long getErrorCount() {
+            return errors.get();
+        }
+
+        /**
+         * Returns the number of the requests failed without a response
+         *
+         * @return the number of requests
+         */
+        public long getFailureCount() {
+            return failures.get();
+        }
+    }
+
+    /**
+     * The measurements of the monitors of a path
+     */
+    public static class MonitorMetrics {
+        private final AtomicLong events = new AtomicLong();
+        private final AtomicLong errors = new AtomicLong();
+        private final AtomicLong drops = new AtomicLong();
+        private final AtomicLong maxDepth = new AtomicLong();
+        private volatile long firstNanos;
+        private volatile long lastNanos;
+
+        private void onEvent(long now) {
+            if (events.getAndIncrement() == 0) {
+                firstNanos = now;
+            }
+            lastNanos = now;
+        }
+
+        private void onQueued(int depth) {
+            maxDepth.accumulateAndGet(depth, Math::max);
+        }
+
+        public long getEventCount() {
+            return events.get();
+        }
+
+        public long getErrorCount() {
+            return errors.get();
+        }
+
+        /**
+         * Returns the number of the notifications dropped because the queue was full
+         *
+         * @return the number of notifications
+         */
+        public long getDropCount() {
+            return drops.get();
+        }
+
+        /**
+         * Returns the maximum number of the notifications queued for the listeners
+         *
+         * @return the maximum depth of the queues
+         */
+        public long getMaxQueueDepth() {
+            return maxDepth.get();
+        }
+
+        /**
+         * Returns the average number of the notifications per second between the first and the last one
+         *
+         * @return the rate, or 0 if less than two notifications were received
+         */
+        public double getEventRate() {
+            long n = events.get();
+            long elapsed = lastNanos - firstNanos;
+            return n < 2 || elapsed <= 0 ? 0 : (n - 1) * 1e9 / elapsed;
+        }
+    }
+}
@@ -0,0 +1,503 @@
+/*
+ * Copyright 2026 ICON Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package foundation.icon.icx.sync;
+
+import foundation.icon.icx.Callback;
+import foundation.icon.icx.Provider;
+import foundation.icon.icx.Request;
+import foundation.icon.icx.data.Block;
+import foundation.icon.icx.data.Converters;
+import foundation.icon.icx.transport.cache.CachingProvider;
+import foundation.icon.icx.transport.jsonrpc.RpcItem;
+import foundation.icon.icx.transport.jsonrpc.RpcObject;
+import foundation.icon.icx.transport.jsonrpc.RpcValue;
+import foundation.icon.icx.transport.retry.Backoff;
+import foundation.icon.icx.transport.retry.RetryingProvider;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * The {@code BlockRangeFetcher} class downloads a range of blocks with concurrent requests,
+ * and delivers them strictly in the order of the heights.
+ * <p>
+ * The requests run ahead of the delivery within a window of heights, and new requests are not sent while
+ * the blocks received but not delivered yet, together with the estimated size of the requests in flight,
+ * exceed the maximum bytes. The request for the next block to deliver is always sent, so the fetch makes
+ * progress with a block larger than the maximum. A request failed for a transient reason is retried for
+ * its height after a delay growing with jitter, and the other failures end the fetch.
+ * <p>
+ * The concurrency is also bounded by the dispatcher of the {@code OkHttpClient} of the provider, which
+ * allows 5 requests per host by default.
+ * <pre>{@code
+ * try (BlockRangeFetcher fetcher = new BlockRangeFetcher.Builder(httpProvider)
+ *         .concurrency(16)
+ *         .build()) {
+ *     fetcher.fetch(from, to, block -> process(block));
+ * }
+ * }</pre>
+ */
+public class BlockRangeFetcher implements Closeable {
+    private final Provider provider;
+    private final int concurrency;
+    private final int window;
+    private final long maxBytes;
+    private final int maxAttempts;
+    private final long baseDelayNanos;
+    private final long maxDelayNanos;
+    private final ScheduledExecutorService scheduler;
+    private final AtomicLong ids = new AtomicLong();
+    private final AtomicLong fetched = new AtomicLong();
+    private final AtomicLong fetchedBytes = new AtomicLong();
+    private final AtomicLong retries = new AtomicLong();
+    private final AtomicLong maxBufferedBytes = new AtomicLong();
+    private volatile Range current;
+    private volatile boolean closed;
+
+    private BlockRangeFetcher(Builder builder) {
+        this.provider = builder.provider;
+        this.concurrency = builder.concurrency;
+        this.window = builder.window;
+        this.maxBytes = builder.maxBytes;
+        this.maxAttempts = builder.maxAttempts;
+        this.baseDelayNanos = builder.baseDelayNanos;
+        this.maxDelayNanos = builder.maxDelayNanos;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "icon-fetch");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Returns the number of the blocks received
+     *
+     * @return the number of blocks
+     */
+    public long getFetchedCount() {
+        return fetched.get();
+    }
+
+    /**
+     * Returns the approximate memory size of the blocks received
+     *
+     * @return the size in bytes
+     */
+    public long getFetchedBytes() {
+        return fetchedBytes.get();
+    }
+
+    /**
+     * Returns the number of the requests sent again after a transient failure
+     *
+     * @return the number of retries
+     */
+    public long getRetryCount() {
+        return retries.get();
+    }
+
+    /**
+     * Returns the largest size of the blocks received and not delivered yet
+     *
+     * @return the size in bytes
+     */
+    public long getMaxBufferedBytes() {
+        return maxBufferedBytes.get();
+    }
+
+    /**
+     * Fetches the blocks of the range and gives them to the consumer in the order of the heights,
+     * on the calling thread.
+     *
+     * @param from the first height, inclusive
+     * @param to the last height, exclusive
+     * @param consumer the consumer of the blocks
+     * @throws IOException if a block fails to be fetched, or the fetch is canceled
+     */
+    public void fetch(BigInteger from, BigInteger to, Consumer<? super Block> consumer) throws IOException {
+        if (from.signum() < 0 || from.compareTo(to) > 0) {
+            throw new IllegalArgumentException("Invalid range");
+        }
+        Range range = new Range(from, to.subtract(from).longValueExact());
+        current = range;
+        if (closed) {
+            // close may have run before the range was set
+            range.cancel();
+        }
+        try {
+            range.run(consumer);
+        } finally {
+            range.cancelAll();
+            current = null;
+        }
+    }
+
+    /**
+     * Cancels the fetch in progress, which fails with an {@code IOException}
+     */
+    public void cancel() {
+        Range range = current;
+        if (range != null) {
+            range.cancel();
+        }
+    }
+
+    /**
+     * Cancels the fetch in progress and the ones called later, and stops the timer of the retries
+     */
+    @Override
+    public void close() {
+        closed = true;
+        cancel();
+        scheduler.shutdownNow();
+    }
+
+    // The state of a call of fetch
+    private class Range {
+        private final BigInteger from;
+        private final long count;
+        private final Map<Long, Slot> slots = new HashMap<>();
+        private long next;
+        private long issued;
+        private int inFlight;
+        private long bufferedBytes;
+        private Exception failure;
+        private boolean canceled;
+
+        Range(BigInteger from, long count) {
+            this.from = from;
+            this.count = count;
+        }
+
+        void run(Consumer<? super Block> consumer) throws IOException {
+            while (true) {
+                List<Slot> starting = new ArrayList<>();
+                Block block;
+                synchronized (this) {
+                    while (canIssue()) {
+                        Slot slot = new Slot(issued++);
+                        slots.put(slot.offset, slot);
+                        inFlight++;
+                        starting.add(slot);
+                    }
+                    if (starting.isEmpty()) {
+                        try {
+                            waitForNext();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            throw new InterruptedIOException("Interrupted");
+                        }
+                    }
+                    if (canceled) {
+                        throw new IOException("Canceled");
+                    } else if (failure instanceof IOException) {
+                        throw (IOException) failure;
+                    } else if (failure instanceof RuntimeException) {
+                        throw (RuntimeException) failure;
+                    } else if (failure != null) {
+                        throw new IOException(failure);
+                    }
+                    if (next == count) {
+                        return;
+                    }
+                    block = take();
+                }
+                // the requests are sent without the lock, since a callback may be called in place
+                for (Slot slot : starting) {
+                    slot.send();
+                }
+                if (block != null) {
+                    consumer.accept(block);
+                }
+            }
+        }
+
+        private boolean canIssue() {
+            if (issued >= count || inFlight >= concurrency || issued - next >= window
+                    || canceled || failure != null) {
+                return false;
+            }
+            if (issued == next) {
+                return true;
+            }
+            long received = fetched.get();
+            if (received == 0) {
+                // the size of the blocks is not known until one is received
+                return false;
+            }
+            long estimate = fetchedBytes.get() / received;
+            return bufferedBytes + inFlight * estimate < maxBytes;
+        }
+
+        private void waitForNext() throws InterruptedException {
+            while (!canceled && failure == null && next < count && !canIssue()) {
+                Slot head = slots.get(next);
+                if (head != null && head.block != null) {
+                    return;
+                }
+                wait();
+            }
+        }
+
+        // Removes the next block if it is received
+        private Block take() {
+            Slot head = slots.get(next);
+            if (head == null || head.block == null) {
+                return null;
+            }
+            slots.remove(next);
+            next++;
+            bufferedBytes -= head.weight;
+            notifyAll();
+            return head.block;
+        }
+
+        synchronized void cancel() {
+            canceled = true;
+            notifyAll();
+        }
+
+        void cancelAll() {
+            List<Slot> pending;
+            synchronized (this) {
+                canceled = true;
+                pending = new ArrayList<>(slots.values());
+                slots.clear();
+            }
+            for (Slot slot : pending) {
+                slot.cancel();
+            }
+        }
+
+        private synchronized void received(Slot slot, Block block, long weight) {
+            inFlight--;
+            if (canceled) {
+                return;
+            }
+            slot.block = block;
+            slot.weight = weight;
+            bufferedBytes += weight;
+            if (bufferedBytes > maxBufferedBytes.get()) {
+                maxBufferedBytes.set(bufferedBytes);
+            }
+            notifyAll();
+        }
+
+        private synchronized void failed(Exception error) {
+            inFlight--;
+            if (failure == null) {
+                failure = error;
+            }
+            notifyAll();
+        }
+
+        // A request for a height
+        private class Slot implements Callback<RpcItem> {
+            private final long offset;
+            private final Backoff backoff = new Backoff(baseDelayNanos, maxDelayNanos, TimeUnit.NANOSECONDS);
+            private int attempts;
+            private volatile Request<RpcItem> call;
+            private volatile ScheduledFuture<?> retry;
+            Block block;
+            long weight;
+
+            Slot(long offset) {
+                this.offset = offset;
+            }
+
+            // Sends the request, which is counted in flight until it ends with received or failed
+            void send() {
+                attempts++;
+                try {
+                    RpcObject params = new RpcObject.Builder()
+                            .put("height", new RpcValue(from.add(BigInteger.valueOf(offset))))
+                            .build();
+                    call = provider.request(new foundation.icon.icx.transport.jsonrpc.Request(
+                            ids.incrementAndGet(), "icx_getBlockByHeight", params), Converters.RPC_ITEM);
+                    call.execute(this);
+                } catch (RuntimeException e) {
+                    // a retry runs on the scheduler, which would swallow the exception
+                    failed(e);
+                }
+            }
+
+            void cancel() {
+                ScheduledFuture<?> scheduled = retry;
+                if (scheduled != null) {
+                    scheduled.cancel(false);
+                }
+                Request<RpcItem> request = call;
+                if (request != null) {
+                    request.cancel();
+                }
+            }
+
+            @Override
+            public void onSuccess(RpcItem result) {
+                Block decoded;
+                long size;
+                try {
+                    decoded = Converters.BLOCK.convertTo(result);
+                    size = CachingProvider.weigh(result);
+                } catch (RuntimeException e) {
+                    failed(e);
+                    return;
+                }
+                fetched.incrementAndGet();
+                fetchedBytes.addAndGet(size);
+                received(this, decoded, size);
+            }
+
+            @Override
+            public void onFailure(Exception exception) {
+                synchronized (Range.this) {
+                    if (canceled) {
+                        inFlight--;
+                        return;
+                    }
+                }
+                if (exception instanceof IOException && attempts < maxAttempts
+                        && RetryingProvider.isRetryable((IOException) exception)) {
+                    try {
+                        retry = scheduler.schedule(this::send, backoff.nextDelay(), TimeUnit.NANOSECONDS);
+                        retries.incrementAndGet();
+                        return;
+                    } catch (RejectedExecutionException e) {
+                        // closed
+                    }
+                }
+                failed(exception);
+            }
+        }
+    }
+
+    /**
+     * Builder for BlockRangeFetcher
+     */
+    public static class Builder {
+        private final Provider provider;
+        private int concurrency = 8;
+        private int window = 256;
+        private long maxBytes = 64L * 1024 * 1024;
+        private int maxAttempts = 5;
+        private long baseDelayNanos = TimeUnit.MILLISECONDS.toNanos(100);
+        private long maxDelayNanos = TimeUnit.SECONDS.toNanos(5);
+
+        /**
+         * Creates a builder for the provider
+         *
+         * @param provider the provider to fetch the blocks from
+         */
+        public Builder(Provider provider) {
+            if (provider == null) {
+                throw new IllegalArgumentException("provider not found");
+            }
+            this.provider = provider;
+        }
+
+        /**
+         * Sets the maximum number of the requests in flight (default: 8)
+         *
+         * @param requests the number of requests
+         * @return the builder
+         */
+        public Builder concurrency(int requests) {
+            if (requests < 1) {
+                throw new IllegalArgumentException("Invalid concurrency");
+            }
+            this.concurrency = requests;
+            return this;
+        }
+
+        /**
+         * Sets how many heights the requests may run ahead of the delivery (default: 256)
+         *
+         * @param blocks the number of blocks
+         * @return the builder
+         */
+        public Builder window(int blocks) {
+            if (blocks < 1) {
+                throw new IllegalArgumentException("Invalid window");
+            }
+            this.window = blocks;
+            return this;
+        }
+
+        /**
+         * Sets the maximum size of the blocks received and not delivered yet, together with the estimated
+         * size of the requests in flight (default: 64 MiB)
+         *
+         * @param bytes the maximum size in bytes
+         * @return the builder
+         */
+        public Builder maxBytesInFlight(long bytes) {
+            if (bytes < 0) {
+                throw new IllegalArgumentException("Invalid bytes");
+            }
+            this.maxBytes = bytes;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of the attempts for a height, including the first one (default: 5)
+         *
+         * @param attempts the number of attempts
+         * @return the builder
+         */
+        public Builder maxAttempts(int attempts) {
+            if (attempts < 1) {
+                throw new IllegalArgumentException("Invalid attempts");
+            }
+            this.maxAttempts = attempts;
+            return this;
+        }
+
+        /**
+         * Sets the range of the delay before a retry (default: 100 ms to 5 s)
+         *
+         * @param base the delay of the first retry
+         * @param max the maximum delay
+         * @param unit the unit of the delays
+         * @return the builder
+         */
+        public Builder backoff(long base, long max, TimeUnit unit) {
+            if (base < 0 || max < base) {
+                throw new IllegalArgumentException("Invalid backoff");
+            }
+            this.baseDelayNanos = unit.toNanos(base);
+            this.maxDelayNanos = unit.toNanos(max);
+            return this;
+        }
+
+        public BlockRangeFetcher build() {
+            return new BlockRangeFetcher(this);
+        }
+    }
+}
@@ -0,0 +1,342 @@
+/*
+ * Copyright 2026 ICON Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package foundation.icon.icx.sync;
+
+import foundation.icon.icx.Provider;
+import foundation.icon.icx.data.Block;
+import foundation.icon.icx.data.BlockNotification;
+import foundation.icon.icx.data.Converters;
+import foundation.icon.icx.transport.monitor.BlockMonitorSpec;
+import foundation.icon.icx.transport.monitor.Monitor;
+import foundation.icon.icx.transport.monitor.MonitorIterator;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigInteger;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * The {@code BlockStream} class delivers the blocks from a height, catching up the history first and
+ * following the new blocks after.
+ * <p>
+ * In the backfill phase, the blocks up to the last block are fetched by a {@link BlockRangeFetcher},
+ * again and again while the node produces new blocks, until the stream is within the live threshold of
+ * the last block. In the live phase, a block monitor is started at the height where the backfill ended,
+ * and each block notified is fetched in order. The notifications below the next height are skipped, and
+ * the blocks between the next height and a notification are fetched first, so the blocks are delivered
+ * without a gap and a duplicate across the handover. The blocks are consumed one at a time, and the
+ * monitor is read on demand by a {@link MonitorIterator}.
+ * <p>
+ * To resume the monitor after a failure, give a {@code RetryingProvider} with the monitors resumed.
+ * <pre>{@code
+ * try (BlockStream stream = new BlockStream.Builder(httpProvider).concurrency(16).build()) {
+ *     stream.run(height, block -> process(block));
+ * }
+ * }</pre>
+ */
+public class BlockStream implements Closeable {
+
+    /**
+     * The phases of the stream
+     */
+    public enum Phase {
+        BACKFILL,
+        LIVE
+    }
+
+    private final Provider provider;
+    private final BlockRangeFetcher fetcher;
+    private final long liveThreshold;
+    private final PhaseStats backfill = new PhaseStats();
+    private final PhaseStats live = new PhaseStats();
+    private final AtomicLong ids = new AtomicLong();
+    private volatile Phase phase = Phase.BACKFILL;
+    private volatile BigInteger handoverHeight;
+    private volatile MonitorIterator<BlockNotification> notifications;
+    private volatile boolean closed;
+    private BigInteger next;
+
+    private BlockStream(Builder builder) {
+        this.provider = builder.provider;
+        this.fetcher = builder.fetcher.build();
+        this.liveThreshold = builder.liveThreshold;
+    }
+
+    public Phase getPhase() {
+        return phase;
+    }
+
+    /**
+     * Returns the height which the block monitor started at
+     *
+     * @return the height, or {@code null} if the stream is not live yet
+     */
+    public BigInteger getHandoverHeight() {
+        return handoverHeight;
+    }
+
+    public PhaseStats getBackfillStats() {
+        return backfill;
+    }
+
+    public PhaseStats getLiveStats() {
+        return live;
+    }
+
+    /**
+     * Delivers the blocks from the height to the consumer in order, on the calling thread,
+     * until the stream is closed
+     *
+     * @param from the height of the first block
+     * @param consumer the consumer of the blocks
+     * @throws IOException if a block fails to be fetched, or the monitor fails or is closed by the node
+     */
+    public void run(BigInteger from, Consumer<? super Block> consumer) throws IOException {
+        if (from.signum() < 0) {
+            throw new IllegalArgumentException("Invalid height");
+        }
+        next = from;
+        try {
+            backfill(consumer);
+            follow(consumer);
+        } catch (IOException e) {
+            if (!closed) {
+                throw e;
+            }
+        } catch (UncheckedIOException e) {
+            // the failure of the monitor
+            if (!closed) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    /**
+     * Stops the stream, and {@link #run(BigInteger, Consumer)} returns
+     */
+    @Override
+    public void close() {
+        closed = true;
+        // the fetcher cancels a fetch started after this as well
+        fetcher.close();
+        MonitorIterator<BlockNotification> it = notifications;
+        if (it != null) {
+            it.close();
+        }
+    }
+
+    private void backfill(Consumer<? super Block> consumer) throws IOException {
+        backfill.begin();
+        while (!closed) {
+            BigInteger last = getLastHeight();
+            BigInteger end = last.add(BigInteger.ONE);
+            backfill.setLag(end.subtract(next).longValue());
+            if (end.subtract(next).longValue() <= liveThreshold) {
+                break;
+            }
+            fetcher.fetch(next, end, block -> {
+                deliver(block, consumer, backfill);
+                backfill.setLag(end.subtract(next).longValue());
+            });
+        }
+        backfill.end();
+    }
+
+    private void follow(Consumer<? super Block> consumer) throws IOException {
+        if (closed) {
+            return;
+        }
+        handoverHeight = next;
+        Monitor<BlockNotification> monitor = provider.monitor(
+                new BlockMonitorSpec(next, null), Converters.BLOCK_NOTIFICATION);
+        try (MonitorIterator<BlockNotification> it = new MonitorIterator<>(monitor)) {
+            notifications = it;
+            if (closed) {
+                return;
+            }
+            phase = Phase.LIVE;
+            live.begin();
+            while (it.hasNext()) {
+                BigInteger height = it.next().getHeight();
+                if (height.compareTo(next) < 0) {
+                    // delivered in the backfill
+                    continue;
+                }
+                BigInteger end = height.add(BigInteger.ONE);
+                live.setLag(end.subtract(next).longValue());
+                fetcher.fetch(next, end, block -> {
+                    deliver(block, consumer, live);
+                    live.setLag(end.subtract(next).longValue());
+                });
+            }
+            if (!closed) {
+                // the node closed the monitor, so the blocks after would never come
+                throw new IOException("Monitor closed");
+            }
+        } finally {
+            live.end();
+        }
+    }
+
+    private void deliver(Block block, Consumer<? super Block> consumer, PhaseStats stats) {
+        next = block.getHeight().add(BigInteger.ONE);
+        stats.blocks.incrementAndGet();
+        consumer.accept(block);
+    }
+
+    private BigInteger getLastHeight() throws IOException {
+        return provider.request(new foundation.icon.icx.transport.jsonrpc.Request(
+                ids.incrementAndGet(), "icx_getLastBlock", null), Converters.BLOCK).execute().getHeight();
+    }
+
+    /**
+     * The statistics of a phase of the stream
+     */
+    public static final class PhaseStats {
+        private final AtomicLong blocks = new AtomicLong();
+        private final AtomicLong lag = new AtomicLong();
+        private final AtomicLong maxLag = new AtomicLong();
+        private volatile long startNanos;
+        private volatile long endNanos;
+
+        private PhaseStats() {
+        }
+
+        /**
+         * Returns the number of the blocks delivered in the phase
+         *
+         * @return the number of blocks
+         */
+        public long getBlockCount() {
+            return blocks.get();
+        }
+
+        /**
+         * Returns the throughput of the phase, over the time from its start to its end or now
+         *
+         * @return the blocks per second
+         */
+        public double getBlockRate() {
+            long start = startNanos;
+            if (start == 0) {
+                return 0;
+            }
+            long end = endNanos != 0 ? endNanos : System.nanoTime();
+            return end > start ? blocks.get() * (double) TimeUnit.SECONDS.toNanos(1) / (end - start) : 0;
+        }
+
+        /**
+         * Returns how many blocks the stream is behind the last height known from the node
+         *
+         * @return the number of blocks
+         */
+        public long getLag() {
+            return lag.get();
+        }
+
+        /**
+         * Returns the largest lag in the phase
+         *
+         * @return the number of blocks
+         */
+        public long getMaxLag() {
+            return maxLag.get();
+        }
+
+        private void begin() {
+            startNanos = System.nanoTime();
+        }
+
+        private void end() {
+            if (startNanos != 0 && endNanos == 0) {
+                endNanos = System.nanoTime();
+            }
+        }
+
+        private void setLag(long blocks) {
+            lag.set(blocks);
+            maxLag.accumulateAndGet(blocks, Math::max);
+        }
+    }
+
+    /**
+     * Builder for BlockStream
+     */
+    public static class Builder {
+        private final Provider provider;
+        private final BlockRangeFetcher.Builder fetcher;
+        private long liveThreshold = 10;
+
+        /**
+         * Creates a builder for the provider
+         *
+         * @param provider the provider to fetch and monitor the blocks with
+         */
+        public Builder(Provider provider) {
+            if (provider == null) {
+                throw new IllegalArgumentException("provider not found");
+            }
+            this.provider = provider;
+            this.fetcher = new BlockRangeFetcher.Builder(provider);
+        }
+
+        /**
+         * Sets the maximum number of the requests in flight in the backfill (default: 8)
+         *
+         * @param requests the number of requests
+         * @return the builder
+         * @see BlockRangeFetcher.Builder#concurrency(int)
+         */
+        public Builder concurrency(int requests) {
+            fetcher.concurrency(requests);
+            return this;
+        }
+
+        /**
+         * Sets the maximum size of the blocks fetched ahead in the backfill (default: 64 MiB)
+         *
+         * @param bytes the maximum size in bytes
+         * @return the builder
+         * @see BlockRangeFetcher.Builder#maxBytesInFlight(long)
+         */
+        public Builder maxBytesInFlight(long bytes) {
+            fetcher.maxBytesInFlight(bytes);
+            return this;
+        }
+
+        /**
+         * Sets how close to the last block the backfill ends and the monitor starts (default: 10)
+         *
+         * @param blocks the number of blocks
+         * @return the builder
+         */
+        public Builder liveThreshold(long blocks) {
+            if (blocks < 0) {
+                throw new IllegalArgumentException("Invalid threshold");
+            }
+            this.liveThreshold = blocks;
+            return this;
+        }
+
+        public BlockStream build() {
+            return new BlockStream(this);
+        }
+    }
+}
@@ -0,0 +1,310 @@
+/*
+ * Copyright 2026 ICON Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package foundation.icon.icx.transport.cache;
+
+import foundation.icon.icx.Callback;
+import foundation.icon.icx.Provider;
+import foundation.icon.icx.Request;
+import foundation.icon.icx.transport.jsonrpc.Response;
+import foundation.icon.icx.transport.jsonrpc.RpcArray;
+import foundation.icon.icx.transport.jsonrpc.RpcConverter;
+import foundation.icon.icx.transport.jsonrpc.RpcItem;
+import foundation.icon.icx.transport.jsonrpc.RpcObject;
+import foundation.icon.icx.transport.monitor.Monitor;
+import foundation.icon.icx.transport.monitor.MonitorSpec;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The {@code CachingProvider} class keeps the results of the requests for data which never changes.
+ * <p>
+ * The following requests are cached, keyed on the method and the canonical params.
+ * <ul>
+ * <li>the requests by a hash: {@code icx_getBlockByHash}, {@code icx_getDataByHash},
+ * {@code icx_getProofForResult} and {@code icx_getProofForEvents}</li>
+ * <li>the requests by a height: {@code icx_getBlockByHeight}, {@code icx_getBlockHeaderByHeight},
+ * {@code icx_getVotesByHeight}, {@code btp_getHeader}, {@code btp_getProof} and {@code btp_getMessages}</li>
+ * <li>the state queries with a height: {@code icx_getBalance}, {@code icx_call}, {@code icx_getScoreApi},
+ * {@code btp_getNetworkInfo} and {@code btp_getNetworkTypeInfo}</li>
+ * <li>the transactions and their results which are included in a block:
+ * {@code icx_getTransactionByHash} and {@code icx_getTransactionResult}</li>
+ * </ul>
+ * The queries without a height, which return the latest state, and error responses are never cached.
+ * The results are decoded once and converted by the converter of each request.
+ * <pre>{@code
+ * Provider provider = new CachingProvider.Builder(httpProvider)
+ *         .maximumWeight(64 * 1024 * 1024)
+ *         .build();
+ * }</pre>
+ */
+public class CachingProvider implements Provider {
+
+    private static final Set<String> HASH_METHODS = new HashSet<>(Arrays.asList(
+            "icx_getBlockByHash", "icx_getDataByHash", "icx_getProofForResult", "icx_getProofForEvents"));
+    private static final Set<String> HEIGHT_METHODS = new HashSet<>(Arrays.asList(
+            "icx_getBlockByHeight", "icx_getBlockHeaderByHeight", "icx_getVotesByHeight",
+            "btp_getHeader", "btp_getProof", "btp_getMessages",
+            "icx_getBalance", "icx_call", "icx_getScoreApi", "btp_getNetworkInfo", "btp_getNetworkTypeInfo"));
+    private static final Set<String> TRANSACTION_METHODS = new HashSet<>(Arrays.asList(
+            "icx_getTransactionByHash", "icx_getTransactionResult"));
+    // The rough overhead of an object on the heap
+    private static final int OBJECT_OVERHEAD = 32;
+
+    private final Provider provider;
+    private final ItemCache cache;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    private CachingProvider(Builder builder) {
+        this.provider = builder.provider;
+        this.cache = builder.cache != null ? builder.cache : new LruItemCache(builder.maximumWeight);
+    }
+
+    /**
+     * Returns whether the request is for data which never changes
+     *
+     * @param request the JSON-RPC request
+     * @return {@code true} if the result of the request may be cached
+     */
+    public static boolean isCacheable(foundation.icon.icx.transport.jsonrpc.Request request) {
+        String method = request.getMethod();
+        if (HASH_METHODS.contains(method) || TRANSACTION_METHODS.contains(method)) {
+            return true;
+        }
+        if (HEIGHT_METHODS.contains(method)) {
+            RpcObject params = request.getParams();
+            RpcItem height = params != null ? params.getItem("height") : null;
+            return height != null && !height.isNull();
+        }
+        return false;
+    }
+
+    public ItemCache getCache() {
+        return cache;
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    /**
+     * Returns the ratio of the cache hits to the cacheable requests
+     *
+     * @return the hit rate between 0 and 1
+     */
+    public double getHitRate() {
+        long h = hits.get();
+        long total = h + misses.get();
+        return total == 0 ? 0 : (double) h / total;
+    }
+
+    /**
+     * @see Provider#request(foundation.icon.icx.transport.jsonrpc.Request, RpcConverter)
+     */
+    @Override
+    public <T> Request<T> request(foundation.icon.icx.transport.jsonrpc.Request request, RpcConverter<T> converter) {
+        if (!isCacheable(request)) {
+            return provider.request(request, converter);
+        }
+        return new CachedRequest<>(request, converter);
+    }
+
+    /**
+     * @see Provider#batch(List)
+     */
+    @Override
+    public Request<List<Response>> batch(List<foundation.icon.icx.transport.jsonrpc.Request> requests) {
+        return provider.batch(requests);
+    }
+
+    /**
+     * @see Provider#monitor(MonitorSpec, RpcConverter)
+     */
+    @Override
+    public <T> Monitor<T> monitor(MonitorSpec spec, RpcConverter<T> converter) {
+        return provider.monitor(spec, converter);
+    }
+
+    // Stores the result if it is final
+    private void store(RequestKey key, RpcItem item) {
+        if (item == null || item.isNull()) {
+            return;
+        }
+        if (TRANSACTION_METHODS.contains(key.getMethod())) {
+            // a transaction is final once it is included in a block
+            if (!(item instanceof RpcObject) || ((RpcObject) item).getItem("blockHeight") == null) {
+                return;
+            }
+        }
+        cache.put(key, item, key.size() + weigh(item));
+    }
+
+    /**
+     * Returns the approximate memory size of the item
+     *
+     * @param item the item
+     * @return the size in bytes
+     */
+    public static long weigh(RpcItem item) {
+        long weight = OBJECT_OVERHEAD;
+        if (item instanceof RpcObject) {
+            RpcObject object = (RpcObject) item;
+            for (String key : object.keySet()) {
+                weight += OBJECT_OVERHEAD + 2L * key.length() + weigh(object.getItem(key));
+            }
+        } else if (item instanceof RpcArray) {
+            for (RpcItem element : (RpcArray) item) {
+                weight += weigh(element);
+            }
+        } else if (item != null && !item.isNull()) {
+            weight += 2L * item.asString().length();
+        }
+        return weight;
+    }
+
+    private class CachedRequest<T> implements Request<T> {
+        private final foundation.icon.icx.transport.jsonrpc.Request request;
+        private final RpcConverter<T> converter;
+        private final RequestKey key;
+        private volatile Request<RpcItem> call;
+
+        CachedRequest(foundation.icon.icx.transport.jsonrpc.Request request, RpcConverter<T> converter) {
+            this.request = request;
+            this.converter = converter;
+            this.key = RequestKey.of(request);
+        }
+
+        @Override
+        public T execute() throws IOException {
+            RpcItem item = cache.get(key);
+            if (item != null) {
+                hits.incrementAndGet();
+                return converter.convertTo(item);
+            }
+            misses.incrementAndGet();
+            call = provider.request(request, RpcItemConverter.INSTANCE);
+            item = call.execute();
+            store(key, item);
+            return converter.convertTo(item);
+        }
+
+        @Override
+        public void execute(final Callback<T> callback) {
+            RpcItem cached = cache.get(key);
+            if (cached != null) {
+                hits.incrementAndGet();
+                T result;
+                try {
+                    result = converter.convertTo(cached);
+                } catch (RuntimeException e) {
+                    callback.onFailure(e);
+                    return;
+                }
+                callback.onSuccess(result);
+                return;
+            }
+            misses.incrementAndGet();
+            call = provider.request(request, RpcItemConverter.INSTANCE);
+            call.execute(new Callback<RpcItem>() {
+                @Override
+                public void onSuccess(RpcItem item) {
+                    T result;
+                    try {
+                        store(key, item);
+                        result = converter.convertTo(item);
+                    } catch (RuntimeException e) {
+                        callback.onFailure(e);
+                        return;
+                    }
+                    callback.onSuccess(result);
+                }
+
+                @Override
+                public void onFailure(Exception exception) {
+                    callback.onFailure(exception);
+                }
+            });
+        }
+
+        @Override
+        public void cancel() {
+            Request<RpcItem> current = call;
+            if (current != null) {
+                current.cancel();
+            }
+        }
+    }
+
+    /**
+     * Builder for CachingProvider
+     */
+    public static class Builder {
+        private final Provider provider;
+        private long maximumWeight = 32L * 1024 * 1024;
+        private ItemCache cache;
+
+        /**
+         * Creates a builder for the provider
+         *
+         * @param provider the underlying provider
+         */
+        public Builder(Provider provider) {
+            if (provider == null) {
+                throw new IllegalArgumentException("provider not found");
+            }
+            this.provider = provider;
+        }
+
+        /**
+         * Sets the maximum memory size of the default LRU cache (default: 32 MiB)
+         *
+         * @param bytes the maximum size in bytes
+         * @return the builder
+         */
+        public Builder maximumWeight(long bytes) {
+            if (bytes < 0) {
+                throw new IllegalArgumentException("Invalid weight");
+            }
+            this.maximumWeight = bytes;
+            return this;
+        }
+
+        /**
+         * Sets the cache which stores the results, to use another eviction policy than LRU
+         *
+         * @param cache the cache
+         * @return the builder
+         */
+        public Builder cache(ItemCache cache) {
+            this.cache = cache;
+            return this;
+        }
+
+        public CachingProvider build() {
+            return new CachingProvider(this);
+        }
+    }
+}
@@ -0,0 +1,304 @@
+/*
+ * Copyright 2026 ICON Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package foundation.icon.icx.transport.cache;
+
+import foundation.icon.icx.Callback;
+import foundation.icon.icx.Provider;
+import foundation.icon.icx.Request;
+import foundation.icon.icx.transport.jsonrpc.Response;
+import foundation.icon.icx.transport.jsonrpc.RpcConverter;
+import foundation.icon.icx.transport.jsonrpc.RpcItem;
+import foundation.icon.icx.transport.monitor.Monitor;
+import foundation.icon.icx.transport.monitor.MonitorSpec;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The {@code CoalescingProvider} class shares one call between identical read requests in flight.
+ * <p>
+ * A read request with the same method and params as a request in flight does not go to the node,
+ * and gets the result of the request in flight instead. The decoded result is shared, and each request
+ * converts it with its own converter. Nothing is kept after the call is completed, so a request made
+ * after that goes to the node again.
+ * <pre>{@code
+ * IconService iconService = new IconService(new CoalescingProvider(httpProvider));
+ * }</pre>
+ */
+public class CoalescingProvider implements Provider {
+
+    private final Provider provider;
+    private final ConcurrentMap<RequestKey, Flight> flights = new ConcurrentHashMap<>();
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+
+    public CoalescingProvider(Provider provider) {
+        if (provider == null) {
+            throw new IllegalArgumentException("provider not found");
+        }
+        this.provider = provider;
+    }
+
+    /**
+     * Returns whether the method is read-only and its requests may share a call
+     *
+     * @param method the JSON-RPC method
+     * @return {@code true} if the requests of the method are coalesced
+     */
+    public static boolean isCoalesceable(String method) {
+        return method.startsWith("icx_get") || method.startsWith("btp_get") || "icx_call".equals(method);
+    }
+
+    /**
+     * Returns the number of the read requests executed
+     *
+     * @return the number of requests
+     */
+    public long getRequestCount() {
+        return requests.get();
+    }
+
+    /**
+     * Returns the number of the read requests which shared the call of another request
+     *
+     * @return the number of coalesced requests
+     */
+    public long getCoalescedCount() {
+        return coalesced.get();
+    }
+
+    /**
+     * Returns the number of the read requests sent to the node
+     *
+     * @return the number of calls
+     */
+    public long getCallCount() {
+        return requests.get() - coalesced.get();
+    }
+
+    /**
+     * @see Provider#request(foundation.icon.icx.transport.jsonrpc.Request, RpcConverter)
+     */
+    @Override
+    public <T> Request<T> request(foundation.icon.icx.transport.jsonrpc.Request request, RpcConverter<T> converter) {
+        if (!isCoalesceable(request.getMethod())) {
+            return provider.request(request, converter);
+        }
+        return new CoalescedRequest<>(request, converter);
+    }
+
+    /**
+     * @see Provider#batch(List)
+     */
+    @Override
+    public Request<List<Response>> batch(List<foundation.icon.icx.transport.jsonrpc.Request> requests) {
+        return provider.batch(requests);
+    }
+
+    /**
+     * @see Provider#monitor(MonitorSpec, RpcConverter)
+     */
+    @Override
+    public <T> Monitor<T> monitor(MonitorSpec spec, RpcConverter<T> converter) {
+        return provider.monitor(spec, converter);
+    }
+
+    // A call in flight, which is shared by the requests with the same key
+    private class Flight {
+        private final RequestKey key;
+        private final CompletableFuture<RpcItem> future = new CompletableFuture<>();
+        private volatile Request<RpcItem> call;
+        private int waiters = 1;
+
+        Flight(RequestKey key) {
+            this.key = key;
+        }
+
+        // Returns false if the flight is already completed or abandoned
+        synchronized boolean join() {
+            if (waiters == 0 || future.isDone()) {
+                return false;
+            }
+            waiters++;
+            return true;
+        }
+
+        // Cancels the call if no request waits for it anymore
+        void leave() {
+            Request<RpcItem> abandoned = null;
+            synchronized (this) {
+                if (--waiters == 0) {
+                    flights.remove(key, this);
+                    abandoned = call;
+                }
+            }
+            if (abandoned != null) {
+                abandoned.cancel();
+            }
+        }
+
+        void complete(RpcItem result, Throwable error) {
+            // a request made from now on starts a new call
+            flights.remove(key, this);
+            if (error == null) {
+                future.complete(result);
+            } else {
+                future.completeExceptionally(error);
+            }
+        }
+    }
+
+    private class CoalescedRequest<T> implements Request<T> {
+        private final foundation.icon.icx.transport.jsonrpc.Request request;
+        private final RpcConverter<T> converter;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private Flight flight;
+
+        CoalescedRequest(foundation.icon.icx.transport.jsonrpc.Request request, RpcConverter<T> converter) {
+            this.request = request;
+            this.converter = converter;
+        }
+
+        @Override
+        public T execute() throws IOException {
+            Flight leading = join();
+            if (leading != null) {
+                // the leader makes the call on its own thread
+                RpcItem item;
+                try {
+                    item = leading.call.execute();
+                } catch (IOException | RuntimeException | Error e) {
+                    leading.complete(null, e);
+                    throw e;
+                }
+                leading.complete(item, null);
+            }
+            try {
+                return result.get();
+            } catch (InterruptedException e) {
+                cancel();
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException();
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof IOException) {
+                    throw (IOException) cause;
+                } else if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                } else if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw new IOException(cause);
+            }
+        }
+
+        @Override
+        public void execute(final Callback<T> callback) {
+            result.whenComplete((value, t) -> {
+                if (t == null) {
+                    callback.onSuccess(value);
+                } else {
+                    callback.onFailure(t instanceof Exception ? (Exception) t : new IOException(t));
+                }
+            });
+            final Flight leading = join();
+            if (leading != null) {
+                try {
+                    leading.call.execute(new Callback<RpcItem>() {
+                        @Override
+                        public void onSuccess(RpcItem item) {
+                            leading.complete(item, null);
+                        }
+
+                        @Override
+                        public void onFailure(Exception exception) {
+                            leading.complete(null, exception);
+                        }
+                    });
+                } catch (RuntimeException e) {
+                    // the flight is completed, or the later requests would join it forever
+                    leading.complete(null, e);
+                }
+            }
+        }
+
+        @Override
+        public void cancel() {
+            if (result.completeExceptionally(new IOException("Canceled"))) {
+                Flight joined;
+                synchronized (this) {
+                    joined = flight;
+                }
+                if (joined != null) {
+                    joined.leave();
+                }
+            }
+        }
+
+        // Joins the flight of the key, and returns the flight if this request is the leader which makes the call
+        private Flight join() {
+            requests.incrementAndGet();
+            RequestKey key = RequestKey.of(request);
+            while (true) {
+                Flight current = flights.get(key);
+                if (current != null && current.join()) {
+                    coalesced.incrementAndGet();
+                    attach(current);
+                    return null;
+                }
+                Flight created = new Flight(key);
+                boolean added = current == null
+                        ? flights.putIfAbsent(key, created) == null
+                        : flights.replace(key, current, created);
+                if (added) {
+                    try {
+                        created.call = provider.request(request, RpcItemConverter.INSTANCE);
+                    } catch (RuntimeException e) {
+                        created.complete(null, e);
+                        attach(created);
+                        return null;
+                    }
+                    attach(created);
+                    return created;
+                }
+            }
+        }
+
+        private void attach(Flight joined) {
+            synchronized (this) {
+                flight = joined;
+            }
+            joined.future.whenComplete((item, t) -> {
+                if (t != null) {
+                    result.completeExceptionally(t);
+                    return;
+                }
+                try {
+                    result.complete(converter.convertTo(item));
+                } catch (RuntimeException e) {
+                    result.completeExceptionally(e);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2026 ICON Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package foundation.icon.icx.transport.cache;
+
+import foundation.icon.icx.transport.jsonrpc.RpcItem;
+
+/**
+ * ItemCache stores the decoded results for {@link CachingProvider}.
+ * <p>
+ * The implementation decides which entries to evict, and must be safe for concurrent use.
+ * {@link LruItemCache} is used by default, and another eviction policy such as W-TinyLFU
+ * can be plugged in by implementing this interface.
+ */
+public interface ItemCache {
+
+    /**
+     * Returns the cached result of the request
+     *
+     * @param key the key of the request
+     * @return the result, or {@code null} if it is not cached
+     */
+    RpcItem get(RequestKey key);
+
+    /**
+     * Stores the result of the request
+     *
+     * @param key the key of the request
+     * @param item the result
+     * @param weight the approximate memory size of the entry in bytes
+     */
+    void put(RequestKey key, RpcItem item, long weight);
+
+    /**
+     * Removes all entries
+     */
+    void clear();
+}
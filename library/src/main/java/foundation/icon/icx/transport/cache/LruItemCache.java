@@ -0,0 +1,107 @@
+/*
+ * Copyright 2026 ICON Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package foundation.icon.icx.transport.cache;
+
+import foundation.icon.icx.transport.jsonrpc.RpcItem;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * LruItemCache evicts the least recently used entries when the total weight exceeds the maximum weight.
+ */
+public class LruItemCache implements ItemCache {
+    private final long maximumWeight;
+    private final LinkedHashMap<RequestKey, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long weight;
+    private long evictions;
+
+    /**
+     * Creates a cache bounded by the weight
+     *
+     * @param maximumWeight the maximum total weight of the entries in bytes
+     */
+    public LruItemCache(long maximumWeight) {
+        if (maximumWeight < 0) {
+            throw new IllegalArgumentException("Invalid weight");
+        }
+        this.maximumWeight = maximumWeight;
+    }
+
+    @Override
+    public synchronized RpcItem get(RequestKey key) {
+        Entry entry = entries.get(key);
+        return entry != null ? entry.item : null;
+    }
+
+    @Override
+    public synchronized void put(RequestKey key, RpcItem item, long weight) {
+        if (weight > maximumWeight) {
+            // it would evict everything else
+            return;
+        }
+        Entry prev = entries.put(key, new Entry(item, weight));
+        if (prev != null) {
+            this.weight -= prev.weight;
+        }
+        this.weight += weight;
+        Iterator<Map.Entry<RequestKey, Entry>> it = entries.entrySet().iterator();
+        while (this.weight > maximumWeight && it.hasNext()) {
+            this.weight -= it.next().getValue().weight;
+            it.remove();
+            evictions++;
+        }
+    }
+
+    @Override
+    public synchronized void clear() {
+        entries.clear();
+        weight = 0;
+    }
+
+    public long getMaximumWeight() {
+        return maximumWeight;
+    }
+
+    /**
+     * Returns the total weight of the entries
+     *
+     * @return the weight in bytes
+     */
+    public synchronized long getWeight() {
+        return weight;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getEvictionCount() {
+        return evictions;
+    }
+
+    private static class Entry {
+        final RpcItem item;
+        final long weight;
+
+        Entry(RpcItem item, long weight) {
+            this.item = item;
+            this.weight = weight;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2026 ICON Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package foundation.icon.icx.transport.cache;
+
+import foundation.icon.icx.transport.jsonrpc.Request;
+import foundation.icon.icx.transport.jsonrpc.RpcArray;
+import foundation.icon.icx.transport.jsonrpc.RpcItem;
+import foundation.icon.icx.transport.jsonrpc.RpcObject;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * RequestKey identifies a JSON-RPC request by its method and canonical params.
+ * <p>
+ * The params are written as JSON with the keys of each object sorted,
+ * so two requests are equal regardless of the order their params were built in and of their ids.
+ */
+public final class RequestKey {
+    private final String method;
+    private final String params;
+
+    private RequestKey(String method, String params) {
+        this.method = method;
+        this.params = params;
+    }
+
+    /**
+     * Creates the key of the request
+     *
+     * @param request the JSON-RPC request
+     * @return the key
+     */
+    public static RequestKey of(Request request) {
+        RpcObject params = request.getParams();
+        if (params == null) {
+            return new RequestKey(request.getMethod(), "");
+        }
+        StringBuilder sb = new StringBuilder();
+        write(sb, params);
+        return new RequestKey(request.getMethod(), sb.toString());
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    /**
+     * Returns the canonical JSON of the params
+     *
+     * @return the params, or an empty string if the request has no params
+     */
+    public String getParams() {
+        return params;
+    }
+
+    /**
+     * Returns the approximate memory size of the key
+     *
+     * @return the size in bytes
+     */
+    public int size() {
+        return 2 * (method.length() + params.length());
+    }
+
+    private static void write(StringBuilder sb, RpcItem item) {
+        if (item instanceof RpcObject) {
+            RpcObject object = (RpcObject) item;
+            List<String> keys = new ArrayList<>(object.keySet());
+            Collections.sort(keys);
+            sb.append('{');
+            for (int i = 0; i < keys.size(); i++) {
+                if (i > 0) {
+                    sb.append(',');
+                }
+                writeString(sb, keys.get(i));
+                sb.append(':');
+                write(sb, object.getItem(keys.get(i)));
+            }
+            sb.append('}');
+        } else if (item instanceof RpcArray) {
+            sb.append('[');
+            int i = 0;
+            for (RpcItem element : (RpcArray) item) {
+                if (i++ > 0) {
+                    sb.append(',');
+                }
+                write(sb, element);
+            }
+            sb.append(']');
+        } else if (item == null || item.isNull()) {
+            sb.append("null");
+        } else {
+            writeString(sb, item.asString());
+        }
+    }
+
+    private static void writeString(StringBuilder sb, String value) {
+        sb.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                sb.append('\\');
+            }
+            sb.append(c);
+        }
+        sb.append('"');
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof RequestKey)) return false;
+        RequestKey key = (RequestKey) o;
+        return method.equals(key.method) && params.equals(key.params);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * method.hashCode() + params.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return method + params;
+    }
+}
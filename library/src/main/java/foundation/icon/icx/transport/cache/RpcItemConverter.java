@@ -0,0 +1,40 @@
+/*
+ * Copyright 2026 ICON Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package foundation.icon.icx.transport.cache;
+
+import foundation.icon.icx.transport.jsonrpc.RpcConverter;
+import foundation.icon.icx.transport.jsonrpc.RpcItem;
+
+/**
+ * The converter which returns the decoded result as it is
+ */
+final class RpcItemConverter implements RpcConverter<RpcItem> {
+    static final RpcItemConverter INSTANCE = new RpcItemConverter();
+
+    private RpcItemConverter() {
+    }
+
+    @Override
+    public RpcItem convertTo(RpcItem object) {
+        return object;
+    }
+
+    @Override
+    public RpcItem convertFrom(RpcItem object) {
+        return object;
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2026 ICON Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package foundation.icon.icx.transport.http;
+
+import foundation.icon.icx.metrics.ClientMetrics;
+import foundation.icon.icx.metrics.FlightEvents;
+import foundation.icon.icx.transport.jsonrpc.RpcError;
+
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Measures an HTTP call for {@link ClientMetrics} and {@link FlightEvents}.
+ * A call is created only if metrics are installed or a flight recording enables the request events,
+ * so nothing is measured by default.
+ */
+final class CallTrace {
+    private final ClientMetrics metrics;
+    private final String method;
+    private final AtomicBoolean ended = new AtomicBoolean();
+    private volatile long startNanos;
+    private volatile long sendNanos;
+    private volatile long receiveNanos;
+    private volatile long requestBytes;
+    private long responseBytes;
+    private volatile Object event;
+
+    private CallTrace(ClientMetrics metrics, String method) {
+        this.metrics = metrics;
+        this.method = method;
+    }
+
+    // Returns a trace for the installed metrics, or null if nothing measures the call
+    static CallTrace of(String method) {
+        ClientMetrics metrics = ClientMetrics.installed();
+        if (metrics == ClientMetrics.NOOP && !FlightEvents.isRequestEnabled()) {
+            return null;
+        }
+        return new CallTrace(metrics, method);
+    }
+
+    void start() {
+        startNanos = System.nanoTime();
+        event = FlightEvents.beginRequest();
+    }
+
+    // Wraps the stream of the request body, which may be written again when OkHttp retries
+    OutputStream sending(OutputStream out) {
+        sendNanos = System.nanoTime();
+        requestBytes = 0;
+        return new FilterOutputStream(out) {
+            @Override
+            public void write(int b) throws IOException {
+                out.write(b);
+                requestBytes++;
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len);
+                requestBytes += len;
+            }
+        };
+    }
+
+    // Wraps the stream of the response body
+    InputStream receiving(InputStream in) {
+        receiveNanos = System.nanoTime();
+        return new FilterInputStream(in) {
+            @Override
+            public int read() throws IOException {
+                int b = in.read();
+                if (b >= 0) {
+                    responseBytes++;
+                }
+                return b;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                int n = in.read(b, off, len);
+                if (n > 0) {
+                    responseBytes += n;
+                }
+                return n;
+            }
+        };
+    }
+
+    // Reports the call answered by the node, with the error if it has one
+    // A call is reported once, by the first of completed and failed
+    void completed(RpcError error) {
+        if (!ended.compareAndSet(false, true)) {
+            return;
+        }
+        long now = System.nanoTime();
+        long received = receiveNanos != 0 ? receiveNanos : now;
+        long sent = sendNanos != 0 ? sendNanos : startNanos;
+        metrics.onRequest(method, sent - startNanos, received - sent, now - received, requestBytes, responseBytes);
+        if (error != null) {
+            metrics.onError(method, error.getCode());
+        }
+        FlightEvents.endRequest(event, method, requestBytes, responseBytes,
+                error != null ? error.getCode() : 0, null);
+    }
+
+    void failed(IOException error) {
+        if (!ended.compareAndSet(false, true)) {
+            return;
+        }
+        metrics.onFailure(method, error);
+        FlightEvents.endRequest(event, method, requestBytes, responseBytes, 0, error.toString());
+    }
+}
@@ -0,0 +1,357 @@
+/*
+ * Copyright 2026 ICON Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package foundation.icon.icx.transport.http;
+
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.BufferedSink;
+import okio.ForwardingSink;
+import okio.ForwardingSource;
+import okio.GzipSink;
+import okio.GzipSource;
+import okio.InflaterSource;
+import okio.Okio;
+import okio.Sink;
+import okio.Source;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.Inflater;
+
+/**
+ * The {@code CompressionInterceptor} class compresses the JSON-RPC payloads of the HTTP transport.
+ * <p>
+ * It asks the node for a gzip or deflate encoded response and decodes it, and optionally sends
+ * the request bodies larger than a threshold with gzip. Most nodes do not accept a compressed request,
+ * so the request compression is disabled by default. The responses are decoded while they are read.
+ * A request body of an unknown length, like the ones of {@code HttpProvider}, is written once into memory
+ * to find its size, and the copy is sent instead. The sizes and the time spent in compressing and
+ * decompressing are measured, to trade CPU for bandwidth.
+ * <pre>{@code
+ * CompressionInterceptor compression = new CompressionInterceptor.Builder()
+ *         .compressRequests(true)
+ *         .minRequestSize(4096)
+ *         .build();
+ * OkHttpClient httpClient = new OkHttpClient.Builder()
+ *         .addInterceptor(compression)
+ *         .build();
+ * IconService iconService = new IconService(new HttpProvider(httpClient, "http://localhost:9000", 3));
+ * }</pre>
+ */
+public class CompressionInterceptor implements Interceptor {
+
+    private final boolean compressRequests;
+    private final long minRequestSize;
+    private final AtomicLong compressedRequests = new AtomicLong();
+    private final AtomicLong requestBytes = new AtomicLong();
+    private final AtomicLong requestWireBytes = new AtomicLong();
+    private final AtomicLong compressionNanos = new AtomicLong();
+    private final AtomicLong decodedResponses = new AtomicLong();
+    private final AtomicLong responseBytes = new AtomicLong();
+    private final AtomicLong responseWireBytes = new AtomicLong();
+    private final AtomicLong decompressionNanos = new AtomicLong();
+
+    private CompressionInterceptor(Builder builder) {
+        this.compressRequests = builder.compressRequests;
+        this.minRequestSize = builder.minRequestSize;
+    }
+
+    @Override
+    public okhttp3.Response intercept(Chain chain) throws IOException {
+        okhttp3.Request request = chain.request();
+        okhttp3.Request.Builder builder = request.newBuilder();
+        // if the caller asked for an encoding, the caller decodes the response
+        boolean decode = request.header("Accept-Encoding") == null && request.header("Range") == null;
+        if (decode) {
+            builder.header("Accept-Encoding", "gzip, deflate");
+        }
+        RequestBody body = request.body();
+        if (compressRequests && body != null && request.header("Content-Encoding") == null) {
+            compress(body, request.method(), builder);
+        }
+        okhttp3.Response response = chain.proceed(builder.build());
+        return decode ? decode(response) : response;
+    }
+
+    private void compress(RequestBody body, String method, okhttp3.Request.Builder builder) throws IOException {
+        if (minRequestSize > 0 && body.contentLength() < 0 && !body.isOneShot()) {
+            // the body is written only once, and its copy of the known size is sent
+            body = buffer(body);
+            builder.method(method, body);
+        }
+        long length = body.contentLength();
+        if (length >= 0 && length < minRequestSize) {
+            // the body is sent without the compression
+            return;
+        }
+        compressedRequests.incrementAndGet();
+        builder.header("Content-Encoding", "gzip")
+                .method(method, new GzipBody(body));
+    }
+
+    private static RequestBody buffer(RequestBody body) throws IOException {
+        Buffer buffer = new Buffer();
+        body.writeTo(buffer);
+        return RequestBody.create(buffer.readByteString(), body.contentType());
+    }
+
+    private okhttp3.Response decode(okhttp3.Response response) {
+        String encoding = response.header("Content-Encoding");
+        ResponseBody body = response.body();
+        boolean gzip = "gzip".equalsIgnoreCase(encoding);
+        if (body == null || !(gzip || "deflate".equalsIgnoreCase(encoding))) {
+            return response;
+        }
+        if (body.contentLength() == 0) {
+            return response.newBuilder().removeHeader("Content-Encoding").build();
+        }
+        decodedResponses.incrementAndGet();
+        WireSource wire = new WireSource(body.source());
+        Source decoder = gzip ? new GzipSource(wire) : new InflaterSource(wire, new Inflater());
+        Source decoded = new DecodedSource(decoder, wire);
+        return response.newBuilder()
+                .removeHeader("Content-Encoding")
+                .removeHeader("Content-Length")
+                .body(ResponseBody.create(Okio.buffer(decoded), body.contentType(), -1))
+                .build();
+    }
+
+    /**
+     * Returns the number of the request bodies sent with gzip
+     *
+     * @return the number of requests
+     */
+    public long getCompressedRequestCount() {
+        return compressedRequests.get();
+    }
+
+    /**
+     * Returns the ratio of the original size to the compressed size of the compressed request bodies
+     *
+     * @return the ratio, or 0 if no request body was compressed
+     */
+    public double getRequestCompressionRatio() {
+        return ratio(requestBytes.get(), requestWireBytes.get());
+    }
+
+    /**
+     * Returns the total time spent in compressing the request bodies
+     *
+     * @param unit the unit of the time
+     * @return the time
+     */
+    public long getCompressionTime(TimeUnit unit) {
+        return unit.convert(compressionNanos.get(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Returns the number of the encoded responses which were decoded
+     *
+     * @return the number of responses
+     */
+    public long getDecodedResponseCount() {
+        return decodedResponses.get();
+    }
+
+    /**
+     * Returns the ratio of the decoded size to the encoded size of the decoded responses
+     *
+     * @return the ratio, or 0 if no response was decoded
+     */
+    public double getResponseCompressionRatio() {
+        return ratio(responseBytes.get(), responseWireBytes.get());
+    }
+
+    /**
+     * Returns the total time spent in decompressing the responses
+     *
+     * @param unit the unit of the time
+     * @return the time
+     */
+    public long getDecompressionTime(TimeUnit unit) {
+        return unit.convert(decompressionNanos.get(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Returns the number of the bytes saved on the wire by the compression in both directions
+     *
+     * @return the number of bytes
+     */
+    public long getSavedBytes() {
+        return requestBytes.get() - requestWireBytes.get() + responseBytes.get() - responseWireBytes.get();
+    }
+
+    private static double ratio(long original, long compressed) {
+        return compressed == 0 ? 0 : (double) original / compressed;
+    }
+
+    // The request body compressed while it is written to the network
+    private class GzipBody extends RequestBody {
+        private final RequestBody body;
+
+        GzipBody(RequestBody body) {
+            this.body = body;
+        }
+
+        @Override
+        public MediaType contentType() {
+            return body.contentType();
+        }
+
+        @Override
+        public boolean isOneShot() {
+            return body.isOneShot();
+        }
+
+        @Override
+        public void writeTo(BufferedSink sink) throws IOException {
+            WireSink wire = new WireSink(sink);
+            try (BufferedSink out = Okio.buffer(new PlainSink(new GzipSink(wire), wire))) {
+                body.writeTo(out);
+            }
+        }
+    }
+
+    // Counts the compressed bytes written to the network, and the time spent in writing them
+    private class WireSink extends ForwardingSink {
+        private long nanos;
+
+        WireSink(Sink delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public void write(Buffer source, long byteCount) throws IOException {
+            long start = System.nanoTime();
+            super.write(source, byteCount);
+            nanos += System.nanoTime() - start;
+            requestWireBytes.addAndGet(byteCount);
+        }
+    }
+
+    // Counts the bytes given to the compressor, and the time spent in it except for the network
+    private class PlainSink extends ForwardingSink {
+        private final WireSink wire;
+
+        PlainSink(Sink delegate, WireSink wire) {
+            super(delegate);
+            this.wire = wire;
+        }
+
+        @Override
+        public void write(Buffer source, long byteCount) throws IOException {
+            long start = System.nanoTime();
+            long waited = wire.nanos;
+            super.write(source, byteCount);
+            compressionNanos.addAndGet(System.nanoTime() - start - (wire.nanos - waited));
+            requestBytes.addAndGet(byteCount);
+        }
+
+        @Override
+        public void close() throws IOException {
+            long start = System.nanoTime();
+            long waited = wire.nanos;
+            super.close();
+            compressionNanos.addAndGet(System.nanoTime() - start - (wire.nanos - waited));
+        }
+    }
+
+    // Counts the encoded bytes read from the network, and the time spent in reading them
+    private class WireSource extends ForwardingSource {
+        private long nanos;
+
+        WireSource(Source delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public long read(Buffer sink, long byteCount) throws IOException {
+            long start = System.nanoTime();
+            long read = super.read(sink, byteCount);
+            nanos += System.nanoTime() - start;
+            if (read > 0) {
+                responseWireBytes.addAndGet(read);
+            }
+            return read;
+        }
+    }
+
+    // Counts the decoded bytes, and the time spent in the decompressor except for the network
+    private class DecodedSource extends ForwardingSource {
+        private final WireSource wire;
+
+        DecodedSource(Source delegate, WireSource wire) {
+            super(delegate);
+            this.wire = wire;
+        }
+
+        @Override
+        public long read(Buffer sink, long byteCount) throws IOException {
+            long start = System.nanoTime();
+            long waited = wire.nanos;
+            long read = super.read(sink, byteCount);
+            decompressionNanos.addAndGet(System.nanoTime() - start - (wire.nanos - waited));
+            if (read > 0) {
+                responseBytes.addAndGet(read);
+            }
+            return read;
+        }
+    }
+
+    /**
+     * Builder for CompressionInterceptor
+     */
+    public static class Builder {
+        private boolean compressRequests;
+        private long minRequestSize = 1024;
+
+        /**
+         * Sets whether the request bodies are sent with gzip (default: false).
+         * The node must accept {@code Content-Encoding: gzip}.
+         *
+         * @param compress {@code true} to compress the request bodies
+         * @return the builder
+         */
+        public Builder compressRequests(boolean compress) {
+            this.compressRequests = compress;
+            return this;
+        }
+
+        /**
+         * Sets the size of the smallest request body to compress (default: 1024 bytes).
+         * The smaller ones are sent as they are, since they do not pay for the time and the gzip header.
+         *
+         * @param bytes the size in bytes
+         * @return the builder
+         */
+        public Builder minRequestSize(long bytes) {
+            if (bytes < 0) {
+                throw new IllegalArgumentException("Invalid size");
+            }
+            this.minRequestSize = bytes;
+            return this;
+        }
+
+        public CompressionInterceptor build() {
+            return new CompressionInterceptor(this);
+        }
+    }
+}
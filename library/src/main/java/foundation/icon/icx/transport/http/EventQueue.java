@@ -0,0 +1,173 @@
+/*
+ * Copyright 2026 ICON Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package foundation.icon.icx.transport.http;
+
+import foundation.icon.icx.metrics.ClientMetrics;
+import foundation.icon.icx.transport.monitor.MonitorDispatch;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+
+/**
+ * EventQueue hands the messages of a monitor session from the reader thread of the WebSocket
+ * to the executor of the dispatch, and delivers them one at a time in order.
+ * <p>
+ * The messages are bounded by the capacity, while the tasks for the state changes of the session,
+ * like the start and the close, are always queued and never dropped.
+ */
+final class EventQueue {
+    private final MonitorDispatch dispatch;
+    private final Consumer<String> handler;
+    private final String path;
+    private final ArrayDeque<Object> entries = new ArrayDeque<>();
+    private int messages;
+    private boolean running;
+    private boolean stopped;
+
+    EventQueue(MonitorDispatch dispatch, String path, Consumer<String> handler) {
+        this.dispatch = dispatch;
+        this.path = path;
+        this.handler = handler;
+    }
+
+    /**
+     * Queues the message, blocking while the queue is full if the overflow policy is {@code BLOCK}
+     *
+     * @param message the message received
+     * @return {@code false} if the queue overflowed with the policy {@code FAIL}
+     */
+    boolean offer(String message) {
+        int depth;
+        boolean interrupted = false;
+        synchronized (this) {
+            while (!stopped && messages >= dispatch.getCapacity()) {
+                if (dispatch.getOverflow() == MonitorDispatch.Overflow.FAIL) {
+                    stop();
+                    return false;
+                } else if (dispatch.getOverflow() == MonitorDispatch.Overflow.DROP_OLDEST) {
+                    dropOldest();
+                } else {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    }
+                }
+            }
+            if (stopped) {
+                return true;
+            }
+            entries.add(message);
+            depth = ++messages;
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        ClientMetrics.installed().onMonitorQueued(path, depth);
+        schedule();
+        return true;
+    }
+
+    /**
+     * Queues the task, which runs after the messages queued before it
+     *
+     * @param task the task
+     */
+    void post(Runnable task) {
+        synchronized (this) {
+            entries.add(task);
+        }
+        schedule();
+    }
+
+    /**
+     * Drops the messages not delivered yet, and rejects the messages from now on
+     */
+    synchronized void stop() {
+        stopped = true;
+        Iterator<Object> it = entries.iterator();
+        while (it.hasNext()) {
+            if (it.next() instanceof String) {
+                it.remove();
+            }
+        }
+        messages = 0;
+        notifyAll();
+    }
+
+    private void dropOldest() {
+        Iterator<Object> it = entries.iterator();
+        while (it.hasNext()) {
+            if (it.next() instanceof String) {
+                it.remove();
+                messages--;
+                ClientMetrics.installed().onMonitorDropped(path);
+                return;
+            }
+        }
+    }
+
+    private void schedule() {
+        synchronized (this) {
+            if (running || entries.isEmpty()) {
+                return;
+            }
+            running = true;
+        }
+        try {
+            dispatch.getExecutor().execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            synchronized (this) {
+                running = false;
+            }
+            throw e;
+        }
+    }
+
+    private void drain() {
+        try {
+            Object entry;
+            while ((entry = take()) != null) {
+                if (entry instanceof String) {
+                    handler.accept((String) entry);
+                } else {
+                    ((Runnable) entry).run();
+                }
+            }
+        } catch (RuntimeException | Error e) {
+            // the remaining entries are delivered by another run
+            synchronized (this) {
+                running = false;
+            }
+            schedule();
+            throw e;
+        }
+    }
+
+    private synchronized Object take() {
+        Object entry = entries.poll();
+        if (entry == null) {
+            running = false;
+        } else if (entry instanceof String) {
+            messages--;
+            notifyAll();
+        }
+        return entry;
+    }
+}
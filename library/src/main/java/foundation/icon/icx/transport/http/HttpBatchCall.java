@@ -0,0 +1,55 @@
+/*
+ * Copyright 2026 ICON Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package foundation.icon.icx.transport.http;
+
+import foundation.icon.icx.transport.jsonrpc.Response;
+import foundation.icon.icx.transport.jsonrpc.RpcCodec;
+import foundation.icon.icx.transport.jsonrpc.RpcError;
+import okhttp3.ResponseBody;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Http call for a JSON-RPC batch, which returns the raw responses of the batch
+ */
+class HttpBatchCall extends HttpCall<List<Response>> {
+
+    private final RpcCodec codec;
+
+    HttpBatchCall(okhttp3.Call httpCall, RpcCodec codec, CallTrace trace) {
+        super(httpCall, codec, null, trace);
+        this.codec = codec;
+    }
+
+    @Override
+    List<Response> convertResponse(okhttp3.Response httpResponse) throws IOException {
+        try (ResponseBody body = httpResponse.body()) {
+            if (body == null) {
+                throw completed(new RpcError(httpResponse.code(), httpResponse.message()));
+            }
+            List<Response> responses;
+            try {
+                responses = codec.readResponses(receive(body));
+            } catch (IOException e) {
+                throw failed(e);
+            }
+            completed(null);
+            return responses;
+        }
+    }
+}
@@ -16,19 +16,16 @@
 
 package foundation.icon.icx.transport.http;
 
-import com.fasterxml.jackson.databind.DeserializationFeature;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.module.SimpleModule;
 import foundation.icon.icx.Callback;
 import foundation.icon.icx.Request;
 import foundation.icon.icx.transport.jsonrpc.Response;
+import foundation.icon.icx.transport.jsonrpc.RpcCodec;
 import foundation.icon.icx.transport.jsonrpc.RpcConverter;
 import foundation.icon.icx.transport.jsonrpc.RpcError;
-import foundation.icon.icx.transport.jsonrpc.RpcItem;
-import foundation.icon.icx.transport.jsonrpc.RpcItemDeserializer;
 import okhttp3.ResponseBody;
 
 import java.io.IOException;
+import java.io.InputStream;
 
 /**
  * Http call can be executed by this class
@@ -38,63 +35,126 @@ import java.io.IOException;
 public class HttpCall<T> implements Request<T> {
 
     private final okhttp3.Call httpCall;
+    private final RpcCodec codec;
     private final RpcConverter<T> converter;
+    final CallTrace trace;
 
-    HttpCall(okhttp3.Call httpCall, RpcConverter<T> converter) {
+    HttpCall(okhttp3.Call httpCall, RpcCodec codec, RpcConverter<T> converter) {
+        this(httpCall, codec, converter, null);
+    }
+
+    HttpCall(okhttp3.Call httpCall, RpcCodec codec, RpcConverter<T> converter, CallTrace trace) {
         this.httpCall = httpCall;
+        this.codec = codec;
         this.converter = converter;
+        this.trace = trace;
     }
 
     @Override
     public T execute() throws IOException {
-        return convertResponse(httpCall.execute());
+        okhttp3.Response response;
+        if (trace == null) {
+            response = httpCall.execute();
+        } else {
+            trace.start();
+            try {
+                response = httpCall.execute();
+            } catch (IOException e) {
+                trace.failed(e);
+                throw e;
+            }
+        }
+        try {
+            return convertResponse(response);
+        } catch (RuntimeException e) {
+            failed(new IOException(e));
+            throw e;
+        }
     }
 
     @Override
     public void execute(final Callback<T> callback) {
+        if (trace != null) {
+            trace.start();
+        }
         httpCall.enqueue(new okhttp3.Callback() {
             @Override
             public void onFailure(okhttp3.Call call, IOException e) {
+                if (trace != null) {
+                    trace.failed(e);
+                }
                 callback.onFailure(e);
             }
 
             @Override
             public void onResponse(
                     okhttp3.Call call, okhttp3.Response response) {
+                T result;
                 try {
-                    T result = convertResponse(response);
-                    callback.onSuccess(result);
+                    result = convertResponse(response);
                 } catch (IOException e) {
+                    failed(e);
+                    callback.onFailure(e);
+                    return;
+                } catch (RuntimeException e) {
+                    // OkHttp does not call onFailure for an exception thrown here,
+                    // so it is reported to the callback instead of escaping to the dispatcher
+                    failed(new IOException(e));
                     callback.onFailure(e);
+                    return;
                 }
+                callback.onSuccess(result);
             }
         });
     }
 
+    @Override
+    public void cancel() {
+        httpCall.cancel();
+    }
+
     // Converts the response data from the OkHttp response
-    private T convertResponse(okhttp3.Response httpResponse) throws IOException {
-        ResponseBody body = httpResponse.body();
-        if (body != null) {
-            ObjectMapper mapper = new ObjectMapper();
-            mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-            mapper.registerModule(createDeserializerModule());
-            String content = body.string();
-            Response response = mapper.readValue(content, Response.class);
-            if (converter == null) {
-                throw new IllegalArgumentException("There is no converter for response:'" + content + "'");
+    T convertResponse(okhttp3.Response httpResponse) throws IOException {
+        if (converter == null) {
+            throw new IllegalArgumentException("There is no converter for response");
+        }
+        try (ResponseBody body = httpResponse.body()) {
+            if (body == null) {
+                throw completed(new RpcError(httpResponse.code(), httpResponse.message()));
+            }
+            Response response;
+            try {
+                response = codec.readResponse(receive(body));
+            } catch (IOException e) {
+                throw failed(e);
             }
             if (response.getError() != null) {
-                throw response.getError();
+                throw completed(response.getError());
             }
-            return converter.convertTo(response.getResult());
-        } else {
-            throw new RpcError(httpResponse.code(), httpResponse.message());
+            T result = converter.convertTo(response.getResult());
+            completed(null);
+            return result;
+        }
+    }
+
+    // Returns the stream of the response body, which is measured if the call is traced
+    InputStream receive(ResponseBody body) {
+        return trace != null ? trace.receiving(body.byteStream()) : body.byteStream();
+    }
+
+    // Reports the call answered by the node if the call is traced, and returns the error
+    RpcError completed(RpcError error) {
+        if (trace != null) {
+            trace.completed(error);
         }
+        return error;
     }
 
-    private SimpleModule createDeserializerModule() {
-        SimpleModule module = new SimpleModule();
-        module.addDeserializer(RpcItem.class, new RpcItemDeserializer());
-        return module;
+    // Reports the call failed without a response if the call is traced, and returns the error
+    IOException failed(IOException error) {
+        if (trace != null) {
+            trace.failed(error);
+        }
+        return error;
     }
 }
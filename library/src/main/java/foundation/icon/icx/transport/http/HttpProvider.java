@@ -16,43 +16,53 @@
 
 package foundation.icon.icx.transport.http;
 
-import com.fasterxml.jackson.annotation.JsonInclude;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.module.SimpleModule;
 import foundation.icon.icx.Provider;
 import foundation.icon.icx.Request;
+import foundation.icon.icx.metrics.ClientMetrics;
+import foundation.icon.icx.metrics.FlightEvents;
+import foundation.icon.icx.transport.jsonrpc.Response;
+import foundation.icon.icx.transport.jsonrpc.RpcCodec;
 import foundation.icon.icx.transport.jsonrpc.RpcConverter;
 import foundation.icon.icx.transport.jsonrpc.RpcError;
 import foundation.icon.icx.transport.jsonrpc.RpcItem;
-import foundation.icon.icx.transport.jsonrpc.RpcItemDeserializer;
-import foundation.icon.icx.transport.jsonrpc.RpcItemSerializer;
 import foundation.icon.icx.transport.jsonrpc.RpcObject;
 import foundation.icon.icx.transport.monitor.Monitor;
+import foundation.icon.icx.transport.monitor.MonitorDispatch;
+import foundation.icon.icx.transport.monitor.MonitorException;
 import foundation.icon.icx.transport.monitor.MonitorSpec;
 import okhttp3.MediaType;
 import okhttp3.OkHttpClient;
 import okhttp3.RequestBody;
-import okhttp3.Response;
 import okhttp3.WebSocket;
 import okhttp3.WebSocketListener;
 import okio.BufferedSink;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * The {@code HttpProvider} class transports JSON-RPC payloads through HTTP.
  */
 public class HttpProvider implements Provider {
 
+    private static final MediaType JSON_MEDIA_TYPE = MediaType.parse("application/json");
+
     private final OkHttpClient httpClient;
+    private final RpcCodec codec = new RpcCodec();
     private String serverUri;
     private String channel;
     private final int version;
     private HashMap<String, String> urlMap;
+    private volatile MonitorDispatch monitorDispatch = MonitorDispatch.DEFAULT;
 
     /**
      * Initializes a new {@code HttpProvider} with the custom http client object and the given endpoint url.
@@ -115,35 +125,72 @@ public class HttpProvider implements Provider {
      */
     @Override
     public <T> Request<T> request(final foundation.icon.icx.transport.jsonrpc.Request request, RpcConverter<T> converter) {
+        final CallTrace trace = CallTrace.of(request.getMethod());
 
         // Makes the request body
         RequestBody body = new RequestBody() {
             @Override
             public MediaType contentType() {
-                return MediaType.parse("application/json");
+                return JSON_MEDIA_TYPE;
             }
 
             @Override
             public void writeTo(BufferedSink sink) throws IOException {
-                ObjectMapper mapper = new ObjectMapper();
-                mapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
-                SimpleModule module = new SimpleModule();
-                module.addSerializer(RpcItem.class, new RpcItemSerializer());
-                mapper.registerModule(module);
-                mapper.writeValue(sink.outputStream(), request);
+                OutputStream out = sink.outputStream();
+                codec.writeRequest(request, trace != null ? trace.sending(out) : out);
             }
         };
 
-        String method = request.getMethod();
-        String prefix = method.substring(0, method.indexOf("_"));
-        String url = urlMap.get(prefix);
+        String url = getUrl(request.getMethod());
 
         okhttp3.Request httpRequest = new okhttp3.Request.Builder()
                 .url(url)
                 .post(body)
                 .build();
 
-        return new HttpCall<>(httpClient.newCall(httpRequest), converter);
+        return new HttpCall<>(httpClient.newCall(httpRequest), codec, converter, trace);
+    }
+
+    /**
+     * @see Provider#batch(List)
+     */
+    @Override
+    public Request<List<Response>> batch(final List<foundation.icon.icx.transport.jsonrpc.Request> requests) {
+        if (requests.isEmpty()) {
+            throw new IllegalArgumentException("Empty batch");
+        }
+        String url = getUrl(requests.get(0).getMethod());
+        for (foundation.icon.icx.transport.jsonrpc.Request request : requests) {
+            if (!url.equals(getUrl(request.getMethod()))) {
+                throw new IllegalArgumentException("All requests in a batch must use the same endpoint");
+            }
+        }
+
+        final CallTrace trace = CallTrace.of("batch");
+        RequestBody body = new RequestBody() {
+            @Override
+            public MediaType contentType() {
+                return JSON_MEDIA_TYPE;
+            }
+
+            @Override
+            public void writeTo(BufferedSink sink) throws IOException {
+                OutputStream out = sink.outputStream();
+                codec.writeRequests(requests, trace != null ? trace.sending(out) : out);
+            }
+        };
+
+        okhttp3.Request httpRequest = new okhttp3.Request.Builder()
+                .url(url)
+                .post(body)
+                .build();
+
+        return new HttpBatchCall(httpClient.newCall(httpRequest), codec, trace);
+    }
+
+    private String getUrl(String method) {
+        String prefix = method.substring(0, method.indexOf("_"));
+        return urlMap.get(prefix);
     }
 
     private void generateUrlMap() {
@@ -201,28 +248,28 @@ public class HttpProvider implements Provider {
         MonitorSpec spec;
         WsState state = WsState.WS_INIT;
         okhttp3.WebSocket ws;
+        EventQueue queue;
+        CompletableFuture<Void> started;
         final Object condVar = new Object();
         RpcConverter<T> rpcConverter;
-        ObjectMapper mapper;
 
         HttpMonitor(MonitorSpec spec, RpcConverter<T> converter) {
             this.spec = spec;
             this.rpcConverter = converter;
-
-            mapper = new ObjectMapper();
-            SimpleModule module = new SimpleModule();
-            module.addDeserializer(RpcItem.class, new RpcItemDeserializer());
-            mapper.registerModule(module);
         }
 
         private class WebSocketListenerImpl extends WebSocketListener {
             private final String request;
+            private final EventQueue queue;
+            private final CompletableFuture<Void> started = new CompletableFuture<>();
+
             WebSocketListenerImpl(String request) {
                 this.request = request;
+                this.queue = new EventQueue(monitorDispatch, spec.getPath(), this::deliver);
             }
 
             @Override
-            public void onOpen(okhttp3.WebSocket webSocket, Response response) {
+            public void onOpen(okhttp3.WebSocket webSocket, okhttp3.Response response) {
                 super.onOpen(webSocket, response);
                 synchronized (condVar) {
                     state = WsState.WS_CONNECT;
@@ -233,53 +280,82 @@ public class HttpProvider implements Provider {
             @Override
             public void onMessage(okhttp3.WebSocket webSocket, String message) {
                 super.onMessage(webSocket, message);
+                WsState current;
                 synchronized (condVar) {
-                    switch(state) {
-                        case WS_CONNECT:
-                            try {
-                                RpcError error = mapper.readValue(message, RpcError.class);
-                                if (error.getCode() == 0) {
-                                    state = WsState.WS_START;
-                                    listener.onStart();
-                                } else {
-                                    listener.onError(error.getCode());
-                                }
+                    current = state;
+                    if (current == WsState.WS_CONNECT) {
+                        try {
+                            RpcError error = codec.readError(message);
+                            if (error.getCode() == 0) {
+                                state = WsState.WS_START;
+                                queue.post(listener::onStart);
+                                queue.post(() -> started.complete(null));
+                            } else {
+                                onError(error.getCode());
+                                fail(new MonitorException(error.getCode(), error.getMessage(), error));
                             }
-                            catch (IOException ex) {
-                                listener.onError(100);
-                            }
-                            condVar.notify();
-                            break;
-                        case WS_START:
-                            try {
-                                RpcItem rpcItem = mapper.readValue(message, RpcItem.class);
-                                RpcObject rpcObj = rpcItem.asObject();
-                                RpcItem value = rpcObj.getItem("progress");
-                                if (value != null) {
-                                    listener.onProgress(value.asInteger());
-                                } else {
-                                    T obj = rpcConverter.convertTo(rpcObj);
-                                    listener.onEvent(obj);
-                                }
-                            }
-                            catch (IOException ex) {
-                                listener.onError(100);
-                            }
-                            break;
-                        default:
-                            break;
+                        }
+                        catch (IOException ex) {
+                            onError(MonitorException.INVALID_RESPONSE);
+                            fail(new MonitorException(MonitorException.INVALID_RESPONSE, "Invalid response", ex));
+                        }
                     }
                 }
+                // the notifications are decoded and delivered by the queue, not to block reading
+                if (current == WsState.WS_START && !queue.offer(message)) {
+                    webSocket.close(1000, null);
+                    onError(MonitorDispatch.OVERFLOW_ERROR);
+                }
             }
 
             @Override
-            public void onFailure(WebSocket webSocket, Throwable t, Response response) {
-                listener.onError(0);
+            public void onFailure(WebSocket webSocket, Throwable t, okhttp3.Response response) {
+                onError(MonitorException.CONNECTION_FAILURE);
+                fail(new MonitorException(MonitorException.CONNECTION_FAILURE, String.valueOf(t.getMessage()), t));
+            }
+
+            @Override
+            public void onClosing(okhttp3.WebSocket webSocket, int code, String reason) {
+                // completes the close started by the node
+                webSocket.close(1000, null);
             }
 
             @Override
             public void onClosed(okhttp3.WebSocket webSocket, int code, String reason) {
-                listener.onClose();
+                queue.post(listener::onClose);
+            }
+
+            // Fails the start, after the error is given to the listener
+            private void fail(MonitorException error) {
+                queue.post(() -> started.completeExceptionally(error));
+            }
+
+            private void onError(long code) {
+                queue.post(() -> {
+                    ClientMetrics.installed().onMonitorError(spec.getPath(), code);
+                    listener.onError(code);
+                });
+            }
+
+            // Called by the queue for each notification
+            void deliver(String message) {
+                try {
+                    RpcItem rpcItem = codec.readItem(message);
+                    RpcObject rpcObj = rpcItem.asObject();
+                    RpcItem value = rpcObj.getItem("progress");
+                    if (value != null) {
+                        listener.onProgress(value.asInteger());
+                    } else {
+                        T obj = rpcConverter.convertTo(rpcObj);
+                        ClientMetrics.installed().onMonitorEvent(spec.getPath());
+                        FlightEvents.monitorEvent(spec.getPath(), message.length());
+                        listener.onEvent(obj);
+                    }
+                }
+                catch (IOException ex) {
+                    ClientMetrics.installed().onMonitorError(spec.getPath(), MonitorException.INVALID_RESPONSE);
+                    listener.onError(MonitorException.INVALID_RESPONSE);
+                }
             }
         }
 
@@ -288,11 +364,29 @@ public class HttpProvider implements Provider {
             okhttp3.Request httpRequest = new okhttp3.Request.Builder()
                     .url(url + "/" + spec.getPath())
                     .build();
-            return httpClient.newWebSocket(httpRequest, new WebSocketListenerImpl(request));
+            WebSocketListenerImpl webSocketListener = new WebSocketListenerImpl(request);
+            synchronized (condVar) {
+                queue = webSocketListener.queue;
+                started = webSocketListener.started;
+            }
+            return httpClient.newWebSocket(httpRequest, webSocketListener);
         }
 
         @Override
         public boolean start(Listener<T> listener) {
+            CompletableFuture<Void> future = startAsync(listener);
+            try {
+                future.get(3000, TimeUnit.MILLISECONDS);
+                return true;
+            } catch (InterruptedException ex) {
+                throw new IllegalStateException();
+            } catch (ExecutionException | CancellationException | TimeoutException ex) {
+                return false;
+            }
+        }
+
+        @Override
+        public CompletableFuture<Void> startAsync(Listener<T> listener) {
             synchronized (condVar) {
                 switch(state) {
                     case WS_INIT:
@@ -304,29 +398,26 @@ public class HttpProvider implements Provider {
                 }
             }
             this.listener = listener;
-            ObjectMapper mapper = new ObjectMapper();
-            mapper.setSerializationInclusion(JsonInclude.Include.NON_EMPTY);
-            SimpleModule module = new SimpleModule();
-            module.addSerializer(RpcItem.class, new RpcItemSerializer());
-            mapper.registerModule(module);
 
             String request;
             try {
-                request = mapper.writeValueAsString(spec.getParams());
+                request = codec.writeItemAsString(spec.getParams());
             }
-            catch (JsonProcessingException ex) {
+            catch (IOException ex) {
                 throw new IllegalArgumentException();
             }
 
-            ws = newWebSocket(request);
-            try {
-                synchronized (condVar) {
-                    condVar.wait(3000);
+            okhttp3.WebSocket webSocket = newWebSocket(request);
+            synchronized (condVar) {
+                if (state == WsState.WS_STOP) {
+                    // stopped while connecting
+                    webSocket.close(1000, null);
+                    started.cancel(false);
+                } else {
+                    ws = webSocket;
                 }
-            } catch (InterruptedException ex) {
-                throw new IllegalStateException();
+                return started;
             }
-            return state == WsState.WS_START;
         }
 
         @Override
@@ -337,8 +428,17 @@ public class HttpProvider implements Provider {
                     case WS_STOP:
                         throw new IllegalStateException(state.toString());
                     default:
-                        ws.close(1000, null);
-                        ws = null;
+                        // the notifications not delivered yet are dropped
+                        if (queue != null) {
+                            queue.stop();
+                        }
+                        if (started != null) {
+                            started.cancel(false);
+                        }
+                        if (ws != null) {
+                            ws.close(1000, null);
+                            ws = null;
+                        }
                         state = WsState.WS_STOP;
                         break;
                 }
@@ -346,6 +446,19 @@ public class HttpProvider implements Provider {
         }
     }
 
+    /**
+     * Sets how the notifications of the monitors created from now on reach their listeners
+     *
+     * @param dispatch the dispatch, or {@code null} for {@link MonitorDispatch#DEFAULT}
+     */
+    public void setMonitorDispatch(MonitorDispatch dispatch) {
+        this.monitorDispatch = dispatch != null ? dispatch : MonitorDispatch.DEFAULT;
+    }
+
+    public MonitorDispatch getMonitorDispatch() {
+        return monitorDispatch;
+    }
+
     @Override
     public <T> Monitor<T> monitor(MonitorSpec spec, RpcConverter<T> converter) {
         return new HttpMonitor<>(spec, converter);
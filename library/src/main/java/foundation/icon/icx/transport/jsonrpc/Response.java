@@ -28,6 +28,22 @@ public class Response {
 
     private RpcError error;
 
+    public Response() {
+    }
+
+    /**
+     * Creates a response
+     *
+     * @param id the id of the request
+     * @param result the result, or {@code null} if the request failed
+     * @param error the error, or {@code null} if the request succeeded
+     */
+    public Response(long id, RpcItem result, RpcError error) {
+        this.id = id;
+        this.result = result;
+        this.error = error;
+    }
+
     public String getJsonrpc() {
         return jsonrpc;
     }
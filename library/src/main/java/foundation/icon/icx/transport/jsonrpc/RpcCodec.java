@@ -0,0 +1,221 @@
+/*
+ * Copyright 2026 ICON Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package foundation.icon.icx.transport.jsonrpc;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The {@code RpcCodec} class encodes JSON-RPC requests and decodes their responses.
+ * <p>
+ * It holds the pre-configured Jackson readers and writers, so the serializer caches are
+ * built only once and shared by every request, response and monitor of a provider.
+ * The instance is immutable and thread-safe. The parse and write buffers are recycled
+ * per thread by the underlying {@code JsonFactory}.
+ */
+public final class RpcCodec {
+
+    private final ObjectWriter requestWriter;
+    private final ObjectWriter batchWriter;
+    private final ObjectWriter itemWriter;
+    private final ObjectReader responseReader;
+    private final ObjectReader batchResponseReader;
+    private final ObjectReader itemReader;
+    private final ObjectReader errorReader;
+
+    public RpcCodec() {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        SimpleModule module = new SimpleModule();
+        module.addSerializer(RpcItem.class, new RpcItemSerializer());
+        module.addDeserializer(RpcItem.class, new RpcItemDeserializer());
+        mapper.registerModule(module);
+
+        // the stream of a request body is not flushed, or the end of the body is sent
+        // in another packet which may wait for the delayed acknowledgement of the server
+        requestWriter = mapper.writerFor(Request.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .without(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        batchWriter = mapper.writerFor(Request[].class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .without(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        itemWriter = mapper.writerFor(RpcItem.class);
+        responseReader = mapper.readerFor(Response.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        // a batch failed as a whole is answered with a single response object
+        batchResponseReader = mapper.readerFor(Response[].class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .with(DeserializationFeature.ACCEPT_SINGLE_VALUE_AS_ARRAY);
+        itemReader = mapper.readerFor(RpcItem.class);
+        errorReader = mapper.readerFor(RpcError.class);
+        warmUp();
+    }
+
+    /**
+     * Writes the request to the given stream
+     *
+     * @param request the request to write
+     * @param out the destination stream, which is neither flushed nor closed by this method
+     * @throws IOException if the request could not be written
+     */
+    public void writeRequest(Request request, OutputStream out) throws IOException {
+        requestWriter.writeValue(out, request);
+    }
+
+    /**
+     * Writes the requests as a JSON-RPC batch to the given stream
+     *
+     * @param requests the requests to write
+     * @param out the destination stream, which is neither flushed nor closed by this method
+     * @throws IOException if the requests could not be written
+     */
+    public void writeRequests(List<Request> requests, OutputStream out) throws IOException {
+        batchWriter.writeValue(out, requests.toArray(new Request[0]));
+    }
+
+    /**
+     * Writes the request as a JSON string
+     *
+     * @param request the request to write
+     * @return the JSON string of the request
+     * @throws IOException if the request could not be written
+     */
+    public String writeRequestAsString(Request request) throws IOException {
+        return requestWriter.writeValueAsString(request);
+    }
+
+    /**
+     * Writes the requests as a JSON-RPC batch in a JSON string
+     *
+     * @param requests the requests to write
+     * @return the JSON string of the requests
+     * @throws IOException if the requests could not be written
+     */
+    public String writeRequestsAsString(List<Request> requests) throws IOException {
+        return batchWriter.writeValueAsString(requests.toArray(new Request[0]));
+    }
+
+    /**
+     * Writes the item as a JSON string
+     *
+     * @param item the item to write
+     * @return the JSON string of the item
+     * @throws IOException if the item could not be written
+     */
+    public String writeItemAsString(RpcItem item) throws IOException {
+        return itemWriter.writeValueAsString(item);
+    }
+
+    /**
+     * Reads a JSON-RPC response from the given content
+     *
+     * @param content the JSON string of the response
+     * @return the response
+     * @throws IOException if the content is not a valid response
+     */
+    public Response readResponse(String content) throws IOException {
+        return responseReader.readValue(content);
+    }
+
+    /**
+     * Reads a JSON-RPC response from the given stream.
+     * The response is decoded while it is read, without buffering the whole content.
+     *
+     * @param in the stream of the response
+     * @return the response
+     * @throws IOException if the content is not a valid response
+     */
+    public Response readResponse(InputStream in) throws IOException {
+        return responseReader.readValue(in);
+    }
+
+    /**
+     * Reads the responses of a JSON-RPC batch from the given content.
+     * If the node rejected the whole batch, the result has a single response holding the error.
+     *
+     * @param content the JSON string of the responses
+     * @return the responses in the order of the content
+     * @throws IOException if the content is not a valid batch response
+     */
+    public List<Response> readResponses(String content) throws IOException {
+        Response[] responses = batchResponseReader.readValue(content);
+        return Arrays.asList(responses);
+    }
+
+    /**
+     * Reads the responses of a JSON-RPC batch from the given stream.
+     *
+     * @param in the stream of the responses
+     * @return the responses in the order of the content
+     * @throws IOException if the content is not a valid batch response
+     */
+    public List<Response> readResponses(InputStream in) throws IOException {
+        Response[] responses = batchResponseReader.readValue(in);
+        return Arrays.asList(responses);
+    }
+
+    /**
+     * Reads an item from the given content
+     *
+     * @param content the JSON string of the item
+     * @return the item, or {@code null} if the content is a JSON null
+     * @throws IOException if the content is not a valid JSON
+     */
+    public RpcItem readItem(String content) throws IOException {
+        return itemReader.readValue(content);
+    }
+
+    /**
+     * Reads an error object from the given content
+     *
+     * @param content the JSON string of the error
+     * @return the error
+     * @throws IOException if the content is not a valid error object
+     */
+    public RpcError readError(String content) throws IOException {
+        return errorReader.readValue(content);
+    }
+
+    // Runs a request and a response through the codec once to populate the serializer caches
+    private void warmUp() {
+        try {
+            RpcObject params = new RpcObject.Builder()
+                    .put("height", new RpcValue(BigInteger.ONE))
+                    .build();
+            writeRequestAsString(new Request(0, "icx_getBlockByHeight", params));
+            readResponse("{\"jsonrpc\":\"2.0\",\"id\":0,\"result\":{\"height\":\"0x1\",\"list\":[true,null]}}");
+            readError("{\"code\":0,\"message\":\"\"}");
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
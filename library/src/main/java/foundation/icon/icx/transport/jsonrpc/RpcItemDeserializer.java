@@ -16,18 +16,20 @@
 
 package foundation.icon.icx.transport.jsonrpc;
 
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonParseException;
 import com.fasterxml.jackson.core.JsonParser;
-import com.fasterxml.jackson.core.TreeNode;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
-import com.fasterxml.jackson.databind.JsonNode;
+import foundation.icon.icx.metrics.FlightEvents;
 
 import java.io.IOException;
 import java.math.BigInteger;
-import java.util.Iterator;
 
 /**
- * Deserializers for jsonrpc value
+ * Deserializers for jsonrpc value.
+ * The items are built token by token from the parser without an intermediate tree.
  */
 public class RpcItemDeserializer extends JsonDeserializer<RpcItem> {
 
@@ -35,38 +37,74 @@ public class RpcItemDeserializer extends JsonDeserializer<RpcItem> {
     public RpcItem deserialize(
             JsonParser parser, DeserializationContext context)
             throws IOException {
-        TreeNode node = parser.readValueAsTree();
-        return deserialize(node);
+        Object event = FlightEvents.beginDecode();
+        if (event == null) {
+            return deserialize(parser);
+        }
+        long start = offsetOf(parser.currentTokenLocation());
+        RpcItem item = deserialize(parser);
+        FlightEvents.endDecode(event, offsetOf(parser.currentLocation()) - start);
+        return item;
+    }
+
+    // Returns the offset in bytes, or in characters if the parser reads characters
+    private static long offsetOf(JsonLocation location) {
+        long offset = location.getByteOffset();
+        return offset >= 0 ? offset : location.getCharOffset();
     }
 
-    private RpcItem deserialize(TreeNode node) {
-        if (node.isObject()) {
-            RpcObject.Builder builder = new RpcObject.Builder();
-            for (Iterator<String> it = node.fieldNames(); it.hasNext(); ) {
-                String fieldName = it.next();
-                TreeNode childNode = node.get(fieldName);
-                builder.put(fieldName, deserialize(childNode));
-            }
-            return builder.build();
-        } else if (node.isArray()) {
-            RpcArray.Builder builder = new RpcArray.Builder();
-            for (int i = 0; i < node.size(); i++) {
-                TreeNode childNode = node.get(i);
-                builder.add(deserialize(childNode));
-            }
-            return builder.build();
-        } else {
-            JsonNode n = ((JsonNode) node);
-            if (n.isLong()) {
-                return new RpcValue(new BigInteger(String.valueOf(n.asLong())));
-            } else if (n.isInt()) {
-                return new RpcValue(new BigInteger(String.valueOf(n.asInt())));
-            } else if (n.isBoolean()) {
-                return new RpcValue(n.asBoolean());
-            } else if (n.isNull()) {
+    // Reads the value at the current token, and leaves the parser at the last token of the value
+    private RpcItem deserialize(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == null) {
+            throw new JsonParseException(parser, "Unexpected end-of-input");
+        }
+        switch (token) {
+            case START_OBJECT:
+                return deserializeObject(parser, parser.nextToken());
+            case FIELD_NAME:
+                // the start of the object was already consumed by the caller
+                return deserializeObject(parser, token);
+            case START_ARRAY:
+                return deserializeArray(parser);
+            case VALUE_STRING:
+                return new RpcValue(parser.getText());
+            case VALUE_NUMBER_INT:
+                if (parser.getNumberType() == JsonParser.NumberType.BIG_INTEGER) {
+                    return new RpcValue(parser.getText());
+                }
+                return new RpcValue(BigInteger.valueOf(parser.getLongValue()));
+            case VALUE_NUMBER_FLOAT:
+                return new RpcValue(String.valueOf(parser.getDoubleValue()));
+            case VALUE_TRUE:
+                return new RpcValue(true);
+            case VALUE_FALSE:
+                return new RpcValue(false);
+            case VALUE_NULL:
                 return RpcValue.NULL;
-            }
-            return new RpcValue(n.asText());
+            default:
+                throw new JsonParseException(parser, "Unexpected token " + token);
+        }
+    }
+
+    private RpcItem deserializeObject(JsonParser parser, JsonToken token) throws IOException {
+        RpcObject.Builder builder = new RpcObject.Builder();
+        for (; token == JsonToken.FIELD_NAME; token = parser.nextToken()) {
+            String fieldName = parser.currentName();
+            parser.nextToken();
+            builder.put(fieldName, deserialize(parser));
+        }
+        if (token != JsonToken.END_OBJECT) {
+            throw new JsonParseException(parser, "Unexpected token " + token + " in object");
+        }
+        return builder.build();
+    }
+
+    private RpcItem deserializeArray(JsonParser parser) throws IOException {
+        RpcArray.Builder builder = new RpcArray.Builder();
+        for (JsonToken token = parser.nextToken(); token != JsonToken.END_ARRAY; token = parser.nextToken()) {
+            builder.add(deserialize(parser));
         }
+        return builder.build();
     }
 }
@@ -0,0 +1,211 @@
+/*
+ * Copyright 2026 ICON Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package foundation.icon.icx.transport.limit;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AimdLimiter adapts the number of concurrent requests by additive increase and multiplicative decrease.
+ * <p>
+ * The limit grows by one for each limit's worth of good responses, and is cut by the backoff ratio
+ * on an overload signal, which is a timeout, an overload error from the node or a latency much higher
+ * than the lowest recent latency of the same method. The limit is cut at most once in a round trip,
+ * since the requests sent before the cut see the same overload. The requests over the limit wait in a FIFO queue.
+ */
+class AimdLimiter {
+    // The number of samples after which the lowest latency is measured again
+    private static final int BASELINE_WINDOW = 100;
+
+    enum Outcome {
+        SUCCESS,
+        OVERLOAD,
+        IGNORE
+    }
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final double latencyTolerance;
+    private final int maxQueueSize;
+    private final Deque<Waiter> queue = new ArrayDeque<>();
+    private final Map<String, Baseline> baselines = new HashMap<>();
+    private double limit;
+    private int inFlight;
+    private long lastDecrease;
+
+    AimdLimiter(int initialLimit, int minLimit, int maxLimit, double backoffRatio,
+                double latencyTolerance, int maxQueueSize) {
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.latencyTolerance = latencyTolerance;
+        this.maxQueueSize = maxQueueSize;
+    }
+
+    synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    synchronized int getQueued() {
+        return queue.size();
+    }
+
+    /**
+     * Takes a slot, waiting up to the given time
+     *
+     * @return {@code true} if a slot was taken, or {@code false} if the wait timed out
+     * @throws LimitExceededException if the wait queue is full
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    boolean acquire(long timeout, TimeUnit unit) throws LimitExceededException, InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(1);
+        Waiter waiter = enqueue(latch::countDown);
+        if (waiter == null) {
+            return true;
+        }
+        try {
+            latch.await(timeout, unit);
+        } catch (InterruptedException e) {
+            if (!cancel(waiter)) {
+                release(Outcome.IGNORE, null, 0);
+            }
+            throw e;
+        }
+        // give up the wait unless the slot has already been taken
+        return !cancel(waiter);
+    }
+
+    /**
+     * Runs the task when a slot is taken
+     *
+     * @return the waiter which can be canceled, or {@code null} if the task was run right away
+     * @throws LimitExceededException if the wait queue is full
+     */
+    Waiter acquire(Runnable task) throws LimitExceededException {
+        Waiter waiter = enqueue(task);
+        if (waiter == null) {
+            task.run();
+        }
+        return waiter;
+    }
+
+    /**
+     * Removes the waiter from the queue
+     *
+     * @return {@code true} if it was removed, or {@code false} if it already has a slot
+     */
+    synchronized boolean cancel(Waiter waiter) {
+        return !waiter.granted && queue.remove(waiter);
+    }
+
+    /**
+     * Returns the slot, and adjusts the limit by the outcome of the request
+     *
+     * @param method the method whose latencies the latency is compared with, or {@code null} not to compare it
+     */
+    void release(Outcome outcome, String method, long latency) {
+        List<Waiter> granted = new ArrayList<>();
+        synchronized (this) {
+            inFlight--;
+            long now = System.nanoTime();
+            if (outcome == Outcome.SUCCESS && method != null) {
+                Baseline baseline = baselines.get(method);
+                if (baseline == null) {
+                    baseline = new Baseline();
+                    baselines.put(method, baseline);
+                }
+                if (latency > baseline.sample(latency) * latencyTolerance) {
+                    outcome = Outcome.OVERLOAD;
+                }
+            }
+            if (outcome == Outcome.OVERLOAD) {
+                // the requests sent before the last decrease reflect the old limit
+                if (lastDecrease == 0 || now - latency > lastDecrease) {
+                    limit = Math.max(minLimit, limit * backoffRatio);
+                    lastDecrease = now;
+                }
+            } else if (outcome == Outcome.SUCCESS) {
+                limit = Math.min(maxLimit, limit + 1 / limit);
+            }
+            while (!queue.isEmpty() && inFlight < (int) limit) {
+                Waiter waiter = queue.poll();
+                waiter.granted = true;
+                inFlight++;
+                granted.add(waiter);
+            }
+        }
+        for (Waiter waiter : granted) {
+            waiter.task.run();
+        }
+    }
+
+    // Returns null if a slot is taken, or the waiter in the queue
+    private synchronized Waiter enqueue(Runnable task) throws LimitExceededException {
+        if (queue.isEmpty() && inFlight < (int) limit) {
+            inFlight++;
+            return null;
+        }
+        if (queue.size() >= maxQueueSize) {
+            throw new LimitExceededException("Too many requests are waiting");
+        }
+        Waiter waiter = new Waiter(task);
+        queue.add(waiter);
+        return waiter;
+    }
+
+    // The lowest recent latency of a method
+    private static final class Baseline {
+        private long lowest = Long.MAX_VALUE;
+        private long windowMin = Long.MAX_VALUE;
+        private int windowSamples;
+
+        // Adds the latency, and returns the lowest latency before it
+        long sample(long latency) {
+            long baseline = lowest;
+            windowMin = Math.min(windowMin, latency);
+            lowest = Math.min(lowest, latency);
+            if (++windowSamples >= BASELINE_WINDOW) {
+                // follow the latency of the node when it gets slower for good
+                lowest = windowMin;
+                windowMin = Long.MAX_VALUE;
+                windowSamples = 0;
+            }
+            return baseline;
+        }
+    }
+
+    static final class Waiter {
+        private final Runnable task;
+        private boolean granted;
+
+        Waiter(Runnable task) {
+            this.task = task;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+/*
+ * Copyright 2026 ICON Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package foundation.icon.icx.transport.limit;
+
+import java.io.IOException;
+
+/**
+ * LimitExceededException is thrown when a request could not get a slot of the concurrency limit in time,
+ * or the wait queue of the limit is full.
+ */
+public class LimitExceededException extends IOException {
+
+    public LimitExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,435 @@
+/*
+ * Copyright 2026 ICON Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package foundation.icon.icx.transport.limit;
+
+import foundation.icon.icx.Callback;
+import foundation.icon.icx.Provider;
+import foundation.icon.icx.Request;
+import foundation.icon.icx.transport.jsonrpc.Response;
+import foundation.icon.icx.transport.jsonrpc.RpcConverter;
+import foundation.icon.icx.transport.jsonrpc.RpcError;
+import foundation.icon.icx.transport.monitor.Monitor;
+import foundation.icon.icx.transport.monitor.MonitorSpec;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The {@code LimitingProvider} class adapts the number of concurrent requests to the capacity of the node.
+ * <p>
+ * Each method family, which is the prefix of the method such as {@code icx}, {@code btp} or {@code debug},
+ * has its own limit. The limit grows while the node answers in time, and is cut when a request times out,
+ * the node returns a server error ({@code -32000} to {@code -32099}) or an overload error
+ * ({@code -31001}, {@code -31005} and {@code -31007}), or the latency of a method rises well above
+ * its lowest recent latency. The requests over the limit wait in a bounded queue for a bounded time,
+ * and fail with {@link LimitExceededException} if they cannot be sent.
+ * <pre>{@code
+ * Provider provider = new LimitingProvider.Builder(new HttpProvider(url, 3))
+ *         .initialLimit(16)
+ *         .maxWait(10, TimeUnit.SECONDS)
+ *         .build();
+ * }</pre>
+ */
+public class LimitingProvider implements Provider, Closeable {
+
+    private final Provider provider;
+    private final int initialLimit;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final double latencyTolerance;
+    private final int maxQueueSize;
+    private final long maxWaitNanos;
+    private final ConcurrentMap<String, AimdLimiter> limiters = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler;
+    private final AtomicLong rejected = new AtomicLong();
+
+    private LimitingProvider(Builder builder) {
+        this.provider = builder.provider;
+        this.initialLimit = builder.initialLimit;
+        this.minLimit = builder.minLimit;
+        this.maxLimit = builder.maxLimit;
+        this.backoffRatio = builder.backoffRatio;
+        this.latencyTolerance = builder.latencyTolerance;
+        this.maxQueueSize = builder.maxQueueSize;
+        this.maxWaitNanos = builder.maxWaitNanos;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "icon-limiter");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Returns the current concurrency limit of the method family
+     *
+     * @param family the prefix of the methods, ex) {@code icx}
+     * @return the limit
+     */
+    public int getLimit(String family) {
+        return limiter(family).getLimit();
+    }
+
+    /**
+     * Returns the number of the requests in flight of the method family
+     *
+     * @param family the prefix of the methods, ex) {@code icx}
+     * @return the number of requests
+     */
+    public int getInFlight(String family) {
+        return limiter(family).getInFlight();
+    }
+
+    /**
+     * Returns the number of the requests waiting for the limit of the method family
+     *
+     * @param family the prefix of the methods, ex) {@code icx}
+     * @return the number of requests
+     */
+    public int getQueued(String family) {
+        return limiter(family).getQueued();
+    }
+
+    /**
+     * Returns the number of the requests which failed with {@link LimitExceededException}
+     *
+     * @return the number of requests
+     */
+    public long getRejectedCount() {
+        return rejected.get();
+    }
+
+    /**
+     * Stops the timer of the wait time.
+     * The requests waiting asynchronously after this method are not timed out.
+     */
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * @see Provider#request(foundation.icon.icx.transport.jsonrpc.Request, RpcConverter)
+     */
+    @Override
+    public <T> Request<T> request(foundation.icon.icx.transport.jsonrpc.Request request, RpcConverter<T> converter) {
+        String method = request.getMethod();
+        return new LimitedRequest<>(familyOf(method), method, provider.request(request, converter));
+    }
+
+    /**
+     * @see Provider#batch(List)
+     */
+    @Override
+    public Request<List<Response>> batch(List<foundation.icon.icx.transport.jsonrpc.Request> requests) {
+        String family = requests.isEmpty() ? "" : familyOf(requests.get(0).getMethod());
+        // the latency of a batch depends on its size, so it is not compared
+        return new LimitedRequest<>(family, null, provider.batch(requests));
+    }
+
+    /**
+     * @see Provider#monitor(MonitorSpec, RpcConverter)
+     */
+    @Override
+    public <T> Monitor<T> monitor(MonitorSpec spec, RpcConverter<T> converter) {
+        return provider.monitor(spec, converter);
+    }
+
+    private static String familyOf(String method) {
+        int index = method.indexOf('_');
+        return index < 0 ? method : method.substring(0, index);
+    }
+
+    private AimdLimiter limiter(String family) {
+        return limiters.computeIfAbsent(family, k -> new AimdLimiter(initialLimit, minLimit,
+                maxLimit, backoffRatio, latencyTolerance, maxQueueSize));
+    }
+
+    private static AimdLimiter.Outcome classify(Throwable error) {
+        if (error == null) {
+            return AimdLimiter.Outcome.SUCCESS;
+        }
+        if (error instanceof RpcError) {
+            long code = ((RpcError) error).getCode();
+            // the node answered, and tells whether it is overloaded:
+            // a server error, PoolOverflow, LackOfResource or SystemTimeout
+            boolean overload = (code <= -32000 && code >= -32099)
+                    || code == -31001 || code == -31005 || code == -31007;
+            return overload ? AimdLimiter.Outcome.OVERLOAD : AimdLimiter.Outcome.SUCCESS;
+        }
+        if (error instanceof InterruptedIOException) {
+            // SocketTimeoutException is also an InterruptedIOException
+            return AimdLimiter.Outcome.OVERLOAD;
+        }
+        return AimdLimiter.Outcome.IGNORE;
+    }
+
+    private class LimitedRequest<T> implements Request<T> {
+        private final AimdLimiter limiter;
+        private final String method;
+        private final Request<T> call;
+        private volatile boolean canceled;
+        private AimdLimiter.Waiter waiter;
+        private Callback<T> waiting;
+        private ScheduledFuture<?> timeout;
+
+        LimitedRequest(String family, String method, Request<T> call) {
+            this.limiter = limiter(family);
+            this.method = method;
+            this.call = call;
+        }
+
+        @Override
+        public T execute() throws IOException {
+            boolean acquired;
+            try {
+                acquired = limiter.acquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+            } catch (LimitExceededException e) {
+                rejected.incrementAndGet();
+                throw e;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException();
+            }
+            if (!acquired) {
+                rejected.incrementAndGet();
+                throw new LimitExceededException("Timed out waiting for the concurrency limit");
+            }
+            long start = System.nanoTime();
+            Throwable error = null;
+            try {
+                return call.execute();
+            } catch (IOException | RuntimeException | Error e) {
+                error = e;
+                throw e;
+            } finally {
+                release(start, error);
+            }
+        }
+
+        @Override
+        public void execute(final Callback<T> callback) {
+            AimdLimiter.Waiter queued;
+            try {
+                queued = limiter.acquire(() -> send(callback));
+            } catch (LimitExceededException e) {
+                rejected.incrementAndGet();
+                callback.onFailure(e);
+                return;
+            }
+            if (queued == null) {
+                return;
+            }
+            synchronized (this) {
+                waiter = queued;
+                waiting = callback;
+            }
+            try {
+                final ScheduledFuture<?> timer = scheduler.schedule(() -> {
+                    if (limiter.cancel(queued)) {
+                        rejected.incrementAndGet();
+                        callback.onFailure(new LimitExceededException("Timed out waiting for the concurrency limit"));
+                    }
+                }, maxWaitNanos, TimeUnit.NANOSECONDS);
+                synchronized (this) {
+                    timeout = timer;
+                }
+            } catch (RejectedExecutionException e) {
+                // the provider was closed, so the request waits without a timeout
+            }
+        }
+
+        @Override
+        public void cancel() {
+            canceled = true;
+            AimdLimiter.Waiter queued;
+            Callback<T> callback;
+            synchronized (this) {
+                queued = waiter;
+                callback = waiting;
+            }
+            if (queued != null && limiter.cancel(queued)) {
+                // the request has not been sent yet
+                callback.onFailure(new IOException("Canceled"));
+                return;
+            }
+            call.cancel();
+        }
+
+        private void send(final Callback<T> callback) {
+            ScheduledFuture<?> timer;
+            synchronized (this) {
+                timer = timeout;
+            }
+            if (timer != null) {
+                timer.cancel(false);
+            }
+            final long start = System.nanoTime();
+            try {
+                call.execute(new Callback<T>() {
+                    @Override
+                    public void onSuccess(T result) {
+                        release(start, null);
+                        callback.onSuccess(result);
+                    }
+
+                    @Override
+                    public void onFailure(Exception exception) {
+                        release(start, exception);
+                        callback.onFailure(exception);
+                    }
+                });
+            } catch (RuntimeException e) {
+                release(start, e);
+                callback.onFailure(e);
+            }
+        }
+
+        private void release(long start, Throwable error) {
+            AimdLimiter.Outcome outcome = canceled ? AimdLimiter.Outcome.IGNORE : classify(error);
+            limiter.release(outcome, method, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Builder for LimitingProvider
+     */
+    public static class Builder {
+        private final Provider provider;
+        private int initialLimit = 20;
+        private int minLimit = 1;
+        private int maxLimit = 200;
+        private double backoffRatio = 0.9;
+        private double latencyTolerance = 2.0;
+        private int maxQueueSize = 1000;
+        private long maxWaitNanos = TimeUnit.SECONDS.toNanos(5);
+
+        /**
+         * Creates a builder for the provider
+         *
+         * @param provider the underlying provider, usually an {@code HttpProvider}
+         */
+        public Builder(Provider provider) {
+            if (provider == null) {
+                throw new IllegalArgumentException("provider not found");
+            }
+            this.provider = provider;
+        }
+
+        /**
+         * Sets the limit of each method family at the start (default: 20)
+         *
+         * @param limit the number of concurrent requests
+         * @return the builder
+         */
+        public Builder initialLimit(int limit) {
+            this.initialLimit = limit;
+            return this;
+        }
+
+        /**
+         * Sets the bounds of the limit (default: 1 to 200)
+         *
+         * @param min the lowest limit
+         * @param max the highest limit
+         * @return the builder
+         */
+        public Builder limitRange(int min, int max) {
+            if (min < 1 || max < min) {
+                throw new IllegalArgumentException("Invalid limit range");
+            }
+            this.minLimit = min;
+            this.maxLimit = max;
+            return this;
+        }
+
+        /**
+         * Sets the ratio the limit is multiplied by on overload (default: 0.9)
+         *
+         * @param ratio the ratio between 0 and 1 (exclusive)
+         * @return the builder
+         */
+        public Builder backoffRatio(double ratio) {
+            if (!(ratio > 0 && ratio < 1)) {
+                throw new IllegalArgumentException("Invalid backoff ratio");
+            }
+            this.backoffRatio = ratio;
+            return this;
+        }
+
+        /**
+         * Sets how many times the lowest recent latency a latency may be before it is taken as overload
+         * (default: 2.0)
+         *
+         * @param tolerance the multiplier greater than 1
+         * @return the builder
+         */
+        public Builder latencyTolerance(double tolerance) {
+            if (!(tolerance > 1)) {
+                throw new IllegalArgumentException("Invalid latency tolerance");
+            }
+            this.latencyTolerance = tolerance;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of the requests waiting for each method family (default: 1000)
+         *
+         * @param size the size of the wait queue
+         * @return the builder
+         */
+        public Builder maxQueueSize(int size) {
+            if (size < 0) {
+                throw new IllegalArgumentException("Invalid queue size");
+            }
+            this.maxQueueSize = size;
+            return this;
+        }
+
+        /**
+         * Sets the maximum time a request waits for the limit (default: 5 seconds)
+         *
+         * @param duration the wait time
+         * @param unit the unit of the duration
+         * @return the builder
+         */
+        public Builder maxWait(long duration, TimeUnit unit) {
+            if (duration < 0) {
+                throw new IllegalArgumentException("Invalid wait time");
+            }
+            this.maxWaitNanos = unit.toNanos(duration);
+            return this;
+        }
+
+        public LimitingProvider build() {
+            if (initialLimit < minLimit || initialLimit > maxLimit) {
+                throw new IllegalArgumentException("Invalid initial limit");
+            }
+            return new LimitingProvider(this);
+        }
+    }
+}
@@ -52,6 +52,11 @@ public class BTPMonitorSpec extends MonitorSpec<BTPNotification> {
         return builder.build();
     }
 
+    @Override
+    public BTPMonitorSpec withHeight(BigInteger height) {
+        return new BTPMonitorSpec(height, networkId, proofFlag, progressInterval);
+    }
+
     @Override
     public Class<BTPNotification> getNotificationClass() {
         return BTPNotification.class;
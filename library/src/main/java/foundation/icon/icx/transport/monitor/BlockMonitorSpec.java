@@ -49,6 +49,11 @@ public class BlockMonitorSpec extends MonitorSpec<BlockNotification> {
         return builder.build();
     }
 
+    @Override
+    public BlockMonitorSpec withHeight(BigInteger height) {
+        return new BlockMonitorSpec(height, eventFilters);
+    }
+
     @Override
     public Class<BlockNotification> getNotificationClass() {
         return BlockNotification.class;
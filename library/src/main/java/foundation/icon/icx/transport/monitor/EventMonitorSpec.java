@@ -115,6 +115,11 @@ public class EventMonitorSpec extends MonitorSpec<EventNotification> {
         return builder.build();
     }
 
+    @Override
+    public EventMonitorSpec withHeight(BigInteger height) {
+        return new EventMonitorSpec(height, filters, logs, progressInterval);
+    }
+
     @Override
     public Class<EventNotification> getNotificationClass() {
         return EventNotification.class;
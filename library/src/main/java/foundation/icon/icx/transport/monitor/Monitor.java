@@ -17,6 +17,8 @@
 package foundation.icon.icx.transport.monitor;
 
 import java.math.BigInteger;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 public interface Monitor<T> {
     interface Listener<T> {
@@ -29,5 +31,25 @@ public interface Monitor<T> {
 
     boolean start(Listener<T> listener);
 
+    /**
+     * Starts the monitor without waiting for the node to accept it.
+     * <p>
+     * The future is completed when the node accepts the request, and fails with a {@link MonitorException}
+     * carrying the code when the node rejects it or the connection fails. The implementations of the SDK
+     * do not block the calling thread, so many monitors may be started at once. This default implementation
+     * calls {@link #start(Listener)} on the common pool.
+     *
+     * @param listener the listener of the notifications
+     * @return the future completed when the monitor is started
+     */
+    default CompletableFuture<Void> startAsync(Listener<T> listener) {
+        return CompletableFuture.runAsync(() -> {
+            if (!start(listener)) {
+                throw new CompletionException(new MonitorException(
+                        MonitorException.CONNECTION_FAILURE, "Failed to start"));
+            }
+        });
+    }
+
     void stop();
 }
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2026 ICON Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package foundation.icon.icx.transport.monitor;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * The {@code MonitorDispatch} class configures how the notifications of a monitor reach its listener.
+ * <p>
+ * The notifications received are kept in a bounded queue, and are decoded and delivered to the listener
+ * on the executor, so a slow listener does not stall reading the connection. The notifications of
+ * a monitor are delivered one at a time in the order received, while the monitors may share the executor.
+ * When the queue is full, the overflow policy decides what happens to a new notification.
+ * <pre>{@code
+ * httpProvider.setMonitorDispatch(new MonitorDispatch.Builder()
+ *         .capacity(4096)
+ *         .overflow(MonitorDispatch.Overflow.DROP_OLDEST)
+ *         .build());
+ * }</pre>
+ */
+public final class MonitorDispatch {
+
+    /**
+     * The error code given to the listener when the queue overflows with {@link Overflow#FAIL}
+     */
+    public static final long OVERFLOW_ERROR = 101;
+
+    /**
+     * The default dispatch, which blocks reading when 1024 notifications are queued
+     */
+    public static final MonitorDispatch DEFAULT = new Builder().build();
+
+    /**
+     * The policy when a notification arrives at a full queue
+     */
+    public enum Overflow {
+        /**
+         * Stops reading the connection until the listener takes a notification
+         */
+        BLOCK,
+        /**
+         * Drops the oldest notification in the queue to make a room
+         */
+        DROP_OLDEST,
+        /**
+         * Stops the monitor, and gives {@link #OVERFLOW_ERROR} to the listener
+         */
+        FAIL
+    }
+
+    private final Executor executor;
+    private final int capacity;
+    private final Overflow overflow;
+
+    private MonitorDispatch(Builder builder) {
+        this.executor = builder.executor != null ? builder.executor : SharedExecutor.INSTANCE;
+        this.capacity = builder.capacity;
+        this.overflow = builder.overflow;
+    }
+
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public Overflow getOverflow() {
+        return overflow;
+    }
+
+    // The daemon threads used by default, created on the first use
+    private static class SharedExecutor {
+        static final ExecutorService INSTANCE = Executors.newCachedThreadPool(r -> {
+            Thread thread = new Thread(r, "icx-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Builder for MonitorDispatch
+     */
+    public static class Builder {
+        private Executor executor;
+        private int capacity = 1024;
+        private Overflow overflow = Overflow.BLOCK;
+
+        /**
+         * Sets the executor which delivers the notifications (default: shared daemon threads)
+         *
+         * @param executor the executor
+         * @return the builder
+         */
+        public Builder executor(Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of the notifications queued for a monitor (default: 1024)
+         *
+         * @param capacity the capacity of the queue
+         * @return the builder
+         */
+        public Builder capacity(int capacity) {
+            if (capacity <= 0) {
+                throw new IllegalArgumentException("Invalid capacity");
+            }
+            this.capacity = capacity;
+            return this;
+        }
+
+        /**
+         * Sets the policy when the queue is full (default: {@link Overflow#BLOCK})
+         *
+         * @param overflow the policy
+         * @return the builder
+         */
+        public Builder overflow(Overflow overflow) {
+            if (overflow == null) {
+                throw new IllegalArgumentException("overflow not found");
+            }
+            this.overflow = overflow;
+            return this;
+        }
+
+        public MonitorDispatch build() {
+            return new MonitorDispatch(this);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2026 ICON Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package foundation.icon.icx.transport.monitor;
+
+import java.io.IOException;
+
+/**
+ * Signals that a monitor failed to start or failed while running.
+ * <p>
+ * The code is the one given to {@link Monitor.Listener#onError(long)}: the code of the error answered by
+ * the node when it rejects the request, or one of the codes of the SDK for the other failures.
+ */
+public class MonitorException extends IOException {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The code when the connection fails or times out
+     */
+    public static final long CONNECTION_FAILURE = 0;
+
+    /**
+     * The code when the response of the node is not readable
+     */
+    public static final long INVALID_RESPONSE = 100;
+
+    private final long code;
+
+    public MonitorException(long code, String message) {
+        super(message);
+        this.code = code;
+    }
+
+    public MonitorException(long code, String message, Throwable cause) {
+        super(message, cause);
+        this.code = code;
+    }
+
+    /**
+     * Returns the code of the failure
+     *
+     * @return the code of the error answered by the node, or {@link #CONNECTION_FAILURE}
+     *         or {@link #INVALID_RESPONSE}
+     */
+    public long getCode() {
+        return code;
+    }
+}
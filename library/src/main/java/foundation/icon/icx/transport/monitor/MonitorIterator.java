@@ -0,0 +1,144 @@
+/*
+ * Copyright 2026 ICON Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package foundation.icon.icx.transport.monitor;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * The {@code MonitorIterator} class reads the notifications of a monitor one at a time.
+ * <p>
+ * The next notification is requested only when the previous one is taken, so a slow consumer slows down
+ * the monitor as {@link MonitorPublisher} does, instead of the notifications piling up. {@link #hasNext()}
+ * waits for a notification, and returns {@code false} when the monitor is closed. A failure of the monitor
+ * is thrown as {@link UncheckedIOException} with the {@link MonitorException}.
+ * <pre>{@code
+ * try (MonitorIterator<BlockNotification> it = new MonitorIterator<>(monitor)) {
+ *     while (it.hasNext()) {
+ *         process(it.next());
+ *     }
+ * }
+ * }</pre>
+ *
+ * @param <T> the notification class
+ */
+public class MonitorIterator<T> implements Iterator<T>, Closeable {
+    private MonitorPublisher.Subscription subscription;
+    private T next;
+    private boolean requested;
+    private boolean completed;
+    private Throwable error;
+
+    /**
+     * Creates an iterator and starts the monitor
+     *
+     * @param monitor the monitor not started yet
+     */
+    public MonitorIterator(Monitor<T> monitor) {
+        new MonitorPublisher<>(monitor).subscribe(new MonitorPublisher.Subscriber<T>() {
+            @Override
+            public void onSubscribe(MonitorPublisher.Subscription subscription) {
+                synchronized (MonitorIterator.this) {
+                    MonitorIterator.this.subscription = subscription;
+                }
+            }
+
+            @Override
+            public void onNext(T item) {
+                synchronized (MonitorIterator.this) {
+                    next = item;
+                    MonitorIterator.this.notifyAll();
+                }
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                synchronized (MonitorIterator.this) {
+                    error = throwable;
+                    completed = true;
+                    MonitorIterator.this.notifyAll();
+                }
+            }
+
+            @Override
+            public void onComplete() {
+                synchronized (MonitorIterator.this) {
+                    completed = true;
+                    MonitorIterator.this.notifyAll();
+                }
+            }
+        });
+    }
+
+    /**
+     * Waits for the next notification
+     *
+     * @return {@code true} if a notification is available, {@code false} if the monitor is closed
+     * @throws UncheckedIOException if the monitor failed
+     */
+    @Override
+    public synchronized boolean hasNext() {
+        if (next == null && !completed && !requested) {
+            requested = true;
+            subscription.request(1);
+        }
+        try {
+            while (next == null && !completed) {
+                wait();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted");
+        }
+        if (next != null) {
+            return true;
+        }
+        if (error instanceof IOException) {
+            throw new UncheckedIOException((IOException) error);
+        } else if (error != null) {
+            throw new IllegalStateException(error);
+        }
+        return false;
+    }
+
+    @Override
+    public synchronized T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        T item = next;
+        next = null;
+        requested = false;
+        return item;
+    }
+
+    /**
+     * Stops the monitor. The notifications not taken yet are dropped.
+     */
+    @Override
+    public synchronized void close() {
+        if (!completed) {
+            completed = true;
+            subscription.cancel();
+            notifyAll();
+        }
+        next = null;
+    }
+}
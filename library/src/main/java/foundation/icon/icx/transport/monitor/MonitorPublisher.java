@@ -0,0 +1,224 @@
+/*
+ * Copyright 2026 ICON Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package foundation.icon.icx.transport.monitor;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The {@code MonitorPublisher} class exposes a monitor as a publisher with demand-based flow control.
+ * <p>
+ * The interfaces follow {@code java.util.concurrent.Flow}, which is not in Java 8. On Java 11 or later,
+ * {@code FlowMonitorPublisher} implements {@code Flow.Publisher} with this class. The monitor is started
+ * when a subscriber subscribes, and is stopped when the subscription is canceled or the stream ends.
+ * <p>
+ * While the demand is zero, the delivery of the notifications waits for a request. The notifications
+ * received in the meantime are kept in the queue of the {@link MonitorDispatch}, and with the overflow
+ * policy {@link MonitorDispatch.Overflow#BLOCK}, the default, the WebSocket is not read once the queue is
+ * full, so TCP flow control slows down the node instead of the heap growing. With the other policies,
+ * the notifications overflowing the queue are dropped or fail the monitor as the policy says.
+ * The wait holds the thread delivering the notifications, but no lock of the monitor, so the subscription
+ * may be requested or canceled from any thread, and a {@link ResumingMonitor} can still be stopped.
+ * <pre>{@code
+ * MonitorPublisher<BlockNotification> publisher = new MonitorPublisher<>(
+ *         provider.monitor(new BlockMonitorSpec(height, null), Converters.BLOCK_NOTIFICATION));
+ * publisher.subscribe(subscriber);
+ * }</pre>
+ *
+ * @param <T> the notification class
+ */
+public class MonitorPublisher<T> {
+    private final Monitor<T> monitor;
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+
+    public MonitorPublisher(Monitor<T> monitor) {
+        if (monitor == null) {
+            throw new IllegalArgumentException("monitor not found");
+        }
+        this.monitor = monitor;
+    }
+
+    /**
+     * The receiver of the notifications, like {@code Flow.Subscriber}
+     *
+     * @param <T> the notification class
+     */
+    public interface Subscriber<T> {
+        void onSubscribe(Subscription subscription);
+        void onNext(T item);
+        void onError(Throwable throwable);
+        void onComplete();
+    }
+
+    /**
+     * The link between the publisher and a subscriber, like {@code Flow.Subscription}
+     */
+    public interface Subscription {
+        void request(long n);
+        void cancel();
+    }
+
+    /**
+     * Subscribes to the notifications and starts the monitor.
+     * <p>
+     * A monitor has one stream, so only one subscriber is accepted. The others are given
+     * {@link IllegalStateException} by {@link Subscriber#onError(Throwable)}.
+     * A failure to start is given as {@link MonitorException}.
+     *
+     * @param subscriber the subscriber
+     */
+    public void subscribe(Subscriber<? super T> subscriber) {
+        if (subscriber == null) {
+            throw new NullPointerException();
+        }
+        if (!subscribed.compareAndSet(false, true)) {
+            subscriber.onSubscribe(new Subscription() {
+                @Override
+                public void request(long n) {
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+            subscriber.onError(new IllegalStateException("Already subscribed"));
+            return;
+        }
+        DemandListener listener = new DemandListener(subscriber);
+        subscriber.onSubscribe(listener);
+        if (listener.isDone()) {
+            return;
+        }
+        CompletableFuture<Void> started;
+        try {
+            started = monitor.startAsync(listener);
+        } catch (RuntimeException e) {
+            listener.terminate(e);
+            return;
+        }
+        started.whenComplete((v, t) -> {
+            if (t instanceof CompletionException && t.getCause() != null) {
+                t = t.getCause();
+            }
+            if (t != null) {
+                listener.terminate(t);
+            }
+        });
+    }
+
+    // Delivers the notifications of the monitor as the subscriber requests
+    private class DemandListener implements Monitor.Listener<T>, Subscription {
+        private final Subscriber<? super T> subscriber;
+        private long demand;
+        private boolean done;
+
+        DemandListener(Subscriber<? super T> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                terminate(new IllegalArgumentException("Invalid demand"));
+                return;
+            }
+            synchronized (this) {
+                demand += n;
+                if (demand < 0) {
+                    // effectively unbounded
+                    demand = Long.MAX_VALUE;
+                }
+                notifyAll();
+            }
+        }
+
+        @Override
+        public void cancel() {
+            if (finish()) {
+                stopMonitor();
+            }
+        }
+
+        @Override
+        public void onStart() {
+        }
+
+        @Override
+        public void onEvent(T msg) {
+            synchronized (this) {
+                try {
+                    // holds the dispatch of the monitor until the subscriber asks for more
+                    while (demand == 0 && !done) {
+                        wait();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                if (done) {
+                    return;
+                }
+                if (demand != Long.MAX_VALUE) {
+                    demand--;
+                }
+            }
+            subscriber.onNext(msg);
+        }
+
+        @Override
+        public void onError(long code) {
+            terminate(new MonitorException(code, "Monitor failed"));
+        }
+
+        @Override
+        public void onClose() {
+            if (finish()) {
+                subscriber.onComplete();
+            }
+        }
+
+        synchronized boolean isDone() {
+            return done;
+        }
+
+        // Ends the stream with the error, if it is not ended yet
+        void terminate(Throwable t) {
+            if (finish()) {
+                stopMonitor();
+                subscriber.onError(t);
+            }
+        }
+
+        private synchronized boolean finish() {
+            if (done) {
+                return false;
+            }
+            done = true;
+            notifyAll();
+            return true;
+        }
+
+        private void stopMonitor() {
+            try {
+                monitor.stop();
+            } catch (IllegalStateException e) {
+                // not started or stopped already
+            }
+        }
+    }
+}
@@ -18,6 +18,8 @@ package foundation.icon.icx.transport.monitor;
 
 import foundation.icon.icx.transport.jsonrpc.RpcObject;
 
+import java.math.BigInteger;
+
 public abstract class MonitorSpec<T> {
     protected String path;
 
@@ -25,4 +27,15 @@ public abstract class MonitorSpec<T> {
 
     public String getPath() {return path;}
     public abstract Class<T> getNotificationClass();
+
+    /**
+     * Returns the spec of the same notifications starting at the height, to resume a monitor
+     *
+     * @param height the start height
+     * @return the spec
+     * @throws UnsupportedOperationException if the spec cannot start at another height
+     */
+    public MonitorSpec<T> withHeight(BigInteger height) {
+        throw new UnsupportedOperationException();
+    }
 }
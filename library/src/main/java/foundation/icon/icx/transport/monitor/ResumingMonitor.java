@@ -0,0 +1,541 @@
+/*
+ * Copyright 2026 ICON Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package foundation.icon.icx.transport.monitor;
+
+import foundation.icon.icx.Provider;
+import foundation.icon.icx.data.BlockNotification;
+import foundation.icon.icx.data.EventNotification;
+import foundation.icon.icx.transport.jsonrpc.RpcConverter;
+import foundation.icon.icx.transport.jsonrpc.RpcItem;
+import foundation.icon.icx.transport.jsonrpc.RpcObject;
+import foundation.icon.icx.transport.retry.Backoff;
+
+import java.math.BigInteger;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The {@code ResumingMonitor} class reconnects a block or an event monitor which failed, and resumes it
+ * from the last notification delivered.
+ * <p>
+ * The monitor keeps the height and the index of the last notification delivered, and the last height of
+ * {@link Listener#onProgress(BigInteger)}. When the connection fails or is closed by the node, it connects
+ * again after a delay growing with jitter, with the spec starting at the height to resume from. The
+ * notifications delivered before are suppressed, so the listener sees one stream without gaps and duplicates.
+ * {@link Listener#onStart()} is called once, and {@link Listener#onError(long)} is called only when
+ * the monitor gives up, which ends it without {@link Listener#onClose()}.
+ * <pre>{@code
+ * Monitor<BlockNotification> monitor = new ResumingMonitor.Builder<>(httpProvider,
+ *         new BlockMonitorSpec(height, null), converter)
+ *         .backoff(500, 30_000, TimeUnit.MILLISECONDS)
+ *         .build();
+ * }</pre>
+ *
+ * @param <T> the notification class
+ */
+public class ResumingMonitor<T> implements Monitor<T> {
+    // The time for the node to accept a connection
+    private static final long CONNECT_TIMEOUT_MILLIS = 3000;
+
+    private final Provider provider;
+    private final MonitorSpec<?> spec;
+    private final RpcConverter<T> converter;
+    private final Backoff backoff;
+    private final int maxAttempts;
+    private final AtomicLong reconnects = new AtomicLong();
+    private final AtomicLong duplicates = new AtomicLong();
+
+    private final Object lock = new Object();
+    // Held while delivering a notification, to keep the order across the sessions without holding the
+    // lock, as a listener may wait in the delivery, e.g. for the demand of a MonitorPublisher
+    private final Object deliveryLock = new Object();
+    private Listener<T> listener;
+    private ScheduledExecutorService scheduler;
+    private Monitor<T> current;
+    private int generation;
+    private boolean running;
+    private boolean gaveUp;
+    private boolean notifiedStart;
+    private int attempts;
+    // The position of the last notification delivered, and the height to resume from
+    private BigInteger lastHeight;
+    private BigInteger lastIndex;
+    private BigInteger progress;
+    private BigInteger resumeHeight;
+
+    private ResumingMonitor(Builder<T> builder) {
+        this.provider = builder.provider;
+        this.spec = builder.spec;
+        this.converter = builder.converter;
+        this.backoff = new Backoff(builder.baseDelayNanos, builder.maxDelayNanos, TimeUnit.NANOSECONDS);
+        this.maxAttempts = builder.maxAttempts;
+    }
+
+    /**
+     * Returns whether the notifications of the spec have the positions to resume from
+     *
+     * @param spec the spec of a monitor
+     * @return {@code true} for the block and the event monitors
+     */
+    public static boolean isResumable(MonitorSpec<?> spec) {
+        return spec instanceof BlockMonitorSpec || spec instanceof EventMonitorSpec;
+    }
+
+    /**
+     * Returns the number of the connections made again after a failure
+     *
+     * @return the number of reconnections
+     */
+    public long getReconnectCount() {
+        return reconnects.get();
+    }
+
+    /**
+     * Returns the number of the notifications suppressed since they were delivered before
+     *
+     * @return the number of duplicates
+     */
+    public long getDuplicateCount() {
+        return duplicates.get();
+    }
+
+    /**
+     * Returns the height which the next connection starts at
+     *
+     * @return the height, or {@code null} if nothing was delivered yet
+     */
+    public BigInteger getResumeHeight() {
+        synchronized (lock) {
+            return resumeHeight;
+        }
+    }
+
+    @Override
+    public boolean start(Listener<T> listener) {
+        CompletableFuture<Void> future = startAsync(listener);
+        try {
+            // bounded by the timeout of the connection
+            future.get();
+            return true;
+        } catch (InterruptedException e) {
+            abort();
+            throw new IllegalStateException();
+        } catch (ExecutionException | CancellationException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Starts the monitor without waiting for the first connection.
+     * The future fails with a {@link MonitorException} if the first connection fails,
+     * which is not made again.
+     *
+     * @param listener the listener of the notifications
+     * @return the future completed when the monitor is started
+     */
+    @Override
+    public CompletableFuture<Void> startAsync(Listener<T> listener) {
+        synchronized (lock) {
+            if (scheduler != null) {
+                throw new IllegalStateException();
+            }
+            this.listener = listener;
+            this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "icon-monitor-resume");
+                thread.setDaemon(true);
+                return thread;
+            });
+            running = true;
+            gaveUp = false;
+            notifiedStart = false;
+            attempts = 0;
+            backoff.reset();
+            lastHeight = null;
+            lastIndex = null;
+            progress = null;
+            resumeHeight = null;
+        }
+        CompletableFuture<Void> first = new CompletableFuture<>();
+        connect(first);
+        return first;
+    }
+
+    @Override
+    public void stop() {
+        Monitor<T> session;
+        ScheduledExecutorService stopped;
+        synchronized (lock) {
+            if (scheduler == null) {
+                if (gaveUp) {
+                    // the listener has got the error, which ends the monitor without closing it
+                    return;
+                }
+                throw new IllegalStateException();
+            }
+            running = false;
+            session = current;
+            current = null;
+            stopped = scheduler;
+            scheduler = null;
+        }
+        stopped.shutdownNow();
+        if (session == null) {
+            // waiting to connect again, so no session would close
+            listener.onClose();
+            return;
+        }
+        stopSession(session);
+    }
+
+    // Stops everything after the first connection failed
+    private void abort() {
+        Monitor<T> session;
+        ScheduledExecutorService stopped;
+        synchronized (lock) {
+            running = false;
+            generation++;
+            session = current;
+            current = null;
+            stopped = scheduler;
+            scheduler = null;
+        }
+        if (stopped != null) {
+            stopped.shutdownNow();
+        }
+        if (session != null) {
+            stopSession(session);
+        }
+    }
+
+    // Starts a session from the height to resume from, and completes the first future if it is the first one
+    private void connect(CompletableFuture<Void> first) {
+        int session;
+        ScheduledExecutorService timer;
+        Monitor<T> monitor = null;
+        RuntimeException error = null;
+        synchronized (lock) {
+            if (!running) {
+                if (first != null) {
+                    first.cancel(false);
+                }
+                return;
+            }
+            session = ++generation;
+            timer = scheduler;
+            try {
+                monitor = provider.monitor(resumeHeight == null ? spec : spec.withHeight(resumeHeight), converter);
+                current = monitor;
+            } catch (RuntimeException e) {
+                error = e;
+            }
+        }
+        CompletableFuture<Void> attempt = new CompletableFuture<>();
+        attempt.whenComplete((v, t) -> connected(session, first, t));
+        if (monitor == null) {
+            attempt.completeExceptionally(error);
+            return;
+        }
+        try {
+            ScheduledFuture<?> timeout = timer.schedule(() -> attempt.completeExceptionally(new MonitorException(
+                    MonitorException.CONNECTION_FAILURE, "Timeout")), CONNECT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+            attempt.whenComplete((v, t) -> timeout.cancel(false));
+            monitor.startAsync(new SessionListener(session)).whenComplete((v, t) -> {
+                if (t == null) {
+                    attempt.complete(null);
+                } else {
+                    attempt.completeExceptionally(t);
+                }
+            });
+        } catch (RuntimeException e) {
+            // including RejectedExecutionException after stop()
+            attempt.completeExceptionally(e);
+        }
+    }
+
+    private void connected(int session, CompletableFuture<Void> first, Throwable t) {
+        if (t == null) {
+            synchronized (lock) {
+                if (session == generation) {
+                    attempts = 0;
+                    backoff.reset();
+                }
+            }
+            if (first != null) {
+                first.complete(null);
+            }
+            return;
+        }
+        if (t instanceof CompletionException && t.getCause() != null) {
+            t = t.getCause();
+        }
+        if (t instanceof CancellationException) {
+            // stopped while connecting
+            if (first != null) {
+                first.cancel(false);
+            }
+            return;
+        }
+        MonitorException error = t instanceof MonitorException ? (MonitorException) t
+                : new MonitorException(MonitorException.CONNECTION_FAILURE, String.valueOf(t.getMessage()), t);
+        if (first != null) {
+            // the first connection is not made again
+            abort();
+            first.completeExceptionally(error);
+            return;
+        }
+        reconnect(session, error.getCode());
+    }
+
+    // Drops the session, and connects again after a delay unless it gives up
+    private void reconnect(int session, long code) {
+        Monitor<T> failed;
+        ScheduledExecutorService timer;
+        boolean giveUp = false;
+        long delay = 0;
+        synchronized (lock) {
+            if (session != generation || !running) {
+                return;
+            }
+            generation++;
+            failed = current;
+            current = null;
+            timer = scheduler;
+            if (++attempts > maxAttempts) {
+                running = false;
+                giveUp = true;
+                gaveUp = true;
+                scheduler = null;
+            } else {
+                delay = backoff.nextDelay();
+            }
+        }
+        if (failed != null) {
+            stopSession(failed);
+        }
+        if (giveUp) {
+            // not shutdownNow(), as this may run on the scheduler
+            timer.shutdown();
+            listener.onError(code);
+            return;
+        }
+        try {
+            timer.schedule(() -> {
+                reconnects.incrementAndGet();
+                connect(null);
+            }, delay, TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            // stopped
+        }
+    }
+
+    private static void stopSession(Monitor<?> session) {
+        try {
+            session.stop();
+        } catch (IllegalStateException e) {
+            // already stopped
+        }
+    }
+
+    // Returns the height and the index of the notification, or null if it has no position
+    private static BigInteger[] positionOf(Object notification) {
+        if (notification instanceof BlockNotification) {
+            return new BigInteger[]{((BlockNotification) notification).getHeight(), null};
+        } else if (notification instanceof EventNotification) {
+            EventNotification event = (EventNotification) notification;
+            return new BigInteger[]{event.getHeight(), event.getIndex()};
+        } else if (notification instanceof RpcObject) {
+            RpcObject object = (RpcObject) notification;
+            RpcItem height = object.getItem("height");
+            RpcItem index = object.getItem("index");
+            if (height != null) {
+                return new BigInteger[]{height.asInteger(), index != null ? index.asInteger() : null};
+            }
+        }
+        return null;
+    }
+
+    // Returns true if the notification is after the last one delivered, and moves the position to it
+    private boolean advance(BigInteger[] position) {
+        BigInteger height = position[0];
+        BigInteger index = position[1];
+        if (lastHeight != null) {
+            int c = height.compareTo(lastHeight);
+            if (c < 0 || c == 0 && (index == null || lastIndex == null || index.compareTo(lastIndex) <= 0)) {
+                return false;
+            }
+        }
+        lastHeight = height;
+        lastIndex = index;
+        // a block is delivered at once, while more events may follow at the same height
+        BigInteger next = index == null ? height.add(BigInteger.ONE) : height;
+        if (resumeHeight == null || next.compareTo(resumeHeight) > 0) {
+            resumeHeight = next;
+        }
+        return true;
+    }
+
+    private class SessionListener implements Listener<T> {
+        private final int session;
+        private volatile boolean started;
+
+        SessionListener(int session) {
+            this.session = session;
+        }
+
+        @Override
+        public void onStart() {
+            started = true;
+            synchronized (lock) {
+                if (session != generation || notifiedStart) {
+                    return;
+                }
+                notifiedStart = true;
+            }
+            listener.onStart();
+        }
+
+        @Override
+        public void onEvent(T msg) {
+            synchronized (deliveryLock) {
+                synchronized (lock) {
+                    if (session != generation || !running) {
+                        return;
+                    }
+                    BigInteger[] position = positionOf(msg);
+                    if (position != null && !advance(position)) {
+                        duplicates.incrementAndGet();
+                        return;
+                    }
+                }
+                listener.onEvent(msg);
+            }
+        }
+
+        @Override
+        public void onError(long code) {
+            if (started) {
+                reconnect(session, code);
+            }
+            // otherwise the start of the session fails with the error
+        }
+
+        @Override
+        public void onProgress(BigInteger height) {
+            synchronized (deliveryLock) {
+                synchronized (lock) {
+                    if (session != generation || !running || progress != null && height.compareTo(progress) <= 0) {
+                        return;
+                    }
+                    progress = height;
+                    if (resumeHeight == null || height.compareTo(resumeHeight) > 0) {
+                        resumeHeight = height;
+                    }
+                }
+                listener.onProgress(height);
+            }
+        }
+
+        @Override
+        public void onClose() {
+            synchronized (lock) {
+                if (session == generation && !running) {
+                    // closed by stop()
+                    listener.onClose();
+                    return;
+                }
+            }
+            reconnect(session, 0);
+        }
+    }
+
+    /**
+     * Builder for ResumingMonitor
+     *
+     * @param <T> the notification class
+     */
+    public static class Builder<T> {
+        private final Provider provider;
+        private final MonitorSpec<?> spec;
+        private final RpcConverter<T> converter;
+        private long baseDelayNanos = TimeUnit.MILLISECONDS.toNanos(500);
+        private long maxDelayNanos = TimeUnit.SECONDS.toNanos(30);
+        private int maxAttempts = Integer.MAX_VALUE;
+
+        /**
+         * Creates a builder for the monitor
+         *
+         * @param provider the provider which makes the monitors
+         * @param spec the spec of a block or an event monitor
+         * @param converter the converter of the notifications
+         */
+        public Builder(Provider provider, MonitorSpec<?> spec, RpcConverter<T> converter) {
+            if (provider == null) {
+                throw new IllegalArgumentException("provider not found");
+            }
+            if (spec == null || !isResumable(spec)) {
+                throw new IllegalArgumentException("Unsupported spec");
+            }
+            this.provider = provider;
+            this.spec = spec;
+            this.converter = converter;
+        }
+
+        /**
+         * Sets the bounds of the delay before connecting again (default: 500 milliseconds to 30 seconds).
+         * Each delay is picked at random between the base delay and three times the previous delay.
+         *
+         * @param base the lowest delay
+         * @param max the highest delay
+         * @param unit the unit of the delays
+         * @return the builder
+         */
+        public Builder<T> backoff(long base, long max, TimeUnit unit) {
+            if (base < 0 || max < base) {
+                throw new IllegalArgumentException("Invalid backoff");
+            }
+            this.baseDelayNanos = unit.toNanos(base);
+            this.maxDelayNanos = unit.toNanos(max);
+            return this;
+        }
+
+        /**
+         * Sets the number of the failures in a row before giving up (default: unlimited)
+         *
+         * @param attempts the number of attempts to connect again
+         * @return the builder
+         */
+        public Builder<T> maxAttempts(int attempts) {
+            if (attempts < 0) {
+                throw new IllegalArgumentException("Invalid attempts");
+            }
+            this.maxAttempts = attempts;
+            return this;
+        }
+
+        public ResumingMonitor<T> build() {
+            return new ResumingMonitor<>(this);
+        }
+    }
+}
@@ -0,0 +1,562 @@
+/*
+ * Copyright 2026 ICON Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package foundation.icon.icx.transport.pool;
+
+import foundation.icon.icx.Callback;
+import foundation.icon.icx.Provider;
+import foundation.icon.icx.Request;
+import foundation.icon.icx.transport.jsonrpc.Response;
+import foundation.icon.icx.transport.jsonrpc.RpcConverter;
+import foundation.icon.icx.transport.monitor.Monitor;
+import foundation.icon.icx.transport.monitor.MonitorSpec;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The {@code HedgingProvider} class races a slow read with a duplicate request.
+ * <p>
+ * When a read-only request has not completed within the hedge delay, the same request is sent again,
+ * the first successful response is used and the other request is canceled.
+ * The hedge delay of each method is the configured percentile of its recent latencies,
+ * and the initial delay is used until enough latencies are collected.
+ * The time a canceled request has waited is kept as a lower bound of its latency,
+ * so the delay does not shrink to the latencies of the requests which won.
+ * The duplicates are limited by a budget which grows by the maximum hedge rate with each request.
+ * The other requests are passed to the underlying provider as they are.
+ * <p>
+ * The duplicate is routed by the underlying provider independently of the first request.
+ * A {@link LoadBalancingProvider} usually picks another endpoint, since the first request counts
+ * against its endpoint, but it may pick the same node. An {@code HttpProvider} sends it
+ * on another connection of the same node.
+ * <pre>{@code
+ * Provider provider = new HedgingProvider.Builder(loadBalancingProvider)
+ *         .percentile(0.95)
+ *         .build();
+ * }</pre>
+ */
+public class HedgingProvider implements Provider, Closeable {
+
+    private static final Set<String> HEDGEABLE_METHODS = new HashSet<>(Arrays.asList(
+            "icx_getTransactionByHash", "icx_call", "icx_getScoreApi", "icx_getBalance"));
+    private static final String[] HEDGEABLE_PREFIXES = {"icx_getBlock", "btp_get"};
+    private static final int WINDOW_SIZE = 256;
+    private static final int MIN_SAMPLES = 20;
+    private static final int BUDGET_REQUESTS = 100;
+
+    private final Provider provider;
+    private final double percentile;
+    private final long initialDelayNanos;
+    private final long minDelayNanos;
+    private final double maxHedgeRate;
+    private final double maxBudget;
+    private final ScheduledExecutorService scheduler;
+    private final ConcurrentMap<String, LatencyWindow> latencies = new ConcurrentHashMap<>();
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong hedges = new AtomicLong();
+    private final AtomicLong hedgeWins = new AtomicLong();
+    private double budget;
+
+    private HedgingProvider(Builder builder) {
+        this.provider = builder.provider;
+        this.percentile = builder.percentile;
+        this.initialDelayNanos = builder.initialDelayNanos;
+        this.minDelayNanos = builder.minDelayNanos;
+        this.maxHedgeRate = builder.maxHedgeRate;
+        this.maxBudget = maxHedgeRate > 0 ? Math.max(1, maxHedgeRate * BUDGET_REQUESTS) : 0;
+        this.budget = maxBudget;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "icon-hedging");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Returns whether the method is read-only and may be hedged
+     *
+     * @param method the JSON-RPC method
+     * @return {@code true} if the requests of the method are hedged
+     */
+    public static boolean isHedgeable(String method) {
+        if (HEDGEABLE_METHODS.contains(method)) {
+            return true;
+        }
+        for (String prefix : HEDGEABLE_PREFIXES) {
+            if (method.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the number of the hedgeable requests executed
+     *
+     * @return the number of requests
+     */
+    public long getRequestCount() {
+        return requests.get();
+    }
+
+    /**
+     * Returns the number of the duplicate requests sent
+     *
+     * @return the number of hedges
+     */
+    public long getHedgeCount() {
+        return hedges.get();
+    }
+
+    /**
+     * Returns the number of the requests which were answered by the duplicate first
+     *
+     * @return the number of wins
+     */
+    public long getHedgeWinCount() {
+        return hedgeWins.get();
+    }
+
+    /**
+     * Returns the ratio of the hedged requests to the hedgeable requests
+     *
+     * @return the hedge rate between 0 and 1
+     */
+    public double getHedgeRate() {
+        long count = requests.get();
+        return count == 0 ? 0 : (double) hedges.get() / count;
+    }
+
+    /**
+     * Returns the current hedge delay of the method
+     *
+     * @param method the JSON-RPC method
+     * @param unit the unit of the returned delay
+     * @return the delay before the duplicate request is sent
+     */
+    public long getHedgeDelay(String method, TimeUnit unit) {
+        return unit.convert(hedgeDelay(method), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Stops the timer of the hedge delay.
+     * The requests executed after this method are not hedged.
+     */
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * @see Provider#request(foundation.icon.icx.transport.jsonrpc.Request, RpcConverter)
+     */
+    @Override
+    public <T> Request<T> request(foundation.icon.icx.transport.jsonrpc.Request request, RpcConverter<T> converter) {
+        if (!isHedgeable(request.getMethod())) {
+            return provider.request(request, converter);
+        }
+        return new HedgedRequest<>(request, converter);
+    }
+
+    /**
+     * @see Provider#batch(List)
+     */
+    @Override
+    public Request<List<Response>> batch(List<foundation.icon.icx.transport.jsonrpc.Request> requests) {
+        return provider.batch(requests);
+    }
+
+    /**
+     * @see Provider#monitor(MonitorSpec, RpcConverter)
+     */
+    @Override
+    public <T> Monitor<T> monitor(MonitorSpec spec, RpcConverter<T> converter) {
+        return provider.monitor(spec, converter);
+    }
+
+    private long hedgeDelay(String method) {
+        LatencyWindow window = latencies.get(method);
+        long delay = window != null ? window.percentile(percentile) : -1;
+        return delay < 0 ? initialDelayNanos : Math.max(delay, minDelayNanos);
+    }
+
+    // Each request adds the maximum hedge rate to the budget, and each duplicate takes one from it
+    private synchronized void depositBudget() {
+        budget = Math.min(budget + maxHedgeRate, maxBudget);
+    }
+
+    private synchronized boolean withdrawBudget() {
+        if (budget < 1) {
+            return false;
+        }
+        budget -= 1;
+        return true;
+    }
+
+    private void record(String method, long latency, boolean censored) {
+        LatencyWindow window = latencies.get(method);
+        if (window == null) {
+            window = new LatencyWindow();
+            LatencyWindow prev = latencies.putIfAbsent(method, window);
+            if (prev != null) {
+                window = prev;
+            }
+        }
+        window.add(latency, censored);
+    }
+
+    // The request which sends a duplicate after the hedge delay, and takes the first good response
+    private class HedgedRequest<T> implements Request<T> {
+        private final foundation.icon.icx.transport.jsonrpc.Request request;
+        private final RpcConverter<T> converter;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private Request<T> primary;
+        private Request<T> hedge;
+        private long primaryStart;
+        private long hedgeStart;
+        private ScheduledFuture<?> timer;
+        private int pending;
+        private boolean started;
+        private boolean finished;
+
+        HedgedRequest(foundation.icon.icx.transport.jsonrpc.Request request, RpcConverter<T> converter) {
+            this.request = request;
+            this.converter = converter;
+        }
+
+        @Override
+        public T execute() throws IOException {
+            start();
+            try {
+                return result.get();
+            } catch (InterruptedException e) {
+                cancel();
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException();
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof IOException) {
+                    throw (IOException) cause;
+                } else if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                } else if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw new IOException(cause);
+            }
+        }
+
+        @Override
+        public void execute(final Callback<T> callback) {
+            result.whenComplete((value, t) -> {
+                if (t == null) {
+                    callback.onSuccess(value);
+                } else {
+                    callback.onFailure(t instanceof Exception ? (Exception) t : new IOException(t));
+                }
+            });
+            start();
+        }
+
+        @Override
+        public void cancel() {
+            Request<T> first;
+            Request<T> second;
+            synchronized (this) {
+                finished = true;
+                if (timer != null) {
+                    timer.cancel(false);
+                }
+                first = primary;
+                second = hedge;
+            }
+            result.completeExceptionally(new IOException("Canceled"));
+            cancel(first);
+            cancel(second);
+        }
+
+        private void start() {
+            synchronized (this) {
+                if (started) {
+                    throw new IllegalStateException("Already executed");
+                }
+                started = true;
+            }
+            requests.incrementAndGet();
+            depositBudget();
+            Request<T> first = send(false);
+            if (first == null) {
+                return;
+            }
+            try {
+                ScheduledFuture<?> task = scheduler.schedule(this::sendHedge,
+                        hedgeDelay(request.getMethod()), TimeUnit.NANOSECONDS);
+                synchronized (this) {
+                    timer = task;
+                }
+            } catch (RuntimeException e) {
+                // the scheduler was closed, so the request is not hedged
+            }
+        }
+
+        private void sendHedge() {
+            synchronized (this) {
+                if (finished || result.isDone() || pending == 0) {
+                    return;
+                }
+            }
+            if (!withdrawBudget()) {
+                return;
+            }
+            hedges.incrementAndGet();
+            send(true);
+        }
+
+        // Sends a copy of the request and returns it, or null if the result is already completed
+        private Request<T> send(final boolean isHedge) {
+            final long start = System.nanoTime();
+            final Request<T> call;
+            try {
+                call = provider.request(request, converter);
+            } catch (RuntimeException e) {
+                if (!isHedge) {
+                    result.completeExceptionally(e);
+                }
+                return null;
+            }
+            synchronized (this) {
+                if (finished || result.isDone()) {
+                    return null;
+                }
+                if (isHedge) {
+                    hedge = call;
+                    hedgeStart = start;
+                } else {
+                    primary = call;
+                    primaryStart = start;
+                }
+                pending++;
+            }
+            Callback<T> callback = new Callback<T>() {
+                @Override
+                public void onSuccess(T value) {
+                    long now = System.nanoTime();
+                    record(request.getMethod(), now - start, false);
+                    Request<T> loser = finish(call);
+                    if (loser == null) {
+                        return;
+                    }
+                    if (loser != call) {
+                        // the loser would have taken at least as long as it has waited
+                        record(request.getMethod(), now - startOf(loser), true);
+                    }
+                    if (isHedge) {
+                        hedgeWins.incrementAndGet();
+                    }
+                    cancel(loser == call ? null : loser);
+                    result.complete(value);
+                }
+
+                @Override
+                public void onFailure(Exception exception) {
+                    synchronized (HedgedRequest.this) {
+                        // a failed request has nothing to cancel
+                        if (call == primary) {
+                            primary = null;
+                        } else {
+                            hedge = null;
+                        }
+                        // a failure is returned only when no other request can succeed
+                        if (--pending > 0 || finish(call) == null) {
+                            return;
+                        }
+                    }
+                    result.completeExceptionally(exception);
+                }
+            };
+            try {
+                call.execute(callback);
+            } catch (RuntimeException e) {
+                // the hedge is sent on the scheduler, which would swallow the exception
+                callback.onFailure(e);
+                return null;
+            }
+            return call;
+        }
+
+        // Takes the winner, stops the timer and returns the request which has lost,
+        // the winner itself if there is no other request, or null if the result was already taken
+        private synchronized Request<T> finish(Request<T> winner) {
+            if (finished || result.isDone()) {
+                return null;
+            }
+            finished = true;
+            if (timer != null) {
+                timer.cancel(false);
+            }
+            Request<T> loser = winner == primary ? hedge : primary;
+            return loser != null ? loser : winner;
+        }
+
+        private synchronized long startOf(Request<T> call) {
+            return call == primary ? primaryStart : hedgeStart;
+        }
+
+        private void cancel(Request<T> call) {
+            if (call != null) {
+                call.cancel();
+            }
+        }
+    }
+
+    // The recent latencies of a method.
+    // A sample is the latency shifted left by one, with the lowest bit set if it is censored,
+    // that is, the request was canceled and its latency is only known to be at least the value.
+    private static class LatencyWindow {
+        private final long[] samples = new long[WINDOW_SIZE];
+        private int count;
+        private int next;
+
+        synchronized void add(long latency, boolean censored) {
+            samples[next] = (latency << 1) | (censored ? 1 : 0);
+            next = (next + 1) % samples.length;
+            if (count < samples.length) {
+                count++;
+            }
+        }
+
+        // Returns the percentile, or -1 if there are not enough samples
+        synchronized long percentile(double p) {
+            if (count < MIN_SAMPLES) {
+                return -1;
+            }
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            // Kaplan-Meier estimate: a censored sample only leaves the set of the requests at risk
+            double survival = 1;
+            for (int i = 0; i < count; i++) {
+                if ((sorted[i] & 1) == 0) {
+                    survival *= 1 - 1.0 / (count - i);
+                    if (1 - survival >= p - 1e-9) {
+                        return sorted[i] >> 1;
+                    }
+                }
+            }
+            // the percentile is beyond the samples, so the largest lower bound is used
+            return sorted[count - 1] >> 1;
+        }
+    }
+
+    /**
+     * Builder for HedgingProvider
+     */
+    public static class Builder {
+        private final Provider provider;
+        private double percentile = 0.95;
+        private long initialDelayNanos = TimeUnit.MILLISECONDS.toNanos(100);
+        private long minDelayNanos = TimeUnit.MILLISECONDS.toNanos(1);
+        private double maxHedgeRate = 0.1;
+
+        /**
+         * Creates a builder for the provider
+         *
+         * @param provider the underlying provider, usually a {@link LoadBalancingProvider}
+         */
+        public Builder(Provider provider) {
+            if (provider == null) {
+                throw new IllegalArgumentException("provider not found");
+            }
+            this.provider = provider;
+        }
+
+        /**
+         * Sets the latency percentile of a method used as its hedge delay (default: 0.95)
+         *
+         * @param percentile the percentile between 0 (exclusive) and 1 (inclusive)
+         * @return the builder
+         */
+        public Builder percentile(double percentile) {
+            if (!(percentile > 0 && percentile <= 1)) {
+                throw new IllegalArgumentException("Invalid percentile");
+            }
+            this.percentile = percentile;
+            return this;
+        }
+
+        /**
+         * Sets the hedge delay used until enough latencies of a method are collected (default: 100 milliseconds)
+         *
+         * @param duration the delay
+         * @param unit the unit of the duration
+         * @return the builder
+         */
+        public Builder initialDelay(long duration, TimeUnit unit) {
+            if (duration < 0) {
+                throw new IllegalArgumentException("Invalid delay");
+            }
+            this.initialDelayNanos = unit.toNanos(duration);
+            return this;
+        }
+
+        /**
+         * Sets the lower bound of the hedge delay (default: 1 millisecond)
+         *
+         * @param duration the delay
+         * @param unit the unit of the duration
+         * @return the builder
+         */
+        public Builder minDelay(long duration, TimeUnit unit) {
+            if (duration < 0) {
+                throw new IllegalArgumentException("Invalid delay");
+            }
+            this.minDelayNanos = unit.toNanos(duration);
+            return this;
+        }
+
+        /**
+         * Sets the maximum ratio of the duplicate requests to the hedgeable requests (default: 0.1)
+         *
+         * @param rate the rate between 0 and 1
+         * @return the builder
+         */
+        public Builder maxHedgeRate(double rate) {
+            if (!(rate >= 0 && rate <= 1)) {
+                throw new IllegalArgumentException("Invalid rate");
+            }
+            this.maxHedgeRate = rate;
+            return this;
+        }
+
+        public HedgingProvider build() {
+            return new HedgingProvider(this);
+        }
+    }
+}
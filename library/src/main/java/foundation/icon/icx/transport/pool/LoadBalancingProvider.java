@@ -0,0 +1,796 @@
+/*
+ * Copyright 2026 ICON Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package foundation.icon.icx.transport.pool;
+
+import foundation.icon.icx.Callback;
+import foundation.icon.icx.Provider;
+import foundation.icon.icx.Request;
+import foundation.icon.icx.data.Block;
+import foundation.icon.icx.data.BlockNotification;
+import foundation.icon.icx.data.Converters;
+import foundation.icon.icx.transport.jsonrpc.Response;
+import foundation.icon.icx.transport.jsonrpc.RpcConverter;
+import foundation.icon.icx.transport.jsonrpc.RpcError;
+import foundation.icon.icx.transport.jsonrpc.RpcItem;
+import foundation.icon.icx.transport.jsonrpc.RpcObject;
+import foundation.icon.icx.transport.monitor.BlockMonitorSpec;
+import foundation.icon.icx.transport.monitor.Monitor;
+import foundation.icon.icx.transport.monitor.MonitorSpec;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The {@code LoadBalancingProvider} class distributes requests over several nodes.
+ * <p>
+ * Each request is routed, when it is executed, to the healthy endpoint with the lowest score,
+ * which is the EWMA of its latency multiplied by the number of its in-flight requests plus one.
+ * An endpoint without a completed request is scored with the mean latency of the others, and the ties
+ * are broken in turn, so the traffic is spread before the latencies are known.
+ * An endpoint is ejected after consecutive transport failures, and is probed with {@code icx_getLastBlock}
+ * once its ejection time has passed. A successful probe brings it back, and a failed probe doubles
+ * the ejection time. Error responses from a node are not counted as failures.
+ * <p>
+ * With {@link Builder#heightAware(boolean)}, the pool also tracks the head height of each endpoint,
+ * from periodic {@code icx_getLastBlock} polls, from the blocks returned to the caller and optionally
+ * from block monitors started by {@link #monitorHeights()}. A request pinned to a height is only routed
+ * to the endpoints known to have reached it, and so are the transaction lookups, which need the highest
+ * block the caller has seen. If no endpoint is known to be there, the highest one is used.
+ * <pre>{@code
+ * Provider provider = new LoadBalancingProvider.Builder()
+ *         .add(new HttpProvider(httpClient, "https://node1.example.com", 3))
+ *         .add(new HttpProvider(httpClient, "https://node2.example.com", 3))
+ *         .build();
+ * IconService iconService = new IconService(provider);
+ * }</pre>
+ */
+public class LoadBalancingProvider implements Provider {
+
+    private static final int MAX_EJECTION_SHIFT = 5;
+    // The latency assumed for the endpoints when none has completed a request
+    private static final long DEFAULT_LATENCY_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final AtomicLong PROBE_ID = new AtomicLong();
+
+    // Methods which return a block, whose height is learned from the result
+    private static final Set<String> BLOCK_METHODS = new HashSet<>(Arrays.asList(
+            "icx_getLastBlock", "icx_getBlockByHeight", "icx_getBlockByHash"));
+    // Methods which look up a transaction in the blocks the caller has already seen
+    private static final Set<String> TRANSACTION_METHODS = new HashSet<>(Arrays.asList(
+            "icx_getTransactionResult", "icx_getTransactionByHash"));
+
+    private final List<Endpoint> endpoints;
+    private final int failureThreshold;
+    private final long ejectionNanos;
+    private final boolean heightAware;
+    private final long headRefreshNanos;
+    private final AtomicReference<BigInteger> observedHeight = new AtomicReference<>();
+    private final AtomicInteger nextStart = new AtomicInteger();
+
+    private LoadBalancingProvider(Builder builder) {
+        List<Endpoint> list = new ArrayList<>();
+        for (Provider provider : builder.providers) {
+            list.add(new Endpoint(provider, builder.ewmaWeight));
+        }
+        this.endpoints = Collections.unmodifiableList(list);
+        this.failureThreshold = builder.failureThreshold;
+        this.ejectionNanos = builder.ejectionNanos;
+        this.heightAware = builder.heightAware;
+        this.headRefreshNanos = builder.headRefreshNanos;
+    }
+
+    /**
+     * Returns the endpoints of the pool
+     *
+     * @return the list of the endpoints in the order they were added
+     */
+    public List<Endpoint> getEndpoints() {
+        return endpoints;
+    }
+
+    /**
+     * Returns the highest block height which was returned to the caller
+     *
+     * @return the block height, or {@code null} if no block has been returned yet or the pool is not height-aware
+     */
+    public BigInteger getObservedHeight() {
+        return observedHeight.get();
+    }
+
+    /**
+     * Starts a block monitor on each endpoint to track its head height.
+     * The monitors start from the next block of the known height, which is fetched first if it is not known.
+     *
+     * @throws IOException if the height of an endpoint could not be fetched
+     */
+    public void monitorHeights() throws IOException {
+        for (Endpoint endpoint : endpoints) {
+            if (endpoint.getMonitor() != null) {
+                continue;
+            }
+            BigInteger height = endpoint.getHeight();
+            if (height == null) {
+                height = endpoint.provider.request(lastBlockRequest(), Converters.BLOCK).execute().getHeight();
+                endpoint.observeHeight(height);
+            }
+            Monitor<BlockNotification> monitor = endpoint.provider.monitor(
+                    new BlockMonitorSpec(height.add(BigInteger.ONE), null), Converters.BLOCK_NOTIFICATION);
+            endpoint.setMonitor(monitor);
+            if (!monitor.start(new HeightListener(endpoint, monitor))) {
+                endpoint.clearMonitor(monitor);
+            }
+        }
+    }
+
+    /**
+     * Stops the block monitors started by {@link #monitorHeights()}
+     */
+    public void stopHeightMonitors() {
+        for (Endpoint endpoint : endpoints) {
+            Monitor<BlockNotification> monitor = endpoint.getMonitor();
+            if (monitor != null) {
+                endpoint.clearMonitor(monitor);
+                monitor.stop();
+            }
+        }
+    }
+
+    /**
+     * @see Provider#request(foundation.icon.icx.transport.jsonrpc.Request, RpcConverter)
+     */
+    @Override
+    public <T> Request<T> request(final foundation.icon.icx.transport.jsonrpc.Request request,
+                                  final RpcConverter<T> converter) {
+        final BigInteger requiredHeight = requiredHeight(request);
+        return new RoutedRequest<T>(requiredHeight) {
+            @Override
+            Request<T> prepare(Endpoint endpoint) {
+                return endpoint.provider.request(request, trackHeight(endpoint, request, converter));
+            }
+        };
+    }
+
+    /**
+     * @see Provider#batch(List)
+     */
+    @Override
+    public Request<List<Response>> batch(final List<foundation.icon.icx.transport.jsonrpc.Request> requests) {
+        BigInteger requiredHeight = null;
+        for (foundation.icon.icx.transport.jsonrpc.Request request : requests) {
+            BigInteger height = requiredHeight(request);
+            if (height != null && (requiredHeight == null || height.compareTo(requiredHeight) > 0)) {
+                requiredHeight = height;
+            }
+        }
+        return new RoutedRequest<List<Response>>(requiredHeight) {
+            @Override
+            Request<List<Response>> prepare(Endpoint endpoint) {
+                return endpoint.provider.batch(requests);
+            }
+        };
+    }
+
+    /**
+     * Prepares a monitor on the best endpoint at the time of the call
+     *
+     * @see Provider#monitor(MonitorSpec, RpcConverter)
+     */
+    @Override
+    public <T> Monitor<T> monitor(MonitorSpec spec, RpcConverter<T> converter) {
+        return select(null).provider.monitor(spec, converter);
+    }
+
+    // Selects the endpoint for the next request, and probes the ejected endpoints if it is time to do.
+    // Only the endpoints which have reached the required height are selected if any.
+    Endpoint select(BigInteger requiredHeight) {
+        long now = System.nanoTime();
+        Endpoint best = null;
+        double bestScore = 0;
+        int bestInFlight = 0;
+        Endpoint highest = null;
+        BigInteger highestHeight = null;
+        Endpoint fallback = null;
+        double seed = meanLatency();
+        int size = endpoints.size();
+        int start = Math.floorMod(nextStart.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Endpoint endpoint = endpoints.get((start + i) % size);
+            if (endpoint.isHealthy()) {
+                if (heightAware) {
+                    maybeRefresh(endpoint, now);
+                }
+                if (requiredHeight != null) {
+                    BigInteger height = endpoint.getHeight();
+                    if (height == null || height.compareTo(requiredHeight) < 0) {
+                        if (highest == null || (height != null
+                                && (highestHeight == null || height.compareTo(highestHeight) > 0))) {
+                            highest = endpoint;
+                            highestHeight = height;
+                        }
+                        continue;
+                    }
+                }
+                double score;
+                int inFlight;
+                synchronized (endpoint) {
+                    score = (endpoint.measured ? endpoint.latency : seed) * (endpoint.inFlight + 1);
+                    inFlight = endpoint.inFlight;
+                }
+                if (best == null || score < bestScore || (score == bestScore && inFlight < bestInFlight)) {
+                    best = endpoint;
+                    bestScore = score;
+                    bestInFlight = inFlight;
+                }
+            } else {
+                maybeProbe(endpoint, now);
+                if (fallback == null || endpoint.ejectedUntil() < fallback.ejectedUntil()) {
+                    fallback = endpoint;
+                }
+            }
+        }
+        if (best != null) {
+            return best;
+        }
+        // if no endpoint has reached the height, use the highest one,
+        // and if all endpoints are ejected, use the one which comes back first
+        return highest != null ? highest : fallback;
+    }
+
+    // Returns the mean latency of the endpoints which have completed a request
+    private double meanLatency() {
+        double sum = 0;
+        int count = 0;
+        for (Endpoint endpoint : endpoints) {
+            synchronized (endpoint) {
+                if (endpoint.measured) {
+                    sum += endpoint.latency;
+                    count++;
+                }
+            }
+        }
+        return count > 0 ? sum / count : DEFAULT_LATENCY_NANOS;
+    }
+
+    private BigInteger requiredHeight(foundation.icon.icx.transport.jsonrpc.Request request) {
+        if (!heightAware) {
+            return null;
+        }
+        if (TRANSACTION_METHODS.contains(request.getMethod())) {
+            return observedHeight.get();
+        }
+        RpcObject params = request.getParams();
+        RpcItem height = params != null ? params.getItem("height") : null;
+        if (height == null || height.isNull()) {
+            return null;
+        }
+        try {
+            return height.asInteger();
+        } catch (RuntimeException e) {
+            // let the node reject the malformed height
+            return null;
+        }
+    }
+
+    // Wraps the converter to learn the height from the block returned by the endpoint
+    private <T> RpcConverter<T> trackHeight(final Endpoint endpoint,
+                                            foundation.icon.icx.transport.jsonrpc.Request request,
+                                            final RpcConverter<T> converter) {
+        if (!heightAware || !BLOCK_METHODS.contains(request.getMethod())) {
+            return converter;
+        }
+        return new RpcConverter<T>() {
+            @Override
+            public T convertTo(RpcItem object) {
+                BigInteger height = heightOf(object);
+                if (height != null) {
+                    endpoint.observeHeight(height);
+                    observe(height);
+                }
+                return converter.convertTo(object);
+            }
+
+            @Override
+            public RpcItem convertFrom(T object) {
+                return converter.convertFrom(object);
+            }
+        };
+    }
+
+    private static BigInteger heightOf(RpcItem block) {
+        if (!(block instanceof RpcObject)) {
+            return null;
+        }
+        RpcItem height = ((RpcObject) block).getItem("height");
+        try {
+            return height != null ? height.asInteger() : null;
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private void observe(BigInteger height) {
+        BigInteger current;
+        do {
+            current = observedHeight.get();
+            if (current != null && current.compareTo(height) >= 0) {
+                return;
+            }
+        } while (!observedHeight.compareAndSet(current, height));
+    }
+
+    private void maybeRefresh(final Endpoint endpoint, long now) {
+        if (!endpoint.startRefresh(now, headRefreshNanos)) {
+            return;
+        }
+        Callback<Block> callback = new Callback<Block>() {
+            @Override
+            public void onSuccess(Block result) {
+                endpoint.observeHeight(result.getHeight());
+                endpoint.finishRefresh();
+            }
+
+            @Override
+            public void onFailure(Exception exception) {
+                // the failures are counted by the requests, not by the polls
+                endpoint.finishRefresh();
+            }
+        };
+        try {
+            endpoint.provider.request(lastBlockRequest(), Converters.BLOCK).execute(callback);
+        } catch (RuntimeException e) {
+            callback.onFailure(e);
+        }
+    }
+
+    private static foundation.icon.icx.transport.jsonrpc.Request lastBlockRequest() {
+        return new foundation.icon.icx.transport.jsonrpc.Request(
+                PROBE_ID.incrementAndGet(), "icx_getLastBlock", null);
+    }
+
+    private void maybeProbe(final Endpoint endpoint, long now) {
+        if (!endpoint.startProbe(now)) {
+            return;
+        }
+        Callback<Block> callback = new Callback<Block>() {
+            @Override
+            public void onSuccess(Block result) {
+                endpoint.recover(result.getHeight());
+            }
+
+            @Override
+            public void onFailure(Exception exception) {
+                endpoint.eject(System.nanoTime(), ejectionNanos);
+            }
+        };
+        try {
+            endpoint.provider.request(lastBlockRequest(), Converters.BLOCK).execute(callback);
+        } catch (RuntimeException e) {
+            callback.onFailure(e);
+        }
+    }
+
+    private void onComplete(Endpoint endpoint, long start, Throwable error) {
+        long elapsed = System.nanoTime() - start;
+        if (error == null || error instanceof RpcError) {
+            endpoint.succeed(elapsed);
+        } else if (error instanceof IOException) {
+            if (endpoint.fail(failureThreshold)) {
+                endpoint.eject(System.nanoTime(), ejectionNanos);
+            }
+        } else {
+            endpoint.finish();
+        }
+    }
+
+    // Feeds the head height of an endpoint from its block monitor
+    private static class HeightListener implements Monitor.Listener<BlockNotification> {
+        private final Endpoint endpoint;
+        private final Monitor<BlockNotification> monitor;
+
+        HeightListener(Endpoint endpoint, Monitor<BlockNotification> monitor) {
+            this.endpoint = endpoint;
+            this.monitor = monitor;
+        }
+
+        @Override
+        public void onStart() {
+        }
+
+        @Override
+        public void onEvent(BlockNotification notification) {
+            endpoint.observeHeight(notification.getHeight());
+        }
+
+        @Override
+        public void onError(long code) {
+            endpoint.clearMonitor(monitor);
+        }
+
+        @Override
+        public void onClose() {
+            endpoint.clearMonitor(monitor);
+        }
+    }
+
+    private abstract class RoutedRequest<T> implements Request<T> {
+        private final BigInteger requiredHeight;
+        private volatile Request<T> current;
+        private volatile boolean canceled;
+
+        RoutedRequest(BigInteger requiredHeight) {
+            this.requiredHeight = requiredHeight;
+        }
+
+        abstract Request<T> prepare(Endpoint endpoint);
+
+        // A canceled request tells nothing about the health of the endpoint
+        private void complete(Endpoint endpoint, long start, Throwable error) {
+            if (canceled) {
+                endpoint.finish();
+            } else {
+                onComplete(endpoint, start, error);
+            }
+        }
+
+        @Override
+        public T execute() throws IOException {
+            Endpoint endpoint = select(requiredHeight);
+            endpoint.begin();
+            long start = System.nanoTime();
+            Throwable error = null;
+            try {
+                current = prepare(endpoint);
+                return current.execute();
+            } catch (IOException | RuntimeException | Error e) {
+                error = e;
+                throw e;
+            } finally {
+                complete(endpoint, start, error);
+            }
+        }
+
+        @Override
+        public void execute(final Callback<T> callback) {
+            final Endpoint endpoint = select(requiredHeight);
+            endpoint.begin();
+            final long start = System.nanoTime();
+            Request<T> request;
+            try {
+                request = prepare(endpoint);
+            } catch (RuntimeException e) {
+                complete(endpoint, start, e);
+                throw e;
+            }
+            current = request;
+            // the endpoint is completed once, even if the request throws after calling back
+            final AtomicBoolean completed = new AtomicBoolean();
+            try {
+                request.execute(new Callback<T>() {
+                    @Override
+                    public void onSuccess(T result) {
+                        if (completed.compareAndSet(false, true)) {
+                            complete(endpoint, start, null);
+                        }
+                        callback.onSuccess(result);
+                    }
+
+                    @Override
+                    public void onFailure(Exception exception) {
+                        if (completed.compareAndSet(false, true)) {
+                            complete(endpoint, start, exception);
+                        }
+                        callback.onFailure(exception);
+                    }
+                });
+            } catch (RuntimeException e) {
+                if (completed.compareAndSet(false, true)) {
+                    complete(endpoint, start, e);
+                }
+                throw e;
+            }
+        }
+
+        @Override
+        public void cancel() {
+            canceled = true;
+            Request<T> request = current;
+            if (request != null) {
+                request.cancel();
+            }
+        }
+    }
+
+    /**
+     * The state of a node in the pool
+     */
+    public static final class Endpoint {
+        private final Provider provider;
+        private final double ewmaWeight;
+        private double latency;
+        private boolean measured;
+        private int inFlight;
+        private int failures;
+        private int ejections;
+        private long ejectedUntil;
+        private boolean ejected;
+        private boolean probing;
+        private BigInteger height;
+        private long headCheckedAt;
+        private boolean headChecked;
+        private boolean refreshing;
+        private Monitor<BlockNotification> monitor;
+
+        Endpoint(Provider provider, double ewmaWeight) {
+            this.provider = provider;
+            this.ewmaWeight = ewmaWeight;
+        }
+
+        public Provider getProvider() {
+            return provider;
+        }
+
+        /**
+         * Returns the EWMA of the latency
+         *
+         * @return the latency in nanoseconds, or zero if no request has been completed yet
+         */
+        public synchronized long getLatency() {
+            return (long) latency;
+        }
+
+        public synchronized int getInFlight() {
+            return inFlight;
+        }
+
+        public synchronized boolean isHealthy() {
+            return !ejected;
+        }
+
+        /**
+         * Returns the highest block height known to be reached by this endpoint
+         *
+         * @return the block height, or {@code null} if it is not known
+         */
+        public synchronized BigInteger getHeight() {
+            return height;
+        }
+
+        /**
+         * Records a block height reached by this endpoint.
+         * A height lower than the known one is ignored.
+         *
+         * @param height the block height
+         */
+        public synchronized void observeHeight(BigInteger height) {
+            if (height != null && (this.height == null || height.compareTo(this.height) > 0)) {
+                this.height = height;
+            }
+        }
+
+        // Returns true if the caller should poll the head height
+        synchronized boolean startRefresh(long now, long interval) {
+            if (refreshing || monitor != null || (headChecked && now - headCheckedAt < interval)) {
+                return false;
+            }
+            refreshing = true;
+            headChecked = true;
+            headCheckedAt = now;
+            return true;
+        }
+
+        synchronized void finishRefresh() {
+            refreshing = false;
+        }
+
+        synchronized Monitor<BlockNotification> getMonitor() {
+            return monitor;
+        }
+
+        synchronized void setMonitor(Monitor<BlockNotification> monitor) {
+            this.monitor = monitor;
+        }
+
+        synchronized void clearMonitor(Monitor<BlockNotification> monitor) {
+            if (this.monitor == monitor) {
+                this.monitor = null;
+            }
+        }
+
+        synchronized void begin() {
+            inFlight++;
+        }
+
+        synchronized void finish() {
+            inFlight--;
+        }
+
+        synchronized void succeed(long elapsed) {
+            inFlight--;
+            failures = 0;
+            if (ejected) {
+                // the node answered while all endpoints were ejected
+                ejected = false;
+                ejections = 0;
+            }
+            if (measured) {
+                latency = ewmaWeight * elapsed + (1 - ewmaWeight) * latency;
+            } else {
+                latency = elapsed;
+                measured = true;
+            }
+        }
+
+        // Returns true if the endpoint should be ejected
+        synchronized boolean fail(int threshold) {
+            inFlight--;
+            return ++failures >= threshold && !ejected;
+        }
+
+        synchronized void eject(long now, long ejectionNanos) {
+            ejected = true;
+            probing = false;
+            ejectedUntil = now + (ejectionNanos << Math.min(ejections, MAX_EJECTION_SHIFT));
+            ejections++;
+        }
+
+        synchronized long ejectedUntil() {
+            return ejectedUntil;
+        }
+
+        // Returns true if the caller should send a probe
+        synchronized boolean startProbe(long now) {
+            if (!ejected || probing || now - ejectedUntil < 0) {
+                return false;
+            }
+            probing = true;
+            return true;
+        }
+
+        synchronized void recover(BigInteger height) {
+            ejected = false;
+            probing = false;
+            failures = 0;
+            ejections = 0;
+            observeHeight(height);
+        }
+
+        @Override
+        public String toString() {
+            return "Endpoint{provider=" + provider + ", latency=" + getLatency() + ", inFlight=" + getInFlight()
+                    + ", healthy=" + isHealthy() + ", height=" + getHeight() + "}";
+        }
+    }
+
+    /**
+     * Builder for LoadBalancingProvider
+     */
+    public static class Builder {
+        private final List<Provider> providers = new ArrayList<>();
+        private int failureThreshold = 3;
+        private long ejectionNanos = TimeUnit.SECONDS.toNanos(5);
+        private double ewmaWeight = 0.3;
+        private boolean heightAware;
+        private long headRefreshNanos = TimeUnit.SECONDS.toNanos(1);
+
+        public Builder() {
+        }
+
+        /**
+         * Adds a node to the pool
+         *
+         * @param provider the provider of the node, usually an {@code HttpProvider}
+         * @return the builder
+         */
+        public Builder add(Provider provider) {
+            if (provider == null) {
+                throw new IllegalArgumentException("provider not found");
+            }
+            providers.add(provider);
+            return this;
+        }
+
+        /**
+         * Sets the number of consecutive transport failures to eject an endpoint (default: 3)
+         *
+         * @param failureThreshold the number of failures
+         * @return the builder
+         */
+        public Builder failureThreshold(int failureThreshold) {
+            if (failureThreshold < 1) {
+                throw new IllegalArgumentException("Invalid failure threshold");
+            }
+            this.failureThreshold = failureThreshold;
+            return this;
+        }
+
+        /**
+         * Sets the time before an ejected endpoint is probed (default: 5 seconds).
+         * It is doubled for each failed probe.
+         *
+         * @param duration the ejection time
+         * @param unit the unit of the duration
+         * @return the builder
+         */
+        public Builder ejectionTime(long duration, TimeUnit unit) {
+            if (duration < 0) {
+                throw new IllegalArgumentException("Invalid ejection time");
+            }
+            this.ejectionNanos = unit.toNanos(duration);
+            return this;
+        }
+
+        /**
+         * Sets the weight of a new latency sample in the EWMA (default: 0.3)
+         *
+         * @param weight the weight between 0 (exclusive) and 1 (inclusive)
+         * @return the builder
+         */
+        public Builder ewmaWeight(double weight) {
+            if (!(weight > 0 && weight <= 1)) {
+                throw new IllegalArgumentException("Invalid weight");
+            }
+            this.ewmaWeight = weight;
+            return this;
+        }
+
+        /**
+         * Enables the routing by the head height of the endpoints (default: false)
+         *
+         * @param heightAware {@code true} to route the pinned reads and transaction lookups
+         *                    to the endpoints which have reached the height
+         * @return the builder
+         */
+        public Builder heightAware(boolean heightAware) {
+            this.heightAware = heightAware;
+            return this;
+        }
+
+        /**
+         * Sets the interval to poll the head height of an endpoint with {@code icx_getLastBlock} (default: 1 second).
+         * The endpoints with a block monitor started by {@link LoadBalancingProvider#monitorHeights()}
+         * are not polled.
+         *
+         * @param duration the interval
+         * @param unit the unit of the duration
+         * @return the builder
+         */
+        public Builder headRefreshInterval(long duration, TimeUnit unit) {
+            if (duration < 0) {
+                throw new IllegalArgumentException("Invalid refresh interval");
+            }
+            this.headRefreshNanos = unit.toNanos(duration);
+            return this;
+        }
+
+        public LoadBalancingProvider build() {
+            if (providers.isEmpty()) {
+                throw new IllegalArgumentException("No provider");
+            }
+            return new LoadBalancingProvider(this);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2026 ICON Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package foundation.icon.icx.transport.replay;
+
+import foundation.icon.icx.transport.jsonrpc.Request;
+import foundation.icon.icx.transport.jsonrpc.RpcCodec;
+import foundation.icon.icx.transport.jsonrpc.RpcError;
+import foundation.icon.icx.transport.jsonrpc.RpcItem;
+import foundation.icon.icx.transport.jsonrpc.RpcObject;
+import foundation.icon.icx.transport.jsonrpc.RpcValue;
+
+import java.io.IOException;
+import java.math.BigInteger;
+
+/**
+ * A JSON-RPC request recorded with its response.
+ * <p>
+ * A record is stored as a line of JSON, such as
+ * {@code {"time":"0x3b9aca00","latency":"0x4c4b40","method":"icx_call","params":{...},"result":"0x1"}},
+ * where {@code time} is the time from the start of the recording and {@code latency} is the time
+ * until the response, both in nanoseconds. The response has either {@code result} or {@code error}.
+ */
+public final class Record {
+    private final long timeNanos;
+    private final long latencyNanos;
+    private final Request request;
+    // The result in JSON, which is decoded on each replay
+    private final String result;
+    private final RpcError error;
+
+    private Record(long timeNanos, long latencyNanos, Request request, String result, RpcError error) {
+        this.timeNanos = timeNanos;
+        this.latencyNanos = latencyNanos;
+        this.request = request;
+        this.result = result;
+        this.error = error;
+    }
+
+    /**
+     * Returns the time from the start of the recording until the request was made
+     *
+     * @return the time in nanoseconds
+     */
+    public long getTimeNanos() {
+        return timeNanos;
+    }
+
+    /**
+     * Returns the time from the request until the response
+     *
+     * @return the latency in nanoseconds
+     */
+    public long getLatencyNanos() {
+        return latencyNanos;
+    }
+
+    /**
+     * Returns the recorded request, whose id is the index of the record
+     *
+     * @return the request
+     */
+    public Request getRequest() {
+        return request;
+    }
+
+    /**
+     * Returns the error of the response
+     *
+     * @return the error, or {@code null} if the response has a result
+     */
+    public RpcError getError() {
+        return error;
+    }
+
+    // Decodes the result, as the transport decodes a response
+    RpcItem decodeResult(RpcCodec codec) throws IOException {
+        return codec.readItem(result);
+    }
+
+    static String encode(RpcCodec codec, long timeNanos, long latencyNanos, Request request,
+                         RpcItem result, RpcError error) throws IOException {
+        RpcObject.Builder builder = new RpcObject.Builder(RpcObject.Builder.Sort.INSERT)
+                .put("time", new RpcValue(BigInteger.valueOf(timeNanos)))
+                .put("latency", new RpcValue(BigInteger.valueOf(latencyNanos)))
+                .put("method", new RpcValue(request.getMethod()));
+        if (request.getParams() != null) {
+            builder.put("params", request.getParams());
+        }
+        if (error != null) {
+            RpcObject.Builder errorBuilder = new RpcObject.Builder(RpcObject.Builder.Sort.INSERT)
+                    .put("code", new RpcValue(BigInteger.valueOf(error.getCode())));
+            if (error.getMessage() != null) {
+                errorBuilder.put("message", new RpcValue(error.getMessage()));
+            }
+            builder.put("error", errorBuilder.build());
+        } else {
+            builder.put("result", result != null ? result : RpcValue.NULL);
+        }
+        return codec.writeItemAsString(builder.build());
+    }
+
+    static Record decode(RpcCodec codec, long index, String line) throws IOException {
+        RpcObject object = codec.readItem(line).asObject();
+        RpcItem params = object.getItem("params");
+        Request request = new Request(index, object.getItem("method").asString(),
+                params != null ? params.asObject() : null);
+        RpcItem error = object.getItem("error");
+        RpcError rpcError = null;
+        String result = null;
+        if (error != null) {
+            RpcObject errorObject = error.asObject();
+            RpcItem message = errorObject.getItem("message");
+            rpcError = new RpcError(errorObject.getItem("code").asInteger().longValue(),
+                    message != null ? message.asString() : null);
+        } else {
+            result = codec.writeItemAsString(object.getItem("result"));
+        }
+        return new Record(object.getItem("time").asInteger().longValue(),
+                object.getItem("latency").asInteger().longValue(), request, result, rpcError);
+    }
+}
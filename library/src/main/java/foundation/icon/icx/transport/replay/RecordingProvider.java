@@ -0,0 +1,331 @@
+/*
+ * Copyright 2026 ICON Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package foundation.icon.icx.transport.replay;
+
+import foundation.icon.icx.Callback;
+import foundation.icon.icx.Provider;
+import foundation.icon.icx.Request;
+import foundation.icon.icx.data.Converters;
+import foundation.icon.icx.transport.jsonrpc.Response;
+import foundation.icon.icx.transport.jsonrpc.RpcCodec;
+import foundation.icon.icx.transport.jsonrpc.RpcConverter;
+import foundation.icon.icx.transport.jsonrpc.RpcError;
+import foundation.icon.icx.transport.jsonrpc.RpcItem;
+import foundation.icon.icx.transport.monitor.Monitor;
+import foundation.icon.icx.transport.monitor.MonitorSpec;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The {@code RecordingProvider} class records the requests and their responses to a file
+ * which {@link ReplayProvider} replays.
+ * <p>
+ * The records are appended to the file as the responses arrive, as the lines of JSON compressed with gzip.
+ * A recording appended to an existing file is another gzip member, so the file is read as a whole.
+ * The responses with an error are recorded, but the failures of the transport are not.
+ * The requests of a batch are recorded one by one. The monitors are not recorded.
+ * <pre>{@code
+ * try (RecordingProvider provider = new RecordingProvider.Builder(httpProvider, new File("mainnet.rec.gz"))
+ *         .build()) {
+ *     IconService iconService = new IconService(provider);
+ *     ...
+ * }
+ * }</pre>
+ */
+public class RecordingProvider implements Provider, Closeable {
+    private final Provider provider;
+    private final Writer writer;
+    private final boolean autoFlush;
+    private final RpcCodec codec = new RpcCodec();
+    private final long startNanos = System.nanoTime();
+    private long records;
+
+    private RecordingProvider(Builder builder) throws IOException {
+        this.provider = builder.provider;
+        this.autoFlush = builder.autoFlush;
+        FileOutputStream out = new FileOutputStream(builder.file, builder.append);
+        try {
+            this.writer = new BufferedWriter(new OutputStreamWriter(
+                    new GZIPOutputStream(out, 8192, true), StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            out.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the number of the records written
+     *
+     * @return the number of records
+     */
+    public synchronized long getRecordCount() {
+        return records;
+    }
+
+    /**
+     * @see Provider#request(foundation.icon.icx.transport.jsonrpc.Request, RpcConverter)
+     */
+    @Override
+    public <T> Request<T> request(foundation.icon.icx.transport.jsonrpc.Request request, RpcConverter<T> converter) {
+        return new RecordedRequest<>(request, converter);
+    }
+
+    /**
+     * @see Provider#batch(List)
+     */
+    @Override
+    public Request<List<Response>> batch(List<foundation.icon.icx.transport.jsonrpc.Request> requests) {
+        return new RecordedBatch(requests);
+    }
+
+    /**
+     * @see Provider#monitor(MonitorSpec, RpcConverter)
+     */
+    @Override
+    public <T> Monitor<T> monitor(MonitorSpec spec, RpcConverter<T> converter) {
+        return provider.monitor(spec, converter);
+    }
+
+    /**
+     * Writes the buffered records to the file
+     *
+     * @throws IOException if the records could not be written
+     */
+    public synchronized void flush() throws IOException {
+        writer.flush();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        writer.close();
+    }
+
+    private void record(long start, foundation.icon.icx.transport.jsonrpc.Request request,
+                        RpcItem result, RpcError error) throws IOException {
+        long now = System.nanoTime();
+        String line = Record.encode(codec, start - startNanos, now - start, request, result, error);
+        synchronized (this) {
+            writer.write(line);
+            writer.write('\n');
+            records++;
+            if (autoFlush) {
+                writer.flush();
+            }
+        }
+    }
+
+    private class RecordedRequest<T> implements Request<T> {
+        private final foundation.icon.icx.transport.jsonrpc.Request request;
+        private final RpcConverter<T> converter;
+        private volatile Request<RpcItem> call;
+
+        RecordedRequest(foundation.icon.icx.transport.jsonrpc.Request request, RpcConverter<T> converter) {
+            this.request = request;
+            this.converter = converter;
+        }
+
+        @Override
+        public T execute() throws IOException {
+            long start = System.nanoTime();
+            call = provider.request(request, Converters.RPC_ITEM);
+            RpcItem item;
+            try {
+                item = call.execute();
+            } catch (RpcError e) {
+                record(start, request, null, e);
+                throw e;
+            }
+            record(start, request, item, null);
+            return converter.convertTo(item);
+        }
+
+        @Override
+        public void execute(final Callback<T> callback) {
+            final long start = System.nanoTime();
+            call = provider.request(request, Converters.RPC_ITEM);
+            call.execute(new Callback<RpcItem>() {
+                @Override
+                public void onSuccess(RpcItem item) {
+                    T result;
+                    try {
+                        record(start, request, item, null);
+                        result = converter.convertTo(item);
+                    } catch (IOException | RuntimeException e) {
+                        callback.onFailure(e);
+                        return;
+                    }
+                    callback.onSuccess(result);
+                }
+
+                @Override
+                public void onFailure(Exception exception) {
+                    if (exception instanceof RpcError) {
+                        try {
+                            record(start, request, null, (RpcError) exception);
+                        } catch (IOException e) {
+                            exception.addSuppressed(e);
+                        }
+                    }
+                    callback.onFailure(exception);
+                }
+            });
+        }
+
+        @Override
+        public void cancel() {
+            Request<RpcItem> current = call;
+            if (current != null) {
+                current.cancel();
+            }
+        }
+    }
+
+    private class RecordedBatch implements Request<List<Response>> {
+        private final List<foundation.icon.icx.transport.jsonrpc.Request> requests;
+        private volatile Request<List<Response>> call;
+
+        RecordedBatch(List<foundation.icon.icx.transport.jsonrpc.Request> requests) {
+            this.requests = requests;
+        }
+
+        @Override
+        public List<Response> execute() throws IOException {
+            long start = System.nanoTime();
+            call = provider.batch(requests);
+            List<Response> responses = call.execute();
+            record(start, responses);
+            return responses;
+        }
+
+        @Override
+        public void execute(final Callback<List<Response>> callback) {
+            final long start = System.nanoTime();
+            call = provider.batch(requests);
+            call.execute(new Callback<List<Response>>() {
+                @Override
+                public void onSuccess(List<Response> responses) {
+                    try {
+                        record(start, responses);
+                    } catch (IOException e) {
+                        callback.onFailure(e);
+                        return;
+                    }
+                    callback.onSuccess(responses);
+                }
+
+                @Override
+                public void onFailure(Exception exception) {
+                    callback.onFailure(exception);
+                }
+            });
+        }
+
+        @Override
+        public void cancel() {
+            Request<List<Response>> current = call;
+            if (current != null) {
+                current.cancel();
+            }
+        }
+
+        // Records the response of each request, matched by the id
+        private void record(long start, List<Response> responses) throws IOException {
+            Map<Long, Response> byId = new HashMap<>();
+            for (Response response : responses) {
+                byId.put(response.getId(), response);
+            }
+            for (foundation.icon.icx.transport.jsonrpc.Request request : requests) {
+                Response response = byId.get(request.getId());
+                if (response != null) {
+                    RecordingProvider.this.record(start, request, response.getResult(), response.getError());
+                }
+            }
+        }
+    }
+
+    /**
+     * Builder for RecordingProvider
+     */
+    public static class Builder {
+        private final Provider provider;
+        private final File file;
+        private boolean append = true;
+        private boolean autoFlush;
+
+        /**
+         * Creates a builder for the provider
+         *
+         * @param provider the underlying provider
+         * @param file the file to which the records are written
+         */
+        public Builder(Provider provider, File file) {
+            if (provider == null) {
+                throw new IllegalArgumentException("provider not found");
+            }
+            if (file == null) {
+                throw new IllegalArgumentException("file not found");
+            }
+            this.provider = provider;
+            this.file = file;
+        }
+
+        /**
+         * Sets whether the records are appended to the existing file (default: true)
+         *
+         * @param append {@code false} to overwrite the file
+         * @return the builder
+         */
+        public Builder append(boolean append) {
+            this.append = append;
+            return this;
+        }
+
+        /**
+         * Sets whether each record is written to the file at once (default: false).
+         * Otherwise the records are buffered until {@link RecordingProvider#flush()}
+         * or {@link RecordingProvider#close()}.
+         *
+         * @param autoFlush {@code true} to flush each record
+         * @return the builder
+         */
+        public Builder autoFlush(boolean autoFlush) {
+            this.autoFlush = autoFlush;
+            return this;
+        }
+
+        /**
+         * Opens the file and creates a provider
+         *
+         * @return the provider
+         * @throws IOException if the file could not be opened
+         */
+        public RecordingProvider build() throws IOException {
+            return new RecordingProvider(this);
+        }
+    }
+}
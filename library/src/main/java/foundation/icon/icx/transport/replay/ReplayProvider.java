@@ -0,0 +1,378 @@
+/*
+ * Copyright 2026 ICON Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package foundation.icon.icx.transport.replay;
+
+import foundation.icon.icx.Callback;
+import foundation.icon.icx.Provider;
+import foundation.icon.icx.Request;
+import foundation.icon.icx.transport.cache.RequestKey;
+import foundation.icon.icx.transport.jsonrpc.Response;
+import foundation.icon.icx.transport.jsonrpc.RpcCodec;
+import foundation.icon.icx.transport.jsonrpc.RpcConverter;
+import foundation.icon.icx.transport.jsonrpc.RpcItem;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * The {@code ReplayProvider} class answers the requests with the responses recorded by {@link RecordingProvider},
+ * without a network.
+ * <p>
+ * A request is matched to the records by its method and canonical params as {@link RequestKey},
+ * regardless of its id. The records of the same request are replayed in the recorded order,
+ * and from the first again after the last one. The result is decoded from JSON on each replay,
+ * so the decoding is measured as with a node.
+ * <p>
+ * The responses are returned at once with {@link Timing#FULL_SPEED}, or after the recorded latency
+ * with {@link Timing#RECORDED}. The whole recorded workload is available from {@link #getRecords()},
+ * to be run again in the recorded order.
+ * <pre>{@code
+ * ReplayProvider provider = new ReplayProvider.Builder(new File("mainnet.rec.gz")).build();
+ * IconService iconService = new IconService(provider);
+ * for (Record record : provider.getRecords()) {
+ *     provider.request(record.getRequest(), Converters.RPC_ITEM).execute();
+ * }
+ * }</pre>
+ */
+public class ReplayProvider implements Provider, Closeable {
+
+    /**
+     * The timing of the responses
+     */
+    public enum Timing {
+        /**
+         * Answers at once
+         */
+        FULL_SPEED,
+        /**
+         * Answers after the recorded latency
+         */
+        RECORDED
+    }
+
+    private final List<Record> records;
+    private final Map<RequestKey, Replay> replays = new HashMap<>();
+    private final Timing timing;
+    private final RpcCodec codec = new RpcCodec();
+    private final ScheduledExecutorService scheduler;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    private ReplayProvider(Builder builder) throws IOException {
+        this.timing = builder.timing;
+        this.records = Collections.unmodifiableList(read(builder.file));
+        for (Record record : records) {
+            replays.computeIfAbsent(RequestKey.of(record.getRequest()), k -> new Replay()).records.add(record);
+        }
+        if (timing == Timing.RECORDED) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "replay-provider");
+                thread.setDaemon(true);
+                return thread;
+            });
+        } else {
+            scheduler = null;
+        }
+    }
+
+    // Reads the records, up to the last complete one if the recording was not closed
+    private List<Record> read(File file) throws IOException {
+        List<Record> list = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(new FileInputStream(file)), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isEmpty()) {
+                    list.add(Record.decode(codec, list.size(), line));
+                }
+            }
+        } catch (EOFException e) {
+            // the end of a recording which is still open
+        }
+        return list;
+    }
+
+    /**
+     * Returns the records in the recorded order
+     *
+     * @return the records
+     */
+    public List<Record> getRecords() {
+        return records;
+    }
+
+    /**
+     * Returns the number of the requests answered with a record
+     *
+     * @return the number of hits
+     */
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    /**
+     * Returns the number of the requests which were not recorded
+     *
+     * @return the number of misses
+     */
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    /**
+     * @see Provider#request(foundation.icon.icx.transport.jsonrpc.Request, RpcConverter)
+     */
+    @Override
+    public <T> Request<T> request(foundation.icon.icx.transport.jsonrpc.Request request, RpcConverter<T> converter) {
+        return new ReplayedRequest<T>() {
+            private Record record;
+
+            @Override
+            long latencyNanos() throws IOException {
+                record = next(request);
+                return record.getLatencyNanos();
+            }
+
+            @Override
+            T answer() throws IOException {
+                if (record.getError() != null) {
+                    throw record.getError();
+                }
+                return converter.convertTo(record.decodeResult(codec));
+            }
+        };
+    }
+
+    /**
+     * @see Provider#batch(List)
+     */
+    @Override
+    public Request<List<Response>> batch(List<foundation.icon.icx.transport.jsonrpc.Request> requests) {
+        return new ReplayedRequest<List<Response>>() {
+            private final List<Record> matched = new ArrayList<>();
+
+            @Override
+            long latencyNanos() throws IOException {
+                // the batch takes as long as the slowest request
+                long latency = 0;
+                for (foundation.icon.icx.transport.jsonrpc.Request request : requests) {
+                    Record record = next(request);
+                    matched.add(record);
+                    latency = Math.max(latency, record.getLatencyNanos());
+                }
+                return latency;
+            }
+
+            @Override
+            List<Response> answer() throws IOException {
+                List<Response> responses = new ArrayList<>(requests.size());
+                for (int i = 0; i < requests.size(); i++) {
+                    Record record = matched.get(i);
+                    RpcItem result = record.getError() == null ? record.decodeResult(codec) : null;
+                    responses.add(new Response(requests.get(i).getId(), result, record.getError()));
+                }
+                return responses;
+            }
+        };
+    }
+
+    @Override
+    public void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    // Returns the next record of the request
+    private Record next(foundation.icon.icx.transport.jsonrpc.Request request) throws IOException {
+        RequestKey key = RequestKey.of(request);
+        Replay replay = replays.get(key);
+        if (replay == null) {
+            misses.incrementAndGet();
+            throw new IOException("Not recorded: " + key);
+        }
+        hits.incrementAndGet();
+        int index = replay.cursor.getAndIncrement();
+        return replay.records.get(Math.floorMod(index, replay.records.size()));
+    }
+
+    // The records of a request, and the position of the next one
+    private static class Replay {
+        final List<Record> records = new ArrayList<>();
+        final AtomicInteger cursor = new AtomicInteger();
+    }
+
+    private abstract class ReplayedRequest<T> implements Request<T> {
+        private boolean canceled;
+        private volatile ScheduledFuture<?> timer;
+        private Callback<T> pending;
+
+        // Takes the records to answer, and returns the recorded latency
+        abstract long latencyNanos() throws IOException;
+
+        abstract T answer() throws IOException;
+
+        private long take() throws IOException {
+            long latency = latencyNanos();
+            return timing == Timing.RECORDED ? latency : 0;
+        }
+
+        @Override
+        public T execute() throws IOException {
+            long delay = take();
+            if (delay > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(delay);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException();
+                }
+            }
+            synchronized (this) {
+                if (canceled) {
+                    throw new IOException("Canceled");
+                }
+            }
+            return answer();
+        }
+
+        @Override
+        public void execute(final Callback<T> callback) {
+            long delay;
+            try {
+                delay = take();
+            } catch (IOException e) {
+                callback.onFailure(e);
+                return;
+            }
+            boolean wasCanceled;
+            synchronized (this) {
+                wasCanceled = canceled;
+                if (!wasCanceled) {
+                    pending = callback;
+                }
+            }
+            if (wasCanceled) {
+                callback.onFailure(new IOException("Canceled"));
+            } else if (delay <= 0) {
+                complete();
+            } else {
+                timer = scheduler.schedule(this::complete, delay, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        // Answers the pending callback unless it was canceled
+        private void complete() {
+            Callback<T> callback;
+            synchronized (this) {
+                callback = pending;
+                pending = null;
+            }
+            if (callback == null) {
+                return;
+            }
+            T result;
+            try {
+                result = answer();
+            } catch (IOException | RuntimeException e) {
+                callback.onFailure(e);
+                return;
+            }
+            callback.onSuccess(result);
+        }
+
+        @Override
+        public void cancel() {
+            Callback<T> callback;
+            synchronized (this) {
+                canceled = true;
+                callback = pending;
+                pending = null;
+            }
+            ScheduledFuture<?> current = timer;
+            if (current != null) {
+                current.cancel(false);
+            }
+            if (callback != null) {
+                callback.onFailure(new IOException("Canceled"));
+            }
+        }
+    }
+
+    /**
+     * Builder for ReplayProvider
+     */
+    public static class Builder {
+        private final File file;
+        private Timing timing = Timing.FULL_SPEED;
+
+        /**
+         * Creates a builder for the recording
+         *
+         * @param file the file written by {@link RecordingProvider}
+         */
+        public Builder(File file) {
+            if (file == null) {
+                throw new IllegalArgumentException("file not found");
+            }
+            this.file = file;
+        }
+
+        /**
+         * Sets the timing of the responses (default: {@link Timing#FULL_SPEED})
+         *
+         * @param timing the timing
+         * @return the builder
+         */
+        public Builder timing(Timing timing) {
+            if (timing == null) {
+                throw new IllegalArgumentException("timing not found");
+            }
+            this.timing = timing;
+            return this;
+        }
+
+        /**
+         * Reads the recording and creates a provider
+         *
+         * @return the provider
+         * @throws IOException if the recording could not be read
+         */
+        public ReplayProvider build() throws IOException {
+            return new ReplayProvider(this);
+        }
+    }
+}
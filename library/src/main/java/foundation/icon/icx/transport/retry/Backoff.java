@@ -0,0 +1,65 @@
+/*
+ * Copyright 2026 ICON Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package foundation.icon.icx.transport.retry;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Backoff computes the delays between the attempts of an operation with decorrelated jitter.
+ * <p>
+ * Each delay is a random value between the base delay and three times the previous delay,
+ * capped at the maximum delay. An instance keeps the previous delay, so it is used for one operation
+ * at a time, and is reset when the operation succeeds.
+ */
+public final class Backoff {
+    private final long baseNanos;
+    private final long maxNanos;
+    private long delayNanos;
+
+    /**
+     * Creates a backoff
+     *
+     * @param base the base delay
+     * @param max the maximum delay
+     * @param unit the unit of the delays
+     */
+    public Backoff(long base, long max, TimeUnit unit) {
+        this.baseNanos = unit.toNanos(base);
+        this.maxNanos = unit.toNanos(max);
+        this.delayNanos = baseNanos;
+    }
+
+    /**
+     * Returns the delay before the next attempt
+     *
+     * @return the delay in nanoseconds
+     */
+    public synchronized long nextDelay() {
+        long upper = Math.max(baseNanos, delayNanos * 3);
+        long delay = baseNanos + (long) (ThreadLocalRandom.current().nextDouble() * (upper - baseNanos));
+        delayNanos = Math.min(maxNanos, delay);
+        return delayNanos;
+    }
+
+    /**
+     * Starts the delays again from the base delay
+     */
+    public synchronized void reset() {
+        delayNanos = baseNanos;
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2026 ICON Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package foundation.icon.icx.transport.retry;
+
+/**
+ * RetryBudget bounds the retries to a ratio of the requests.
+ * <p>
+ * Each request deposits a fraction of a token and each retry withdraws a whole token.
+ * The balance is capped, so a burst of failures after a quiet period can retry
+ * only up to the cap, and after that about the ratio of the requests.
+ */
+final class RetryBudget {
+    private final double ratio;
+    private final double maxTokens;
+    private double tokens;
+
+    RetryBudget(double ratio, int maxTokens) {
+        this.ratio = ratio;
+        this.maxTokens = maxTokens;
+        this.tokens = maxTokens;
+    }
+
+    synchronized void deposit() {
+        tokens = Math.min(maxTokens, tokens + ratio);
+    }
+
+    synchronized boolean tryWithdraw() {
+        if (tokens < 1) {
+            return false;
+        }
+        tokens -= 1;
+        return true;
+    }
+
+    synchronized double getBalance() {
+        return tokens;
+    }
+}
@@ -0,0 +1,611 @@
+/*
+ * Copyright 2026 ICON Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package foundation.icon.icx.transport.retry;
+
+import foundation.icon.icx.Callback;
+import foundation.icon.icx.Provider;
+import foundation.icon.icx.Request;
+import foundation.icon.icx.SignedTransaction;
+import foundation.icon.icx.data.Bytes;
+import foundation.icon.icx.data.Converters;
+import foundation.icon.icx.transport.jsonrpc.Response;
+import foundation.icon.icx.transport.jsonrpc.RpcConverter;
+import foundation.icon.icx.transport.jsonrpc.RpcError;
+import foundation.icon.icx.transport.jsonrpc.RpcItem;
+import foundation.icon.icx.transport.jsonrpc.RpcObject;
+import foundation.icon.icx.transport.jsonrpc.RpcValue;
+import foundation.icon.icx.transport.monitor.Monitor;
+import foundation.icon.icx.transport.monitor.MonitorSpec;
+import foundation.icon.icx.transport.monitor.ResumingMonitor;
+import org.bouncycastle.jcajce.provider.digest.SHA3;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * The {@code RetryingProvider} class retries the requests which failed for a transient reason.
+ * <p>
+ * The idempotent requests are retried: the queries ({@code icx_get*}, {@code btp_get*} and {@code icx_call}),
+ * {@code icx_waitTransactionResult} and {@code debug_estimateStep}. A request is retried on an I/O error
+ * such as a connection failure or a timeout, and on a server error of the node ({@code -32000} to
+ * {@code -32099}, {@code -31000} and {@code -31007}), but never on the other errors.
+ * <p>
+ * {@code icx_sendTransaction} and {@code icx_sendTransactionAndWait} are not idempotent, since the node may
+ * have accepted the transaction although the response was lost. Before sending it again, the provider looks up
+ * the transaction by the hash computed from the params, and sends it again only if the node does not know it.
+ * If the node knows it, the hash is returned, or the result is waited for, instead.
+ * <p>
+ * The delay between the attempts grows with decorrelated jitter, and the retries are bounded by a budget
+ * of a ratio of the requests, so a failing node does not get a multiple of its normal load.
+ * <p>
+ * With {@link Builder#resumeMonitors(boolean)}, the block and the event monitors are {@link ResumingMonitor}s
+ * which connect again with the same backoff, and resume from the last notification delivered.
+ * <pre>{@code
+ * Provider provider = new RetryingProvider.Builder(httpProvider)
+ *         .maxAttempts(4)
+ *         .backoff(200, 10_000, TimeUnit.MILLISECONDS)
+ *         .build();
+ * }</pre>
+ */
+public class RetryingProvider implements Provider, Closeable {
+
+    private static final Set<String> IDEMPOTENT_METHODS = new HashSet<>(Arrays.asList(
+            "icx_call", "icx_waitTransactionResult", "debug_estimateStep"));
+    private static final Set<String> SEND_METHODS = new HashSet<>(Arrays.asList(
+            "icx_sendTransaction", "icx_sendTransactionAndWait"));
+    // The error codes of icx_getTransactionResult
+    private static final long PENDING = -31002;
+    private static final long EXECUTING = -31003;
+    private static final long NOT_FOUND = -31004;
+
+    private final Provider provider;
+    private final int maxAttempts;
+    private final long baseDelayNanos;
+    private final long maxDelayNanos;
+    private final boolean resumeMonitors;
+    private final RetryBudget budget;
+    private final ScheduledExecutorService scheduler;
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong retries = new AtomicLong();
+    private final AtomicLong budgetExhausted = new AtomicLong();
+    private final AtomicLong giveUps = new AtomicLong();
+    private final AtomicLong recovered = new AtomicLong();
+
+    private RetryingProvider(Builder builder) {
+        this.provider = builder.provider;
+        this.maxAttempts = builder.maxAttempts;
+        this.baseDelayNanos = builder.baseDelayNanos;
+        this.maxDelayNanos = builder.maxDelayNanos;
+        this.resumeMonitors = builder.resumeMonitors;
+        this.budget = new RetryBudget(builder.budgetRatio, builder.budgetBurst);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "icon-retry");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Returns whether the requests of the method may be sent more than once
+     *
+     * @param method the JSON-RPC method
+     * @return {@code true} if the method is idempotent
+     */
+    public static boolean isIdempotent(String method) {
+        return method.startsWith("icx_get") || method.startsWith("btp_get") || IDEMPOTENT_METHODS.contains(method);
+    }
+
+    /**
+     * Returns whether the error may go away if the request is sent again
+     *
+     * @param error the error of the request
+     * @return {@code true} if the error is transient
+     */
+    public static boolean isRetryable(IOException error) {
+        if (error instanceof RpcError) {
+            long code = ((RpcError) error).getCode();
+            if (code > 0) {
+                // the HTTP status without a JSON-RPC response
+                return code == 429 || code == 502 || code == 503 || code == 504;
+            }
+            return (code <= -32000 && code >= -32099) || code == -31000 || code == -31007;
+        }
+        return true;
+    }
+
+    /**
+     * Returns the number of the requests executed, not counting the retries
+     *
+     * @return the number of requests
+     */
+    public long getRequestCount() {
+        return requests.get();
+    }
+
+    /**
+     * Returns the number of the retries, including the lookups of the transactions before sending them again
+     *
+     * @return the number of retries
+     */
+    public long getRetryCount() {
+        return retries.get();
+    }
+
+    /**
+     * Returns the number of the retryable failures which were not retried because the budget was used up
+     *
+     * @return the number of failures
+     */
+    public long getBudgetExhaustedCount() {
+        return budgetExhausted.get();
+    }
+
+    /**
+     * Returns the number of the retryable failures returned to the caller
+     *
+     * @return the number of failures
+     */
+    public long getGiveUpCount() {
+        return giveUps.get();
+    }
+
+    /**
+     * Returns the number of the failed transactions found accepted by the node, which were not sent again
+     *
+     * @return the number of transactions
+     */
+    public long getRecoveredCount() {
+        return recovered.get();
+    }
+
+    /**
+     * Stops the timer of the backoff.
+     * The asynchronous requests waiting to be retried after this method fail with the last error.
+     */
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * @see Provider#request(foundation.icon.icx.transport.jsonrpc.Request, RpcConverter)
+     */
+    @Override
+    public <T> Request<T> request(foundation.icon.icx.transport.jsonrpc.Request request, RpcConverter<T> converter) {
+        String method = request.getMethod();
+        if (SEND_METHODS.contains(method) && request.getParams() != null) {
+            return new RetriedRequest<>(() -> provider.request(request, converter), request, converter);
+        }
+        if (!isIdempotent(method)) {
+            return provider.request(request, converter);
+        }
+        return new RetriedRequest<>(() -> provider.request(request, converter), null, converter);
+    }
+
+    /**
+     * @see Provider#batch(List)
+     */
+    @Override
+    public Request<List<Response>> batch(List<foundation.icon.icx.transport.jsonrpc.Request> requests) {
+        for (foundation.icon.icx.transport.jsonrpc.Request request : requests) {
+            if (!isIdempotent(request.getMethod())) {
+                return provider.batch(requests);
+            }
+        }
+        return new RetriedRequest<>(() -> provider.batch(requests), null, null);
+    }
+
+    /**
+     * @see Provider#monitor(MonitorSpec, RpcConverter)
+     */
+    @Override
+    public <T> Monitor<T> monitor(MonitorSpec spec, RpcConverter<T> converter) {
+        if (resumeMonitors && ResumingMonitor.isResumable(spec)) {
+            return new ResumingMonitor.Builder<>(provider, spec, converter)
+                    .backoff(baseDelayNanos, maxDelayNanos, TimeUnit.NANOSECONDS)
+                    .build();
+        }
+        return provider.monitor(spec, converter);
+    }
+
+    /**
+     * Returns the hash of the transaction, which is the SHA3-256 hash of the serialized params
+     * without the signature
+     *
+     * @param params the params of {@code icx_sendTransaction}
+     * @return the transaction hash
+     */
+    static Bytes getTxHash(RpcObject params) {
+        RpcObject.Builder builder = new RpcObject.Builder();
+        for (String key : params.keySet()) {
+            if (!"signature".equals(key)) {
+                builder.put(key, params.getItem(key));
+            }
+        }
+        String message = SignedTransaction.TransactionSerializer.serialize(builder.build());
+        return new Bytes(new SHA3.Digest256().digest(message.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private enum Lookup {
+        ACCEPTED, NOT_ACCEPTED, UNKNOWN
+    }
+
+    private static Lookup classifyLookup(Exception error) {
+        if (error == null) {
+            return Lookup.ACCEPTED;
+        }
+        if (error instanceof RpcError) {
+            long code = ((RpcError) error).getCode();
+            if (code == PENDING || code == EXECUTING) {
+                return Lookup.ACCEPTED;
+            }
+            // the other errors, such as invalid params, do not prove that the node lacks the transaction
+            if (code == NOT_FOUND) {
+                return Lookup.NOT_ACCEPTED;
+            }
+        }
+        return Lookup.UNKNOWN;
+    }
+
+    private class RetriedRequest<T> implements Request<T> {
+        private final Supplier<Request<T>> factory;
+        // the request of a transaction, which is looked up before it is sent again
+        private final foundation.icon.icx.transport.jsonrpc.Request send;
+        private final RpcConverter<T> converter;
+        private volatile boolean canceled;
+        private volatile Request<?> current;
+        private volatile ScheduledFuture<?> timer;
+        private volatile Callback<T> waiting;
+        private final Backoff backoff = new Backoff(baseDelayNanos, maxDelayNanos, TimeUnit.NANOSECONDS);
+        private int attempts;
+
+        RetriedRequest(Supplier<Request<T>> factory,
+                       foundation.icon.icx.transport.jsonrpc.Request send, RpcConverter<T> converter) {
+            this.factory = factory;
+            this.send = send;
+            this.converter = converter;
+        }
+
+        @Override
+        public T execute() throws IOException {
+            begin();
+            while (true) {
+                IOException error;
+                try {
+                    Request<T> call = factory.get();
+                    current = call;
+                    return call.execute();
+                } catch (IOException e) {
+                    error = e;
+                }
+                if (Thread.currentThread().isInterrupted() || !retry(error)) {
+                    throw error;
+                }
+                if (send != null) {
+                    Request<RpcItem> lookup = lookup();
+                    current = lookup;
+                    IOException lookupError = null;
+                    try {
+                        lookup.execute();
+                    } catch (IOException e) {
+                        lookupError = e;
+                    }
+                    switch (classifyLookup(lookupError)) {
+                        case ACCEPTED:
+                            recovered.incrementAndGet();
+                            if (isWait()) {
+                                Request<T> wait = provider.request(waitRequest(), converter);
+                                current = wait;
+                                return wait.execute();
+                            }
+                            return converter.convertTo(new RpcValue(getTxHash(send.getParams())));
+                        case UNKNOWN:
+                            giveUps.incrementAndGet();
+                            throw error;
+                        default:
+                            break;
+                    }
+                }
+                try {
+                    TimeUnit.NANOSECONDS.sleep(backoff.nextDelay());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException();
+                }
+                if (canceled) {
+                    throw new IOException("Canceled");
+                }
+            }
+        }
+
+        @Override
+        public void execute(final Callback<T> callback) {
+            waiting = callback;
+            begin();
+            attempt(callback);
+        }
+
+        @Override
+        public void cancel() {
+            canceled = true;
+            ScheduledFuture<?> pending = timer;
+            if (pending != null && pending.cancel(false)) {
+                // the request is waiting for the next attempt
+                waiting.onFailure(new IOException("Canceled"));
+                return;
+            }
+            Request<?> call = current;
+            if (call != null) {
+                call.cancel();
+            }
+        }
+
+        // Starts an execution, which may be the second one of the same request
+        private void begin() {
+            attempts = 0;
+            backoff.reset();
+            requests.incrementAndGet();
+            budget.deposit();
+        }
+
+        // Returns true if the request may be sent again after the error
+        private boolean retry(IOException error) {
+            if (canceled || !isRetryable(error)) {
+                return false;
+            }
+            if (++attempts >= maxAttempts) {
+                giveUps.incrementAndGet();
+                return false;
+            }
+            if (!budget.tryWithdraw()) {
+                budgetExhausted.incrementAndGet();
+                giveUps.incrementAndGet();
+                return false;
+            }
+            retries.incrementAndGet();
+            return true;
+        }
+
+        private boolean isWait() {
+            return "icx_sendTransactionAndWait".equals(send.getMethod());
+        }
+
+        private Request<RpcItem> lookup() {
+            RpcObject params = new RpcObject.Builder()
+                    .put("txHash", new RpcValue(getTxHash(send.getParams())))
+                    .build();
+            return provider.request(new foundation.icon.icx.transport.jsonrpc.Request(
+                    send.getId(), "icx_getTransactionResult", params), Converters.RPC_ITEM);
+        }
+
+        private foundation.icon.icx.transport.jsonrpc.Request waitRequest() {
+            RpcObject params = new RpcObject.Builder()
+                    .put("txHash", new RpcValue(getTxHash(send.getParams())))
+                    .build();
+            return new foundation.icon.icx.transport.jsonrpc.Request(
+                    send.getId(), "icx_waitTransactionResult", params);
+        }
+
+        private void attempt(final Callback<T> callback) {
+            if (canceled) {
+                callback.onFailure(new IOException("Canceled"));
+                return;
+            }
+            Request<T> call;
+            try {
+                call = factory.get();
+            } catch (RuntimeException e) {
+                callback.onFailure(e);
+                return;
+            }
+            current = call;
+            try {
+                call.execute(new Callback<T>() {
+                    @Override
+                    public void onSuccess(T result) {
+                        callback.onSuccess(result);
+                    }
+
+                    @Override
+                    public void onFailure(Exception exception) {
+                        if (!(exception instanceof IOException) || !retry((IOException) exception)) {
+                            callback.onFailure(exception);
+                        } else if (send != null) {
+                            lookupAsync((IOException) exception, callback);
+                        } else {
+                            schedule((IOException) exception, callback);
+                        }
+                    }
+                });
+            } catch (RuntimeException e) {
+                // a retry runs on the scheduler, which would swallow the exception
+                callback.onFailure(e);
+            }
+        }
+
+        private void lookupAsync(final IOException error, final Callback<T> callback) {
+            try {
+                Request<RpcItem> lookup = lookup();
+                current = lookup;
+                lookup.execute(new Callback<RpcItem>() {
+                    @Override
+                    public void onSuccess(RpcItem result) {
+                        resolve(null, error, callback);
+                    }
+
+                    @Override
+                    public void onFailure(Exception exception) {
+                        resolve(exception, error, callback);
+                    }
+                });
+            } catch (RuntimeException e) {
+                callback.onFailure(e);
+            }
+        }
+
+        private void resolve(Exception lookupError, IOException error, Callback<T> callback) {
+            switch (classifyLookup(lookupError)) {
+                case ACCEPTED:
+                    recovered.incrementAndGet();
+                    if (isWait()) {
+                        try {
+                            Request<T> wait = provider.request(waitRequest(), converter);
+                            current = wait;
+                            wait.execute(callback);
+                        } catch (RuntimeException e) {
+                            callback.onFailure(e);
+                        }
+                        return;
+                    }
+                    T result;
+                    try {
+                        result = converter.convertTo(new RpcValue(getTxHash(send.getParams())));
+                    } catch (RuntimeException e) {
+                        callback.onFailure(e);
+                        return;
+                    }
+                    callback.onSuccess(result);
+                    break;
+                case NOT_ACCEPTED:
+                    schedule(error, callback);
+                    break;
+                default:
+                    giveUps.incrementAndGet();
+                    callback.onFailure(error);
+            }
+        }
+
+        private void schedule(IOException error, final Callback<T> callback) {
+            ScheduledFuture<?> scheduled;
+            try {
+                scheduled = scheduler.schedule(() -> attempt(callback), backoff.nextDelay(), TimeUnit.NANOSECONDS);
+            } catch (RejectedExecutionException e) {
+                // the provider was closed
+                callback.onFailure(error);
+                return;
+            }
+            timer = scheduled;
+            if (canceled && scheduled.cancel(false)) {
+                // canceled before the timer was set
+                callback.onFailure(new IOException("Canceled"));
+            }
+        }
+    }
+
+    /**
+     * Builder for RetryingProvider
+     */
+    public static class Builder {
+        private final Provider provider;
+        private int maxAttempts = 3;
+        private long baseDelayNanos = TimeUnit.MILLISECONDS.toNanos(100);
+        private long maxDelayNanos = TimeUnit.SECONDS.toNanos(5);
+        private double budgetRatio = 0.1;
+        private int budgetBurst = 10;
+        private boolean resumeMonitors;
+
+        /**
+         * Creates a builder for the provider
+         *
+         * @param provider the underlying provider, usually an {@code HttpProvider}
+         */
+        public Builder(Provider provider) {
+            if (provider == null) {
+                throw new IllegalArgumentException("provider not found");
+            }
+            this.provider = provider;
+        }
+
+        /**
+         * Sets the maximum number of the attempts of a request, including the first one (default: 3)
+         *
+         * @param attempts the number of attempts
+         * @return the builder
+         */
+        public Builder maxAttempts(int attempts) {
+            if (attempts < 1) {
+                throw new IllegalArgumentException("Invalid attempts");
+            }
+            this.maxAttempts = attempts;
+            return this;
+        }
+
+        /**
+         * Sets the bounds of the delay between the attempts (default: 100 milliseconds to 5 seconds).
+         * Each delay is picked at random between the base delay and three times the previous delay.
+         *
+         * @param base the lowest delay
+         * @param max the highest delay
+         * @param unit the unit of the delays
+         * @return the builder
+         */
+        public Builder backoff(long base, long max, TimeUnit unit) {
+            if (base < 0 || max < base) {
+                throw new IllegalArgumentException("Invalid backoff");
+            }
+            this.baseDelayNanos = unit.toNanos(base);
+            this.maxDelayNanos = unit.toNanos(max);
+            return this;
+        }
+
+        /**
+         * Sets the budget of the retries (default: 10% of the requests, and up to 10 retries in a burst)
+         *
+         * @param ratio the ratio of the retries to the requests between 0 and 1
+         * @param burst the number of retries allowed at once after a quiet period
+         * @return the builder
+         */
+        public Builder retryBudget(double ratio, int burst) {
+            if (!(ratio >= 0 && ratio <= 1) || burst < 0) {
+                throw new IllegalArgumentException("Invalid retry budget");
+            }
+            this.budgetRatio = ratio;
+            this.budgetBurst = burst;
+            return this;
+        }
+
+        /**
+         * Sets whether the block and the event monitors connect again after a failure, and resume from
+         * the last notification delivered (default: {@code false})
+         *
+         * @param resume {@code true} to resume the monitors
+         * @return the builder
+         * @see ResumingMonitor
+         */
+        public Builder resumeMonitors(boolean resume) {
+            this.resumeMonitors = resume;
+            return this;
+        }
+
+        public RetryingProvider build() {
+            return new RetryingProvider(this);
+        }
+    }
+}
@@ -0,0 +1,528 @@
+/*
+ * Copyright 2026 ICON Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package foundation.icon.icx.transport.websocket;
+
+import foundation.icon.icx.Callback;
+import foundation.icon.icx.Provider;
+import foundation.icon.icx.Request;
+import foundation.icon.icx.transport.jsonrpc.Response;
+import foundation.icon.icx.transport.jsonrpc.RpcCodec;
+import foundation.icon.icx.transport.jsonrpc.RpcConverter;
+import okhttp3.OkHttpClient;
+import okhttp3.WebSocket;
+import okhttp3.WebSocketListener;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The {@code WebSocketProvider} class transports JSON-RPC payloads through a persistent WebSocket.
+ * <p>
+ * All the requests share one connection, and are sent without waiting for the responses of the others.
+ * Each request is sent with an id given by the provider, and its response is matched by the id,
+ * so the responses may come in any order. The connection is made on the first request, and made again
+ * on the next request after it is lost. The requests in flight on a lost connection fail.
+ * <p>
+ * The thread reading the connection only matches the responses to the requests. The responses are decoded,
+ * and the callbacks are called, on the callback executor.
+ * <p>
+ * The node must serve JSON-RPC over WebSocket at the URL, which is usually done by a gateway
+ * in front of the nodes. The monitors are not supported, so use {@code HttpProvider} for them.
+ * <pre>{@code
+ * WebSocketProvider provider = new WebSocketProvider.Builder("wss://gateway.example.com/api/v3/ws")
+ *         .timeout(10, TimeUnit.SECONDS)
+ *         .build();
+ * IconService iconService = new IconService(provider);
+ * }</pre>
+ */
+public class WebSocketProvider implements Provider, Closeable {
+
+    private final OkHttpClient httpClient;
+    private final String url;
+    private final long timeoutNanos;
+    private final RpcCodec codec = new RpcCodec();
+    private final AtomicLong ids = new AtomicLong();
+    private final ConcurrentMap<Long, SocketCall<?>> pending = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler;
+    private final Executor callbackExecutor;
+    private final AtomicLong connections = new AtomicLong();
+    private final Object lock = new Object();
+    private WebSocket socket;
+    private boolean closed;
+
+    private WebSocketProvider(Builder builder) {
+        this.httpClient = builder.httpClient != null ? builder.httpClient : new OkHttpClient.Builder().build();
+        this.url = builder.url;
+        this.timeoutNanos = builder.timeoutNanos;
+        this.callbackExecutor = builder.callbackExecutor != null ? builder.callbackExecutor : SharedExecutor.INSTANCE;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "icon-websocket");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Returns the number of the requests waiting for their responses
+     *
+     * @return the number of requests
+     */
+    public int getPendingCount() {
+        return (int) pending.values().stream().distinct().count();
+    }
+
+    /**
+     * Returns the number of the connections made so far
+     *
+     * @return the number of connections
+     */
+    public long getConnectionCount() {
+        return connections.get();
+    }
+
+    /**
+     * Closes the connection, and fails the requests in flight.
+     * The provider cannot be used after this method.
+     */
+    @Override
+    public void close() {
+        WebSocket current;
+        synchronized (lock) {
+            closed = true;
+            current = socket;
+            socket = null;
+        }
+        if (current != null) {
+            current.close(1000, null);
+        }
+        failAll(null, new IOException("Closed"));
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * @see Provider#request(foundation.icon.icx.transport.jsonrpc.Request, RpcConverter)
+     */
+    @Override
+    public <T> Request<T> request(foundation.icon.icx.transport.jsonrpc.Request request, RpcConverter<T> converter) {
+        return new SingleCall<>(request, converter);
+    }
+
+    /**
+     * @see Provider#batch(List)
+     */
+    @Override
+    public Request<List<Response>> batch(List<foundation.icon.icx.transport.jsonrpc.Request> requests) {
+        if (requests.isEmpty()) {
+            throw new IllegalArgumentException("Empty batch");
+        }
+        return new BatchCall(requests);
+    }
+
+    // Returns the current connection, or makes a new one, and binds the call to it
+    // The call is bound under the lock, so a connection failing right away fails the call as well
+    private WebSocket connect(SocketCall<?> call) throws IOException {
+        synchronized (lock) {
+            if (closed) {
+                throw new IOException("Closed");
+            }
+            if (socket == null) {
+                okhttp3.Request httpRequest = new okhttp3.Request.Builder().url(url).build();
+                socket = httpClient.newWebSocket(httpRequest, new Listener());
+                connections.incrementAndGet();
+            }
+            call.socket = socket;
+            return socket;
+        }
+    }
+
+    // Forgets the connection, so that the next request makes a new one
+    private void disconnected(WebSocket webSocket, IOException error) {
+        synchronized (lock) {
+            if (socket == webSocket) {
+                socket = null;
+            }
+        }
+        failAll(webSocket, error);
+    }
+
+    private void failAll(WebSocket webSocket, IOException error) {
+        for (SocketCall<?> call : pending.values()) {
+            if (webSocket == null || call.socket == webSocket) {
+                call.fail(error);
+            }
+        }
+    }
+
+    private void dispatch(WebSocket webSocket, String message) throws IOException {
+        List<Response> responses;
+        if (message.trim().startsWith("[")) {
+            responses = codec.readResponses(message);
+        } else {
+            responses = Collections.singletonList(codec.readResponse(message));
+        }
+        for (Response response : responses) {
+            SocketCall<?> call = pending.get(response.getId());
+            if (call != null) {
+                call.complete(responses);
+                return;
+            }
+        }
+        if (responses.size() == 1 && responses.get(0).getId() == 0 && responses.get(0).getError() != null) {
+            // an error without an id, by which the node rejects a batch as a whole, so the batches
+            // on the connection get it instead of waiting for the timeout
+            for (SocketCall<?> call : new HashSet<>(pending.values())) {
+                if (call instanceof BatchCall && call.socket == webSocket) {
+                    call.complete(responses);
+                }
+            }
+        }
+        // a response without a known id, which may be for a timed-out request
+    }
+
+    // The daemon threads used by default, created on the first use
+    private static class SharedExecutor {
+        static final ExecutorService INSTANCE = Executors.newCachedThreadPool(r -> {
+            Thread thread = new Thread(r, "icon-websocket-callback");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private class Listener extends WebSocketListener {
+        @Override
+        public void onMessage(WebSocket webSocket, String text) {
+            try {
+                dispatch(webSocket, text);
+            } catch (IOException e) {
+                // the response cannot be matched to a request, which times out
+            }
+        }
+
+        @Override
+        public void onClosing(WebSocket webSocket, int code, String reason) {
+            webSocket.close(1000, null);
+            disconnected(webSocket, new IOException("Connection closed: " + code + " " + reason));
+        }
+
+        @Override
+        public void onClosed(WebSocket webSocket, int code, String reason) {
+            disconnected(webSocket, new IOException("Connection closed: " + code + " " + reason));
+        }
+
+        @Override
+        public void onFailure(WebSocket webSocket, Throwable t, okhttp3.Response response) {
+            disconnected(webSocket, t instanceof IOException ? (IOException) t : new IOException(t));
+        }
+    }
+
+    private abstract class SocketCall<T> implements Request<T> {
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private final AtomicBoolean started = new AtomicBoolean();
+        private final AtomicBoolean settled = new AtomicBoolean();
+        private final List<Long> wireIds = new ArrayList<>();
+        private volatile ScheduledFuture<?> timer;
+        volatile WebSocket socket;
+
+        // Encodes the message with the ids reserved from the provider
+        abstract String encode() throws IOException;
+
+        abstract T decode(List<Response> responses) throws IOException;
+
+        // Reserves the consecutive ids for the message, and returns the first one
+        long reserveIds(int count) {
+            long first = ids.getAndAdd(count) + 1;
+            for (int i = 0; i < count; i++) {
+                wireIds.add(first + i);
+            }
+            return first;
+        }
+
+        @Override
+        public T execute() throws IOException {
+            start();
+            try {
+                return result.get();
+            } catch (InterruptedException e) {
+                cancel();
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException();
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof IOException) {
+                    throw (IOException) cause;
+                } else if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                } else if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw new IOException(cause);
+            }
+        }
+
+        @Override
+        public void execute(final Callback<T> callback) {
+            result.whenComplete((value, t) -> {
+                if (t == null) {
+                    callback.onSuccess(value);
+                } else {
+                    callback.onFailure(t instanceof Exception ? (Exception) t : new IOException(t));
+                }
+            });
+            start();
+        }
+
+        @Override
+        public void cancel() {
+            fail(new IOException("Canceled"));
+        }
+
+        private void start() {
+            if (!started.compareAndSet(false, true)) {
+                throw new IllegalStateException("Already executed");
+            }
+            String message;
+            try {
+                message = encode();
+            } catch (IOException | RuntimeException e) {
+                result.completeExceptionally(e);
+                return;
+            }
+            if (settled.get()) {
+                // canceled before it was started
+                return;
+            }
+            for (Long id : wireIds) {
+                pending.put(id, this);
+            }
+            try {
+                timer = scheduler.schedule(() -> fail(new InterruptedIOException("Timed out")),
+                        timeoutNanos, TimeUnit.NANOSECONDS);
+            } catch (RejectedExecutionException e) {
+                fail(new IOException("Closed"));
+                return;
+            }
+            try {
+                WebSocket current = connect(this);
+                if (!current.send(message)) {
+                    fail(new IOException("Connection closed"));
+                }
+            } catch (IOException e) {
+                fail(e);
+            }
+            if (settled.get()) {
+                // failed while the ids were being registered
+                finish();
+            }
+        }
+
+        void complete(List<Response> responses) {
+            if (!settle()) {
+                return;
+            }
+            deliver(() -> {
+                T value;
+                try {
+                    value = decode(responses);
+                } catch (IOException | RuntimeException e) {
+                    result.completeExceptionally(e);
+                    return;
+                }
+                result.complete(value);
+            });
+        }
+
+        void fail(IOException error) {
+            if (settle()) {
+                deliver(() -> result.completeExceptionally(error));
+            }
+        }
+
+        // Stops waiting for the response, and returns false if the call is already answered
+        private boolean settle() {
+            if (!settled.compareAndSet(false, true)) {
+                return false;
+            }
+            finish();
+            return true;
+        }
+
+        // Completes the call on the callback executor, so the reader thread is not blocked by the callbacks
+        private void deliver(Runnable task) {
+            try {
+                callbackExecutor.execute(task);
+            } catch (RejectedExecutionException e) {
+                result.completeExceptionally(e);
+            }
+        }
+
+        private void finish() {
+            for (Long id : wireIds) {
+                pending.remove(id, this);
+            }
+            ScheduledFuture<?> current = timer;
+            if (current != null) {
+                current.cancel(false);
+            }
+        }
+    }
+
+    private class SingleCall<T> extends SocketCall<T> {
+        private final foundation.icon.icx.transport.jsonrpc.Request request;
+        private final RpcConverter<T> converter;
+
+        SingleCall(foundation.icon.icx.transport.jsonrpc.Request request, RpcConverter<T> converter) {
+            this.request = request;
+            this.converter = converter;
+        }
+
+        @Override
+        String encode() throws IOException {
+            return codec.writeRequestAsString(new foundation.icon.icx.transport.jsonrpc.Request(
+                    reserveIds(1), request.getMethod(), request.getParams()));
+        }
+
+        @Override
+        T decode(List<Response> responses) throws IOException {
+            Response response = responses.get(0);
+            if (response.getError() != null) {
+                throw response.getError();
+            }
+            return converter.convertTo(response.getResult());
+        }
+    }
+
+    private class BatchCall extends SocketCall<List<Response>> {
+        private final List<foundation.icon.icx.transport.jsonrpc.Request> requests;
+        private long firstId;
+
+        BatchCall(List<foundation.icon.icx.transport.jsonrpc.Request> requests) {
+            this.requests = requests;
+        }
+
+        @Override
+        String encode() throws IOException {
+            firstId = reserveIds(requests.size());
+            List<foundation.icon.icx.transport.jsonrpc.Request> renumbered = new ArrayList<>(requests.size());
+            for (int i = 0; i < requests.size(); i++) {
+                foundation.icon.icx.transport.jsonrpc.Request request = requests.get(i);
+                renumbered.add(new foundation.icon.icx.transport.jsonrpc.Request(
+                        firstId + i, request.getMethod(), request.getParams()));
+            }
+            return codec.writeRequestsAsString(renumbered);
+        }
+
+        @Override
+        List<Response> decode(List<Response> responses) {
+            // gives the responses the ids of the requests
+            List<Response> restored = new ArrayList<>(responses.size());
+            for (Response response : responses) {
+                long index = response.getId() - firstId;
+                if (response.getId() == 0 && response.getError() != null) {
+                    // the rejection of the whole batch, which fails all of its requests
+                    restored.add(response);
+                    continue;
+                }
+                if (index < 0 || index >= requests.size()) {
+                    continue;
+                }
+                restored.add(new Response(requests.get((int) index).getId(), response.getResult(), response.getError()));
+            }
+            return restored;
+        }
+    }
+
+    /**
+     * Builder for WebSocketProvider
+     */
+    public static class Builder {
+        private final String url;
+        private OkHttpClient httpClient;
+        private long timeoutNanos = TimeUnit.SECONDS.toNanos(30);
+        private Executor callbackExecutor;
+
+        /**
+         * Creates a builder for the provider
+         *
+         * @param url the WebSocket URL serving JSON-RPC, ex) {@code ws://localhost:9000/api/v3/ws}
+         */
+        public Builder(String url) {
+            if (url == null) {
+                throw new IllegalArgumentException("url not found");
+            }
+            this.url = url;
+        }
+
+        /**
+         * Sets the http client which makes the connection
+         *
+         * @param httpClient a custom http client
+         * @return the builder
+         */
+        public Builder httpClient(OkHttpClient httpClient) {
+            this.httpClient = httpClient;
+            return this;
+        }
+
+        /**
+         * Sets the maximum time to wait for a response (default: 30 seconds)
+         *
+         * @param duration the timeout
+         * @param unit the unit of the duration
+         * @return the builder
+         */
+        public Builder timeout(long duration, TimeUnit unit) {
+            if (duration <= 0) {
+                throw new IllegalArgumentException("Invalid timeout");
+            }
+            this.timeoutNanos = unit.toNanos(duration);
+            return this;
+        }
+
+        /**
+         * Sets the executor which decodes the responses and calls the callbacks (default: shared daemon threads)
+         *
+         * @param executor the executor
+         * @return the builder
+         */
+        public Builder callbackExecutor(Executor executor) {
+            this.callbackExecutor = executor;
+            return this;
+        }
+
+        public WebSocketProvider build() {
+            return new WebSocketProvider(this);
+        }
+    }
+}
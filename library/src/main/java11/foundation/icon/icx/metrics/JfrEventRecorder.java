@@ -0,0 +1,128 @@
+/*
+ * Copyright 2026 ICON Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package foundation.icon.icx.metrics;
+
+/**
+ * Records the events with JDK Flight Recorder.
+ * An event is created only if a recording enables its type, so nothing is allocated otherwise.
+ */
+final class JfrEventRecorder implements EventRecorder {
+    // Events never committed, to check whether their types are enabled
+    private final IcxRpcRequest request = new IcxRpcRequest();
+    private final IcxRpcDecode decode = new IcxRpcDecode();
+    private final IcxSign sign = new IcxSign();
+    private final IcxMonitorEvent monitor = new IcxMonitorEvent();
+    private final IcxKeystoreDecrypt decrypt = new IcxKeystoreDecrypt();
+
+    @Override
+    public boolean isRequestEnabled() {
+        return request.isEnabled();
+    }
+
+    @Override
+    public Object beginRequest() {
+        if (!request.isEnabled()) {
+            return null;
+        }
+        IcxRpcRequest event = new IcxRpcRequest();
+        event.begin();
+        return event;
+    }
+
+    @Override
+    public void endRequest(Object event, String method, long requestBytes, long responseBytes,
+                           long errorCode, String failure) {
+        IcxRpcRequest e = (IcxRpcRequest) event;
+        e.end();
+        if (e.shouldCommit()) {
+            e.method = method;
+            e.requestBytes = requestBytes;
+            e.responseBytes = responseBytes;
+            e.errorCode = errorCode;
+            e.failure = failure;
+            e.commit();
+        }
+    }
+
+    @Override
+    public Object beginDecode() {
+        if (!decode.isEnabled()) {
+            return null;
+        }
+        IcxRpcDecode event = new IcxRpcDecode();
+        event.begin();
+        return event;
+    }
+
+    @Override
+    public void endDecode(Object event, long size) {
+        IcxRpcDecode e = (IcxRpcDecode) event;
+        e.end();
+        if (e.shouldCommit()) {
+            e.size = size;
+            e.commit();
+        }
+    }
+
+    @Override
+    public Object beginSign() {
+        if (!sign.isEnabled()) {
+            return null;
+        }
+        IcxSign event = new IcxSign();
+        event.begin();
+        return event;
+    }
+
+    @Override
+    public void endSign(Object event) {
+        ((IcxSign) event).commit();
+    }
+
+    @Override
+    public void monitorEvent(String path, long size) {
+        if (!monitor.isEnabled()) {
+            return;
+        }
+        IcxMonitorEvent event = new IcxMonitorEvent();
+        if (event.shouldCommit()) {
+            event.path = path;
+            event.size = size;
+            event.commit();
+        }
+    }
+
+    @Override
+    public Object beginDecrypt() {
+        if (!decrypt.isEnabled()) {
+            return null;
+        }
+        IcxKeystoreDecrypt event = new IcxKeystoreDecrypt();
+        event.begin();
+        return event;
+    }
+
+    @Override
+    public void endDecrypt(Object event, String kdf) {
+        IcxKeystoreDecrypt e = (IcxKeystoreDecrypt) event;
+        e.end();
+        if (e.shouldCommit()) {
+            e.kdf = kdf;
+            e.commit();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2026 ICON Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package foundation.icon.icx.transport.monitor;
+
+import java.util.concurrent.Flow;
+
+/**
+ * The {@code FlowMonitorPublisher} class exposes a monitor as a {@link Flow.Publisher}.
+ * <p>
+ * It delegates to a {@link MonitorPublisher}, so the demand and the lifecycle of the monitor are the same.
+ * It is in the Java 11 part of the multi-release jar.
+ * <pre>{@code
+ * Flow.Publisher<BlockNotification> publisher = new FlowMonitorPublisher<>(
+ *         provider.monitor(new BlockMonitorSpec(height, null), Converters.BLOCK_NOTIFICATION));
+ * publisher.subscribe(subscriber);
+ * }</pre>
+ *
+ * @param <T> the notification class
+ */
+public class FlowMonitorPublisher<T> implements Flow.Publisher<T> {
+    private final MonitorPublisher<T> publisher;
+
+    public FlowMonitorPublisher(Monitor<T> monitor) {
+        this.publisher = new MonitorPublisher<>(monitor);
+    }
+
+    /**
+     * Subscribes to the notifications and starts the monitor.
+     *
+     * @param subscriber the subscriber
+     * @see MonitorPublisher#subscribe(MonitorPublisher.Subscriber)
+     */
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        if (subscriber == null) {
+            throw new NullPointerException();
+        }
+        publisher.subscribe(new MonitorPublisher.Subscriber<T>() {
+            @Override
+            public void onSubscribe(MonitorPublisher.Subscription subscription) {
+                subscriber.onSubscribe(new Flow.Subscription() {
+                    @Override
+                    public void request(long n) {
+                        subscription.request(n);
+                    }
+
+                    @Override
+                    public void cancel() {
+                        subscription.cancel();
+                    }
+                });
+            }
+
+            @Override
+            public void onNext(T item) {
+                subscriber.onNext(item);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                subscriber.onError(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                subscriber.onComplete();
+            }
+        });
+    }
+}
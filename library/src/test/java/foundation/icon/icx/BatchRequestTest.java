@@ -0,0 +1,236 @@
+/*
+ * Copyright 2026 ICON Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package foundation.icon.icx;
+
+import foundation.icon.icx.data.Address;
+import foundation.icon.icx.data.Block;
+import foundation.icon.icx.data.Bytes;
+import foundation.icon.icx.transport.jsonrpc.Response;
+import foundation.icon.icx.transport.jsonrpc.RpcCodec;
+import foundation.icon.icx.transport.jsonrpc.RpcConverter;
+import foundation.icon.icx.transport.jsonrpc.RpcError;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BatchRequestTest {
+    private static final Address ADDRESS = new Address("hx4873b94352c8c1f3b2f09aaeccea31ce9e90bd31");
+
+    @Test
+    void testCorrelateResponses() throws IOException {
+        BatchProvider provider = new BatchProvider();
+        IconService iconService = new IconService(provider);
+        BatchRequest batch = iconService.newBatch();
+
+        BatchRequest.Item<BigInteger> balance = batch.add(s -> s.getBalance(ADDRESS));
+        BatchRequest.Item<Block> block = batch.add(s -> s.getBlock(BigInteger.TEN));
+        BatchRequest.Item<BigInteger> supply = batch.add(s -> s.getTotalSupply());
+        assertEquals(3, batch.size());
+        assertFalse(balance.isDone());
+
+        batch.execute();
+        assertEquals(1, provider.batches.size());
+        assertEquals(0, batch.size());
+        assertEquals(BigInteger.valueOf(1), balance.execute());
+        assertEquals(BigInteger.TEN, block.execute().getHeight());
+        assertEquals(BigInteger.valueOf(3), supply.execute());
+        assertNull(balance.getError());
+    }
+
+    @Test
+    void testPerItemError() throws IOException {
+        BatchProvider provider = new BatchProvider();
+        IconService iconService = new IconService(provider);
+        BatchRequest batch = iconService.newBatch();
+
+        BatchRequest.Item<BigInteger> balance = batch.add(s -> s.getBalance(ADDRESS));
+        BatchRequest.Item<Block> missing = batch.add(s -> s.getBlock(new Bytes("0x1234")));
+
+        // executing an item sends the whole batch
+        assertEquals(BigInteger.ONE, balance.execute());
+        assertTrue(missing.isDone());
+        RpcError error = assertThrows(RpcError.class, missing::execute);
+        assertEquals(-32602, error.getCode());
+        assertEquals(-32602, missing.getError().getCode());
+        assertEquals(1, provider.batches.size());
+    }
+
+    @Test
+    void testSplitBatches() throws IOException {
+        BatchProvider provider = new BatchProvider();
+        IconService iconService = new IconService(provider);
+        BatchRequest batch = iconService.newBatch(4);
+
+        List<BatchRequest.Item<BigInteger>> items = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            items.add(batch.add(s -> s.getBalance(ADDRESS)));
+        }
+        BatchRequest.Item<BigInteger> step = batch.add(s -> s.estimateStep(
+                TransactionBuilder.newBuilder().nid(BigInteger.ONE).from(ADDRESS).to(ADDRESS).build()));
+        batch.execute();
+
+        // icx requests are split by the size, and the debug request is sent separately
+        assertEquals(4, provider.batches.size());
+        assertEquals(4, provider.batches.get(0).size());
+        assertEquals(4, provider.batches.get(1).size());
+        assertEquals(2, provider.batches.get(2).size());
+        assertEquals("debug_estimateStep", provider.batches.get(3).get(0).getMethod());
+        for (BatchRequest.Item<BigInteger> item : items) {
+            assertEquals(BigInteger.ONE, item.execute());
+        }
+        assertEquals(BigInteger.valueOf(100000), step.execute());
+    }
+
+    @Test
+    void testBatchRejected() {
+        BatchProvider provider = new BatchProvider();
+        provider.rejectAll = true;
+        IconService iconService = new IconService(provider);
+        BatchRequest batch = iconService.newBatch();
+
+        BatchRequest.Item<BigInteger> balance = batch.add(s -> s.getBalance(ADDRESS));
+        BatchRequest.Item<BigInteger> supply = batch.add(s -> s.getTotalSupply());
+        assertEquals(-32600, assertThrows(RpcError.class, balance::execute).getCode());
+        assertEquals(-32600, assertThrows(RpcError.class, supply::execute).getCode());
+    }
+
+    @Test
+    void testUnsupportedBatch() {
+        BatchProvider provider = new BatchProvider();
+        provider.unsupported = true;
+        IconService iconService = new IconService(provider);
+        BatchRequest batch = iconService.newBatch(1);
+
+        BatchRequest.Item<BigInteger> balance = batch.add(s -> s.getBalance(ADDRESS));
+        BatchRequest.Item<BigInteger> supply = batch.add(s -> s.getTotalSupply());
+        assertThrows(UnsupportedOperationException.class, batch::execute);
+        // every chunk is completed, so no item waits forever
+        assertEquals(2, provider.batches.size());
+        assertTrue(balance.isDone());
+        assertTrue(supply.isDone());
+        assertThrows(UnsupportedOperationException.class, supply::execute);
+    }
+
+    @Test
+    void testExecuteAsync() throws Exception {
+        BatchProvider provider = new BatchProvider();
+        IconService iconService = new IconService(provider);
+        BatchRequest batch = iconService.newBatch(2);
+
+        BatchRequest.Item<BigInteger> balance = batch.add(s -> s.getBalance(ADDRESS));
+        BatchRequest.Item<BigInteger> supply = batch.add(s -> s.getTotalSupply());
+        BatchRequest.Item<Block> block = batch.add(s -> s.getBlock(BigInteger.ONE));
+
+        CompletableFuture<BigInteger> result = new CompletableFuture<>();
+        supply.execute(new Callback<BigInteger>() {
+            @Override
+            public void onSuccess(BigInteger value) {
+                result.complete(value);
+            }
+
+            @Override
+            public void onFailure(Exception exception) {
+                result.completeExceptionally(exception);
+            }
+        });
+        assertEquals(BigInteger.valueOf(3), result.get(1, TimeUnit.SECONDS));
+        assertEquals(2, provider.batches.size());
+        assertTrue(balance.isDone());
+        assertEquals(BigInteger.ONE, block.execute().getHeight());
+    }
+
+    @Test
+    void testRejectForeignRequest() {
+        IconService iconService = new IconService(new BatchProvider());
+        BatchRequest batch = iconService.newBatch();
+        assertThrows(IllegalArgumentException.class, () -> batch.add(s -> iconService.getTotalSupply()));
+    }
+
+    // Answers the batch like a node, in the reverse order of the requests
+    private static class BatchProvider implements Provider {
+        private final RpcCodec codec = new RpcCodec();
+        private final List<List<foundation.icon.icx.transport.jsonrpc.Request>> batches = new ArrayList<>();
+        private boolean rejectAll;
+        private boolean unsupported;
+
+        @Override
+        public <T> Request<T> request(foundation.icon.icx.transport.jsonrpc.Request request, RpcConverter<T> converter) {
+            return null;
+        }
+
+        @Override
+        public Request<List<Response>> batch(List<foundation.icon.icx.transport.jsonrpc.Request> requests) {
+            batches.add(requests);
+            if (unsupported) {
+                throw new UnsupportedOperationException("Batch is not supported");
+            }
+            return new Request<List<Response>>() {
+                @Override
+                public List<Response> execute() throws IOException {
+                    if (rejectAll) {
+                        return codec.readResponses("{\"jsonrpc\":\"2.0\",\"id\":null," +
+                                "\"error\":{\"code\":-32600,\"message\":\"Invalid Request\"}}");
+                    }
+                    List<String> items = new ArrayList<>();
+                    for (foundation.icon.icx.transport.jsonrpc.Request request : requests) {
+                        items.add("{\"jsonrpc\":\"2.0\",\"id\":" + request.getId() + "," + answer(request) + "}");
+                    }
+                    Collections.reverse(items);
+                    return codec.readResponses("[" + String.join(",", items) + "]");
+                }
+
+                @Override
+                public void execute(Callback<List<Response>> callback) {
+                    new Thread(() -> {
+                        try {
+                            callback.onSuccess(execute());
+                        } catch (IOException e) {
+                            callback.onFailure(e);
+                        }
+                    }).start();
+                }
+            };
+        }
+
+        private String answer(foundation.icon.icx.transport.jsonrpc.Request request) {
+            switch (request.getMethod()) {
+                case "icx_getBalance":
+                    return "\"result\":\"0x1\"";
+                case "icx_getTotalSupply":
+                    return "\"result\":\"0x3\"";
+                case "icx_getBlockByHeight":
+                    return "\"result\":{\"height\":" + request.getParams().getItem("height").asInteger() + "}";
+                case "debug_estimateStep":
+                    return "\"result\":\"0x186a0\"";
+                default:
+                    return "\"error\":{\"code\":-32602,\"message\":\"Invalid params\"}";
+            }
+        }
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2026 ICON Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package foundation.icon.icx;
+
+import foundation.icon.icx.data.Block;
+import foundation.icon.icx.data.Bytes;
+import foundation.icon.icx.data.TransactionResult;
+import foundation.icon.icx.simulator.NodeSimulator;
+import foundation.icon.icx.transport.http.HttpProvider;
+import foundation.icon.icx.transport.jsonrpc.Response;
+import foundation.icon.icx.transport.jsonrpc.RpcConverter;
+import foundation.icon.icx.transport.jsonrpc.RpcError;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TransactionResultsTest {
+
+    @Test
+    void testResultsOfBlock() throws Exception {
+        try (NodeSimulator node = new NodeSimulator.Builder().startHeight(10).transactionsPerBlock(95).build()) {
+            CountingProvider provider = new CountingProvider(new HttpProvider(node.getUrl()), true);
+            IconService iconService = new IconService(provider);
+            Block block = iconService.getBlock(BigInteger.valueOf(5)).execute();
+
+            List<TransactionResult> results = iconService.getTransactionResults(block).execute();
+            assertResults(block, results);
+            assertEquals(10, provider.batches.get());
+            assertTrue(provider.maxInFlight.get() <= IconService.DEFAULT_RESULT_PARALLELISM);
+
+            provider.maxInFlight.set(0);
+            results = iconService.getTransactionResults(hashesOf(block), 20, 1).executeAsync().get();
+            assertResults(block, results);
+            assertEquals(10 + 5, provider.batches.get());
+            assertEquals(1, provider.maxInFlight.get());
+
+            assertEquals(0, iconService.getTransactionResults(Collections.emptyList()).execute().size());
+        }
+    }
+
+    @Test
+    void testWithoutBatch() throws Exception {
+        try (NodeSimulator node = new NodeSimulator.Builder().startHeight(10).transactionsPerBlock(25).build()) {
+            CountingProvider provider = new CountingProvider(new HttpProvider(node.getUrl()), false);
+            IconService iconService = new IconService(provider);
+            Block block = iconService.getBlock(BigInteger.valueOf(5)).execute();
+
+            assertResults(block, iconService.getTransactionResults(block).execute());
+            assertEquals(0, provider.batches.get());
+        }
+    }
+
+    @Test
+    void testNotFound() throws Exception {
+        try (NodeSimulator node = new NodeSimulator.Builder().startHeight(10).build()) {
+            IconService iconService = new IconService(new HttpProvider(node.getUrl()));
+            List<Bytes> hashes = hashesOf(iconService.getBlock(BigInteger.valueOf(5)).execute());
+            hashes.add(3, new Bytes(new byte[32]));
+
+            RpcError error = assertThrows(RpcError.class, () -> iconService.getTransactionResults(hashes).execute());
+            assertEquals(-31004, error.getCode());
+            ExecutionException e = assertThrows(ExecutionException.class,
+                    () -> iconService.getTransactionResults(hashes).executeAsync().get());
+            assertTrue(e.getCause() instanceof RpcError);
+            assertThrows(IllegalArgumentException.class, () -> iconService.getTransactionResults(hashes, 0, 1));
+        }
+    }
+
+    private static List<Bytes> hashesOf(Block block) {
+        List<Bytes> hashes = new ArrayList<>();
+        block.getTransactions().forEach(tx -> hashes.add(tx.getTxHash()));
+        return hashes;
+    }
+
+    private static void assertResults(Block block, List<TransactionResult> results) {
+        assertEquals(block.getTransactions().size(), results.size());
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(block.getTransactions().get(i).getTxHash(), results.get(i).getTxHash());
+            assertEquals(block.getHeight(), results.get(i).getBlockHeight());
+        }
+    }
+
+    // Counts the batches and the most batches in flight at once
+    private static class CountingProvider implements Provider {
+        private final Provider provider;
+        private final boolean batchSupported;
+        final AtomicInteger batches = new AtomicInteger();
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger maxInFlight = new AtomicInteger();
+
+        CountingProvider(Provider provider, boolean batchSupported) {
+            this.provider = provider;
+            this.batchSupported = batchSupported;
+        }
+
+        @Override
+        public <T> Request<T> request(foundation.icon.icx.transport.jsonrpc.Request request, RpcConverter<T> converter) {
+            return provider.request(request, converter);
+        }
+
+        @Override
+        public Request<List<Response>> batch(List<foundation.icon.icx.transport.jsonrpc.Request> requests) {
+            if (!batchSupported) {
+                throw new UnsupportedOperationException();
+            }
+            Request<List<Response>> batch = provider.batch(requests);
+            return new Request<List<Response>>() {
+                @Override
+                public List<Response> execute() {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public void execute(Callback<List<Response>> callback) {
+                    batches.incrementAndGet();
+                    maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                    batch.execute(new Callback<List<Response>>() {
+                        @Override
+                        public void onSuccess(List<Response> result) {
+                            inFlight.decrementAndGet();
+                            callback.onSuccess(result);
+                        }
+
+                        @Override
+                        public void onFailure(Exception exception) {
+                            inFlight.decrementAndGet();
+                            callback.onFailure(exception);
+                        }
+                    });
+                }
+            };
+        }
+    }
+}
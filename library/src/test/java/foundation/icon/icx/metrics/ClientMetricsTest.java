@@ -0,0 +1,190 @@
+/*
+ * Copyright 2026 ICON Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package foundation.icon.icx.metrics;
+
+import foundation.icon.icx.KeyWallet;
+import foundation.icon.icx.SampleKeys;
+import foundation.icon.icx.data.Bytes;
+import foundation.icon.icx.data.Converters;
+import foundation.icon.icx.transport.http.HttpProvider;
+import foundation.icon.icx.transport.jsonrpc.Request;
+import foundation.icon.icx.transport.jsonrpc.RpcError;
+import foundation.icon.icx.transport.jsonrpc.RpcItem;
+import foundation.icon.icx.transport.monitor.BlockMonitorSpec;
+import foundation.icon.icx.transport.monitor.Monitor;
+import okhttp3.WebSocket;
+import okhttp3.WebSocketListener;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ClientMetricsTest {
+
+    @AfterEach
+    void tearDown() {
+        ClientMetrics.install(null);
+    }
+
+    @Test
+    void testHistogram() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(TimeUnit.MILLISECONDS.toNanos(i));
+        }
+        assertEquals(100, histogram.getCount());
+        assertEquals(100, histogram.getMax(TimeUnit.MILLISECONDS));
+        assertEquals(50.5, histogram.getMean(TimeUnit.MILLISECONDS), 0.01);
+        long p50 = histogram.getPercentile(0.5, TimeUnit.MILLISECONDS);
+        assertTrue(p50 >= 50 && p50 <= 63, "p50=" + p50);
+        assertEquals(100, histogram.getPercentile(1.0, TimeUnit.MILLISECONDS));
+
+        for (long value = 1; value < Long.MAX_VALUE / 2; value = value * 3 + 1) {
+            int index = LatencyHistogram.indexOf(value);
+            assertTrue(value <= LatencyHistogram.upperBoundOf(index));
+            assertTrue(index == 0 || value > LatencyHistogram.upperBoundOf(index - 1));
+        }
+    }
+
+    @Test
+    void testRequestMetrics() throws Exception {
+        RecordingMetrics metrics = new RecordingMetrics();
+        ClientMetrics.install(metrics);
+        try (MockWebServer server = new MockWebServer()) {
+            server.enqueue(new MockResponse().setBody("{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":\"0x10\"}")
+                    .setBodyDelay(50, TimeUnit.MILLISECONDS));
+            server.enqueue(new MockResponse().setBody(
+                    "{\"jsonrpc\":\"2.0\",\"id\":2,\"error\":{\"code\":-32602,\"message\":\"Invalid params\"}}"));
+            server.start();
+            HttpProvider provider = new HttpProvider(server.url("/").toString().replaceFirst("/$", ""), 3);
+
+            assertEquals(BigInteger.valueOf(16), provider.request(
+                    new Request(1, "icx_getTotalSupply", null), Converters.BIG_INTEGER).execute());
+            Throwable t = assertThrows(ExecutionException.class, () -> provider.request(
+                    new Request(2, "icx_getTotalSupply", null), Converters.BIG_INTEGER).executeAsync().get());
+            assertTrue(t.getCause() instanceof RpcError);
+            server.shutdown();
+            assertThrows(IOException.class, () -> provider.request(
+                    new Request(3, "icx_getTotalSupply", null), Converters.BIG_INTEGER).execute());
+        }
+
+        RecordingMetrics.MethodMetrics method = metrics.getMethod("icx_getTotalSupply");
+        assertEquals(2, method.getCount());
+        assertEquals(1, method.getErrorCount());
+        assertEquals(1, method.getFailureCount());
+        assertEquals(2 * "{\"jsonrpc\":\"2.0\",\"id\":1,\"method\":\"icx_getTotalSupply\"}".length(),
+                method.getRequestBytes());
+        assertTrue(method.getResponseBytes() > 0);
+        // the body delay is spent in reading the body
+        assertTrue(method.getDecodeLatency().getMax(TimeUnit.MILLISECONDS) >= 40);
+        assertEquals(1L, (long) metrics.getErrorCounts().get(-32602L));
+    }
+
+    @Test
+    void testMalformedResponse() throws Exception {
+        RecordingMetrics metrics = new RecordingMetrics();
+        ClientMetrics.install(metrics);
+        try (MockWebServer server = new MockWebServer()) {
+            server.enqueue(new MockResponse().setBody("{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":"));
+            server.enqueue(new MockResponse().setBody("not json"));
+            server.start();
+            HttpProvider provider = new HttpProvider(server.url("/").toString().replaceFirst("/$", ""), 3);
+
+            assertThrows(IOException.class, () -> provider.request(
+                    new Request(1, "icx_getTotalSupply", null), Converters.BIG_INTEGER).execute());
+            Throwable t = assertThrows(ExecutionException.class, () -> provider.request(
+                    new Request(2, "icx_getTotalSupply", null), Converters.BIG_INTEGER).executeAsync().get());
+            assertTrue(t.getCause() instanceof IOException);
+        }
+
+        // a response which could not be decoded is reported as a failure
+        RecordingMetrics.MethodMetrics method = metrics.getMethod("icx_getTotalSupply");
+        assertEquals(0, method.getCount());
+        assertEquals(2, method.getFailureCount());
+    }
+
+    @Test
+    void testMonitorMetrics() throws Exception {
+        RecordingMetrics metrics = new RecordingMetrics();
+        ClientMetrics.install(metrics);
+        try (MockWebServer server = new MockWebServer()) {
+            server.enqueue(new MockResponse().withWebSocketUpgrade(new WebSocketListener() {
+                @Override
+                public void onMessage(WebSocket webSocket, String text) {
+                    webSocket.send("{\"code\":0}");
+                    for (int i = 1; i <= 3; i++) {
+                        webSocket.send("{\"height\":\"0x" + i + "\",\"hash\":\"0x1234\"}");
+                    }
+                }
+
+                @Override
+                public void onClosing(WebSocket webSocket, int code, String reason) {
+                    webSocket.close(1000, null);
+                }
+            }));
+            server.start();
+            HttpProvider provider = new HttpProvider(server.url("/").toString().replaceFirst("/$", ""), 3);
+            Monitor<RpcItem> monitor = provider.monitor(
+                    new BlockMonitorSpec(BigInteger.ONE, null), Converters.RPC_ITEM);
+            CountDownLatch events = new CountDownLatch(3);
+            assertTrue(monitor.start(new Monitor.Listener<RpcItem>() {
+                @Override
+                public void onStart() {
+                }
+
+                @Override
+                public void onEvent(RpcItem msg) {
+                    events.countDown();
+                }
+
+                @Override
+                public void onError(long code) {
+                }
+
+                @Override
+                public void onClose() {
+                }
+            }));
+            assertTrue(events.await(1, TimeUnit.SECONDS));
+            monitor.stop();
+        }
+        assertEquals(3, metrics.getMonitor("block").getEventCount());
+        assertTrue(metrics.getMonitor("block").getEventRate() > 0);
+    }
+
+    @Test
+    void testSigningMetrics() {
+        KeyWallet wallet = KeyWallet.load(new Bytes(SampleKeys.PRIVATE_KEY_STRING));
+        byte[] hash = new byte[32];
+        wallet.sign(hash);
+        RecordingMetrics metrics = new RecordingMetrics();
+        ClientMetrics.install(metrics);
+        wallet.sign(hash);
+        assertEquals(1, metrics.getSigning().getCount());
+        assertTrue(metrics.getSigning().getMax(TimeUnit.NANOSECONDS) > 0);
+    }
+}
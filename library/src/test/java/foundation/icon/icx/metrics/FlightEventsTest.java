@@ -0,0 +1,95 @@
+/*
+ * Copyright 2026 ICON Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package foundation.icon.icx.metrics;
+
+import foundation.icon.icx.KeyWallet;
+import foundation.icon.icx.SampleKeys;
+import foundation.icon.icx.data.Bytes;
+import foundation.icon.icx.data.Converters;
+import foundation.icon.icx.transport.http.HttpProvider;
+import foundation.icon.icx.transport.jsonrpc.Request;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class FlightEventsTest {
+
+    @Test
+    void testDisabledByDefault() {
+        assertNull(FlightEvents.beginRequest());
+        assertNull(FlightEvents.beginDecode());
+        // the events without a begin are ignored
+        FlightEvents.endRequest(null, "icx_call", 0, 0, 0, null);
+        FlightEvents.endSign(null);
+    }
+
+    @Test
+    void testRecordEvents() throws Exception {
+        assumeTrue(FlightEvents.isAvailable(), "no jdk.jfr");
+        Path file = Files.createTempFile("icx", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("foundation.icon.icx.RpcRequest");
+            recording.enable("foundation.icon.icx.RpcDecode");
+            recording.enable("foundation.icon.icx.Sign");
+            recording.start();
+
+            try (MockWebServer server = new MockWebServer()) {
+                server.enqueue(new MockResponse().setBody("{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":\"0x10\"}"));
+                server.start();
+                HttpProvider provider = new HttpProvider(server.url("/").toString().replaceFirst("/$", ""), 3);
+                assertEquals(BigInteger.valueOf(16), provider.request(
+                        new Request(1, "icx_getTotalSupply", null), Converters.BIG_INTEGER).execute());
+            }
+            KeyWallet wallet = KeyWallet.load(new Bytes(SampleKeys.PRIVATE_KEY_STRING));
+            wallet.sign(new byte[32]);
+
+            recording.stop();
+            recording.dump(file);
+        }
+        try {
+            Map<String, List<RecordedEvent>> events = RecordingFile.readAllEvents(file).stream()
+                    .collect(Collectors.groupingBy(e -> e.getEventType().getName()));
+            List<RecordedEvent> requests = events.get("foundation.icon.icx.RpcRequest");
+            assertNotNull(requests);
+            RecordedEvent request = requests.get(0);
+            assertEquals("icx_getTotalSupply", request.getString("method"));
+            assertTrue(request.getLong("requestBytes") > 0);
+            assertEquals(40, request.getLong("responseBytes"));
+            assertEquals(0, request.getLong("errorCode"));
+            assertTrue(events.get("foundation.icon.icx.RpcDecode").get(0).getLong("size") > 0);
+            assertEquals(1, events.get("foundation.icon.icx.Sign").size());
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
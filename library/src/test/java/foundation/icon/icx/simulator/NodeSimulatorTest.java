@@ -0,0 +1,209 @@
+/*
+ * Copyright 2026 ICON Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package foundation.icon.icx.simulator;
+
+import foundation.icon.icx.BatchRequest;
+import foundation.icon.icx.Call;
+import foundation.icon.icx.IconService;
+import foundation.icon.icx.KeyWallet;
+import foundation.icon.icx.SampleKeys;
+import foundation.icon.icx.SignedTransaction;
+import foundation.icon.icx.Transaction;
+import foundation.icon.icx.TransactionBuilder;
+import foundation.icon.icx.data.Address;
+import foundation.icon.icx.data.Block;
+import foundation.icon.icx.data.BlockNotification;
+import foundation.icon.icx.data.Bytes;
+import foundation.icon.icx.data.ConfirmedTransaction;
+import foundation.icon.icx.data.TransactionResult;
+import foundation.icon.icx.transport.http.HttpProvider;
+import foundation.icon.icx.transport.jsonrpc.RpcError;
+import foundation.icon.icx.transport.jsonrpc.RpcObject;
+import foundation.icon.icx.transport.monitor.Monitor;
+import org.bouncycastle.jcajce.provider.digest.SHA3;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NodeSimulatorTest {
+    private static final Address SCORE = new Address("cx0000000000000000000000000000000000000001");
+
+    @Test
+    void testQueries() throws Exception {
+        try (NodeSimulator node = new NodeSimulator.Builder()
+                .transactionsPerBlock(5)
+                .eventLogsPerResult(3)
+                .build()) {
+            IconService iconService = new IconService(new HttpProvider(node.getUrl()));
+
+            Block last = iconService.getLastBlock().execute();
+            assertEquals(BigInteger.valueOf(node.getLastHeight()), last.getHeight());
+            Block block = iconService.getBlock(BigInteger.TEN).execute();
+            assertEquals(BigInteger.TEN, block.getHeight());
+            assertEquals(5, block.getTransactions().size());
+            // the same height has the same block
+            assertEquals(block.getBlockHash(), iconService.getBlock(BigInteger.TEN).execute().getBlockHash());
+            assertEquals(iconService.getBlock(BigInteger.valueOf(9)).execute().getBlockHash(),
+                    block.getPrevBlockHash());
+
+            ConfirmedTransaction tx = block.getTransactions().get(2);
+            TransactionResult result = iconService.getTransactionResult(tx.getTxHash()).execute();
+            assertEquals(BigInteger.TEN, result.getBlockHeight());
+            assertEquals(BigInteger.valueOf(2), result.getTxIndex());
+            assertEquals(3, result.getEventLogs().size());
+
+            RpcError error = assertThrows(RpcError.class, () -> iconService.getBlock(
+                    BigInteger.valueOf(node.getLastHeight() + 100)).execute());
+            assertEquals(-31004, error.getCode());
+            error = assertThrows(RpcError.class, () -> iconService.getTransactionResult(
+                    new Bytes("0x2600770376fbf291d3d445054d45ed15280dd33c2038931aace3f7ea2ab59dbc")).execute());
+            assertEquals(-31004, error.getCode());
+
+            Call<BigInteger> call = new Call.Builder().to(SCORE).method("balanceOf").buildWith(BigInteger.class);
+            assertNotNull(iconService.call(call).execute());
+        }
+    }
+
+    @Test
+    void testSendTransaction() throws Exception {
+        try (NodeSimulator node = new NodeSimulator.Builder()
+                .blockInterval(100, TimeUnit.MILLISECONDS)
+                .build()) {
+            IconService iconService = new IconService(new HttpProvider(node.getUrl()));
+            KeyWallet wallet = KeyWallet.load(new Bytes(SampleKeys.PRIVATE_KEY_STRING));
+            Transaction transaction = TransactionBuilder.newBuilder()
+                    .nid(BigInteger.ONE)
+                    .from(wallet.getAddress())
+                    .to(SCORE)
+                    .stepLimit(BigInteger.valueOf(100000))
+                    .call("transfer")
+                    .build();
+            SignedTransaction signed = new SignedTransaction(transaction, wallet);
+
+            Bytes txHash = iconService.sendTransaction(signed).execute();
+            assertEquals(hashOf(signed.getProperties()), txHash);
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+            TransactionResult result = null;
+            while (result == null) {
+                try {
+                    result = iconService.getTransactionResult(txHash).execute();
+                } catch (RpcError e) {
+                    // pending until the next block
+                    assertEquals(-31002, e.getCode());
+                    assertTrue(System.nanoTime() < deadline);
+                    Thread.sleep(20);
+                }
+            }
+            assertEquals(txHash, result.getTxHash());
+            assertEquals(BigInteger.ONE, result.getStatus());
+        }
+    }
+
+    private static Bytes hashOf(RpcObject properties) {
+        RpcObject.Builder builder = new RpcObject.Builder();
+        for (String key : properties.keySet()) {
+            if (!"signature".equals(key)) {
+                builder.put(key, properties.getItem(key));
+            }
+        }
+        String serialized = SignedTransaction.TransactionSerializer.serialize(builder.build());
+        return new Bytes(new SHA3.Digest256().digest(serialized.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void testBatchAndErrors() throws Exception {
+        try (NodeSimulator node = new NodeSimulator.Builder()
+                .latency(5, TimeUnit.MILLISECONDS)
+                .errorRate(0.5, -32000)
+                .seed(42)
+                .build()) {
+            IconService iconService = new IconService(new HttpProvider(node.getUrl()));
+            BatchRequest batch = iconService.newBatch(100);
+            List<BatchRequest.Item<Block>> items = new ArrayList<>();
+            for (int i = 1; i <= 100; i++) {
+                BigInteger height = BigInteger.valueOf(i);
+                items.add(batch.add(service -> service.getBlock(height)));
+            }
+            long start = System.nanoTime();
+            batch.execute();
+            assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(5));
+
+            int errors = 0;
+            for (BatchRequest.Item<Block> item : items) {
+                if (item.getError() != null) {
+                    assertEquals(-32000, item.getError().getCode());
+                    errors++;
+                }
+            }
+            assertEquals(node.getInjectedErrorCount(), errors);
+            assertTrue(errors > 20 && errors < 80, "errors=" + errors);
+            assertEquals(100, node.getRequestCount());
+        }
+    }
+
+    @Test
+    void testMonitorBlocks() throws Exception {
+        try (NodeSimulator node = new NodeSimulator.Builder()
+                .blockInterval(50, TimeUnit.MILLISECONDS)
+                .build()) {
+            IconService iconService = new IconService(new HttpProvider(node.getUrl()));
+            long from = node.getLastHeight() - 2;
+            CountDownLatch events = new CountDownLatch(5);
+            Monitor<BlockNotification> monitor = iconService.monitorBlocks(BigInteger.valueOf(from));
+            assertTrue(monitor.start(new Monitor.Listener<BlockNotification>() {
+                private long next = from;
+
+                @Override
+                public void onStart() {
+                }
+
+                @Override
+                public void onEvent(BlockNotification event) {
+                    // the blocks come in order without a gap
+                    assertEquals(BigInteger.valueOf(next++), event.getHeight());
+                    events.countDown();
+                }
+
+                @Override
+                public void onError(long code) {
+                }
+
+                @Override
+                public void onClose() {
+                }
+            }));
+            assertTrue(events.await(2, TimeUnit.SECONDS));
+            monitor.stop();
+            // counted after the send returns, which may be after the client received it
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+            while (node.getNotificationCount() < 5 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertTrue(node.getNotificationCount() >= 5);
+        }
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright 2026 ICON Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package foundation.icon.icx.sync;
+
+import foundation.icon.icx.Provider;
+import foundation.icon.icx.Request;
+import foundation.icon.icx.data.Block;
+import foundation.icon.icx.simulator.NodeSimulator;
+import foundation.icon.icx.transport.http.HttpProvider;
+import foundation.icon.icx.transport.jsonrpc.RpcConverter;
+import foundation.icon.icx.transport.jsonrpc.RpcError;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BlockRangeFetcherTest {
+
+    @Test
+    void testOrderWithRetries() throws Exception {
+        try (NodeSimulator node = new NodeSimulator.Builder()
+                .startHeight(500)
+                .latency(0, 3, TimeUnit.MILLISECONDS)
+                .errorRate(0.05, -32000)
+                .build();
+             BlockRangeFetcher fetcher = new BlockRangeFetcher.Builder(provider(node, 16))
+                     .concurrency(16)
+                     .backoff(1, 10, TimeUnit.MILLISECONDS)
+                     .build()) {
+            List<Long> heights = new ArrayList<>();
+            fetcher.fetch(BigInteger.ONE, BigInteger.valueOf(501), block -> heights.add(block.getHeight().longValue()));
+
+            assertEquals(500, heights.size());
+            for (int i = 0; i < heights.size(); i++) {
+                assertEquals(i + 1, (long) heights.get(i));
+            }
+            assertEquals(500, fetcher.getFetchedCount());
+            assertEquals(node.getInjectedErrorCount(), fetcher.getRetryCount());
+            assertTrue(fetcher.getRetryCount() > 0);
+        }
+    }
+
+    @Test
+    void testConcurrency() throws Exception {
+        try (NodeSimulator node = new NodeSimulator.Builder()
+                .startHeight(100)
+                .latency(20, TimeUnit.MILLISECONDS)
+                .build();
+             BlockRangeFetcher fetcher = new BlockRangeFetcher.Builder(provider(node, 10))
+                     .concurrency(10)
+                     .build()) {
+            long start = System.nanoTime();
+            List<Block> blocks = new ArrayList<>();
+            fetcher.fetch(BigInteger.ONE, BigInteger.valueOf(101), blocks::add);
+            long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            assertEquals(100, blocks.size());
+            // 2 seconds one at a time
+            assertTrue(elapsed < 700, "elapsed=" + elapsed);
+        }
+    }
+
+    @Test
+    void testBoundedBytes() throws Exception {
+        try (NodeSimulator node = new NodeSimulator.Builder().startHeight(200).build()) {
+            HttpProvider provider = provider(node, 16);
+            long blockSize;
+            try (BlockRangeFetcher fetcher = new BlockRangeFetcher.Builder(provider).build()) {
+                fetcher.fetch(BigInteger.ONE, BigInteger.valueOf(2), block -> { });
+                blockSize = fetcher.getFetchedBytes();
+            }
+            // the sizes of the blocks differ by a few bytes
+            long margin = blockSize / 10;
+
+            try (BlockRangeFetcher fetcher = new BlockRangeFetcher.Builder(provider)
+                    .concurrency(16)
+                    .maxBytesInFlight(blockSize * 4)
+                    .build()) {
+                fetcher.fetch(BigInteger.ONE, BigInteger.valueOf(201), block -> sleep(1));
+                assertEquals(200, fetcher.getFetchedCount());
+                // one more block may land after the estimate of the requests in flight
+                assertTrue(fetcher.getMaxBufferedBytes() <= blockSize * 5 + margin,
+                        "buffered=" + fetcher.getMaxBufferedBytes());
+            }
+
+            try (BlockRangeFetcher fetcher = new BlockRangeFetcher.Builder(provider)
+                    .concurrency(16)
+                    .window(3)
+                    .build()) {
+                fetcher.fetch(BigInteger.ONE, BigInteger.valueOf(201), block -> sleep(1));
+                assertTrue(fetcher.getMaxBufferedBytes() <= blockSize * 3 + margin,
+                        "buffered=" + fetcher.getMaxBufferedBytes());
+            }
+        }
+    }
+
+    @Test
+    void testFailure() throws Exception {
+        try (NodeSimulator node = new NodeSimulator.Builder().startHeight(50).build();
+             BlockRangeFetcher fetcher = new BlockRangeFetcher.Builder(provider(node, 5)).build()) {
+            List<Long> heights = new ArrayList<>();
+            RpcError error = assertThrows(RpcError.class, () -> fetcher.fetch(BigInteger.valueOf(41),
+                    BigInteger.valueOf(61), block -> heights.add(block.getHeight().longValue())));
+            assertEquals(-31004, error.getCode());
+            assertEquals(0, fetcher.getRetryCount());
+            for (int i = 0; i < heights.size(); i++) {
+                assertEquals(41 + i, (long) heights.get(i));
+            }
+
+            IOException canceled = assertThrows(IOException.class, () -> fetcher.fetch(BigInteger.ONE,
+                    BigInteger.valueOf(51), block -> fetcher.cancel()));
+            assertEquals("Canceled", canceled.getMessage());
+            assertThrows(IllegalArgumentException.class,
+                    () -> fetcher.fetch(BigInteger.TEN, BigInteger.ONE, block -> { }));
+        }
+    }
+
+    @Test
+    void testFetchAfterClose() throws Exception {
+        try (NodeSimulator node = new NodeSimulator.Builder().startHeight(50).build()) {
+            BlockRangeFetcher fetcher = new BlockRangeFetcher.Builder(provider(node, 5)).build();
+            fetcher.close();
+
+            // a close which runs before the fetch starts still cancels it
+            List<Block> blocks = new ArrayList<>();
+            IOException canceled = assertThrows(IOException.class,
+                    () -> fetcher.fetch(BigInteger.ONE, BigInteger.valueOf(51), blocks::add));
+            assertEquals("Canceled", canceled.getMessage());
+            assertEquals(0, blocks.size());
+        }
+    }
+
+    @Test
+    void testRetryThrows() throws Exception {
+        try (NodeSimulator node = new NodeSimulator.Builder()
+                .startHeight(10)
+                .errorRate(1, -32000)
+                .build()) {
+            HttpProvider http = provider(node, 5);
+            AtomicInteger requests = new AtomicInteger();
+            Provider provider = new Provider() {
+                @Override
+                public <T> Request<T> request(foundation.icon.icx.transport.jsonrpc.Request request,
+                                              RpcConverter<T> converter) {
+                    if (requests.incrementAndGet() > 1) {
+                        throw new IllegalStateException("closed");
+                    }
+                    return http.request(request, converter);
+                }
+            };
+            try (BlockRangeFetcher fetcher = new BlockRangeFetcher.Builder(provider)
+                    .concurrency(1)
+                    .backoff(1, 1, TimeUnit.MILLISECONDS)
+                    .build()) {
+                // the retry throws on the timer thread, which ends the fetch instead of leaving it waiting
+                assertThrows(IllegalStateException.class,
+                        () -> fetcher.fetch(BigInteger.ONE, BigInteger.valueOf(11), block -> { }));
+                assertEquals(1, fetcher.getRetryCount());
+            }
+        }
+    }
+
+    private static HttpProvider provider(NodeSimulator node, int maxRequests) {
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequestsPerHost(maxRequests);
+        OkHttpClient client = new OkHttpClient.Builder().dispatcher(dispatcher).build();
+        return new HttpProvider(client, node.getUrl());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
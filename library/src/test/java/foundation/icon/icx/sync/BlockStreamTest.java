@@ -0,0 +1,119 @@
+/*
+ * Copyright 2026 ICON Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package foundation.icon.icx.sync;
+
+import foundation.icon.icx.simulator.NodeSimulator;
+import foundation.icon.icx.transport.http.HttpProvider;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BlockStreamTest {
+
+    @Test
+    void testHandover() throws Exception {
+        try (NodeSimulator node = new NodeSimulator.Builder()
+                .startHeight(300)
+                .blockInterval(20, TimeUnit.MILLISECONDS)
+                .build();
+             BlockStream stream = new BlockStream.Builder(new HttpProvider(node.getUrl()))
+                     .liveThreshold(5)
+                     .build()) {
+            List<Long> heights = new ArrayList<>();
+            stream.run(BigInteger.ONE, block -> {
+                heights.add(block.getHeight().longValue());
+                if (stream.getLiveStats().getBlockCount() == 20) {
+                    stream.close();
+                }
+            });
+
+            for (int i = 0; i < heights.size(); i++) {
+                assertEquals(i + 1, (long) heights.get(i));
+            }
+            assertEquals(BlockStream.Phase.LIVE, stream.getPhase());
+            long backfilled = stream.getBackfillStats().getBlockCount();
+            assertTrue(backfilled >= 300);
+            assertEquals(20, stream.getLiveStats().getBlockCount());
+            assertEquals(backfilled + 20, heights.size());
+            // the monitor started once, right after the last block backfilled
+            assertEquals(BigInteger.valueOf(backfilled + 1), stream.getHandoverHeight());
+            assertEquals(Collections.singletonList(backfilled + 1), node.getMonitorHeights());
+            assertTrue(stream.getBackfillStats().getBlockRate() > 0);
+            assertTrue(stream.getBackfillStats().getMaxLag() >= 300);
+            assertTrue(stream.getLiveStats().getLag() <= 1);
+        }
+    }
+
+    @Test
+    void testMonitorClosedInLive() throws Exception {
+        try (NodeSimulator node = new NodeSimulator.Builder()
+                .startHeight(50)
+                .blockInterval(20, TimeUnit.MILLISECONDS)
+                .build();
+             BlockStream stream = new BlockStream.Builder(new HttpProvider(node.getUrl()))
+                     .liveThreshold(5)
+                     .build()) {
+            List<Long> heights = new ArrayList<>();
+            IOException e = assertThrows(IOException.class, () -> stream.run(BigInteger.ONE, block -> {
+                heights.add(block.getHeight().longValue());
+                if (stream.getLiveStats().getBlockCount() == 5) {
+                    node.closeMonitors();
+                }
+            }));
+
+            assertEquals("Monitor closed", e.getMessage());
+            assertEquals(BlockStream.Phase.LIVE, stream.getPhase());
+            for (int i = 0; i < heights.size(); i++) {
+                assertEquals(i + 1, (long) heights.get(i));
+            }
+        }
+    }
+
+    @Test
+    void testCloseInBackfill() throws Exception {
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        try (NodeSimulator node = new NodeSimulator.Builder()
+                .startHeight(100_000)
+                .latency(5, TimeUnit.MILLISECONDS)
+                .build()) {
+            BlockStream stream = new BlockStream.Builder(new HttpProvider(node.getUrl())).build();
+            scheduler.schedule(stream::close, 200, TimeUnit.MILLISECONDS);
+            long start = System.nanoTime();
+            stream.run(BigInteger.ONE, block -> { });
+
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(2));
+            assertEquals(BlockStream.Phase.BACKFILL, stream.getPhase());
+            assertNull(stream.getHandoverHeight());
+            assertTrue(stream.getBackfillStats().getBlockCount() > 0);
+            assertTrue(node.getMonitorHeights().isEmpty());
+        } finally {
+            scheduler.shutdown();
+        }
+    }
+}
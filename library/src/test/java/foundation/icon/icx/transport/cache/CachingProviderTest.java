@@ -0,0 +1,143 @@
+/*
+ * Copyright 2026 ICON Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package foundation.icon.icx.transport.cache;
+
+import foundation.icon.icx.IconService;
+import foundation.icon.icx.data.Address;
+import foundation.icon.icx.data.Block;
+import foundation.icon.icx.data.Bytes;
+import foundation.icon.icx.simulator.FakeNode;
+import foundation.icon.icx.transport.jsonrpc.RpcError;
+import foundation.icon.icx.transport.jsonrpc.RpcItem;
+import foundation.icon.icx.transport.jsonrpc.RpcObject;
+import foundation.icon.icx.transport.jsonrpc.RpcValue;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CachingProviderTest {
+    private static final Address ADDRESS = new Address("hx4873b94352c8c1f3b2f09aaeccea31ce9e90bd31");
+    private static final Bytes TX_HASH =
+            new Bytes("0x2600770376fbf291d3d445054d45ed15280dd33c2038931aace3f7ea2ab59dbc");
+
+    @Test
+    void testCacheBlockByHeight() throws Exception {
+        FakeNode node = new FakeNode();
+        CachingProvider provider = new CachingProvider.Builder(node).build();
+        IconService iconService = new IconService(provider);
+
+        assertEquals(BigInteger.TEN, iconService.getBlock(BigInteger.TEN).execute().getHeight());
+        assertEquals(BigInteger.TEN, iconService.getBlock(BigInteger.TEN).execute().getHeight());
+        CompletableFuture<Block> future = iconService.getBlock(BigInteger.TEN).executeAsync();
+        assertEquals(BigInteger.TEN, future.get(1, TimeUnit.SECONDS).getHeight());
+        assertEquals(1, node.getCallCount());
+        assertEquals(2, provider.getHitCount());
+        assertEquals(1, provider.getMissCount());
+
+        iconService.getBlock(BigInteger.ONE).execute();
+        assertEquals(2, node.getCallCount());
+    }
+
+    @Test
+    void testNeverCacheLatest() throws IOException {
+        FakeNode node = new FakeNode();
+        CachingProvider provider = new CachingProvider.Builder(node).build();
+        IconService iconService = new IconService(provider);
+
+        for (int i = 0; i < 2; i++) {
+            iconService.getBalance(ADDRESS).execute();
+            iconService.getLastBlock().execute();
+        }
+        assertEquals(4, node.getCallCount());
+        assertEquals(0, provider.getMissCount());
+
+        for (int i = 0; i < 2; i++) {
+            iconService.getBalance(ADDRESS, BigInteger.TEN).execute();
+        }
+        assertEquals(5, node.getCallCount());
+        assertEquals(1, provider.getHitCount());
+    }
+
+    @Test
+    void testCacheOnlyIncludedTransaction() throws IOException {
+        FakeNode node = new FakeNode();
+        node.setPending(true);
+        CachingProvider provider = new CachingProvider.Builder(node).build();
+        IconService iconService = new IconService(provider);
+
+        iconService.getTransactionResult(TX_HASH).execute();
+        iconService.getTransactionResult(TX_HASH).execute();
+        assertEquals(2, node.getCallCount());
+
+        node.setPending(false);
+        iconService.getTransactionResult(TX_HASH).execute();
+        assertEquals(BigInteger.TEN, iconService.getTransactionResult(TX_HASH).execute().getBlockHeight());
+        assertEquals(3, node.getCallCount());
+    }
+
+    @Test
+    void testNeverCacheError() {
+        FakeNode node = new FakeNode();
+        node.setErrorCode(-32602);
+        CachingProvider provider = new CachingProvider.Builder(node).build();
+        IconService iconService = new IconService(provider);
+
+        assertThrows(RpcError.class, () -> iconService.getBlock(BigInteger.TEN).execute());
+        assertThrows(RpcError.class, () -> iconService.getBlock(BigInteger.TEN).execute());
+        assertEquals(2, node.getCallCount());
+    }
+
+    @Test
+    void testLruEviction() {
+        RpcItem item = new RpcValue("0x1234");
+        long weight = CachingProvider.weigh(item);
+        LruItemCache cache = new LruItemCache(weight * 2);
+        RequestKey key1 = key(1);
+        RequestKey key2 = key(2);
+        RequestKey key3 = key(3);
+
+        cache.put(key1, item, weight);
+        cache.put(key2, item, weight);
+        assertNotNull(cache.get(key1));
+        cache.put(key3, item, weight);
+
+        // the least recently used one is evicted
+        assertNull(cache.get(key2));
+        assertNotNull(cache.get(key1));
+        assertNotNull(cache.get(key3));
+        assertEquals(2, cache.size());
+        assertEquals(weight * 2, cache.getWeight());
+        assertEquals(1, cache.getEvictionCount());
+
+        // an entry larger than the cache is not stored
+        cache.put(key(4), item, weight * 3);
+        assertEquals(2, cache.size());
+    }
+
+    private static RequestKey key(long height) {
+        return RequestKey.of(new foundation.icon.icx.transport.jsonrpc.Request(1, "icx_getBlockByHeight",
+                new RpcObject.Builder().put("height", new RpcValue(BigInteger.valueOf(height))).build()));
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright 2026 ICON Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package foundation.icon.icx.transport.cache;
+
+import foundation.icon.icx.Callback;
+import foundation.icon.icx.IconService;
+import foundation.icon.icx.Request;
+import foundation.icon.icx.data.Block;
+import foundation.icon.icx.simulator.FakeNode;
+import foundation.icon.icx.transport.jsonrpc.RpcError;
+import foundation.icon.icx.transport.jsonrpc.RpcItem;
+import foundation.icon.icx.transport.jsonrpc.RpcObject;
+import foundation.icon.icx.transport.jsonrpc.RpcValue;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CoalescingProviderTest {
+
+    @Test
+    void testRequestKey() {
+        RpcObject params1 = new RpcObject.Builder(RpcObject.Builder.Sort.INSERT)
+                .put("to", new RpcValue("cx0000000000000000000000000000000000000001"))
+                .put("data", new RpcObject.Builder().put("method", new RpcValue("name")).build())
+                .build();
+        RpcObject params2 = new RpcObject.Builder(RpcObject.Builder.Sort.INSERT)
+                .put("data", new RpcObject.Builder().put("method", new RpcValue("name")).build())
+                .put("to", new RpcValue("cx0000000000000000000000000000000000000001"))
+                .build();
+        RequestKey key1 = RequestKey.of(new foundation.icon.icx.transport.jsonrpc.Request(1, "icx_call", params1));
+        RequestKey key2 = RequestKey.of(new foundation.icon.icx.transport.jsonrpc.Request(2, "icx_call", params2));
+        assertEquals(key1, key2);
+        assertEquals(key1.hashCode(), key2.hashCode());
+        assertEquals("{\"data\":{\"method\":\"name\"},\"to\":\"cx0000000000000000000000000000000000000001\"}",
+                key1.getParams());
+        assertNotEquals(key1, RequestKey.of(new foundation.icon.icx.transport.jsonrpc.Request(1, "icx_call", null)));
+        assertNotEquals(key1, RequestKey.of(
+                new foundation.icon.icx.transport.jsonrpc.Request(1, "icx_getScoreApi", params1)));
+    }
+
+    @Test
+    void testCoalesceConcurrentRequests() throws Exception {
+        FakeNode node = new FakeNode();
+        CountDownLatch gate = new CountDownLatch(1);
+        node.setGate(gate);
+        CoalescingProvider provider = new CoalescingProvider(node);
+        IconService iconService = new IconService(provider);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Block>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> iconService.getBlock(BigInteger.TEN).execute()));
+            }
+            while (provider.getRequestCount() < 8) {
+                Thread.sleep(1);
+            }
+            gate.countDown();
+            for (Future<Block> result : results) {
+                assertEquals(BigInteger.TEN, result.get(1, TimeUnit.SECONDS).getHeight());
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(1, node.getCallCount());
+        assertEquals(7, provider.getCoalescedCount());
+        assertEquals(1, provider.getCallCount());
+
+        // the result is not kept after the call
+        iconService.getBlock(BigInteger.TEN).execute();
+        assertEquals(2, node.getCallCount());
+    }
+
+    @Test
+    void testShareDecodedResult() throws Exception {
+        FakeNode node = new FakeNode();
+        CountDownLatch gate = new CountDownLatch(1);
+        node.setGate(gate);
+        CoalescingProvider provider = new CoalescingProvider(node);
+        foundation.icon.icx.transport.jsonrpc.Request request = new foundation.icon.icx.transport.jsonrpc.Request(
+                1, "icx_getBlockByHeight",
+                new RpcObject.Builder().put("height", new RpcValue(BigInteger.ONE)).build());
+
+        CompletableFuture<RpcItem> first = new CompletableFuture<>();
+        CompletableFuture<RpcItem> second = new CompletableFuture<>();
+        provider.request(request, RpcItemConverter.INSTANCE).execute(new FutureCallback<>(first));
+        provider.request(request, RpcItemConverter.INSTANCE).execute(new FutureCallback<>(second));
+        gate.countDown();
+        assertSame(first.get(1, TimeUnit.SECONDS), second.get(1, TimeUnit.SECONDS));
+        assertEquals(1, node.getCallCount());
+    }
+
+    @Test
+    void testShareError() throws Exception {
+        FakeNode node = new FakeNode();
+        CountDownLatch gate = new CountDownLatch(1);
+        node.setGate(gate);
+        node.setErrorCode(-32602);
+        CoalescingProvider provider = new CoalescingProvider(node);
+        IconService iconService = new IconService(provider);
+
+        CompletableFuture<Block> first = new CompletableFuture<>();
+        CompletableFuture<Block> second = new CompletableFuture<>();
+        iconService.getBlock(BigInteger.ONE).execute(new FutureCallback<>(first));
+        iconService.getBlock(BigInteger.ONE).execute(new FutureCallback<>(second));
+        gate.countDown();
+        for (CompletableFuture<Block> future : Arrays.asList(first, second)) {
+            Throwable t = assertThrows(ExecutionException.class,
+                    () -> future.get(1, TimeUnit.SECONDS)).getCause();
+            assertTrue(t instanceof RpcError);
+        }
+        assertEquals(1, node.getCallCount());
+    }
+
+    @Test
+    void testCancelLastWaiter() throws Exception {
+        FakeNode node = new FakeNode();
+        CountDownLatch gate = new CountDownLatch(1);
+        node.setGate(gate);
+        CoalescingProvider provider = new CoalescingProvider(node);
+        IconService iconService = new IconService(provider);
+
+        Request<Block> first = iconService.getBlock(BigInteger.ONE);
+        Request<Block> second = iconService.getBlock(BigInteger.ONE);
+        CompletableFuture<Block> result = new CompletableFuture<>();
+        first.execute(new FutureCallback<>(new CompletableFuture<>()));
+        second.execute(new FutureCallback<>(result));
+        first.cancel();
+        assertEquals(0, node.getCanceledCount());
+        second.cancel();
+        assertEquals(1, node.getCanceledCount());
+        gate.countDown();
+    }
+
+    @Test
+    void testLeaderThrows() throws Exception {
+        FakeNode node = new FakeNode();
+        node.setThrowing(true);
+        CoalescingProvider provider = new CoalescingProvider(node);
+        IconService iconService = new IconService(provider);
+
+        CompletableFuture<Block> result = new CompletableFuture<>();
+        iconService.getBlock(BigInteger.ONE).execute(new FutureCallback<>(result));
+        Throwable t = assertThrows(ExecutionException.class, () -> result.get(1, TimeUnit.SECONDS)).getCause();
+        assertTrue(t instanceof IllegalStateException);
+
+        // the failed flight is not joined by the next request
+        node.setThrowing(false);
+        assertEquals(BigInteger.ONE, iconService.getBlock(BigInteger.ONE).execute().getHeight());
+    }
+
+    @Test
+    void testWriteIsNotCoalesced() throws IOException {
+        FakeNode node = new FakeNode();
+        CoalescingProvider provider = new CoalescingProvider(node);
+        IconService iconService = new IconService(provider);
+
+        iconService.getTotalSupply().execute();
+        assertEquals(1, provider.getRequestCount());
+        assertTrue(CoalescingProvider.isCoalesceable("icx_call"));
+        assertFalse(CoalescingProvider.isCoalesceable("icx_sendTransaction"));
+    }
+
+    private static class FutureCallback<T> implements Callback<T> {
+        private final CompletableFuture<T> future;
+
+        FutureCallback(CompletableFuture<T> future) {
+            this.future = future;
+        }
+
+        @Override
+        public void onSuccess(T result) {
+            future.complete(result);
+        }
+
+        @Override
+        public void onFailure(Exception exception) {
+            future.completeExceptionally(exception);
+        }
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright 2026 ICON Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package foundation.icon.icx.transport.http;
+
+import foundation.icon.icx.data.Converters;
+import foundation.icon.icx.transport.jsonrpc.Request;
+import foundation.icon.icx.transport.jsonrpc.RpcObject;
+import foundation.icon.icx.transport.jsonrpc.RpcValue;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.RequestBody;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
+import okio.BufferedSink;
+import okio.DeflaterSink;
+import okio.GzipSink;
+import okio.GzipSource;
+import okio.Okio;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.Deflater;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CompressionInterceptorTest {
+    // a block-like result, which is long and repetitive
+    private static final String RESULT = "\"0x" + repeat("ab", 4096) + "\"";
+
+    @Test
+    void testDecodeResponse() throws Exception {
+        CompressionInterceptor compression = new CompressionInterceptor.Builder().build();
+        try (MockWebServer server = new MockWebServer()) {
+            String json = "{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":" + RESULT + "}";
+            server.enqueue(new MockResponse().setBody(gzip(json)).setHeader("Content-Encoding", "gzip"));
+            server.enqueue(new MockResponse().setBody(deflate(json)).setHeader("Content-Encoding", "deflate"));
+            server.enqueue(new MockResponse().setBody(json));
+            server.start();
+            HttpProvider provider = newProvider(server, compression);
+
+            for (int i = 0; i < 3; i++) {
+                String result = provider.request(new Request(1, "icx_getDataByHash", null), Converters.STRING)
+                        .execute();
+                assertEquals(RESULT.length() - 2, result.length());
+                assertEquals("gzip, deflate", server.takeRequest().getHeader("Accept-Encoding"));
+            }
+            assertEquals(2, compression.getDecodedResponseCount());
+            assertTrue(compression.getResponseCompressionRatio() > 10);
+            assertTrue(compression.getSavedBytes() > 0);
+        }
+    }
+
+    @Test
+    void testCompressRequest() throws Exception {
+        CompressionInterceptor compression = new CompressionInterceptor.Builder()
+                .compressRequests(true)
+                .minRequestSize(1024)
+                .build();
+        try (MockWebServer server = new MockWebServer()) {
+            server.enqueue(new MockResponse().setBody("{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":\"0x1\"}"));
+            server.enqueue(new MockResponse().setBody("{\"jsonrpc\":\"2.0\",\"id\":2,\"result\":\"0x1\"}"));
+            server.start();
+            HttpProvider provider = newProvider(server, compression);
+            RpcObject params = new RpcObject.Builder()
+                    .put("data", new RpcValue("0x" + repeat("00", 4096)))
+                    .build();
+
+            assertEquals(BigInteger.ONE, provider.request(
+                    new Request(1, "icx_sendTransaction", params), Converters.BIG_INTEGER).execute());
+            RecordedRequest large = server.takeRequest();
+            assertEquals("gzip", large.getHeader("Content-Encoding"));
+            String body = Okio.buffer(new GzipSource(large.getBody())).readUtf8();
+            assertTrue(body.startsWith("{\"jsonrpc\":\"2.0\",\"id\":1,\"method\":\"icx_sendTransaction\""));
+
+            assertEquals(BigInteger.ONE, provider.request(
+                    new Request(2, "icx_getTotalSupply", null), Converters.BIG_INTEGER).execute());
+            RecordedRequest small = server.takeRequest();
+            assertNull(small.getHeader("Content-Encoding"));
+            assertEquals("{\"jsonrpc\":\"2.0\",\"id\":2,\"method\":\"icx_getTotalSupply\"}", small.getBody().readUtf8());
+
+            assertEquals(1, compression.getCompressedRequestCount());
+            assertTrue(compression.getRequestCompressionRatio() > 10);
+        }
+    }
+
+    @Test
+    void testRequestIsWrittenOnce() throws Exception {
+        CompressionInterceptor compression = new CompressionInterceptor.Builder()
+                .compressRequests(true)
+                .minRequestSize(1024)
+                .build();
+        AtomicInteger writes = new AtomicInteger();
+        List<RequestBody> sent = new ArrayList<>();
+        try (MockWebServer server = new MockWebServer()) {
+            server.enqueue(new MockResponse().setBody("{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":\"0x1\"}"));
+            server.enqueue(new MockResponse().setBody("{\"jsonrpc\":\"2.0\",\"id\":2,\"result\":\"0x1\"}"));
+            server.start();
+            OkHttpClient httpClient = new OkHttpClient.Builder()
+                    .addInterceptor(chain -> {
+                        RequestBody body = chain.request().body();
+                        return chain.proceed(chain.request().newBuilder().post(new RequestBody() {
+                            @Override
+                            public MediaType contentType() {
+                                return body.contentType();
+                            }
+
+                            @Override
+                            public void writeTo(BufferedSink sink) throws IOException {
+                                writes.incrementAndGet();
+                                body.writeTo(sink);
+                            }
+                        }).build());
+                    })
+                    .addInterceptor(compression)
+                    .addNetworkInterceptor(chain -> {
+                        sent.add(chain.request().body());
+                        return chain.proceed(chain.request());
+                    })
+                    .build();
+            HttpProvider provider = new HttpProvider(httpClient, server.url("/").toString().replaceFirst("/$", ""), 3);
+            RpcObject params = new RpcObject.Builder()
+                    .put("data", new RpcValue("0x" + repeat("00", 4096)))
+                    .build();
+
+            provider.request(new Request(1, "icx_getTotalSupply", null), Converters.BIG_INTEGER).execute();
+            provider.request(new Request(2, "icx_sendTransaction", params), Converters.BIG_INTEGER).execute();
+            // the bodies of an unknown length are written once, and the small one is sent with its length
+            assertEquals(2, writes.get());
+            String small = "{\"jsonrpc\":\"2.0\",\"id\":1,\"method\":\"icx_getTotalSupply\"}";
+            assertEquals(small.length(), sent.get(0).contentLength());
+            assertEquals(-1, sent.get(1).contentLength());
+            assertEquals(small, server.takeRequest().getBody().readUtf8());
+            assertEquals("gzip", server.takeRequest().getHeader("Content-Encoding"));
+        }
+    }
+
+    private static HttpProvider newProvider(MockWebServer server, CompressionInterceptor compression) {
+        OkHttpClient httpClient = new OkHttpClient.Builder().addInterceptor(compression).build();
+        return new HttpProvider(httpClient, server.url("/").toString().replaceFirst("/$", ""), 3);
+    }
+
+    private static Buffer gzip(String data) throws IOException {
+        Buffer buffer = new Buffer();
+        try (BufferedSink sink = Okio.buffer(new GzipSink(buffer))) {
+            sink.writeUtf8(data);
+        }
+        return buffer;
+    }
+
+    private static Buffer deflate(String data) throws IOException {
+        Buffer buffer = new Buffer();
+        try (BufferedSink sink = Okio.buffer(new DeflaterSink(buffer, new Deflater()))) {
+            sink.writeUtf8(data);
+        }
+        return buffer;
+    }
+
+    private static String repeat(String s, int count) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            builder.append(s);
+        }
+        return builder.toString();
+    }
+}
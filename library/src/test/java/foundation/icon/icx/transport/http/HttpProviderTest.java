@@ -16,10 +16,32 @@
 
 package foundation.icon.icx.transport.http;
 
+import foundation.icon.icx.data.Converters;
+import foundation.icon.icx.transport.jsonrpc.Request;
+import foundation.icon.icx.transport.jsonrpc.Response;
+import foundation.icon.icx.transport.jsonrpc.RpcConverter;
+import foundation.icon.icx.transport.jsonrpc.RpcItem;
+import foundation.icon.icx.transport.jsonrpc.RpcObject;
+import foundation.icon.icx.transport.jsonrpc.RpcValue;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
 import org.junit.jupiter.api.Test;
 
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class HttpProviderTest {
 
@@ -67,4 +89,114 @@ class HttpProviderTest {
             });
         }
     }
+
+    @Test
+    void testBatch() throws Exception {
+        try (MockWebServer server = new MockWebServer()) {
+            server.enqueue(new MockResponse().setBody("[" +
+                    "{\"jsonrpc\":\"2.0\",\"id\":2,\"error\":{\"code\":-32602,\"message\":\"Invalid params\"}}," +
+                    "{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":\"0x1\"}]"));
+            server.start();
+            String url = server.url("/").toString().replaceFirst("/$", "");
+            HttpProvider provider = new HttpProvider(url, 3);
+
+            RpcObject params = new RpcObject.Builder()
+                    .put("height", new RpcValue(BigInteger.ONE))
+                    .build();
+            List<Request> requests = Arrays.asList(
+                    new Request(1, "icx_getTotalSupply", params),
+                    new Request(2, "btp_getNetworkInfo", params));
+            List<Response> responses = provider.batch(requests).execute();
+
+            RecordedRequest recorded = server.takeRequest();
+            assertEquals("/api/v3/", recorded.getPath());
+            assertEquals("[{\"jsonrpc\":\"2.0\",\"id\":1,\"method\":\"icx_getTotalSupply\",\"params\":{\"height\":\"0x1\"}}," +
+                    "{\"jsonrpc\":\"2.0\",\"id\":2,\"method\":\"btp_getNetworkInfo\",\"params\":{\"height\":\"0x1\"}}]",
+                    recorded.getBody().readUtf8());
+            assertEquals(2, responses.size());
+            assertEquals(-32602, responses.get(0).getError().getCode());
+            assertEquals(BigInteger.ONE, responses.get(1).getResult().asInteger());
+
+            // debug methods are served by another endpoint
+            assertThrows(IllegalArgumentException.class, () -> provider.batch(Arrays.asList(
+                    new Request(1, "icx_getTotalSupply", null),
+                    new Request(2, "debug_estimateStep", null))));
+        }
+    }
+
+    @Test
+    void testExecuteAsync() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor(r -> new Thread(r, "completion"));
+        try (MockWebServer server = new MockWebServer()) {
+            server.enqueue(new MockResponse().setBody("{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":\"0x10\"}"));
+            server.enqueue(new MockResponse().setBody("{\"jsonrpc\":\"2.0\",\"id\":2,\"result\":\"0x20\"}")
+                    .setHeadersDelay(200, TimeUnit.MILLISECONDS));
+            server.start();
+            String url = server.url("/").toString().replaceFirst("/$", "");
+            HttpProvider provider = new HttpProvider(url, 3);
+
+            CompletableFuture<BigInteger> future = provider.request(
+                    new Request(1, "icx_getTotalSupply", null), Converters.BIG_INTEGER).executeAsync();
+            assertEquals(BigInteger.valueOf(16), future.get(1, TimeUnit.SECONDS));
+
+            CompletableFuture<String> thread = provider.request(
+                    new Request(2, "icx_getTotalSupply", null), Converters.BIG_INTEGER).executeAsync(executor)
+                    .thenApply(result -> Thread.currentThread().getName());
+            assertEquals("completion", thread.get(1, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testExecuteAsyncConverterThrows() throws Exception {
+        try (MockWebServer server = new MockWebServer()) {
+            server.enqueue(new MockResponse().setBody("{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":\"0x10\"}"));
+            server.start();
+            String url = server.url("/").toString().replaceFirst("/$", "");
+            HttpProvider provider = new HttpProvider(url, 3);
+            RpcConverter<BigInteger> converter = new RpcConverter<BigInteger>() {
+                @Override
+                public BigInteger convertTo(RpcItem object) {
+                    throw new IllegalStateException("bad result");
+                }
+
+                @Override
+                public RpcItem convertFrom(BigInteger object) {
+                    return null;
+                }
+            };
+
+            // the future fails instead of being left incomplete on the dispatcher thread
+            CompletableFuture<BigInteger> future = provider.request(
+                    new Request(1, "icx_getTotalSupply", null), converter).executeAsync();
+            ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(1, TimeUnit.SECONDS));
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+    }
+
+    @Test
+    void testCancelAsync() throws Exception {
+        try (MockWebServer server = new MockWebServer()) {
+            server.enqueue(new MockResponse().setBody("{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":\"0x10\"}")
+                    .setHeadersDelay(5, TimeUnit.SECONDS));
+            server.start();
+            String url = server.url("/").toString().replaceFirst("/$", "");
+            OkHttpClient httpClient = new OkHttpClient.Builder().build();
+            HttpProvider provider = new HttpProvider(httpClient, url, 3);
+
+            CompletableFuture<BigInteger> future = provider.request(
+                    new Request(1, "icx_getTotalSupply", null), Converters.BIG_INTEGER).executeAsync();
+            server.takeRequest(1, TimeUnit.SECONDS);
+            assertTrue(future.cancel(true));
+            assertTrue(future.isCancelled());
+
+            // the underlying call is aborted without waiting for the response
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+            while (httpClient.dispatcher().runningCallsCount() > 0 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(0, httpClient.dispatcher().runningCallsCount());
+        }
+    }
 }
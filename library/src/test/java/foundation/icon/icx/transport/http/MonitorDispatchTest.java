@@ -0,0 +1,192 @@
+/*
+ * Copyright 2026 ICON Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package foundation.icon.icx.transport.http;
+
+import foundation.icon.icx.data.Converters;
+import foundation.icon.icx.metrics.ClientMetrics;
+import foundation.icon.icx.metrics.RecordingMetrics;
+import foundation.icon.icx.simulator.NodeSimulator;
+import foundation.icon.icx.transport.jsonrpc.RpcItem;
+import foundation.icon.icx.transport.monitor.BlockMonitorSpec;
+import foundation.icon.icx.transport.monitor.Monitor;
+import foundation.icon.icx.transport.monitor.MonitorDispatch;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MonitorDispatchTest {
+
+    @Test
+    void testDeliverInOrderOnExecutor() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor(r -> new Thread(r, "listener"));
+        try (NodeSimulator node = new NodeSimulator.Builder().startHeight(100).build()) {
+            HttpProvider provider = new HttpProvider(node.getUrl());
+            provider.setMonitorDispatch(new MonitorDispatch.Builder().executor(executor).capacity(8).build());
+            BlockListener listener = new BlockListener(100);
+            Monitor<RpcItem> monitor = provider.monitor(
+                    new BlockMonitorSpec(BigInteger.ONE, null), Converters.RPC_ITEM);
+            assertTrue(monitor.start(listener));
+            assertTrue(listener.done.await(5, TimeUnit.SECONDS));
+            monitor.stop();
+
+            for (int i = 0; i < 100; i++) {
+                assertEquals(i + 1, listener.heights.get(i));
+            }
+            assertTrue(listener.threads.stream().allMatch("listener"::equals));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testSlowListenerDoesNotBlockStop() throws Exception {
+        try (NodeSimulator node = new NodeSimulator.Builder().startHeight(1000).build()) {
+            HttpProvider provider = new HttpProvider(node.getUrl());
+            provider.setMonitorDispatch(new MonitorDispatch.Builder().capacity(4).build());
+            BlockListener listener = new BlockListener(1);
+            listener.gate = new CountDownLatch(1);
+            Monitor<RpcItem> monitor = provider.monitor(
+                    new BlockMonitorSpec(BigInteger.ONE, null), Converters.RPC_ITEM);
+            assertTrue(monitor.start(listener));
+            assertTrue(listener.done.await(1, TimeUnit.SECONDS));
+
+            long start = System.nanoTime();
+            monitor.stop();
+            assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(500));
+            listener.gate.countDown();
+            assertTrue(listener.closed.await(1, TimeUnit.SECONDS));
+            // the queued notifications are dropped by stop
+            assertEquals(1, listener.heights.size());
+        }
+    }
+
+    @Test
+    void testDropOldest() throws Exception {
+        RecordingMetrics metrics = new RecordingMetrics();
+        ClientMetrics.install(metrics);
+        try (NodeSimulator node = new NodeSimulator.Builder().startHeight(1000).build()) {
+            HttpProvider provider = new HttpProvider(node.getUrl());
+            provider.setMonitorDispatch(new MonitorDispatch.Builder()
+                    .capacity(8)
+                    .overflow(MonitorDispatch.Overflow.DROP_OLDEST)
+                    .build());
+            BlockListener listener = new BlockListener(1);
+            listener.gate = new CountDownLatch(1);
+            Monitor<RpcItem> monitor = provider.monitor(
+                    new BlockMonitorSpec(BigInteger.ONE, null), Converters.RPC_ITEM);
+            assertTrue(monitor.start(listener));
+            // one is being delivered, and the newest 8 of the others are kept
+            while (metrics.getMonitor("block").getDropCount() < 1000 - 1 - 8) {
+                Thread.sleep(10);
+            }
+            CountDownLatch last = new CountDownLatch(1);
+            listener.last = last;
+            listener.gate.countDown();
+            assertTrue(last.await(5, TimeUnit.SECONDS));
+            monitor.stop();
+
+            List<Long> heights = new ArrayList<>(listener.heights);
+            assertEquals(9, heights.size());
+            assertTrue(heights.get(0) < 993);
+            assertEquals(993, heights.get(1));
+            assertEquals(1000, heights.get(8));
+        } finally {
+            ClientMetrics.install(null);
+        }
+        assertEquals(991, metrics.getMonitor("block").getDropCount());
+        assertEquals(8, metrics.getMonitor("block").getMaxQueueDepth());
+    }
+
+    @Test
+    void testFailOnOverflow() throws Exception {
+        try (NodeSimulator node = new NodeSimulator.Builder().startHeight(1000).build()) {
+            HttpProvider provider = new HttpProvider(node.getUrl());
+            provider.setMonitorDispatch(new MonitorDispatch.Builder()
+                    .capacity(4)
+                    .overflow(MonitorDispatch.Overflow.FAIL)
+                    .build());
+            BlockListener listener = new BlockListener(1);
+            listener.gate = new CountDownLatch(1);
+            Monitor<RpcItem> monitor = provider.monitor(
+                    new BlockMonitorSpec(BigInteger.ONE, null), Converters.RPC_ITEM);
+            assertTrue(monitor.start(listener));
+            Thread.sleep(100);
+            listener.gate.countDown();
+            assertEquals(MonitorDispatch.OVERFLOW_ERROR, (long) listener.error.get(1, TimeUnit.SECONDS));
+            assertTrue(listener.heights.size() <= 1 + 4);
+            monitor.stop();
+        }
+    }
+
+    private static class BlockListener implements Monitor.Listener<RpcItem> {
+        final List<Long> heights = new ArrayList<>();
+        final List<String> threads = new ArrayList<>();
+        final CountDownLatch done;
+        final CountDownLatch closed = new CountDownLatch(1);
+        final CompletableFuture<Long> error = new CompletableFuture<>();
+        volatile CountDownLatch gate;
+        volatile CountDownLatch last;
+
+        BlockListener(int count) {
+            this.done = new CountDownLatch(count);
+        }
+
+        @Override
+        public void onStart() {
+        }
+
+        @Override
+        public void onEvent(RpcItem msg) {
+            long height = msg.asObject().getItem("height").asInteger().longValue();
+            synchronized (this) {
+                heights.add(height);
+                threads.add(Thread.currentThread().getName());
+            }
+            done.countDown();
+            try {
+                if (gate != null) {
+                    gate.await();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (last != null && height == 1000) {
+                last.countDown();
+            }
+        }
+
+        @Override
+        public void onError(long code) {
+            error.complete(code);
+        }
+
+        @Override
+        public void onClose() {
+            closed.countDown();
+        }
+    }
+}
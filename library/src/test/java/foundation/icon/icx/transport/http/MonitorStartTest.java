@@ -0,0 +1,173 @@
+/*
+ * Copyright 2026 ICON Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package foundation.icon.icx.transport.http;
+
+import foundation.icon.icx.data.Converters;
+import foundation.icon.icx.simulator.NodeSimulator;
+import foundation.icon.icx.transport.jsonrpc.RpcError;
+import foundation.icon.icx.transport.jsonrpc.RpcItem;
+import foundation.icon.icx.transport.monitor.BlockMonitorSpec;
+import foundation.icon.icx.transport.monitor.Monitor;
+import foundation.icon.icx.transport.monitor.MonitorException;
+import okhttp3.WebSocket;
+import okhttp3.WebSocketListener;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MonitorStartTest {
+
+    @Test
+    void testStartManyAtOnce() throws Exception {
+        try (NodeSimulator node = new NodeSimulator.Builder().startHeight(10).build()) {
+            HttpProvider provider = new HttpProvider(node.getUrl());
+            List<Monitor<RpcItem>> monitors = new ArrayList<>();
+            List<CompletableFuture<Void>> futures = new ArrayList<>();
+            CountDownLatch events = new CountDownLatch(50);
+            long start = System.nanoTime();
+            for (int i = 0; i < 50; i++) {
+                Monitor<RpcItem> monitor = provider.monitor(
+                        new BlockMonitorSpec(BigInteger.TEN, null), Converters.RPC_ITEM);
+                monitors.add(monitor);
+                futures.add(monitor.startAsync(new Listener(events)));
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(5, TimeUnit.SECONDS);
+            assertTrue(events.await(5, TimeUnit.SECONDS));
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(3));
+            for (Monitor<RpcItem> monitor : monitors) {
+                monitor.stop();
+            }
+        }
+    }
+
+    @Test
+    void testRejected() throws Exception {
+        try (MockWebServer server = new MockWebServer()) {
+            server.enqueue(new MockResponse().withWebSocketUpgrade(new WebSocketListener() {
+                @Override
+                public void onMessage(WebSocket webSocket, String text) {
+                    webSocket.send("{\"code\":-32602,\"message\":\"Invalid params\"}");
+                }
+
+                @Override
+                public void onClosing(WebSocket webSocket, int code, String reason) {
+                    webSocket.close(1000, null);
+                }
+            }));
+            server.start();
+            HttpProvider provider = new HttpProvider(server.url("/").toString().replaceFirst("/$", ""), 3);
+            Monitor<RpcItem> monitor = provider.monitor(
+                    new BlockMonitorSpec(BigInteger.ONE, null), Converters.RPC_ITEM);
+            Listener listener = new Listener(new CountDownLatch(1));
+            CompletableFuture<Void> future = monitor.startAsync(listener);
+
+            Throwable t = assertThrows(ExecutionException.class, () -> future.get(1, TimeUnit.SECONDS)).getCause();
+            MonitorException error = (MonitorException) t;
+            assertEquals(-32602, error.getCode());
+            assertEquals("Invalid params", error.getMessage());
+            assertEquals(-32602, ((RpcError) error.getCause()).getCode());
+            // the listener gets the error before the future fails
+            assertEquals(-32602, (long) listener.error.getNow(null));
+            monitor.stop();
+        }
+    }
+
+    @Test
+    void testStartWithoutWaitingOnFailure() throws Exception {
+        MockWebServer server = new MockWebServer();
+        server.start();
+        String url = server.url("/").toString().replaceFirst("/$", "");
+        server.shutdown();
+
+        HttpProvider provider = new HttpProvider(url, 3);
+        Monitor<RpcItem> monitor = provider.monitor(new BlockMonitorSpec(BigInteger.ONE, null), Converters.RPC_ITEM);
+        Throwable t = assertThrows(ExecutionException.class,
+                () -> monitor.startAsync(new Listener(new CountDownLatch(1))).get(1, TimeUnit.SECONDS)).getCause();
+        assertEquals(MonitorException.CONNECTION_FAILURE, ((MonitorException) t).getCode());
+        monitor.stop();
+
+        // start() returns as soon as the connection fails
+        long start = System.nanoTime();
+        assertFalse(monitor.start(new Listener(new CountDownLatch(1))));
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(2));
+        monitor.stop();
+    }
+
+    @Test
+    void testStopWhileStarting() throws Exception {
+        try (MockWebServer server = new MockWebServer()) {
+            // the node never answers the request
+            server.enqueue(new MockResponse().withWebSocketUpgrade(new WebSocketListener() {
+                @Override
+                public void onClosing(WebSocket webSocket, int code, String reason) {
+                    webSocket.close(1000, null);
+                }
+            }));
+            server.start();
+            HttpProvider provider = new HttpProvider(server.url("/").toString().replaceFirst("/$", ""), 3);
+            Monitor<RpcItem> monitor = provider.monitor(
+                    new BlockMonitorSpec(BigInteger.ONE, null), Converters.RPC_ITEM);
+            CompletableFuture<Void> future = monitor.startAsync(new Listener(new CountDownLatch(1)));
+            monitor.stop();
+            assertTrue(future.isCancelled());
+        }
+    }
+
+    private static class Listener implements Monitor.Listener<RpcItem> {
+        private final CountDownLatch events;
+        private final CompletableFuture<Long> error = new CompletableFuture<>();
+        private boolean received;
+
+        Listener(CountDownLatch events) {
+            this.events = events;
+        }
+
+        @Override
+        public void onStart() {
+        }
+
+        @Override
+        public void onEvent(RpcItem msg) {
+            if (!received) {
+                received = true;
+                events.countDown();
+            }
+        }
+
+        @Override
+        public void onError(long code) {
+            error.complete(code);
+        }
+
+        @Override
+        public void onClose() {
+        }
+    }
+}
@@ -99,4 +99,40 @@ class DeserializerTest {
         assertEquals(0, rpcItem.asByteArray().length);
         assertArrayEquals(new byte[0], rpcItem.asByteArray());
     }
+
+    @Test
+    void testNumbersAndBooleans() throws IOException {
+        String json = "[1234, -1, 1533018344753765, 123456789012345678901234567890, 1.5, true, false]";
+        RpcArray array = mapper.readValue(json, RpcItem.class).asArray();
+
+        assertEquals(new BigInteger("1234"), array.get(0).asInteger());
+        assertEquals(BigInteger.ONE.negate(), array.get(1).asInteger());
+        assertEquals(new BigInteger("1533018344753765"), array.get(2).asInteger());
+        // numbers out of the long range are kept as they are
+        assertEquals("123456789012345678901234567890", array.get(3).asString());
+        assertEquals("1.5", array.get(4).asString());
+        assertTrue(array.get(5).asBoolean());
+        assertFalse(array.get(6).asBoolean());
+    }
+
+    @Test
+    void testNestedContainers() throws IOException {
+        String json = "{\"empty\":{},\"list\":[[],[{\"a\":[\"0x1\"]}],null],\"last\":\"0x2\"}";
+        RpcObject root = mapper.readValue(json, RpcItem.class).asObject();
+
+        assertTrue(root.getItem("empty").asObject().isEmpty());
+        RpcArray list = root.getItem("list").asArray();
+        assertEquals(3, list.size());
+        assertTrue(list.get(0).asArray().isEmpty());
+        RpcObject inner = list.get(1).asArray().get(0).asObject();
+        assertEquals(BigInteger.ONE, inner.getItem("a").asArray().get(0).asInteger());
+        assertTrue(list.get(2).isNull());
+        assertEquals(BigInteger.valueOf(2), root.getItem("last").asInteger());
+    }
+
+    @Test
+    void testMalformedJson() {
+        assertThrows(IOException.class, () -> mapper.readValue("{\"key\":[\"0x1\"", RpcItem.class));
+        assertThrows(IOException.class, () -> mapper.readValue("[\"0x1\",", RpcItem.class));
+    }
 }
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2026 ICON Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package foundation.icon.icx.transport.jsonrpc;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class RpcCodecTest {
+    private static final String RESPONSE = "{\"jsonrpc\":\"2.0\",\"id\":1234,\"unknown\":1," +
+            "\"result\":{\"height\":\"0x4d2\",\"hash\":\"0x010203\",\"list\":[\"0x1\",null]}}";
+
+    private RpcCodec codec;
+    private Request request;
+
+    @BeforeEach
+    void setUp() {
+        codec = new RpcCodec();
+        RpcObject params = new RpcObject.Builder(RpcObject.Builder.Sort.KEY)
+                .put("address", new RpcValue("hx4873b94352c8c1f3b2f09aaeccea31ce9e90bd31"))
+                .put("height", new RpcValue(new BigInteger("1234")))
+                .build();
+        request = new Request(1234, "icx_getBalance", params);
+    }
+
+    @Test
+    void testWriteRequest() throws IOException {
+        String expected = "{\"jsonrpc\":\"2.0\",\"id\":1234,\"method\":\"icx_getBalance\",\"params\":" +
+                "{\"address\":\"hx4873b94352c8c1f3b2f09aaeccea31ce9e90bd31\",\"height\":\"0x4d2\"}}";
+        assertEquals(expected, codec.writeRequestAsString(request));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        codec.writeRequest(request, out);
+        assertEquals(expected, out.toString("UTF-8"));
+
+        String noParams = codec.writeRequestAsString(new Request(1, "icx_getLastBlock", null));
+        assertEquals("{\"jsonrpc\":\"2.0\",\"id\":1,\"method\":\"icx_getLastBlock\"}", noParams);
+    }
+
+    @Test
+    void testReadResponse() throws IOException {
+        Response response = codec.readResponse(RESPONSE);
+        assertEquals(1234, response.getId());
+        assertNull(response.getError());
+        RpcObject result = response.getResult().asObject();
+        assertEquals(new BigInteger("1234"), result.getItem("height").asInteger());
+        assertTrue(result.getItem("list").asArray().get(1).isNull());
+
+        response = codec.readResponse("{\"jsonrpc\":\"2.0\",\"id\":1,\"error\":{\"code\":-32602,\"message\":\"Invalid params\"}}");
+        assertNull(response.getResult());
+        assertEquals(-32602, response.getError().getCode());
+        assertEquals("Invalid params", response.getError().getMessage());
+    }
+
+    @Test
+    void testReadFromStream() throws IOException {
+        Response response = codec.readResponse(new ByteArrayInputStream(RESPONSE.getBytes(StandardCharsets.UTF_8)));
+        assertEquals(1234, response.getId());
+        assertEquals(new BigInteger("1234"), response.getResult().asObject().getItem("height").asInteger());
+
+        String batch = "[" + RESPONSE + ",{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":\"0x1\"}]";
+        List<Response> responses = codec.readResponses(new ByteArrayInputStream(batch.getBytes(StandardCharsets.UTF_8)));
+        assertEquals(2, responses.size());
+        assertEquals(1, responses.get(1).getId());
+    }
+
+    @Test
+    void testReadItemAndError() throws IOException {
+        assertEquals("0x1234", codec.readItem("\"0x1234\"").asString());
+        assertNull(codec.readItem("null"));
+        assertEquals(0, codec.readError("{\"code\":0,\"message\":\"\"}").getCode());
+    }
+
+    @Test
+    void testSharedCodecAllocatesLessPerCall() throws IOException {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) bean;
+        assumeTrue(threadBean.isThreadAllocatedMemorySupported());
+        threadBean.setThreadAllocatedMemoryEnabled(true);
+
+        int calls = 200;
+        long tid = Thread.currentThread().getId();
+        // run both paths once before measuring, so class loading is not counted
+        perCallMapper();
+        sharedCodec();
+
+        long start = threadBean.getThreadAllocatedBytes(tid);
+        for (int i = 0; i < calls; i++) {
+            perCallMapper();
+        }
+        long perCall = (threadBean.getThreadAllocatedBytes(tid) - start) / calls;
+
+        start = threadBean.getThreadAllocatedBytes(tid);
+        for (int i = 0; i < calls; i++) {
+            sharedCodec();
+        }
+        long shared = (threadBean.getThreadAllocatedBytes(tid) - start) / calls;
+
+        assertTrue(shared * 2 < perCall, "per-call mapper=" + perCall + ", shared codec=" + shared);
+    }
+
+    // The request/response path as it was before RpcCodec: a new mapper for each direction
+    private void perCallMapper() throws IOException {
+        ObjectMapper writer = new ObjectMapper();
+        writer.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        SimpleModule serializer = new SimpleModule();
+        serializer.addSerializer(RpcItem.class, new RpcItemSerializer());
+        writer.registerModule(serializer);
+        writer.writeValue(new ByteArrayOutputStream(), request);
+
+        ObjectMapper reader = new ObjectMapper();
+        reader.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        SimpleModule deserializer = new SimpleModule();
+        deserializer.addDeserializer(RpcItem.class, new RpcItemDeserializer());
+        reader.registerModule(deserializer);
+        reader.readValue(RESPONSE, Response.class);
+    }
+
+    private void sharedCodec() throws IOException {
+        codec.writeRequest(request, new ByteArrayOutputStream());
+        codec.readResponse(RESPONSE);
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2026 ICON Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package foundation.icon.icx.transport.limit;
+
+import foundation.icon.icx.IconService;
+import foundation.icon.icx.data.Address;
+import foundation.icon.icx.simulator.FakeNode;
+import foundation.icon.icx.transport.jsonrpc.RpcError;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LimitingProviderTest {
+    private LimitingProvider provider;
+
+    @AfterEach
+    void tearDown() {
+        if (provider != null) {
+            provider.close();
+        }
+    }
+
+    @Test
+    void testQueueOverLimit() throws Exception {
+        FakeNode node = new FakeNode();
+        CountDownLatch gate = new CountDownLatch(1);
+        node.setGate(gate);
+        provider = new LimitingProvider.Builder(node).initialLimit(2).build();
+        IconService iconService = new IconService(provider);
+
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[5];
+        for (int i = 0; i < futures.length; i++) {
+            futures[i] = iconService.getTotalSupply().executeAsync();
+        }
+        assertEquals(2, provider.getInFlight("icx"));
+        assertEquals(3, provider.getQueued("icx"));
+        while (node.getConcurrency() < 2) {
+            Thread.sleep(1);
+        }
+
+        gate.countDown();
+        CompletableFuture.allOf(futures).get(1, TimeUnit.SECONDS);
+        assertEquals(5, node.getCallCount());
+        assertEquals(2, node.getMaxConcurrency());
+        assertEquals(0, provider.getInFlight("icx"));
+    }
+
+    @Test
+    void testAdaptLimit() throws IOException {
+        FakeNode node = new FakeNode();
+        provider = new LimitingProvider.Builder(node)
+                .initialLimit(2)
+                .latencyTolerance(1000)
+                .build();
+        IconService iconService = new IconService(provider);
+
+        for (int i = 0; i < 10; i++) {
+            iconService.getTotalSupply().execute();
+        }
+        int limit = provider.getLimit("icx");
+        assertTrue(limit >= 3);
+
+        // an invalid request is not an overload
+        node.setErrorCode(-32602);
+        assertThrows(RpcError.class, () -> iconService.getTotalSupply().execute());
+        assertTrue(provider.getLimit("icx") >= limit);
+        limit = provider.getLimit("icx");
+
+        node.setErrorCode(-32000);
+        assertThrows(RpcError.class, () -> iconService.getTotalSupply().execute());
+        assertTrue(provider.getLimit("icx") < limit);
+        limit = provider.getLimit("icx");
+
+        // PoolOverflow
+        node.setErrorCode(-31001);
+        for (int i = 0; i < 3; i++) {
+            assertThrows(RpcError.class, () -> iconService.getTotalSupply().execute());
+        }
+        assertTrue(provider.getLimit("icx") < limit);
+        // the other families are not affected
+        assertEquals(2, provider.getLimit("btp"));
+    }
+
+    @Test
+    void testMethodsOfDifferentLatency() throws IOException {
+        FakeNode node = new FakeNode();
+        node.setDelay("icx_getTotalSupply", 5);
+        node.setDelay("icx_getBalance", 50);
+        provider = new LimitingProvider.Builder(node).initialLimit(2).build();
+        IconService iconService = new IconService(provider);
+        Address address = new Address("hx4873b94352c8c1f3b2f09aaeccea31ce9e90bd31");
+
+        // a slow method is not an overload of the fast one
+        for (int i = 0; i < 10; i++) {
+            iconService.getTotalSupply().execute();
+            iconService.getBalance(address).execute();
+        }
+        assertTrue(provider.getLimit("icx") >= 4);
+    }
+
+    @Test
+    void testBoundedWait() throws Exception {
+        FakeNode node = new FakeNode();
+        CountDownLatch gate = new CountDownLatch(1);
+        node.setGate(gate);
+        provider = new LimitingProvider.Builder(node)
+                .initialLimit(1)
+                .maxQueueSize(1)
+                .maxWait(50, TimeUnit.MILLISECONDS)
+                .build();
+        IconService iconService = new IconService(provider);
+
+        CompletableFuture<BigInteger> running = iconService.getTotalSupply().executeAsync();
+        CompletableFuture<BigInteger> queued = iconService.getTotalSupply().executeAsync();
+        // the queue is full
+        CompletableFuture<BigInteger> rejected = iconService.getTotalSupply().executeAsync();
+        ExecutionException e = assertThrows(ExecutionException.class, () -> rejected.get(1, TimeUnit.SECONDS));
+        assertTrue(e.getCause() instanceof LimitExceededException);
+
+        // the queued one times out
+        e = assertThrows(ExecutionException.class, () -> queued.get(1, TimeUnit.SECONDS));
+        assertTrue(e.getCause() instanceof LimitExceededException);
+        assertThrows(LimitExceededException.class, () -> iconService.getTotalSupply().execute());
+        assertEquals(3, provider.getRejectedCount());
+
+        gate.countDown();
+        assertEquals(BigInteger.ONE, running.get(1, TimeUnit.SECONDS));
+        assertEquals(1, node.getCallCount());
+    }
+
+    @Test
+    void testCancelQueued() throws Exception {
+        FakeNode node = new FakeNode();
+        CountDownLatch gate = new CountDownLatch(1);
+        node.setGate(gate);
+        provider = new LimitingProvider.Builder(node).initialLimit(1).build();
+        IconService iconService = new IconService(provider);
+
+        CompletableFuture<BigInteger> running = iconService.getTotalSupply().executeAsync();
+        CompletableFuture<BigInteger> queued = iconService.getTotalSupply().executeAsync();
+        assertTrue(queued.cancel(true));
+        assertEquals(0, provider.getQueued("icx"));
+
+        gate.countDown();
+        running.get(1, TimeUnit.SECONDS);
+        assertEquals(1, node.getCallCount());
+    }
+}
@@ -0,0 +1,272 @@
+/*
+ * Copyright 2026 ICON Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package foundation.icon.icx.transport.monitor;
+
+import foundation.icon.icx.data.BlockNotification;
+import foundation.icon.icx.data.Converters;
+import foundation.icon.icx.metrics.ClientMetrics;
+import foundation.icon.icx.metrics.RecordingMetrics;
+import foundation.icon.icx.simulator.NodeSimulator;
+import foundation.icon.icx.transport.http.HttpProvider;
+import okhttp3.WebSocket;
+import okhttp3.WebSocketListener;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.Test;
+
+import java.io.UncheckedIOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MonitorPublisherTest {
+
+    @Test
+    void testDemand() throws Exception {
+        RecordingMetrics metrics = new RecordingMetrics();
+        ClientMetrics.install(metrics);
+        try (NodeSimulator node = new NodeSimulator.Builder().startHeight(1000).build()) {
+            HttpProvider provider = new HttpProvider(node.getUrl());
+            provider.setMonitorDispatch(new MonitorDispatch.Builder().capacity(8).build());
+            MonitorPublisher<BlockNotification> publisher = new MonitorPublisher<>(provider.monitor(
+                    new BlockMonitorSpec(BigInteger.ONE, null), Converters.BLOCK_NOTIFICATION));
+            Collector collector = new Collector();
+            publisher.subscribe(collector);
+
+            collector.subscription.request(3);
+            collector.await(3);
+            // nothing more is delivered without a demand, and the queue stays within its capacity
+            while (metrics.getMonitor("block").getMaxQueueDepth() < 8) {
+                Thread.sleep(10);
+            }
+            Thread.sleep(100);
+            assertEquals(3, collector.getHeights().size());
+            assertEquals(8, metrics.getMonitor("block").getMaxQueueDepth());
+            assertEquals(0, metrics.getMonitor("block").getDropCount());
+
+            collector.subscription.request(2);
+            collector.await(5);
+            Thread.sleep(100);
+            List<Long> heights = collector.getHeights();
+            assertEquals(5, heights.size());
+            for (int i = 0; i < heights.size(); i++) {
+                assertEquals(i + 1, (long) heights.get(i));
+            }
+
+            collector.subscription.cancel();
+            collector.subscription.request(10);
+            Thread.sleep(100);
+            assertEquals(5, collector.getHeights().size());
+            assertFalse(collector.completed.isDone());
+            assertFalse(collector.error.isDone());
+        } finally {
+            ClientMetrics.install(null);
+        }
+    }
+
+    @Test
+    void testIterator() throws Exception {
+        try (NodeSimulator node = new NodeSimulator.Builder().startHeight(100).build()) {
+            HttpProvider provider = new HttpProvider(node.getUrl());
+            Monitor<BlockNotification> monitor = provider.monitor(
+                    new BlockMonitorSpec(BigInteger.TEN, null), Converters.BLOCK_NOTIFICATION);
+            try (MonitorIterator<BlockNotification> it = new MonitorIterator<>(monitor)) {
+                for (int height = 10; height < 20; height++) {
+                    assertTrue(it.hasNext());
+                    assertEquals(height, it.next().getHeight().intValue());
+                }
+            }
+            // stopped by the iterator
+            assertThrows(IllegalStateException.class, monitor::stop);
+        }
+    }
+
+    @Test
+    void testCompleteAndError() throws Exception {
+        try (MockWebServer server = new MockWebServer()) {
+            server.enqueue(new MockResponse().withWebSocketUpgrade(new WebSocketListener() {
+                @Override
+                public void onMessage(WebSocket webSocket, String text) {
+                    webSocket.send("{\"code\":0}");
+                    for (int i = 1; i <= 2; i++) {
+                        webSocket.send("{\"height\":\"0x" + i + "\",\"hash\":\"0x1234\"}");
+                    }
+                    webSocket.close(1000, null);
+                }
+            }));
+            server.enqueue(new MockResponse().withWebSocketUpgrade(new WebSocketListener() {
+                @Override
+                public void onMessage(WebSocket webSocket, String text) {
+                    webSocket.send("{\"code\":-31004,\"message\":\"NotFound\"}");
+                }
+
+                @Override
+                public void onClosing(WebSocket webSocket, int code, String reason) {
+                    webSocket.close(1000, null);
+                }
+            }));
+            server.start();
+            HttpProvider provider = new HttpProvider(server.url("/").toString().replaceFirst("/$", ""), 3);
+
+            try (MonitorIterator<BlockNotification> it = new MonitorIterator<>(provider.monitor(
+                    new BlockMonitorSpec(BigInteger.ONE, null), Converters.BLOCK_NOTIFICATION))) {
+                assertEquals(1, it.next().getHeight().intValue());
+                assertEquals(2, it.next().getHeight().intValue());
+                assertFalse(it.hasNext());
+            }
+
+            try (MonitorIterator<BlockNotification> it = new MonitorIterator<>(provider.monitor(
+                    new BlockMonitorSpec(BigInteger.ONE, null), Converters.BLOCK_NOTIFICATION))) {
+                UncheckedIOException e = assertThrows(UncheckedIOException.class, it::hasNext);
+                assertEquals(-31004, ((MonitorException) e.getCause()).getCode());
+            }
+        }
+    }
+
+    @Test
+    void testSingleSubscriber() throws Exception {
+        try (NodeSimulator node = new NodeSimulator.Builder().startHeight(10).build()) {
+            HttpProvider provider = new HttpProvider(node.getUrl());
+            MonitorPublisher<BlockNotification> publisher = new MonitorPublisher<>(provider.monitor(
+                    new BlockMonitorSpec(BigInteger.ONE, null), Converters.BLOCK_NOTIFICATION));
+            Collector first = new Collector();
+            Collector second = new Collector();
+            publisher.subscribe(first);
+            publisher.subscribe(second);
+            assertTrue(second.error.get(1, TimeUnit.SECONDS) instanceof IllegalStateException);
+
+            first.subscription.request(-1);
+            assertTrue(first.error.get(1, TimeUnit.SECONDS) instanceof IllegalArgumentException);
+        }
+    }
+
+    @Test
+    void testFlowPublisher() throws Exception {
+        try (NodeSimulator node = new NodeSimulator.Builder().startHeight(10).build()) {
+            HttpProvider provider = new HttpProvider(node.getUrl());
+            Flow.Publisher<BlockNotification> publisher = new FlowMonitorPublisher<>(provider.monitor(
+                    new BlockMonitorSpec(BigInteger.ONE, null), Converters.BLOCK_NOTIFICATION));
+            List<Long> heights = new ArrayList<>();
+            CompletableFuture<List<Long>> done = new CompletableFuture<>();
+            publisher.subscribe(new Flow.Subscriber<BlockNotification>() {
+                private Flow.Subscription subscription;
+
+                @Override
+                public void onSubscribe(Flow.Subscription subscription) {
+                    this.subscription = subscription;
+                    subscription.request(1);
+                }
+
+                @Override
+                public void onNext(BlockNotification item) {
+                    heights.add(item.getHeight().longValue());
+                    if (heights.size() < 3) {
+                        subscription.request(1);
+                    } else {
+                        subscription.cancel();
+                        done.complete(heights);
+                    }
+                }
+
+                @Override
+                public void onError(Throwable throwable) {
+                    done.completeExceptionally(throwable);
+                }
+
+                @Override
+                public void onComplete() {
+                    done.completeExceptionally(new AssertionError("completed"));
+                }
+            });
+            assertEquals(Arrays.asList(1L, 2L, 3L), done.get(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void testStopWhileWaitingForDemand() throws Exception {
+        try (NodeSimulator node = new NodeSimulator.Builder().startHeight(10).build()) {
+            ResumingMonitor<BlockNotification> monitor = new ResumingMonitor.Builder<>(
+                    new HttpProvider(node.getUrl()), new BlockMonitorSpec(BigInteger.ONE, null),
+                    Converters.BLOCK_NOTIFICATION).build();
+            MonitorPublisher<BlockNotification> publisher = new MonitorPublisher<>(monitor);
+            Collector collector = new Collector();
+            publisher.subscribe(collector);
+            collector.subscription.request(1);
+            collector.await(1);
+            Thread.sleep(100);
+
+            // the delivery waiting for the demand does not hold the lock of the monitor
+            CompletableFuture.runAsync(monitor::stop).get(5, TimeUnit.SECONDS);
+            collector.subscription.cancel();
+            Thread.sleep(100);
+            assertEquals(1, collector.getHeights().size());
+            assertFalse(collector.error.isDone());
+        }
+    }
+
+    private static class Collector implements MonitorPublisher.Subscriber<BlockNotification> {
+        private final List<Long> heights = new ArrayList<>();
+        final CompletableFuture<Throwable> error = new CompletableFuture<>();
+        final CompletableFuture<Boolean> completed = new CompletableFuture<>();
+        volatile MonitorPublisher.Subscription subscription;
+
+        synchronized List<Long> getHeights() {
+            return new ArrayList<>(heights);
+        }
+
+        synchronized void await(int count) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (heights.size() < count) {
+                long left = deadline - System.nanoTime();
+                if (left <= 0) {
+                    throw new AssertionError("received " + heights.size());
+                }
+                TimeUnit.NANOSECONDS.timedWait(this, left);
+            }
+        }
+
+        @Override
+        public void onSubscribe(MonitorPublisher.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public synchronized void onNext(BlockNotification item) {
+            heights.add(item.getHeight().longValue());
+            notifyAll();
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error.complete(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            completed.complete(true);
+        }
+    }
+}
@@ -0,0 +1,252 @@
+/*
+ * Copyright 2026 ICON Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package foundation.icon.icx.transport.monitor;
+
+import foundation.icon.icx.IconService;
+import foundation.icon.icx.data.BlockNotification;
+import foundation.icon.icx.data.Converters;
+import foundation.icon.icx.data.EventNotification;
+import foundation.icon.icx.simulator.NodeSimulator;
+import foundation.icon.icx.transport.http.HttpProvider;
+import foundation.icon.icx.transport.jsonrpc.RpcItem;
+import foundation.icon.icx.transport.retry.RetryingProvider;
+import okhttp3.WebSocket;
+import okhttp3.WebSocketListener;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResumingMonitorTest {
+
+    @Test
+    void testWithHeight() {
+        MonitorSpec<BlockNotification> block = new BlockMonitorSpec(BigInteger.ONE, null).withHeight(BigInteger.TEN);
+        assertEquals(BigInteger.TEN, block.getParams().getItem("height").asInteger());
+        MonitorSpec<EventNotification> event = new EventMonitorSpec(BigInteger.ONE, "Transfer(Address,int)",
+                null, null, null, true, 5).withHeight(BigInteger.TEN);
+        assertEquals(BigInteger.TEN, event.getParams().getItem("height").asInteger());
+        assertEquals("Transfer(Address,int)", event.getParams().getItem("event").asString());
+        assertEquals(BigInteger.valueOf(5), event.getParams().getItem("progressInterval").asInteger());
+
+        assertTrue(ResumingMonitor.isResumable(block));
+        assertThrows(IllegalArgumentException.class, () -> new ResumingMonitor.Builder<>(
+                new HttpProvider("http://localhost:9000/api/v3"),
+                new BTPMonitorSpec(BigInteger.ONE, BigInteger.ONE, false), Converters.RPC_ITEM));
+    }
+
+    @Test
+    void testResumeBlocks() throws Exception {
+        try (NodeSimulator node = new NodeSimulator.Builder()
+                .startHeight(100)
+                .blockInterval(20, TimeUnit.MILLISECONDS)
+                .build()) {
+            RetryingProvider provider = new RetryingProvider.Builder(new HttpProvider(node.getUrl()))
+                    .backoff(10, 50, TimeUnit.MILLISECONDS)
+                    .resumeMonitors(true)
+                    .build();
+            Monitor<BlockNotification> monitor = new IconService(provider).monitorBlocks(BigInteger.ONE);
+            Collector<BlockNotification> collector = new Collector<>(BlockNotification::getHeight);
+            assertTrue(monitor.start(collector));
+
+            collector.await(50);
+            drop(node, 2);
+            collector.await(150);
+            drop(node, 3);
+            collector.await(200);
+            monitor.stop();
+            assertTrue(collector.closed.get(1, TimeUnit.SECONDS));
+
+            List<BigInteger> heights = collector.getHeights();
+            for (int i = 0; i < heights.size(); i++) {
+                assertEquals(BigInteger.valueOf(i + 1), heights.get(i));
+            }
+            assertEquals(1, collector.starts);
+            assertEquals(0, collector.errors);
+            assertEquals(2, ((ResumingMonitor<?>) monitor).getReconnectCount());
+            // each connection resumes after the last block delivered
+            List<Long> requested = node.getMonitorHeights();
+            assertEquals(3, requested.size());
+            assertEquals(1, (long) requested.get(0));
+            assertTrue(requested.get(1) > 50 && requested.get(2) > 150);
+        }
+    }
+
+    @Test
+    void testSuppressDeliveredEvents() throws Exception {
+        try (NodeSimulator node = new NodeSimulator.Builder()
+                .startHeight(100)
+                .blockInterval(20, TimeUnit.MILLISECONDS)
+                .build()) {
+            HttpProvider provider = new HttpProvider(node.getUrl());
+            ResumingMonitor<RpcItem> monitor = new ResumingMonitor.Builder<>(provider,
+                    new EventMonitorSpec(BigInteger.ONE, "Transfer(Address,Address,int)", null, null, null),
+                    Converters.RPC_ITEM)
+                    .backoff(10, 50, TimeUnit.MILLISECONDS)
+                    .build();
+            Collector<RpcItem> collector = new Collector<>(item -> item.asObject().getItem("height").asInteger());
+            assertTrue(monitor.start(collector));
+
+            collector.await(50);
+            drop(node, 2);
+            collector.await(150);
+            monitor.stop();
+
+            List<BigInteger> heights = collector.getHeights();
+            for (int i = 0; i < heights.size(); i++) {
+                assertEquals(BigInteger.valueOf(i + 1), heights.get(i));
+            }
+            // the events resume at the height of the last one, which is delivered again by the node
+            List<Long> requested = node.getMonitorHeights();
+            assertEquals(2, requested.size());
+            assertTrue(requested.get(1) >= 50, requested.toString());
+            assertTrue(monitor.getDuplicateCount() >= 1, requested + " " + heights.size());
+        }
+    }
+
+    @Test
+    void testStartAsync() throws Exception {
+        try (NodeSimulator node = new NodeSimulator.Builder().startHeight(10).build()) {
+            ResumingMonitor<BlockNotification> monitor = new ResumingMonitor.Builder<>(
+                    new HttpProvider(node.getUrl()), new BlockMonitorSpec(BigInteger.ONE, null),
+                    Converters.BLOCK_NOTIFICATION)
+                    .build();
+            Collector<BlockNotification> collector = new Collector<>(BlockNotification::getHeight);
+            monitor.startAsync(collector).get(1, TimeUnit.SECONDS);
+            collector.await(10);
+            monitor.stop();
+        }
+
+        // the first connection is not made again
+        try (MockWebServer server = new MockWebServer()) {
+            server.enqueue(new MockResponse().withWebSocketUpgrade(new WebSocketListener() {
+                @Override
+                public void onMessage(WebSocket webSocket, String text) {
+                    webSocket.send("{\"code\":-31004,\"message\":\"Not found\"}");
+                }
+
+                @Override
+                public void onClosing(WebSocket webSocket, int code, String reason) {
+                    webSocket.close(1000, null);
+                }
+            }));
+            server.start();
+            ResumingMonitor<RpcItem> monitor = new ResumingMonitor.Builder<>(
+                    new HttpProvider(server.url("/").toString().replaceFirst("/$", ""), 3),
+                    new BlockMonitorSpec(BigInteger.ONE, null), Converters.RPC_ITEM)
+                    .build();
+            Collector<RpcItem> collector = new Collector<>(item -> BigInteger.ZERO);
+            Throwable t = assertThrows(ExecutionException.class,
+                    () -> monitor.startAsync(collector).get(1, TimeUnit.SECONDS)).getCause();
+            assertEquals(-31004, ((MonitorException) t).getCode());
+            assertEquals(0, monitor.getReconnectCount());
+            assertEquals(1, server.getRequestCount());
+        }
+    }
+
+    @Test
+    void testGiveUp() throws Exception {
+        try (NodeSimulator node = new NodeSimulator.Builder().startHeight(10).build()) {
+            ResumingMonitor<BlockNotification> monitor = new ResumingMonitor.Builder<>(
+                    new HttpProvider(node.getUrl()), new BlockMonitorSpec(BigInteger.ONE, null),
+                    Converters.BLOCK_NOTIFICATION)
+                    .maxAttempts(0)
+                    .build();
+            Collector<BlockNotification> collector = new Collector<>(BlockNotification::getHeight);
+            assertTrue(monitor.start(collector));
+            collector.await(10);
+            node.dropConnections();
+            assertEquals(0, (long) collector.error.get(5, TimeUnit.SECONDS));
+            assertEquals(0, monitor.getReconnectCount());
+            // the error ends the monitor, so it is not closed after that
+            monitor.stop();
+            assertFalse(collector.closed.isDone());
+        }
+    }
+
+    // Drops the connections, and waits for the monitor to connect again
+    private static void drop(NodeSimulator node, int connections) throws InterruptedException {
+        node.dropConnections();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (node.getMonitorHeights().size() < connections) {
+            assertTrue(System.nanoTime() < deadline, "not connected again");
+            Thread.sleep(10);
+        }
+    }
+
+    private static class Collector<T> implements Monitor.Listener<T> {
+        private final Function<T, BigInteger> height;
+        private final List<BigInteger> heights = new ArrayList<>();
+        final CompletableFuture<Long> error = new CompletableFuture<>();
+        final CompletableFuture<Boolean> closed = new CompletableFuture<>();
+        volatile int starts;
+        volatile int errors;
+
+        Collector(Function<T, BigInteger> height) {
+            this.height = height;
+        }
+
+        synchronized List<BigInteger> getHeights() {
+            return new ArrayList<>(heights);
+        }
+
+        synchronized void await(int count) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (heights.size() < count) {
+                long left = deadline - System.nanoTime();
+                if (left <= 0) {
+                    throw new AssertionError("received " + heights.size());
+                }
+                TimeUnit.NANOSECONDS.timedWait(this, left);
+            }
+        }
+
+        @Override
+        public void onStart() {
+            starts++;
+        }
+
+        @Override
+        public synchronized void onEvent(T msg) {
+            heights.add(height.apply(msg));
+            notifyAll();
+        }
+
+        @Override
+        public void onError(long code) {
+            errors++;
+            error.complete(code);
+        }
+
+        @Override
+        public void onClose() {
+            closed.complete(true);
+        }
+    }
+}
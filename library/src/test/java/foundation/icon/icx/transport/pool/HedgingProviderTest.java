@@ -0,0 +1,260 @@
+/*
+ * Copyright 2026 ICON Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package foundation.icon.icx.transport.pool;
+
+import foundation.icon.icx.Callback;
+import foundation.icon.icx.IconService;
+import foundation.icon.icx.Provider;
+import foundation.icon.icx.Request;
+import foundation.icon.icx.data.Address;
+import foundation.icon.icx.transport.jsonrpc.RpcConverter;
+import foundation.icon.icx.transport.jsonrpc.RpcValue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HedgingProviderTest {
+    private static final Address ADDRESS = new Address("hx4873b94352c8c1f3b2f09aaeccea31ce9e90bd31");
+
+    private HedgingProvider provider;
+
+    @AfterEach
+    void tearDown() {
+        if (provider != null) {
+            provider.close();
+        }
+    }
+
+    @Test
+    void testFastRequestIsNotHedged() throws IOException {
+        SlowNode node = new SlowNode();
+        provider = new HedgingProvider.Builder(node).initialDelay(200, TimeUnit.MILLISECONDS).build();
+        IconService iconService = new IconService(provider);
+
+        assertEquals(BigInteger.ONE, iconService.getBalance(ADDRESS).execute());
+        assertEquals(1, node.calls.get());
+        assertEquals(1, provider.getRequestCount());
+        assertEquals(0, provider.getHedgeCount());
+    }
+
+    @Test
+    void testHedgeWins() throws IOException {
+        SlowNode node = new SlowNode();
+        node.delays.add(2000L);
+        provider = new HedgingProvider.Builder(node).initialDelay(20, TimeUnit.MILLISECONDS).build();
+        IconService iconService = new IconService(provider);
+
+        long start = System.nanoTime();
+        assertEquals(BigInteger.ONE, iconService.getBalance(ADDRESS).execute());
+        assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(1000));
+        assertEquals(2, node.calls.get());
+        assertEquals(1, node.canceled.get());
+        assertEquals(1, provider.getHedgeCount());
+        assertEquals(1, provider.getHedgeWinCount());
+        assertEquals(1.0, provider.getHedgeRate());
+    }
+
+    @Test
+    void testPrimaryFailureWaitsForHedge() throws Exception {
+        SlowNode node = new SlowNode();
+        node.delays.add(100L);
+        node.delays.add(200L);
+        node.failFirst = true;
+        provider = new HedgingProvider.Builder(node).initialDelay(20, TimeUnit.MILLISECONDS).build();
+        IconService iconService = new IconService(provider);
+
+        assertEquals(BigInteger.ONE, iconService.getBalance(ADDRESS).execute());
+        assertEquals(1, provider.getHedgeWinCount());
+        assertEquals(0, node.canceled.get());
+    }
+
+    @Test
+    void testFailureWithoutHedge() {
+        SlowNode node = new SlowNode();
+        node.failFirst = true;
+        provider = new HedgingProvider.Builder(node).initialDelay(200, TimeUnit.MILLISECONDS).build();
+        IconService iconService = new IconService(provider);
+
+        assertThrows(IOException.class, () -> iconService.getBalance(ADDRESS).execute());
+        assertEquals(1, node.calls.get());
+        assertEquals(0, provider.getHedgeCount());
+    }
+
+    @Test
+    void testHedgeThrows() {
+        SlowNode node = new SlowNode();
+        node.delays.add(100L);
+        node.failFirst = true;
+        node.throwSecond = true;
+        provider = new HedgingProvider.Builder(node).initialDelay(20, TimeUnit.MILLISECONDS).build();
+        IconService iconService = new IconService(provider);
+
+        // the hedge throws on the timer thread, so the failure of the primary is the result
+        IOException e = assertThrows(IOException.class, () -> iconService.getBalance(ADDRESS).execute());
+        assertEquals("connection reset", e.getMessage());
+        assertEquals(1, provider.getHedgeCount());
+    }
+
+    @Test
+    void testWriteIsNotHedged() throws IOException {
+        SlowNode node = new SlowNode();
+        node.delays.add(100L);
+        provider = new HedgingProvider.Builder(node).initialDelay(10, TimeUnit.MILLISECONDS).build();
+        IconService iconService = new IconService(provider);
+
+        iconService.getTotalSupply().execute();
+        assertEquals(1, node.calls.get());
+        assertEquals(0, provider.getRequestCount());
+        assertTrue(HedgingProvider.isHedgeable("icx_getBlockByHeight"));
+        assertTrue(HedgingProvider.isHedgeable("btp_getNetworkInfo"));
+        assertFalse(HedgingProvider.isHedgeable("icx_sendTransaction"));
+    }
+
+    @Test
+    void testDelayFollowsPercentile() throws Exception {
+        SlowNode node = new SlowNode();
+        provider = new HedgingProvider.Builder(node)
+                .initialDelay(1, TimeUnit.SECONDS)
+                .percentile(0.9)
+                .minDelay(500, TimeUnit.MILLISECONDS)
+                .build();
+        IconService iconService = new IconService(provider);
+        assertEquals(1000, provider.getHedgeDelay("icx_getBalance", TimeUnit.MILLISECONDS));
+
+        for (int i = 0; i < 30; i++) {
+            iconService.getBalance(ADDRESS).execute();
+        }
+        // the fast latencies are bounded by the minimum delay
+        assertEquals(500, provider.getHedgeDelay("icx_getBalance", TimeUnit.MILLISECONDS));
+        assertEquals(1000, provider.getHedgeDelay("icx_call", TimeUnit.MILLISECONDS));
+        assertEquals(0, provider.getHedgeCount());
+    }
+
+    @Test
+    void testCanceledPrimaryKeepsDelay() throws Exception {
+        SlowNode node = new SlowNode();
+        for (int i = 0; i < 20; i++) {
+            node.delays.add(300L);
+            node.delays.add(0L);
+        }
+        provider = new HedgingProvider.Builder(node)
+                .initialDelay(20, TimeUnit.MILLISECONDS)
+                .percentile(0.9)
+                .maxHedgeRate(1)
+                .build();
+        IconService iconService = new IconService(provider);
+
+        for (int i = 0; i < 20; i++) {
+            iconService.getBalance(ADDRESS).execute();
+        }
+        assertEquals(20, provider.getHedgeWinCount());
+        // the hedges answered at once, but the canceled primaries had waited for the delay
+        assertTrue(provider.getHedgeDelay("icx_getBalance", TimeUnit.MILLISECONDS) >= 20);
+    }
+
+    @Test
+    void testHedgeBudget() throws IOException {
+        SlowNode node = new SlowNode();
+        node.delays.add(100L);
+        node.delays.add(0L);
+        node.delays.add(100L);
+        provider = new HedgingProvider.Builder(node)
+                .initialDelay(10, TimeUnit.MILLISECONDS)
+                .maxHedgeRate(0.01)
+                .build();
+        IconService iconService = new IconService(provider);
+
+        iconService.getBalance(ADDRESS).execute();
+        iconService.getBalance(ADDRESS).execute();
+        assertEquals(3, node.calls.get());
+        assertEquals(2, provider.getRequestCount());
+        assertEquals(1, provider.getHedgeCount());
+        assertEquals(0.5, provider.getHedgeRate());
+    }
+
+    // Answers each request on its own thread after the next delay in the queue
+    private static class SlowNode implements Provider {
+        final AtomicInteger calls = new AtomicInteger();
+        final AtomicInteger canceled = new AtomicInteger();
+        final Queue<Long> delays = new ArrayDeque<>();
+        volatile boolean failFirst;
+        volatile boolean throwSecond;
+        private int created;
+
+        @Override
+        public <T> Request<T> request(foundation.icon.icx.transport.jsonrpc.Request request, RpcConverter<T> converter) {
+            final long delay;
+            final boolean fail;
+            final boolean reject;
+            synchronized (this) {
+                reject = throwSecond && created++ == 1;
+                Long next = delays.poll();
+                delay = next != null ? next : 0;
+                fail = failFirst && calls.get() == 0;
+            }
+            return new Request<T>() {
+                private Thread thread;
+
+                @Override
+                public T execute() throws IOException {
+                    calls.incrementAndGet();
+                    try {
+                        Thread.sleep(delay);
+                    } catch (InterruptedException e) {
+                        throw new IOException("Canceled");
+                    }
+                    if (fail) {
+                        throw new IOException("connection reset");
+                    }
+                    return converter.convertTo(new RpcValue(BigInteger.ONE));
+                }
+
+                @Override
+                public synchronized void execute(Callback<T> callback) {
+                    if (reject) {
+                        throw new IllegalStateException("Rejected");
+                    }
+                    thread = new Thread(() -> {
+                        try {
+                            callback.onSuccess(execute());
+                        } catch (IOException e) {
+                            callback.onFailure(e);
+                        }
+                    });
+                    thread.start();
+                }
+
+                @Override
+                public synchronized void cancel() {
+                    canceled.incrementAndGet();
+                    thread.interrupt();
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,342 @@
+/*
+ * Copyright 2026 ICON Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package foundation.icon.icx.transport.pool;
+
+import foundation.icon.icx.Callback;
+import foundation.icon.icx.IconService;
+import foundation.icon.icx.data.Address;
+import foundation.icon.icx.data.BlockNotification;
+import foundation.icon.icx.data.Bytes;
+import foundation.icon.icx.data.Converters;
+import foundation.icon.icx.simulator.FakeNode;
+import foundation.icon.icx.transport.jsonrpc.RpcConverter;
+import foundation.icon.icx.transport.jsonrpc.RpcError;
+import foundation.icon.icx.transport.jsonrpc.RpcObject;
+import foundation.icon.icx.transport.jsonrpc.RpcValue;
+import foundation.icon.icx.transport.monitor.Monitor;
+import foundation.icon.icx.transport.monitor.MonitorSpec;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LoadBalancingProviderTest {
+
+    @Test
+    void testRouteToLowerLatency() throws IOException {
+        FakeNode fast = node(1);
+        FakeNode slow = node(30);
+        LoadBalancingProvider provider = new LoadBalancingProvider.Builder()
+                .add(slow)
+                .add(fast)
+                .build();
+        IconService iconService = new IconService(provider);
+
+        for (int i = 0; i < 10; i++) {
+            iconService.getTotalSupply().execute();
+        }
+        // each node is measured once, and then the faster one takes the rest
+        assertEquals(1, calls(slow));
+        assertEquals(9, calls(fast));
+        assertTrue(provider.getEndpoints().get(0).getLatency() > provider.getEndpoints().get(1).getLatency());
+    }
+
+    @Test
+    void testSpreadInFlightRequests() throws Exception {
+        FakeNode node1 = node(0);
+        FakeNode node2 = node(0);
+        CountDownLatch release = new CountDownLatch(1);
+        node1.setGate(release);
+        node2.setGate(release);
+        LoadBalancingProvider provider = new LoadBalancingProvider.Builder()
+                .add(node1)
+                .add(node2)
+                .build();
+        IconService iconService = new IconService(provider);
+
+        CountDownLatch done = new CountDownLatch(4);
+        for (int i = 0; i < 4; i++) {
+            iconService.getTotalSupply().execute(new Callback<BigInteger>() {
+                @Override
+                public void onSuccess(BigInteger result) {
+                    done.countDown();
+                }
+
+                @Override
+                public void onFailure(Exception exception) {
+                }
+            });
+        }
+        assertEquals(2, provider.getEndpoints().get(0).getInFlight());
+        assertEquals(2, provider.getEndpoints().get(1).getInFlight());
+        release.countDown();
+        assertTrue(done.await(1, TimeUnit.SECONDS));
+        assertEquals(2, calls(node1));
+        assertEquals(2, calls(node2));
+    }
+
+    @Test
+    void testUnmeasuredEndpointIsTried() throws IOException {
+        FakeNode node1 = node(5);
+        FakeNode node2 = node(5);
+        LoadBalancingProvider provider = new LoadBalancingProvider.Builder()
+                .add(node1)
+                .add(node2)
+                .build();
+        IconService iconService = new IconService(provider);
+
+        // the second node is scored with the latency of the first one, not zero or infinity
+        iconService.getTotalSupply().execute();
+        iconService.getTotalSupply().execute();
+        assertEquals(1, calls(node1));
+        assertEquals(1, calls(node2));
+    }
+
+    @Test
+    void testThrowingRequestReleasesEndpoint() {
+        FakeNode node = node(0);
+        node.setThrowing(true);
+        LoadBalancingProvider provider = new LoadBalancingProvider.Builder().add(node).build();
+        IconService iconService = new IconService(provider);
+
+        assertThrows(IllegalStateException.class, () -> iconService.getTotalSupply().execute(
+                new Callback<BigInteger>() {
+                    @Override
+                    public void onSuccess(BigInteger result) {
+                    }
+
+                    @Override
+                    public void onFailure(Exception exception) {
+                    }
+                }));
+        assertEquals(0, provider.getEndpoints().get(0).getInFlight());
+    }
+
+    @Test
+    void testEjectAndProbe() throws Exception {
+        FakeNode broken = node(0);
+        FakeNode healthy = node(5);
+        broken.setFailing(true);
+        LoadBalancingProvider provider = new LoadBalancingProvider.Builder()
+                .add(broken)
+                .add(healthy)
+                .failureThreshold(2)
+                .ejectionTime(200, TimeUnit.MILLISECONDS)
+                .build();
+        IconService iconService = new IconService(provider);
+        LoadBalancingProvider.Endpoint endpoint = provider.getEndpoints().get(0);
+
+        int failures = 0;
+        for (int i = 0; i < 10; i++) {
+            try {
+                iconService.getTotalSupply().execute();
+            } catch (IOException e) {
+                failures++;
+            }
+        }
+        assertEquals(2, failures);
+        assertFalse(endpoint.isHealthy());
+        assertEquals(2, calls(broken));
+
+        // a failed probe keeps the endpoint ejected
+        Thread.sleep(250);
+        iconService.getTotalSupply().execute();
+        assertEquals(1, probes(broken));
+        assertFalse(endpoint.isHealthy());
+
+        // the ejection time was doubled, and then the probe succeeds
+        broken.setFailing(false);
+        Thread.sleep(250);
+        iconService.getTotalSupply().execute();
+        assertEquals(1, probes(broken));
+        Thread.sleep(300);
+        iconService.getTotalSupply().execute();
+        assertEquals(2, probes(broken));
+        assertTrue(endpoint.isHealthy());
+        assertEquals(BigInteger.valueOf(100), endpoint.getHeight());
+    }
+
+    @Test
+    void testErrorResponseIsNotFailure() {
+        FakeNode node = node(0);
+        node.setErrorCode(-32602);
+        LoadBalancingProvider provider = new LoadBalancingProvider.Builder()
+                .add(node)
+                .failureThreshold(1)
+                .build();
+        IconService iconService = new IconService(provider);
+
+        for (int i = 0; i < 3; i++) {
+            assertThrows(RpcError.class, () -> iconService.getTotalSupply().execute());
+        }
+        assertTrue(provider.getEndpoints().get(0).isHealthy());
+        assertEquals(0, provider.getEndpoints().get(0).getInFlight());
+    }
+
+    @Test
+    void testPinnedHeightRouting() throws IOException {
+        FakeNode lagging = node(0);
+        FakeNode synced = node(5);
+        lagging.setHead(90);
+        LoadBalancingProvider provider = new LoadBalancingProvider.Builder()
+                .add(lagging)
+                .add(synced)
+                .heightAware(true)
+                .headRefreshInterval(1, TimeUnit.MINUTES)
+                .build();
+        IconService iconService = new IconService(provider);
+        Address address = new Address("hx4873b94352c8c1f3b2f09aaeccea31ce9e90bd31");
+
+        // the heads are polled once, and the lagging node is faster for the unpinned reads
+        for (int i = 0; i < 5; i++) {
+            iconService.getTotalSupply().execute();
+        }
+        assertEquals(1, probes(lagging));
+        assertEquals(1, probes(synced));
+        assertEquals(BigInteger.valueOf(90), provider.getEndpoints().get(0).getHeight());
+        assertEquals(4, calls(lagging));
+        assertEquals(1, calls(synced));
+
+        for (int i = 0; i < 5; i++) {
+            iconService.getBalance(address, BigInteger.valueOf(95)).execute();
+        }
+        assertEquals(6, calls(synced));
+        assertEquals(4, calls(lagging));
+
+        // no node has reached the height, so the highest one is used
+        assertEquals(BigInteger.valueOf(120), iconService.getBlock(BigInteger.valueOf(120)).execute().getHeight());
+        assertEquals(7, calls(synced));
+        assertEquals(BigInteger.valueOf(120), provider.getObservedHeight());
+    }
+
+    @Test
+    void testTransactionLookupAfterObservedBlock() throws IOException {
+        FakeNode lagging = node(0);
+        FakeNode synced = node(5);
+        lagging.setHead(99);
+        LoadBalancingProvider provider = new LoadBalancingProvider.Builder()
+                .add(lagging)
+                .add(synced)
+                .heightAware(true)
+                .headRefreshInterval(1, TimeUnit.MINUTES)
+                .build();
+        IconService iconService = new IconService(provider);
+        Bytes hash = new Bytes("0x2600770376fbf291d3d445054d45ed15280dd33c2038931aace3f7ea2ab59dbc");
+
+        // without a seen block, the lookup goes anywhere
+        iconService.getTransactionResult(hash).execute();
+        assertEquals(1, calls(lagging));
+        assertNull(provider.getObservedHeight());
+
+        assertEquals(BigInteger.valueOf(100), iconService.getBlock(BigInteger.valueOf(100)).execute().getHeight());
+        assertEquals(BigInteger.valueOf(100), provider.getObservedHeight());
+        for (int i = 0; i < 3; i++) {
+            iconService.getTransactionResult(hash).execute();
+        }
+        assertEquals(1, calls(lagging));
+        assertEquals(4, calls(synced));
+    }
+
+    @Test
+    void testMonitorHeights() throws IOException {
+        MonitorNode node1 = new MonitorNode();
+        MonitorNode node2 = new MonitorNode();
+        LoadBalancingProvider provider = new LoadBalancingProvider.Builder()
+                .add(node1)
+                .add(node2)
+                .heightAware(true)
+                .build();
+        provider.monitorHeights();
+        assertEquals(BigInteger.valueOf(101), node1.monitorHeight);
+        assertEquals(BigInteger.valueOf(101), node2.monitorHeight);
+
+        node2.notifyBlock(101);
+        node2.notifyBlock(102);
+        assertEquals(BigInteger.valueOf(100), provider.getEndpoints().get(0).getHeight());
+        assertEquals(BigInteger.valueOf(102), provider.getEndpoints().get(1).getHeight());
+
+        // the monitored endpoints are not polled
+        new IconService(provider).getBlock(BigInteger.valueOf(102)).execute();
+        assertEquals(1, probes(node1));
+        assertEquals(1, probes(node2));
+        assertEquals(0, calls(node1));
+        assertEquals(1, calls(node2));
+
+        provider.stopHeightMonitors();
+        assertTrue(node1.monitorStopped);
+        assertTrue(node2.monitorStopped);
+    }
+
+    // Answers in place unless a gate is set, so the probes are done when the request returns
+    private static FakeNode node(long delay) {
+        FakeNode node = new FakeNode(delay);
+        node.setCallbacksInPlace(true);
+        return node;
+    }
+
+    private static int calls(FakeNode node) {
+        return node.getCallCount() - probes(node);
+    }
+
+    private static int probes(FakeNode node) {
+        return node.getCallCount("icx_getLastBlock");
+    }
+
+    // Serves a block monitor whose notifications are sent by the test
+    private static class MonitorNode extends FakeNode {
+        volatile BigInteger monitorHeight;
+        volatile boolean monitorStopped;
+        Monitor.Listener<BlockNotification> monitorListener;
+
+        MonitorNode() {
+            setCallbacksInPlace(true);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> Monitor<T> monitor(MonitorSpec spec, RpcConverter<T> converter) {
+            monitorHeight = spec.getParams().getItem("height").asInteger();
+            return new Monitor<T>() {
+                @Override
+                public boolean start(Listener<T> listener) {
+                    monitorListener = (Listener<BlockNotification>) listener;
+                    listener.onStart();
+                    return true;
+                }
+
+                @Override
+                public void stop() {
+                    monitorStopped = true;
+                }
+            };
+        }
+
+        void notifyBlock(long height) {
+            monitorListener.onEvent(Converters.BLOCK_NOTIFICATION.convertTo(new RpcObject.Builder()
+                    .put("height", new RpcValue(BigInteger.valueOf(height)))
+                    .build()));
+        }
+    }
+}
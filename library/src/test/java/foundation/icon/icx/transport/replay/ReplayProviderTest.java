@@ -0,0 +1,171 @@
+/*
+ * Copyright 2026 ICON Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package foundation.icon.icx.transport.replay;
+
+import foundation.icon.icx.Callback;
+import foundation.icon.icx.IconService;
+import foundation.icon.icx.Request;
+import foundation.icon.icx.data.Block;
+import foundation.icon.icx.data.TransactionResult;
+import foundation.icon.icx.simulator.NodeSimulator;
+import foundation.icon.icx.transport.http.HttpProvider;
+import foundation.icon.icx.transport.jsonrpc.Response;
+import foundation.icon.icx.transport.jsonrpc.RpcError;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReplayProviderTest {
+
+    @TempDir
+    File dir;
+
+    @Test
+    void testRecordAndReplay() throws Exception {
+        File file = new File(dir, "test.rec.gz");
+        Block block;
+        TransactionResult result;
+        try (NodeSimulator node = new NodeSimulator.Builder().build();
+             RecordingProvider recorder = new RecordingProvider.Builder(
+                     new HttpProvider(node.getUrl()), file).build()) {
+            IconService iconService = new IconService(recorder);
+            block = iconService.getBlock(BigInteger.TEN).execute();
+            result = iconService.getTransactionResult(block.getTransactions().get(0).getTxHash()).execute();
+            assertThrows(RpcError.class, () -> iconService.getBlock(BigInteger.valueOf(1_000_000)).execute());
+            recorder.batch(Arrays.asList(
+                    new foundation.icon.icx.transport.jsonrpc.Request(1, "icx_getLastBlock", null),
+                    new foundation.icon.icx.transport.jsonrpc.Request(2, "icx_getBlockByHeight", null))).execute();
+            assertEquals(5, recorder.getRecordCount());
+        }
+
+        ReplayProvider replay = new ReplayProvider.Builder(file).build();
+        List<Record> records = replay.getRecords();
+        assertEquals(5, records.size());
+        assertEquals("icx_getBlockByHeight", records.get(0).getRequest().getMethod());
+        assertEquals("icx_getTransactionResult", records.get(1).getRequest().getMethod());
+        assertTrue(records.get(1).getTimeNanos() >= records.get(0).getTimeNanos());
+
+        // the ids of the requests are different from the recorded ones
+        IconService iconService = new IconService(replay);
+        assertEquals(block.getBlockHash(), iconService.getBlock(BigInteger.TEN).execute().getBlockHash());
+        TransactionResult replayed = iconService.getTransactionResult(result.getTxHash()).execute();
+        assertEquals(result.getBlockHeight(), replayed.getBlockHeight());
+        assertEquals(result.getEventLogs().size(), replayed.getEventLogs().size());
+        RpcError error = assertThrows(RpcError.class,
+                () -> iconService.getBlock(BigInteger.valueOf(1_000_000)).execute());
+        assertEquals(-31004, error.getCode());
+        assertEquals(3, replay.getHitCount());
+
+        List<Response> responses = replay.batch(Arrays.asList(
+                new foundation.icon.icx.transport.jsonrpc.Request(7, "icx_getBlockByHeight", null),
+                new foundation.icon.icx.transport.jsonrpc.Request(8, "icx_getLastBlock", null))).execute();
+        assertEquals(7, responses.get(0).getId());
+        assertEquals(-32602, responses.get(0).getError().getCode());
+        assertEquals(8, responses.get(1).getId());
+        assertNull(responses.get(1).getError());
+
+        assertThrows(IOException.class, () -> iconService.getBlock(BigInteger.ONE).execute());
+        assertEquals(1, replay.getMissCount());
+    }
+
+    @Test
+    void testAppendAndOpenRecording() throws Exception {
+        File file = new File(dir, "test.rec.gz");
+        try (NodeSimulator node = new NodeSimulator.Builder().build()) {
+            try (RecordingProvider recorder = new RecordingProvider.Builder(
+                    new HttpProvider(node.getUrl()), file).build()) {
+                new IconService(recorder).getBlock(BigInteger.ONE).execute();
+            }
+            // a recording which is still open is read up to the last record flushed
+            RecordingProvider recorder = new RecordingProvider.Builder(
+                    new HttpProvider(node.getUrl()), file).autoFlush(true).build();
+            new IconService(recorder).getBlock(BigInteger.valueOf(2)).execute();
+            new IconService(recorder).getBlock(BigInteger.valueOf(2)).execute();
+
+            ReplayProvider replay = new ReplayProvider.Builder(file).build();
+            assertEquals(3, replay.getRecords().size());
+            IconService iconService = new IconService(replay);
+            assertEquals(BigInteger.ONE, iconService.getBlock(BigInteger.ONE).execute().getHeight());
+            // the records of the same request are replayed in turn
+            for (int i = 0; i < 3; i++) {
+                assertEquals(BigInteger.valueOf(2), iconService.getBlock(BigInteger.valueOf(2)).execute().getHeight());
+            }
+            recorder.close();
+        }
+    }
+
+    @Test
+    void testRecordedTiming() throws Exception {
+        File file = new File(dir, "test.rec.gz");
+        try (NodeSimulator node = new NodeSimulator.Builder().latency(100, TimeUnit.MILLISECONDS).build();
+             RecordingProvider recorder = new RecordingProvider.Builder(
+                     new HttpProvider(node.getUrl()), file).build()) {
+            new IconService(recorder).getBlock(BigInteger.ONE).execute();
+        }
+
+        ReplayProvider fast = new ReplayProvider.Builder(file).build();
+        long start = System.nanoTime();
+        new IconService(fast).getBlock(BigInteger.ONE).execute();
+        assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(100));
+
+        try (ReplayProvider replay = new ReplayProvider.Builder(file)
+                .timing(ReplayProvider.Timing.RECORDED).build()) {
+            long latency = replay.getRecords().get(0).getLatencyNanos();
+            assertTrue(latency >= TimeUnit.MILLISECONDS.toNanos(100));
+            IconService iconService = new IconService(replay);
+            start = System.nanoTime();
+            iconService.getBlock(BigInteger.ONE).execute();
+            assertTrue(System.nanoTime() - start >= latency);
+
+            start = System.nanoTime();
+            CompletableFuture<Block> future = iconService.getBlock(BigInteger.ONE).executeAsync();
+            assertEquals(BigInteger.ONE, future.get(1, TimeUnit.SECONDS).getHeight());
+            assertTrue(System.nanoTime() - start >= latency);
+
+            Request<Block> request = iconService.getBlock(BigInteger.ONE);
+            CompletableFuture<Block> canceled = new CompletableFuture<>();
+            request.execute(new Callback<Block>() {
+                @Override
+                public void onSuccess(Block result) {
+                    canceled.complete(result);
+                }
+
+                @Override
+                public void onFailure(Exception exception) {
+                    canceled.completeExceptionally(exception);
+                }
+            });
+            request.cancel();
+            Throwable t = assertThrows(ExecutionException.class,
+                    () -> canceled.get(1, TimeUnit.SECONDS)).getCause();
+            assertEquals("Canceled", t.getMessage());
+        }
+    }
+}
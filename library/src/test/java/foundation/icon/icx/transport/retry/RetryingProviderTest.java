@@ -0,0 +1,390 @@
+/*
+ * Copyright 2026 ICON Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package foundation.icon.icx.transport.retry;
+
+import foundation.icon.icx.Callback;
+import foundation.icon.icx.IconService;
+import foundation.icon.icx.KeyWallet;
+import foundation.icon.icx.Provider;
+import foundation.icon.icx.Request;
+import foundation.icon.icx.SampleKeys;
+import foundation.icon.icx.SignedTransaction;
+import foundation.icon.icx.Transaction;
+import foundation.icon.icx.TransactionBuilder;
+import foundation.icon.icx.data.Address;
+import foundation.icon.icx.data.Bytes;
+import foundation.icon.icx.data.TransactionResult;
+import foundation.icon.icx.simulator.FakeNode;
+import foundation.icon.icx.transport.jsonrpc.RpcError;
+import foundation.icon.icx.transport.jsonrpc.RpcItem;
+import foundation.icon.icx.transport.jsonrpc.RpcObject;
+import foundation.icon.icx.transport.jsonrpc.RpcValue;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RetryingProviderTest {
+    private static final Address ADDRESS = new Address(SampleKeys.ADDRESS);
+
+    @Test
+    void testRetryRead() throws IOException {
+        FakeNode node = new FakeNode();
+        node.setFailures(2);
+        RetryingProvider provider = newProvider(node, 3);
+        IconService iconService = new IconService(provider);
+
+        assertEquals(BigInteger.ONE, iconService.getBalance(ADDRESS).execute());
+        assertEquals(3, node.getCallCount());
+        assertEquals(1, provider.getRequestCount());
+        assertEquals(2, provider.getRetryCount());
+        assertEquals(0, provider.getGiveUpCount());
+    }
+
+    @Test
+    void testGiveUpAfterMaxAttempts() {
+        FakeNode node = new FakeNode();
+        node.setFailures(5);
+        RetryingProvider provider = newProvider(node, 3);
+        IconService iconService = new IconService(provider);
+
+        assertThrows(IOException.class, () -> iconService.getBalance(ADDRESS).execute());
+        assertEquals(3, node.getCallCount());
+        assertEquals(1, provider.getGiveUpCount());
+    }
+
+    @Test
+    void testExecuteAgain() throws IOException {
+        FakeNode node = new FakeNode();
+        node.setFailures(5);
+        RetryingProvider provider = newProvider(node, 3);
+        Request<BigInteger> request = new IconService(provider).getBalance(ADDRESS);
+
+        assertThrows(IOException.class, request::execute);
+        assertEquals(3, node.getCallCount());
+        // the second execution has all of the attempts again
+        assertEquals(BigInteger.ONE, request.execute());
+        assertEquals(6, node.getCallCount());
+    }
+
+    @Test
+    void testNoRetryOnClientError() {
+        FakeNode node = new FakeNode();
+        node.setErrorCode(-32602);
+        RetryingProvider provider = newProvider(node, 3);
+        IconService iconService = new IconService(provider);
+
+        assertThrows(RpcError.class, () -> iconService.getBalance(ADDRESS).execute());
+        assertEquals(1, node.getCallCount());
+
+        node.setErrorCode(-32000);
+        assertThrows(RpcError.class, () -> iconService.getBalance(ADDRESS).execute());
+        assertEquals(4, node.getCallCount());
+        assertTrue(RetryingProvider.isIdempotent("icx_call"));
+        assertFalse(RetryingProvider.isIdempotent("icx_sendTransaction"));
+    }
+
+    @Test
+    void testRetryBudget() {
+        FakeNode node = new FakeNode();
+        node.setFailures(100);
+        RetryingProvider provider = new RetryingProvider.Builder(node)
+                .maxAttempts(3)
+                .backoff(1, 2, TimeUnit.MILLISECONDS)
+                .retryBudget(0.0, 2)
+                .build();
+        IconService iconService = new IconService(provider);
+
+        for (int i = 0; i < 3; i++) {
+            assertThrows(IOException.class, () -> iconService.getBalance(ADDRESS).execute());
+        }
+        // two retries of the first request use up the budget
+        assertEquals(5, node.getCallCount());
+        assertEquals(2, provider.getRetryCount());
+        assertEquals(2, provider.getBudgetExhaustedCount());
+    }
+
+    @Test
+    void testRetryAsync() throws Exception {
+        FakeNode node = new FakeNode();
+        node.setFailures(2);
+        RetryingProvider provider = newProvider(node, 3);
+        IconService iconService = new IconService(provider);
+
+        CompletableFuture<BigInteger> future = iconService.getBalance(ADDRESS).executeAsync();
+        assertEquals(BigInteger.ONE, future.get(1, TimeUnit.SECONDS));
+        assertEquals(3, node.getCallCount());
+        provider.close();
+    }
+
+    @Test
+    void testCancelDuringBackoff() throws Exception {
+        FakeNode node = new FakeNode();
+        node.setFailures(1);
+        RetryingProvider provider = new RetryingProvider.Builder(node)
+                .backoff(10, 10, TimeUnit.SECONDS)
+                .build();
+        IconService iconService = new IconService(provider);
+
+        Request<BigInteger> request = iconService.getBalance(ADDRESS);
+        CompletableFuture<BigInteger> future = new CompletableFuture<>();
+        request.execute(new FutureCallback<>(future));
+        while (provider.getRetryCount() == 0) {
+            Thread.sleep(1);
+        }
+        request.cancel();
+        Throwable t = assertThrows(ExecutionException.class, () -> future.get(1, TimeUnit.SECONDS)).getCause();
+        assertEquals("Canceled", t.getMessage());
+        assertEquals(1, node.getCallCount());
+        provider.close();
+    }
+
+    @Test
+    void testRetryThrows() throws Exception {
+        FakeNode node = new FakeNode();
+        node.setFailures(1);
+        RetryingProvider provider = new RetryingProvider.Builder(node)
+                .backoff(200, 200, TimeUnit.MILLISECONDS)
+                .build();
+        IconService iconService = new IconService(provider);
+
+        CompletableFuture<BigInteger> future = new CompletableFuture<>();
+        iconService.getBalance(ADDRESS).execute(new FutureCallback<>(future));
+        while (provider.getRetryCount() == 0) {
+            Thread.sleep(1);
+        }
+        // the retry throws on the scheduler
+        node.setThrowing(true);
+        Throwable t = assertThrows(ExecutionException.class, () -> future.get(1, TimeUnit.SECONDS)).getCause();
+        assertEquals("Rejected", t.getMessage());
+        assertEquals(1, node.getCallCount());
+        provider.close();
+    }
+
+    @Test
+    void testTxHash() {
+        // the example transactions of the JSON-RPC v3 specification,
+        // and the SHA3-256 hashes of their serialized forms
+        RpcObject transfer = new RpcObject.Builder()
+                .put("version", new RpcValue("0x3"))
+                .put("from", new RpcValue("hxbe258ceb872e08851f1f59694dac2558708ece11"))
+                .put("to", new RpcValue("hx5bfdb090f43a808005ffc27c25b213145e80b7cd"))
+                .put("value", new RpcValue("0xde0b6b3a7640000"))
+                .put("stepLimit", new RpcValue("0x12345"))
+                .put("nid", new RpcValue("0x1"))
+                .put("timestamp", new RpcValue("0x563a6cf330136"))
+                .put("nonce", new RpcValue("0x1"))
+                .put("signature", new RpcValue(
+                        "VAia7YZ2Ji6igKWzjR2YsGa2m53nKPrfK7uXYW78QLE+ATehAVZPC40szvAiA6NEU5gCYB4c4qaQzqDh2ugcHgA="))
+                .build();
+        assertEquals(new Bytes("0xf0c68a4f588233d722fff7b5a738ffa6b56ad4cb62ad6bc9fb3e5facb0c25059"),
+                RetryingProvider.getTxHash(transfer));
+
+        RpcObject call = new RpcObject.Builder()
+                .put("version", new RpcValue("0x3"))
+                .put("from", new RpcValue("hxbe258ceb872e08851f1f59694dac2558708ece11"))
+                .put("to", new RpcValue("cx982aed605b065b50a2a639c1ea5710ef5a0501a9"))
+                .put("value", new RpcValue("0x1"))
+                .put("stepLimit", new RpcValue("0x124f8"))
+                .put("nid", new RpcValue("0x1"))
+                .put("timestamp", new RpcValue("0x5727e42882650"))
+                .put("nonce", new RpcValue("0x1"))
+                .put("dataType", new RpcValue("call"))
+                .put("data", new RpcObject.Builder()
+                        .put("method", new RpcValue("transfer"))
+                        .put("params", new RpcObject.Builder()
+                                .put("_to", new RpcValue("hx5bfdb090f43a808005ffc27c25b213145e80b7cd"))
+                                .put("_value", new RpcValue("0x1"))
+                                .build())
+                        .build())
+                .put("signature", new RpcValue("c2lnbmF0dXJl"))
+                .build();
+        assertEquals(new Bytes("0x90e1f219f4b9658ec5e60d61641790907a570f443e8d076f0bb9abc05eaa283a"),
+                RetryingProvider.getTxHash(call));
+    }
+
+    @Test
+    void testResendNotAcceptedTransaction() throws IOException {
+        TransactionNode node = new TransactionNode();
+        node.setFailures(1);
+        RetryingProvider provider = newProvider(node, 3);
+        IconService iconService = new IconService(provider);
+        SignedTransaction signedTransaction = newTransaction();
+
+        Bytes hash = iconService.sendTransaction(signedTransaction).execute();
+        assertEquals(RetryingProvider.getTxHash(signedTransaction.getProperties()), hash);
+        assertEquals(2, node.sends());
+        assertEquals(1, node.lookups());
+        assertEquals(0, provider.getRecoveredCount());
+    }
+
+    @Test
+    void testNotResendAcceptedTransaction() throws Exception {
+        TransactionNode node = new TransactionNode();
+        node.loseResponse = true;
+        RetryingProvider provider = newProvider(node, 3);
+        IconService iconService = new IconService(provider);
+        SignedTransaction signedTransaction = newTransaction();
+        Bytes expected = RetryingProvider.getTxHash(signedTransaction.getProperties());
+
+        assertEquals(expected, iconService.sendTransaction(signedTransaction).execute());
+        assertEquals(1, node.sends());
+        assertEquals(1, provider.getRecoveredCount());
+
+        // sendTransactionAndWait waits for the result of the accepted one
+        CompletableFuture<TransactionResult> future =
+                iconService.sendTransactionAndWait(signedTransaction).executeAsync();
+        assertEquals(expected, future.get(1, TimeUnit.SECONDS).getTxHash());
+        assertEquals(2, node.sends());
+        assertEquals(1, node.waits());
+        assertEquals(2, provider.getRecoveredCount());
+        provider.close();
+    }
+
+    @Test
+    void testGiveUpOnUnknownTransaction() {
+        TransactionNode node = new TransactionNode();
+        node.setFailures(1);
+        node.lookupError = true;
+        RetryingProvider provider = newProvider(node, 3);
+        IconService iconService = new IconService(provider);
+
+        assertThrows(IOException.class, () -> iconService.sendTransaction(newTransaction()).execute());
+        assertEquals(1, node.sends());
+        assertEquals(1, provider.getGiveUpCount());
+    }
+
+    @Test
+    void testNotResendOnInvalidParamsLookup() {
+        TransactionNode node = new TransactionNode();
+        node.setFailures(1);
+        node.lookupErrorCode = -32602;
+        RetryingProvider provider = newProvider(node, 3);
+        IconService iconService = new IconService(provider);
+
+        // invalid params does not prove that the node lacks the transaction
+        assertThrows(IOException.class, () -> iconService.sendTransaction(newTransaction()).execute());
+        assertEquals(1, node.sends());
+        assertEquals(1, node.lookups());
+        assertEquals(1, provider.getGiveUpCount());
+    }
+
+    private static RetryingProvider newProvider(Provider provider, int maxAttempts) {
+        return new RetryingProvider.Builder(provider)
+                .maxAttempts(maxAttempts)
+                .backoff(1, 5, TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    private static SignedTransaction newTransaction() {
+        Transaction transaction = TransactionBuilder.newBuilder()
+                .nid(BigInteger.ONE)
+                .from(ADDRESS)
+                .to(new Address("hx5bfdb090f43a808005ffc27c25b213145e80b7cd"))
+                .value(BigInteger.TEN.pow(18))
+                .stepLimit(BigInteger.valueOf(100000))
+                .build();
+        return new SignedTransaction(transaction, KeyWallet.load(new Bytes(SampleKeys.PRIVATE_KEY_STRING)));
+    }
+
+    private static class FutureCallback<T> implements Callback<T> {
+        private final CompletableFuture<T> future;
+
+        FutureCallback(CompletableFuture<T> future) {
+            this.future = future;
+        }
+
+        @Override
+        public void onSuccess(T result) {
+            future.complete(result);
+        }
+
+        @Override
+        public void onFailure(Exception exception) {
+            future.completeExceptionally(exception);
+        }
+    }
+
+    // Keeps the accepted transactions, and answers their lookups
+    private static class TransactionNode extends FakeNode {
+        final Set<Bytes> accepted = ConcurrentHashMap.newKeySet();
+        volatile boolean loseResponse;
+        volatile boolean lookupError;
+        volatile long lookupErrorCode;
+
+        int sends() {
+            return getCallCount("icx_sendTransaction") + getCallCount("icx_sendTransactionAndWait");
+        }
+
+        int lookups() {
+            return getCallCount("icx_getTransactionResult");
+        }
+
+        int waits() {
+            return getCallCount("icx_waitTransactionResult");
+        }
+
+        @Override
+        protected RpcItem answer(foundation.icon.icx.transport.jsonrpc.Request request) throws IOException {
+            RpcObject params = request.getParams();
+            switch (request.getMethod()) {
+                case "icx_sendTransaction":
+                case "icx_sendTransactionAndWait": {
+                    Bytes hash = RetryingProvider.getTxHash(params);
+                    accepted.add(hash);
+                    if (loseResponse) {
+                        throw new IOException("unexpected end of stream");
+                    }
+                    return new RpcValue(hash);
+                }
+                case "icx_getTransactionResult":
+                    if (lookupError) {
+                        throw new IOException("connection refused");
+                    }
+                    if (lookupErrorCode != 0) {
+                        throw new RpcError(lookupErrorCode, "error");
+                    }
+                    return result(params.getItem("txHash").asBytes());
+                case "icx_waitTransactionResult":
+                    return result(params.getItem("txHash").asBytes());
+                default:
+                    return super.answer(request);
+            }
+        }
+
+        private RpcItem result(Bytes hash) throws RpcError {
+            if (!accepted.contains(hash)) {
+                throw new RpcError(-31004, "NotFound: no transaction");
+            }
+            return new RpcObject.Builder()
+                    .put("txHash", new RpcValue(hash))
+                    .put("status", new RpcValue(BigInteger.ONE))
+                    .put("blockHeight", new RpcValue(BigInteger.TEN))
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,296 @@
+/*
+ * Copyright 2026 ICON Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package foundation.icon.icx.transport.websocket;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import foundation.icon.icx.BatchRequest;
+import foundation.icon.icx.Callback;
+import foundation.icon.icx.IconService;
+import foundation.icon.icx.data.Address;
+import foundation.icon.icx.data.Block;
+import foundation.icon.icx.transport.jsonrpc.RpcError;
+import okhttp3.WebSocket;
+import okhttp3.WebSocketListener;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WebSocketProviderTest {
+    private static final Address ADDRESS = new Address("hx4873b94352c8c1f3b2f09aaeccea31ce9e90bd31");
+
+    @Test
+    void testPipelinedRequests() throws Exception {
+        FakeNode node = new FakeNode();
+        node.hold = 8;
+        try (MockWebServer server = new MockWebServer()) {
+            server.enqueue(new MockResponse().withWebSocketUpgrade(node));
+            server.start();
+            WebSocketProvider provider = newProvider(server);
+            IconService iconService = new IconService(provider);
+
+            List<CompletableFuture<BigInteger>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(iconService.getTotalSupply(BigInteger.valueOf(i)).executeAsync());
+            }
+            // the node answers in the reverse order after all the requests arrive
+            for (int i = 0; i < 8; i++) {
+                assertEquals(BigInteger.valueOf(i), futures.get(i).get(1, TimeUnit.SECONDS));
+            }
+            assertEquals(8, node.ids.size());
+            assertEquals(1, server.getRequestCount());
+            assertEquals(0, provider.getPendingCount());
+            provider.close();
+        }
+    }
+
+    @Test
+    void testBatch() throws Exception {
+        FakeNode node = new FakeNode();
+        try (MockWebServer server = new MockWebServer()) {
+            server.enqueue(new MockResponse().withWebSocketUpgrade(node));
+            server.start();
+            WebSocketProvider provider = newProvider(server);
+            IconService iconService = new IconService(provider);
+
+            BatchRequest batch = iconService.newBatch();
+            BatchRequest.Item<BigInteger> first = batch.add(s -> s.getTotalSupply(BigInteger.TEN));
+            BatchRequest.Item<Block> second = batch.add(s -> s.getBlock(BigInteger.ONE));
+            batch.execute();
+            assertEquals(BigInteger.TEN, first.execute());
+            assertEquals(BigInteger.ONE, second.execute().getHeight());
+            provider.close();
+        }
+    }
+
+    @Test
+    void testCallbackExecutor() throws Exception {
+        FakeNode node = new FakeNode();
+        ExecutorService executor = Executors.newSingleThreadExecutor(r -> new Thread(r, "test-callback"));
+        try (MockWebServer server = new MockWebServer()) {
+            server.enqueue(new MockResponse().withWebSocketUpgrade(node));
+            server.start();
+            WebSocketProvider provider = new WebSocketProvider.Builder(url(server))
+                    .callbackExecutor(executor)
+                    .build();
+            IconService iconService = new IconService(provider);
+
+            // the callback is called on the executor, not on the thread reading the connection
+            CompletableFuture<String> thread = new CompletableFuture<>();
+            iconService.getTotalSupply(BigInteger.ONE).execute(new Callback<BigInteger>() {
+                @Override
+                public void onSuccess(BigInteger result) {
+                    thread.complete(Thread.currentThread().getName());
+                }
+
+                @Override
+                public void onFailure(Exception exception) {
+                    thread.completeExceptionally(exception);
+                }
+            });
+            assertEquals("test-callback", thread.get(1, TimeUnit.SECONDS));
+            provider.close();
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testBatchRejected() throws Exception {
+        FakeNode node = new FakeNode();
+        node.rejectBatches = true;
+        try (MockWebServer server = new MockWebServer()) {
+            server.enqueue(new MockResponse().withWebSocketUpgrade(node));
+            server.start();
+            WebSocketProvider provider = newProvider(server);
+            IconService iconService = new IconService(provider);
+
+            // the error has no id, and fails the batch without waiting for the timeout
+            long start = System.nanoTime();
+            BatchRequest batch = iconService.newBatch();
+            BatchRequest.Item<BigInteger> first = batch.add(s -> s.getTotalSupply(BigInteger.TEN));
+            BatchRequest.Item<Block> second = batch.add(s -> s.getBlock(BigInteger.ONE));
+            batch.execute();
+            assertEquals(-32600, assertThrows(RpcError.class, first::execute).getCode());
+            assertEquals(-32600, assertThrows(RpcError.class, second::execute).getCode());
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(2));
+            assertEquals(0, provider.getPendingCount());
+            provider.close();
+        }
+    }
+
+    @Test
+    void testConnectionFailed() throws Exception {
+        try (MockWebServer server = new MockWebServer()) {
+            // the server does not upgrade the connection
+            server.enqueue(new MockResponse().setResponseCode(404));
+            server.start();
+            try (WebSocketProvider provider = newProvider(server)) {
+                IconService iconService = new IconService(provider);
+
+                long start = System.nanoTime();
+                assertThrows(IOException.class, () -> iconService.getTotalSupply(BigInteger.ONE).execute());
+                assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(2));
+                assertEquals(0, provider.getPendingCount());
+            }
+        }
+    }
+
+    @Test
+    void testTimeoutAndCancel() throws Exception {
+        FakeNode node = new FakeNode();
+        try (MockWebServer server = new MockWebServer()) {
+            server.enqueue(new MockResponse().withWebSocketUpgrade(node));
+            server.start();
+            WebSocketProvider provider = new WebSocketProvider.Builder(url(server))
+                    .timeout(200, TimeUnit.MILLISECONDS)
+                    .build();
+            IconService iconService = new IconService(provider);
+
+            // the node does not answer icx_getLastBlock
+            assertThrows(InterruptedIOException.class, () -> iconService.getLastBlock().execute());
+
+            foundation.icon.icx.Request<Block> request = iconService.getLastBlock();
+            CompletableFuture<Block> future = request.executeAsync();
+            assertEquals(1, provider.getPendingCount());
+            request.cancel();
+            Throwable t = assertThrows(ExecutionException.class, () -> future.get(1, TimeUnit.SECONDS)).getCause();
+            assertEquals("Canceled", t.getMessage());
+            assertEquals(0, provider.getPendingCount());
+
+            // the connection is still usable
+            assertEquals(BigInteger.TEN, iconService.getTotalSupply(BigInteger.TEN).execute());
+            provider.close();
+        }
+    }
+
+    @Test
+    void testReconnect() throws Exception {
+        FakeNode node = new FakeNode();
+        try (MockWebServer server = new MockWebServer()) {
+            server.enqueue(new MockResponse().withWebSocketUpgrade(node));
+            server.enqueue(new MockResponse().withWebSocketUpgrade(node));
+            server.start();
+            WebSocketProvider provider = newProvider(server);
+            IconService iconService = new IconService(provider);
+
+            CompletableFuture<Block> inFlight = iconService.getLastBlock().executeAsync();
+            // the node closes the connection on icx_getBalance
+            assertThrows(IOException.class, () -> iconService.getBalance(ADDRESS).execute());
+            Throwable t = assertThrows(ExecutionException.class, () -> inFlight.get(1, TimeUnit.SECONDS));
+            assertTrue(t.getCause() instanceof IOException);
+
+            assertEquals(BigInteger.ONE, iconService.getTotalSupply(BigInteger.ONE).execute());
+            assertEquals(2, provider.getConnectionCount());
+            provider.close();
+        }
+    }
+
+    private static WebSocketProvider newProvider(MockWebServer server) {
+        return new WebSocketProvider.Builder(url(server)).timeout(5, TimeUnit.SECONDS).build();
+    }
+
+    private static String url(MockWebServer server) {
+        return server.url("/api/v3/ws").toString().replaceFirst("^http", "ws");
+    }
+
+    // Answers with the height in the params, after the given number of requests arrive
+    private static class FakeNode extends WebSocketListener {
+        private final ObjectMapper mapper = new ObjectMapper();
+        final Set<Long> ids = ConcurrentHashMap.newKeySet();
+        final List<String> held = new ArrayList<>();
+        volatile int hold;
+        volatile boolean rejectBatches;
+
+        @Override
+        public void onMessage(WebSocket webSocket, String text) {
+            try {
+                JsonNode message = mapper.readTree(text);
+                String answer;
+                if (message.isArray() && rejectBatches) {
+                    webSocket.send("{\"jsonrpc\":\"2.0\",\"id\":null,"
+                            + "\"error\":{\"code\":-32600,\"message\":\"Batch not allowed\"}}");
+                    return;
+                } else if (message.isArray()) {
+                    List<String> items = new ArrayList<>();
+                    for (JsonNode request : message) {
+                        items.add(answer(request));
+                    }
+                    answer = "[" + String.join(",", items) + "]";
+                } else if ("icx_getBalance".equals(message.get("method").asText())) {
+                    webSocket.close(1001, "going away");
+                    return;
+                } else {
+                    answer = answer(message);
+                }
+                if (answer == null) {
+                    return;
+                }
+                synchronized (held) {
+                    held.add(answer);
+                    if (held.size() < hold) {
+                        return;
+                    }
+                    Collections.reverse(held);
+                    for (String item : held) {
+                        webSocket.send(item);
+                    }
+                    held.clear();
+                }
+            } catch (IOException e) {
+                webSocket.close(1011, e.getMessage());
+            }
+        }
+
+        @Override
+        public void onClosing(WebSocket webSocket, int code, String reason) {
+            webSocket.close(1000, null);
+        }
+
+        private String answer(JsonNode request) {
+            long id = request.get("id").asLong();
+            assertTrue(ids.add(id));
+            String method = request.get("method").asText();
+            if ("icx_getLastBlock".equals(method)) {
+                return null;
+            }
+            JsonNode height = request.path("params").path("height");
+            String result = "icx_getBlockByHeight".equals(method)
+                    ? "{\"height\":\"" + height.asText() + "\"}"
+                    : "\"" + height.asText() + "\"";
+            return "{\"jsonrpc\":\"2.0\",\"id\":" + id + ",\"result\":" + result + "}";
+        }
+    }
+}
@@ -0,0 +1,295 @@
+/*
+ * Copyright 2026 ICON Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package foundation.icon.icx.simulator;
+
+import foundation.icon.icx.Callback;
+import foundation.icon.icx.Provider;
+import foundation.icon.icx.Request;
+import foundation.icon.icx.transport.jsonrpc.RpcConverter;
+import foundation.icon.icx.transport.jsonrpc.RpcError;
+import foundation.icon.icx.transport.jsonrpc.RpcItem;
+import foundation.icon.icx.transport.jsonrpc.RpcObject;
+import foundation.icon.icx.transport.jsonrpc.RpcValue;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The {@code FakeNode} class is an in-memory {@code Provider} for the tests of the providers wrapping another one.
+ * <p>
+ * It answers a block of the requested height for {@code icx_getBlockByHeight}, a block at the head for
+ * {@code icx_getLastBlock}, a successful result in the block 10 for {@code icx_getTransactionResult},
+ * and {@code 0x1} for the other methods. Subclasses may answer differently by overriding
+ * {@link #answer(foundation.icon.icx.transport.jsonrpc.Request)}.
+ * <p>
+ * A request waits for the gate and the delay of its method, and then fails as configured. The callback of
+ * an asynchronous execution is called on a new thread, or on the calling thread if
+ * {@link #setCallbacksInPlace(boolean)} is set and no gate is set.
+ * <pre>{@code
+ * FakeNode node = new FakeNode();
+ * CountDownLatch gate = new CountDownLatch(1);
+ * node.setGate(gate);
+ * ...
+ * gate.countDown();
+ * assertEquals(1, node.getCallCount());
+ * }</pre>
+ */
+public class FakeNode implements Provider {
+    private final long delay;
+    private final Map<String, Long> delays = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> methodCalls = new ConcurrentHashMap<>();
+    private final AtomicInteger calls = new AtomicInteger();
+    private final AtomicInteger canceled = new AtomicInteger();
+    private final AtomicInteger concurrent = new AtomicInteger();
+    private final AtomicInteger maxConcurrent = new AtomicInteger();
+    private final AtomicInteger failures = new AtomicInteger();
+    private volatile CountDownLatch gate;
+    private volatile boolean failing;
+    private volatile long errorCode;
+    private volatile boolean throwing;
+    private volatile boolean callbacksInPlace;
+    private volatile boolean pending;
+    private volatile long head = 100;
+
+    public FakeNode() {
+        this(0);
+    }
+
+    /**
+     * Creates a node answering after the delay
+     *
+     * @param delay the delay of every request in milliseconds
+     */
+    public FakeNode(long delay) {
+        this.delay = delay;
+    }
+
+    /**
+     * Sets the delay of the method, instead of the one of every request
+     *
+     * @param method the method
+     * @param delay the delay in milliseconds
+     */
+    public void setDelay(String method, long delay) {
+        delays.put(method, delay);
+    }
+
+    /**
+     * Sets the latch which the requests wait for before they are answered
+     *
+     * @param gate the latch, or {@code null} to answer without waiting
+     */
+    public void setGate(CountDownLatch gate) {
+        this.gate = gate;
+    }
+
+    /**
+     * Fails the requests with an {@code IOException}, like an unreachable node
+     *
+     * @param failing whether the requests fail
+     */
+    public void setFailing(boolean failing) {
+        this.failing = failing;
+    }
+
+    /**
+     * Fails the next requests with an {@code IOException}, like a connection reset
+     *
+     * @param count the number of requests to fail
+     */
+    public void setFailures(int count) {
+        failures.set(count);
+    }
+
+    /**
+     * Answers the requests with the error
+     *
+     * @param code the code of the JSON-RPC error, or 0 to answer normally
+     */
+    public void setErrorCode(long code) {
+        this.errorCode = code;
+    }
+
+    /**
+     * Throws an {@code IllegalStateException} from the asynchronous execution, before the request is counted
+     *
+     * @param throwing whether the execution throws
+     */
+    public void setThrowing(boolean throwing) {
+        this.throwing = throwing;
+    }
+
+    /**
+     * Calls the callbacks of the asynchronous executions on the calling thread while no gate is set
+     *
+     * @param inPlace whether the callbacks are called in place
+     */
+    public void setCallbacksInPlace(boolean inPlace) {
+        this.callbacksInPlace = inPlace;
+    }
+
+    /**
+     * Answers the transaction results without the block height, like the transactions not included yet
+     *
+     * @param pending whether the transactions are pending
+     */
+    public void setPending(boolean pending) {
+        this.pending = pending;
+    }
+
+    /**
+     * Sets the height of the last block (default: 100)
+     *
+     * @param height the height
+     */
+    public void setHead(long height) {
+        this.head = height;
+    }
+
+    public int getCallCount() {
+        return calls.get();
+    }
+
+    public int getCallCount(String method) {
+        AtomicInteger count = methodCalls.get(method);
+        return count != null ? count.get() : 0;
+    }
+
+    public int getCanceledCount() {
+        return canceled.get();
+    }
+
+    /**
+     * Returns the number of the requests in flight
+     *
+     * @return the number of requests
+     */
+    public int getConcurrency() {
+        return concurrent.get();
+    }
+
+    /**
+     * Returns the largest number of the requests in flight so far
+     *
+     * @return the number of requests
+     */
+    public int getMaxConcurrency() {
+        return maxConcurrent.get();
+    }
+
+    @Override
+    public <T> Request<T> request(foundation.icon.icx.transport.jsonrpc.Request request, RpcConverter<T> converter) {
+        return new Request<T>() {
+            @Override
+            public T execute() throws IOException {
+                return converter.convertTo(FakeNode.this.execute(request));
+            }
+
+            @Override
+            public void execute(Callback<T> callback) {
+                if (throwing) {
+                    throw new IllegalStateException("Rejected");
+                }
+                if (callbacksInPlace && gate == null) {
+                    run(callback);
+                } else {
+                    new Thread(() -> run(callback)).start();
+                }
+            }
+
+            @Override
+            public void cancel() {
+                canceled.incrementAndGet();
+            }
+
+            private void run(Callback<T> callback) {
+                try {
+                    callback.onSuccess(execute());
+                } catch (IOException e) {
+                    callback.onFailure(e);
+                }
+            }
+        };
+    }
+
+    private RpcItem execute(foundation.icon.icx.transport.jsonrpc.Request request) throws IOException {
+        String method = request.getMethod();
+        calls.incrementAndGet();
+        methodCalls.computeIfAbsent(method, k -> new AtomicInteger()).incrementAndGet();
+        maxConcurrent.accumulateAndGet(concurrent.incrementAndGet(), Math::max);
+        try {
+            CountDownLatch current = gate;
+            if (current != null) {
+                current.await();
+            }
+            long wait = delays.getOrDefault(method, delay);
+            if (wait > 0) {
+                Thread.sleep(wait);
+            }
+        } catch (InterruptedException e) {
+            throw new IOException(e);
+        } finally {
+            concurrent.decrementAndGet();
+        }
+        if (failing) {
+            throw new IOException("connection refused");
+        }
+        if (errorCode != 0) {
+            throw new RpcError(errorCode, "error");
+        }
+        if (failures.getAndDecrement() > 0) {
+            throw new IOException("connection reset");
+        }
+        return answer(request);
+    }
+
+    /**
+     * Answers the request which has passed the gate, the delay and the failures
+     *
+     * @param request the request
+     * @return the result
+     * @throws IOException if the request fails
+     */
+    protected RpcItem answer(foundation.icon.icx.transport.jsonrpc.Request request) throws IOException {
+        RpcObject params = request.getParams();
+        switch (request.getMethod()) {
+            case "icx_getLastBlock":
+                return new RpcObject.Builder()
+                        .put("height", new RpcValue(BigInteger.valueOf(head)))
+                        .build();
+            case "icx_getBlockByHeight":
+                return new RpcObject.Builder()
+                        .put("height", params.getItem("height"))
+                        .build();
+            case "icx_getTransactionResult": {
+                RpcObject.Builder builder = new RpcObject.Builder()
+                        .put("txHash", params.getItem("txHash"))
+                        .put("status", new RpcValue(BigInteger.ONE));
+                if (!pending) {
+                    builder.put("blockHeight", new RpcValue(BigInteger.TEN));
+                }
+                return builder.build();
+            }
+            default:
+                return new RpcValue(BigInteger.ONE);
+        }
+    }
+}
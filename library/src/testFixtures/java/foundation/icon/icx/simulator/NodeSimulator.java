@@ -0,0 +1,689 @@
+/*
+ * Copyright 2026 ICON Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package foundation.icon.icx.simulator;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import foundation.icon.icx.SignedTransaction;
+import foundation.icon.icx.transport.jsonrpc.RpcCodec;
+import foundation.icon.icx.transport.jsonrpc.RpcItem;
+import foundation.icon.icx.transport.jsonrpc.RpcObject;
+import okhttp3.WebSocket;
+import okhttp3.WebSocketListener;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.bouncycastle.jcajce.provider.digest.SHA3;
+import org.bouncycastle.util.encoders.Hex;
+
+import javax.net.ServerSocketFactory;
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.Base64;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The {@code NodeSimulator} class is an in-process JSON-RPC node for the tests and the benchmarks.
+ * <p>
+ * It serves synthetic responses of {@code icx_getBlockByHeight}, {@code icx_getLastBlock},
+ * {@code icx_getTransactionResult}, {@code icx_call} and {@code icx_sendTransaction}, single or in
+ * a batch, and the {@code block} and {@code event} monitors. A block is made every block interval,
+ * and the same height always has the same block. A sent transaction gets its real hash, and its result
+ * is available from the next block.
+ * <p>
+ * The latency, the size of the payloads and the rate of the injected errors are configurable.
+ * <pre>{@code
+ * try (NodeSimulator node = new NodeSimulator.Builder()
+ *         .latency(1, 3, TimeUnit.MILLISECONDS)
+ *         .transactionsPerBlock(100)
+ *         .errorRate(0.01, -32000)
+ *         .build()) {
+ *     IconService iconService = new IconService(new HttpProvider(node.getUrl()));
+ *     ...
+ * }
+ * }</pre>
+ */
+public class NodeSimulator implements Closeable {
+    // The number of the sent transactions kept for their results
+    private static final int MAX_SENT = 100_000;
+    private static final long GENESIS_TIMESTAMP = 1_600_000_000_000_000L;
+
+    private final long minLatencyNanos;
+    private final long maxLatencyNanos;
+    private final int transactionsPerBlock;
+    private final int eventLogsPerResult;
+    private final double errorRate;
+    private final int errorCode;
+    private final long blockIntervalNanos;
+    private final long startHeight;
+    private final long seed;
+    private final long startNanos = System.nanoTime();
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final RpcCodec codec = new RpcCodec();
+    private final MockWebServer server = new MockWebServer();
+    private final ScheduledExecutorService scheduler;
+    private final Map<String, Long> sent = new LinkedHashMap<String, Long>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+            return size() > MAX_SENT;
+        }
+    };
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong injectedErrors = new AtomicLong();
+    private final AtomicLong notifications = new AtomicLong();
+    private final Set<Socket> connections = ConcurrentHashMap.newKeySet();
+    private final List<Long> monitorHeights = new CopyOnWriteArrayList<>();
+    private final Set<MonitorSession> sessions = ConcurrentHashMap.newKeySet();
+
+    private NodeSimulator(Builder builder) throws IOException {
+        this.minLatencyNanos = builder.minLatencyNanos;
+        this.maxLatencyNanos = builder.maxLatencyNanos;
+        this.transactionsPerBlock = builder.transactionsPerBlock;
+        this.eventLogsPerResult = builder.eventLogsPerResult;
+        this.errorRate = builder.errorRate;
+        this.errorCode = builder.errorCode;
+        this.blockIntervalNanos = builder.blockIntervalNanos;
+        this.startHeight = builder.startHeight;
+        this.seed = builder.seed;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "node-simulator");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setServerSocketFactory(new NoDelayServerSocketFactory(connections));
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                return NodeSimulator.this.dispatch(request);
+            }
+        });
+        server.start();
+    }
+
+    /**
+     * Returns the endpoint of the simulator, which is passed to {@code HttpProvider}
+     *
+     * @return the url, ex) {@code http://127.0.0.1:50000/api/v3}
+     */
+    public String getUrl() {
+        return server.url("/api/v3").toString();
+    }
+
+    /**
+     * Returns the height of the last block
+     *
+     * @return the height
+     */
+    public long getLastHeight() {
+        return startHeight + (System.nanoTime() - startNanos) / blockIntervalNanos;
+    }
+
+    public long getRequestCount() {
+        return requests.get();
+    }
+
+    public long getInjectedErrorCount() {
+        return injectedErrors.get();
+    }
+
+    /**
+     * Returns the number of the notifications sent by the monitors.
+     * A notification is counted after it is sent, so a client may receive it before it is counted.
+     *
+     * @return the number of notifications
+     */
+    public long getNotificationCount() {
+        return notifications.get();
+    }
+
+    /**
+     * Returns the start heights requested by the monitors, in the order requested
+     *
+     * @return the heights
+     */
+    public List<Long> getMonitorHeights() {
+        return new ArrayList<>(monitorHeights);
+    }
+
+    /**
+     * Drops the connections accepted so far, including the ones of the monitors, like a network failure
+     */
+    public void dropConnections() {
+        for (Socket socket : connections) {
+            connections.remove(socket);
+            try {
+                socket.close();
+            } catch (IOException e) {
+                // already closed
+            }
+        }
+    }
+
+    /**
+     * Closes the WebSockets of the monitors normally, like a node shutting down
+     */
+    public void closeMonitors() {
+        for (MonitorSession session : sessions) {
+            session.close();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        scheduler.shutdownNow();
+        server.shutdown();
+    }
+
+    private MockResponse dispatch(RecordedRequest request) {
+        String path = request.getPath() != null ? request.getPath() : "";
+        if (path.endsWith("/block") || path.endsWith("/event")) {
+            return new MockResponse().withWebSocketUpgrade(new MonitorSession(path.endsWith("/event")));
+        }
+        MockResponse response = new MockResponse().setHeader("Content-Type", "application/json");
+        long latency = latency();
+        if (latency > 0) {
+            response.setHeadersDelay(latency, TimeUnit.NANOSECONDS);
+        }
+        try {
+            JsonNode body = mapper.readTree(request.getBody().readUtf8());
+            if (body.isArray()) {
+                ArrayNode responses = mapper.createArrayNode();
+                for (JsonNode item : body) {
+                    responses.add(answer(item));
+                }
+                return response.setBody(mapper.writeValueAsString(responses));
+            }
+            return response.setBody(mapper.writeValueAsString(answer(body)));
+        } catch (IOException e) {
+            return response.setBody(mapper.createObjectNode()
+                    .put("jsonrpc", "2.0")
+                    .putNull("id")
+                    .set("error", error(-32700, "Parse error")).toString());
+        }
+    }
+
+    private long latency() {
+        if (maxLatencyNanos <= minLatencyNanos) {
+            return minLatencyNanos;
+        }
+        return ThreadLocalRandom.current().nextLong(minLatencyNanos, maxLatencyNanos + 1);
+    }
+
+    // Answers a request of JSON-RPC
+    private ObjectNode answer(JsonNode request) throws IOException {
+        requests.incrementAndGet();
+        ObjectNode response = mapper.createObjectNode().put("jsonrpc", "2.0");
+        response.set("id", request.get("id"));
+        if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+            injectedErrors.incrementAndGet();
+            return response.set("error", error(errorCode, "Injected error"));
+        }
+        String method = request.path("method").asText();
+        JsonNode params = request.path("params");
+        switch (method) {
+            case "icx_getLastBlock":
+                return response.set("result", block(getLastHeight()));
+            case "icx_getBlockByHeight": {
+                long height;
+                try {
+                    height = Long.decode(params.path("height").asText());
+                } catch (NumberFormatException e) {
+                    return response.set("error", error(-32602, "Invalid params"));
+                }
+                if (height > getLastHeight()) {
+                    return response.set("error", error(-31004, "Not found"));
+                }
+                return response.set("result", block(height));
+            }
+            case "icx_getTransactionResult":
+                return transactionResult(response, params.path("txHash").asText());
+            case "icx_call":
+                return response.put("result", "0x" + Long.toHexString(params.toString().hashCode() & 0xffffffffL));
+            case "icx_sendTransaction":
+                return response.put("result", send(params));
+            default:
+                return response.set("error", error(-32601, "Method not found"));
+        }
+    }
+
+    private ObjectNode error(int code, String message) {
+        return mapper.createObjectNode().put("code", code).put("message", message);
+    }
+
+    // Accepts the transaction, which is included in the next block
+    private String send(JsonNode params) throws IOException {
+        RpcItem item = codec.readItem(params.toString());
+        RpcObject.Builder builder = new RpcObject.Builder();
+        RpcObject properties = item.asObject();
+        for (String key : properties.keySet()) {
+            if (!"signature".equals(key)) {
+                builder.put(key, properties.getItem(key));
+            }
+        }
+        String serialized = SignedTransaction.TransactionSerializer.serialize(builder.build());
+        byte[] digest = new SHA3.Digest256().digest(serialized.getBytes(StandardCharsets.UTF_8));
+        String txHash = "0x" + Hex.toHexString(digest);
+        synchronized (sent) {
+            sent.put(txHash, getLastHeight() + 1);
+        }
+        return txHash;
+    }
+
+    private ObjectNode transactionResult(ObjectNode response, String txHash) {
+        long height;
+        int index;
+        Long sentHeight;
+        synchronized (sent) {
+            sentHeight = sent.get(txHash);
+        }
+        if (sentHeight != null) {
+            if (sentHeight > getLastHeight()) {
+                return response.set("error", error(-31002, "Pending"));
+            }
+            height = sentHeight;
+            index = 0;
+        } else {
+            // the hash of a transaction in a block has its height and index
+            byte[] hash = txHash.length() == 66 ? Hex.decode(txHash.substring(2)) : new byte[0];
+            if (hash.length != 32) {
+                return response.set("error", error(-32602, "Invalid params"));
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(hash);
+            height = buffer.getLong();
+            index = buffer.getInt();
+            if (height < 0 || height > getLastHeight() || index < 0 || index >= transactionsPerBlock
+                    || !txHash.equals(transactionHash(height, index))) {
+                return response.set("error", error(-31004, "Not found"));
+            }
+        }
+        Random random = new Random(seed * 31 + height * 7919 + index);
+        ObjectNode result = mapper.createObjectNode()
+                .put("status", "0x1")
+                .put("to", address("cx", random))
+                .put("txHash", txHash)
+                .put("txIndex", hex(index))
+                .put("blockHeight", hex(height))
+                .put("blockHash", "0x" + blockHash(height))
+                .put("cumulativeStepUsed", hex(100_000L * (index + 1)))
+                .put("stepUsed", "0x186a0")
+                .put("stepPrice", "0x2e90edd00");
+        ArrayNode logs = result.putArray("eventLogs");
+        for (int i = 0; i < eventLogsPerResult; i++) {
+            ObjectNode log = logs.addObject().put("scoreAddress", address("cx", random));
+            log.putArray("indexed")
+                    .add("Transfer(Address,Address,int,bytes)")
+                    .add(address("hx", random))
+                    .add(address("hx", random))
+                    .add(hex(random.nextLong() & Long.MAX_VALUE));
+            log.putArray("data").add("0x");
+        }
+        result.put("logsBloom", "0x" + randomHex(256, random));
+        return response.set("result", result);
+    }
+
+    private ObjectNode block(long height) {
+        Random random = new Random(seed * 31 + height);
+        ObjectNode block = mapper.createObjectNode()
+                .put("version", "2.0")
+                .put("height", height)
+                .put("signature", "")
+                .put("prev_block_hash", height > 0 ? blockHash(height - 1) : "")
+                .put("merkle_tree_root_hash", randomHex(32, random))
+                .put("time_stamp", GENESIS_TIMESTAMP + height * 2_000_000L);
+        ArrayNode transactions = block.putArray("confirmed_transaction_list");
+        for (int i = 0; i < transactionsPerBlock; i++) {
+            ObjectNode tx = transactions.addObject()
+                    .put("version", "0x3")
+                    .put("from", address("hx", random))
+                    .put("stepLimit", "0x30d40")
+                    .put("timestamp", hex(GENESIS_TIMESTAMP + height * 2_000_000L - i))
+                    .put("nid", "0x1")
+                    .put("nonce", hex(i));
+            if (i % 3 == 0) {
+                tx.put("to", address("hx", random))
+                        .put("value", hex(random.nextLong() & Long.MAX_VALUE));
+            } else {
+                tx.put("to", address("cx", random)).put("dataType", "call");
+                ObjectNode data = tx.putObject("data").put("method", "transfer");
+                data.putObject("params")
+                        .put("_to", address("hx", random))
+                        .put("_value", hex(random.nextLong() & Long.MAX_VALUE));
+            }
+            byte[] signature = new byte[65];
+            random.nextBytes(signature);
+            tx.put("signature", Base64.getEncoder().encodeToString(signature))
+                    .put("txHash", transactionHash(height, i));
+        }
+        return block.put("block_hash", blockHash(height))
+                .put("peer_id", address("hx", new Random(seed)));
+    }
+
+    private String blockHash(long height) {
+        return Hex.toHexString(new SHA3.Digest256().digest(
+                ByteBuffer.allocate(16).putLong(seed).putLong(height).array()));
+    }
+
+    // Returns the hash with the height and the index in front
+    private String transactionHash(long height, int index) {
+        byte[] digest = new SHA3.Digest256().digest(
+                ByteBuffer.allocate(20).putLong(seed).putLong(height).putInt(index).array());
+        ByteBuffer.wrap(digest).putLong(height).putInt(index);
+        return "0x" + Hex.toHexString(digest);
+    }
+
+    private static String address(String prefix, Random random) {
+        return prefix + randomHex(20, random);
+    }
+
+    private static String randomHex(int size, Random random) {
+        byte[] bytes = new byte[size];
+        random.nextBytes(bytes);
+        return Hex.toHexString(bytes);
+    }
+
+    private static String hex(long value) {
+        return "0x" + Long.toHexString(value);
+    }
+
+    // Disables Nagle's algorithm on the accepted sockets, or a response written in several parts
+    // waits for the delayed acknowledgement of the client
+    private static class NoDelayServerSocketFactory extends ServerSocketFactory {
+        private final Set<Socket> accepted;
+
+        NoDelayServerSocketFactory(Set<Socket> accepted) {
+            this.accepted = accepted;
+        }
+
+        @Override
+        public ServerSocket createServerSocket() throws IOException {
+            return new ServerSocket() {
+                @Override
+                public Socket accept() throws IOException {
+                    Socket socket = super.accept();
+                    socket.setTcpNoDelay(true);
+                    accepted.removeIf(Socket::isClosed);
+                    accepted.add(socket);
+                    return socket;
+                }
+            };
+        }
+
+        @Override
+        public ServerSocket createServerSocket(int port) throws IOException {
+            return createServerSocket(port, 50, null);
+        }
+
+        @Override
+        public ServerSocket createServerSocket(int port, int backlog) throws IOException {
+            return createServerSocket(port, backlog, null);
+        }
+
+        @Override
+        public ServerSocket createServerSocket(int port, int backlog, InetAddress address) throws IOException {
+            ServerSocket socket = createServerSocket();
+            try {
+                socket.bind(new InetSocketAddress(address, port), backlog);
+            } catch (IOException e) {
+                socket.close();
+                throw e;
+            }
+            return socket;
+        }
+    }
+
+    // Streams the notifications of a monitor from the requested height
+    private class MonitorSession extends WebSocketListener {
+        private final boolean event;
+        private long next;
+        private ScheduledFuture<?> future;
+        private WebSocket webSocket;
+
+        MonitorSession(boolean event) {
+            this.event = event;
+        }
+
+        @Override
+        public void onOpen(WebSocket webSocket, okhttp3.Response response) {
+            synchronized (this) {
+                this.webSocket = webSocket;
+            }
+            sessions.add(this);
+        }
+
+        @Override
+        public void onMessage(WebSocket webSocket, String text) {
+            long height;
+            try {
+                height = Long.decode(mapper.readTree(text).path("height").asText());
+            } catch (IOException | NumberFormatException e) {
+                webSocket.send("{\"code\":-32602,\"message\":\"Invalid params\"}");
+                return;
+            }
+            webSocket.send("{\"code\":0}");
+            monitorHeights.add(height);
+            synchronized (this) {
+                next = height;
+                if (future == null) {
+                    long period = Math.max(blockIntervalNanos / 4, TimeUnit.MILLISECONDS.toNanos(1));
+                    future = scheduler.scheduleAtFixedRate(
+                            () -> emit(webSocket), 0, period, TimeUnit.NANOSECONDS);
+                }
+            }
+        }
+
+        private synchronized void emit(WebSocket webSocket) {
+            long last = getLastHeight();
+            for (; next <= last; next++) {
+                ObjectNode notification = mapper.createObjectNode()
+                        .put("height", hex(next))
+                        .put("hash", "0x" + blockHash(next));
+                if (event) {
+                    notification.put("index", "0x0");
+                    notification.putArray("events").add("0x0");
+                }
+                if (!webSocket.send(notification.toString())) {
+                    return;
+                }
+                notifications.incrementAndGet();
+            }
+        }
+
+        @Override
+        public void onClosing(WebSocket webSocket, int code, String reason) {
+            stop();
+            webSocket.close(1000, null);
+        }
+
+        @Override
+        public void onFailure(WebSocket webSocket, Throwable t, okhttp3.Response response) {
+            stop();
+        }
+
+        private synchronized void stop() {
+            sessions.remove(this);
+            if (future != null) {
+                future.cancel(false);
+            }
+        }
+
+        private synchronized void close() {
+            stop();
+            if (webSocket != null) {
+                webSocket.close(1000, "Closed");
+            }
+        }
+    }
+
+    /**
+     * Builder for NodeSimulator
+     */
+    public static class Builder {
+        private long minLatencyNanos;
+        private long maxLatencyNanos;
+        private int transactionsPerBlock = 10;
+        private int eventLogsPerResult = 2;
+        private double errorRate;
+        private int errorCode = -32000;
+        private long blockIntervalNanos = TimeUnit.SECONDS.toNanos(2);
+        private long startHeight = 1000;
+        private long seed = 1;
+
+        /**
+         * Sets the latency of the responses (default: 0)
+         *
+         * @param latency the latency
+         * @param unit the unit of the latency
+         * @return the builder
+         */
+        public Builder latency(long latency, TimeUnit unit) {
+            return latency(latency, latency, unit);
+        }
+
+        /**
+         * Sets the range of the latency of the responses, from which each latency is taken uniformly
+         *
+         * @param min the minimum latency
+         * @param max the maximum latency
+         * @param unit the unit of the latency
+         * @return the builder
+         */
+        public Builder latency(long min, long max, TimeUnit unit) {
+            if (min < 0 || max < min) {
+                throw new IllegalArgumentException("Invalid latency");
+            }
+            this.minLatencyNanos = unit.toNanos(min);
+            this.maxLatencyNanos = unit.toNanos(max);
+            return this;
+        }
+
+        /**
+         * Sets the number of the transactions in a block (default: 10)
+         *
+         * @param count the number of transactions
+         * @return the builder
+         */
+        public Builder transactionsPerBlock(int count) {
+            if (count < 1) {
+                throw new IllegalArgumentException("Invalid count");
+            }
+            this.transactionsPerBlock = count;
+            return this;
+        }
+
+        /**
+         * Sets the number of the event logs in a transaction result (default: 2)
+         *
+         * @param count the number of event logs
+         * @return the builder
+         */
+        public Builder eventLogsPerResult(int count) {
+            if (count < 0) {
+                throw new IllegalArgumentException("Invalid count");
+            }
+            this.eventLogsPerResult = count;
+            return this;
+        }
+
+        /**
+         * Sets the rate of the requests answered with an error instead of the result (default: 0)
+         *
+         * @param rate the rate between 0 and 1
+         * @param code the code of the JSON-RPC error
+         * @return the builder
+         */
+        public Builder errorRate(double rate, int code) {
+            if (rate < 0 || rate > 1) {
+                throw new IllegalArgumentException("Invalid rate");
+            }
+            this.errorRate = rate;
+            this.errorCode = code;
+            return this;
+        }
+
+        /**
+         * Sets the interval between the blocks (default: 2 seconds)
+         *
+         * @param interval the interval
+         * @param unit the unit of the interval
+         * @return the builder
+         */
+        public Builder blockInterval(long interval, TimeUnit unit) {
+            if (interval <= 0) {
+                throw new IllegalArgumentException("Invalid interval");
+            }
+            this.blockIntervalNanos = unit.toNanos(interval);
+            return this;
+        }
+
+        /**
+         * Sets the height of the last block at the start (default: 1000)
+         *
+         * @param height the height
+         * @return the builder
+         */
+        public Builder startHeight(long height) {
+            if (height < 0) {
+                throw new IllegalArgumentException("Invalid height");
+            }
+            this.startHeight = height;
+            return this;
+        }
+
+        /**
+         * Sets the seed of the synthetic data, so the same seed makes the same blocks
+         *
+         * @param seed the seed
+         * @return the builder
+         */
+        public Builder seed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        /**
+         * Starts a simulator
+         *
+         * @return the simulator which is serving
+         * @throws IOException if the server can't be started
+         */
+        public NodeSimulator build() throws IOException {
+            return new NodeSimulator(this);
+        }
+    }
+}
@@ -104,11 +104,14 @@ public class SyncBlockExample {
 
         // the transaction list of blocks
         List<ConfirmedTransaction> txList = block.getTransactions();
-        for (ConfirmedTransaction transaction : txList) {
+        // the results of the transactions, fetched in batches
+        List<TransactionResult> txResults = iconService.getTransactionResults(block).execute();
+        for (int i = 0; i < txList.size(); i++) {
+            ConfirmedTransaction transaction = txList.get(i);
             System.out.println("### transaction hash:" + transaction.getTxHash());
 
             boolean isPrintLog = false;
-            TransactionResult txResult = iconService.getTransactionResult(transaction.getTxHash()).execute();
+            TransactionResult txResult = txResults.get(i);
 
             // Print icx transaction
             if ((transaction.getValue() != null) &&